@@ -0,0 +1,21 @@
+import jdk.jfr.*;
+
+/**
+ * A Java Flight Recorder event emitted when a game asset is read from disk.
+ */
+@Name("shadowtaxi.AssetLoad")
+@Label("Asset Load")
+@Category({"Shadow Taxi", "Assets"})
+@Description("An image, property file or CSV file was loaded")
+@StackTrace(false)
+public class AssetLoadEvent extends Event {
+    @Label("Path")
+    String path;
+
+    @Label("Kind")
+    String kind;
+
+    @Label("Entries")
+    @Description("Number of lines or properties read, 0 for images")
+    int entries;
+}
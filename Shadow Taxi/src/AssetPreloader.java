@@ -0,0 +1,87 @@
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Properties;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Loads every image named in the configuration before the first screen is shown, so no image is loaded in the
+ * middle of a game. The files are read from disk on worker threads as soon as the preloader is constructed, while
+ * the window is being created, and the images are then made on the thread that owns the window, which Bagel needs.
+ */
+public class AssetPreloader {
+    private static final String IMAGE_EXTENSION = ".png";
+    private static final String FONT_EXTENSION = ".ttf";
+
+    private final String[] IMAGES;
+    private final ExecutorService READERS;
+
+    /**
+     * Starts reading every image and font named in the configuration on worker threads.
+     *
+     * @param gameProps The property file containing configuration.
+     */
+    public AssetPreloader(Properties gameProps) {
+        ArrayList<String> images = new ArrayList<>();
+        ArrayList<String> files = new ArrayList<>();
+        for (String key : gameProps.stringPropertyNames()) {
+            String value = gameProps.getProperty(key);
+            String lowerValue = value.toLowerCase();
+            if (lowerValue.endsWith(FONT_EXTENSION) && !files.contains(value)) {
+                files.add(value);
+            }
+            if (!lowerValue.endsWith(IMAGE_EXTENSION)) {
+                continue;
+            }
+            // Images with variants name one file per variant, such as "otherCar-%d.png" for types 1 and 2
+            String types = gameProps.getProperty(key.substring(0, key.lastIndexOf('.') + 1) + "types");
+            int variants = value.contains("%d") && types != null ? Integer.parseInt(types) : 0;
+            for (int variant = variants > 0 ? 1 : 0; variant <= variants; variant++) {
+                String image = variants > 0 ? String.format(value, variant) : value;
+                if (!images.contains(image)) {
+                    images.add(image);
+                    files.add(image);
+                }
+            }
+        }
+        IMAGES = images.toArray(new String[0]);
+
+        READERS = Executors.newFixedThreadPool(Math.max(1, Math.min(files.size(),
+                Runtime.getRuntime().availableProcessors())), runnable -> {
+            Thread thread = new Thread(runnable, "asset-preload");
+            thread.setDaemon(true); // Never keeps the game open if the window fails to open
+            return thread;
+        });
+        for (String file : files) {
+            READERS.execute(() -> readFile(file));
+        }
+        READERS.shutdown();
+    }
+
+    /**
+     * Loads every image, waiting for their files to be read first. Must be called on the thread that owns the
+     * window, after it is created.
+     */
+    public void loadImages() {
+        try {
+            READERS.awaitTermination(Long.MAX_VALUE, TimeUnit.DAYS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt(); // Each image is still loaded, just from disk
+        }
+        for (String image : IMAGES) {
+            IOUtils.loadImage(image);
+        }
+    }
+
+    // Read a file so that it is in memory when its image or font is made, dropping what was read
+    private static void readFile(String file) {
+        try {
+            Files.readAllBytes(Paths.get(file));
+        } catch (IOException e) {
+            // Reported when the image or font is made
+        }
+    }
+}
@@ -0,0 +1,73 @@
+import java.util.ArrayList;
+import java.util.HashMap;
+
+/**
+ * A registry that assigns a stable integer id to every image and font used by the game.
+ * Game entities refer to their textures by id, so they never decode images themselves.
+ */
+public class Assets {
+    private static final ArrayList<String> FILENAMES = new ArrayList<>();
+    private static final IntArray FONT_SIZES = new IntArray();
+    private static final HashMap<String, Integer> IDS = new HashMap<>();
+
+    /**
+     * Gets the id of an image, registering the image if it has not been seen before.
+     *
+     * @param filename The filename of the image.
+     * @return The id of the image.
+     */
+    public static synchronized int getImageId(String filename) {
+        return register(filename, filename, 0);
+    }
+
+    /**
+     * Gets the id of a font of a given size, registering the font if it has not been seen before.
+     *
+     * @param filename The filename of the font.
+     * @param fontSize The size of the font.
+     * @return The id of the font.
+     */
+    public static synchronized int getFontId(String filename, int fontSize) {
+        return register(filename + "@" + fontSize, filename, fontSize);
+    }
+
+    /**
+     * Gets the filename of a registered image or font.
+     *
+     * @param id The id of the image or font.
+     * @return The filename of the image or font.
+     */
+    public static synchronized String getFilename(int id) {
+        return FILENAMES.get(id);
+    }
+
+    /**
+     * Gets the size of a registered font.
+     *
+     * @param id The id of the font.
+     * @return The size of the font, or 0 if the id belongs to an image.
+     */
+    public static synchronized int getFontSize(int id) {
+        return FONT_SIZES.get(id);
+    }
+
+    /**
+     * Gets the number of registered images and fonts.
+     *
+     * @return The number of registered assets.
+     */
+    public static synchronized int size() {
+        return FILENAMES.size();
+    }
+
+    private static int register(String key, String filename, int fontSize) {
+        Integer id = IDS.get(key);
+        if (id == null) {
+            id = FILENAMES.size();
+            FILENAMES.add(filename);
+            FONT_SIZES.add(fontSize);
+            IDS.put(key, id);
+        }
+        return id;
+    }
+}
@@ -0,0 +1,214 @@
+import bagel.*;
+import java.util.Properties;
+
+/**
+ * A rule-based player that chooses the keys of a taxi from the state of the road, so games can be played
+ * without anyone at the keyboard. It drives to the passenger a {@link TripPlanner} recommends and stops beside
+ * them, drives the passenger to their end flag and stops there, and walks the driver back to a new taxi when the
+ * old one is destroyed. On the way it looks ahead for cars and fireballs, stopping or speeding up to let them pass and
+ * swerving into a neighbouring lane when neither is safe.
+ */
+public class Autopilot implements InputSource {
+    private static final double SAFE_FRAMES = 40; // A hazard further away than this is ignored
+    private static final double COLLISION_MARGIN = 8; // Extra room kept around the taxi
+    private static final double PICKUP_MARGIN = 20; // How far inside the taxi detect radius to stop
+    private static final double FLAG_MARGIN = 40; // How far inside the end flag radius to stop
+    private static final int HAZARDS = World.GROUP_CAR | World.GROUP_FIREBALL;
+
+    private final double X_SPEED;
+    private final double Y_SPEED;
+    private final double TAXI_DETECT_RADIUS;
+    private final double MIN_X;
+    private final double MAX_X;
+    private final double LANE_WIDTH;
+    private final TripPlanner PLANNER;
+
+    private boolean isUpDown;
+    private boolean isDownDown;
+    private boolean isLeftDown;
+    private boolean isRightDown;
+
+    /**
+     * Constructs a new autopilot holding no keys down.
+     *
+     * @param gameProps The property file containing configuration.
+     * @param weather A 2D array containing the weather of the game.
+     */
+    public Autopilot(Properties gameProps, String[][] weather) {
+        X_SPEED = Double.parseDouble(gameProps.getProperty("gameObjects.taxi.speedX"));
+        Y_SPEED = Double.parseDouble(gameProps.getProperty("gameObjects.taxi.speedY"));
+        TAXI_DETECT_RADIUS = Double.parseDouble(gameProps.getProperty("gameObjects.passenger.taxiDetectRadius"));
+
+        // The taxi keeps to the road, up to half a lane beyond its outer lanes to reach the kerbs
+        TrafficLanes lanes = new TrafficLanes(gameProps);
+        double firstLaneX = lanes.getLaneX(0);
+        double lastLaneX = lanes.getLaneX(lanes.getLaneCount() - 1);
+        LANE_WIDTH = (lastLaneX - firstLaneX) / Math.max(1, lanes.getLaneCount() - 1);
+        MIN_X = firstLaneX - LANE_WIDTH / 2;
+        MAX_X = lastLaneX + LANE_WIDTH / 2;
+        PLANNER = new TripPlanner(gameProps, weather);
+    }
+
+    /**
+     * Chooses the keys a player holds down in the next frame.
+     * Must be called on the thread simulating the road, before the frame is simulated.
+     *
+     * @param road The road being simulated.
+     * @param player The index of the player driven by the autopilot.
+     */
+    public void update(RoadSimulation road, int player) {
+        isUpDown = false;
+        isDownDown = false;
+        isLeftDown = false;
+        isRightDown = false;
+        PLANNER.update(road, player);
+        if (road.getIsOut(player)) {
+            return;
+        }
+        TaxiPlayer taxiPlayer = road.getPlayer(player);
+        Taxi taxi = taxiPlayer.getTaxi();
+        if (!taxi.getHasDriver()) {
+            walkTo(taxiPlayer.getDriver().getLocation(), taxi.getLocation());
+            return;
+        }
+
+        Location location = taxi.getLocation();
+        double targetX = location.getX();
+        boolean isStopping = false;
+        if (taxiPlayer.getInTrip()) {
+            // Drive to the end flag, stopping once the passenger is close enough to get out. Once level with the
+            // flag the trip ends as soon as the taxi stands still, so it stops steering too
+            EndFlag flag = taxiPlayer.getInTripPassenger().getEndFlag();
+            isStopping = location.distance(flag.getLocation()) <= flag.getRadius() - FLAG_MARGIN / 2
+                    || flag.getLocation().getY() >= location.getY();
+            if (flag.getLocation().getY() < location.getY()) {
+                targetX = approach(location.getX(), flag.getLocation().getX(), FLAG_MARGIN);
+            }
+        }
+        else {
+            // Drive to the passenger the planner recommends, stopping once they are close enough to walk over
+            Passenger passenger = PLANNER.getNextPassenger();
+            if (passenger != null) {
+                targetX = approach(location.getX(), passenger.getLocation().getX(), TAXI_DETECT_RADIUS / 2);
+                isStopping = location.distance(passenger.getLocation()) <= TAXI_DETECT_RADIUS - PICKUP_MARGIN;
+            }
+        }
+        boolean isInvincible = taxiPlayer.getInvincibleTimer() > 0;
+        drive(road.getWorld(), taxi, targetX, !isStopping, isInvincible);
+    }
+
+    /**
+     * Gets the planner choosing the passengers the autopilot picks up.
+     *
+     * @return The trip planner of the autopilot.
+     */
+    public TripPlanner getPlanner() {
+        return PLANNER;
+    }
+
+    /**
+     * Checks whether the autopilot holds a key down.
+     *
+     * @param key The key to be checked.
+     * @return true if the key is held down, false otherwise.
+     */
+    @Override
+    public boolean isDown(Keys key) {
+        if (key == Keys.UP) {
+            return isUpDown;
+        }
+        if (key == Keys.DOWN) {
+            return isDownDown;
+        }
+        if (key == Keys.LEFT) {
+            return isLeftDown;
+        }
+        return key == Keys.RIGHT && isRightDown;
+    }
+
+    /**
+     * Checks whether the autopilot leaves a key up.
+     *
+     * @param key The key to be checked.
+     * @return true if the key is up, false otherwise.
+     */
+    @Override
+    public boolean isUp(Keys key) {
+        return !isDown(key);
+    }
+
+    // Drive toward a column, moving up the road unless stopping, while keeping clear of cars and fireballs
+    private void drive(World world, Taxi taxi, double targetX, boolean wantsUp, boolean isInvincible) {
+        double x = taxi.getLocation().getX();
+        boolean isUp = wantsUp;
+        if (!isInvincible) {
+            double upFrames = findFramesToHit(world, taxi, x, Y_SPEED);
+            double stopFrames = findFramesToHit(world, taxi, x, 0);
+            if ((isUp ? upFrames : stopFrames) < SAFE_FRAMES) {
+                // Whatever the plan, moving or stopping here is not safe, so do whichever is safer
+                isUp = upFrames > stopFrames;
+            }
+            if (Math.max(upFrames, stopFrames) < SAFE_FRAMES) {
+                // Neither is safe, so swerve toward the side with more room
+                double leftFrames = x - LANE_WIDTH >= MIN_X ? findBestFrames(world, taxi, x - LANE_WIDTH) : 0;
+                double rightFrames = x + LANE_WIDTH <= MAX_X ? findBestFrames(world, taxi, x + LANE_WIDTH) : 0;
+                targetX = leftFrames > rightFrames ? x - LANE_WIDTH : x + LANE_WIDTH;
+            }
+        }
+        targetX = Math.max(MIN_X, Math.min(MAX_X, targetX));
+        isUpDown = isUp;
+        isLeftDown = targetX <= x - X_SPEED;
+        isRightDown = targetX >= x + X_SPEED;
+    }
+
+    // Find the number of frames until a taxi in a column is hit, with the road scrolling at a speed
+    private double findFramesToHit(World world, Taxi taxi, double x, double scrollSpeed) {
+        double y = taxi.getLocation().getY();
+        double radius = taxi.getRadius() + COLLISION_MARGIN;
+        double frames = Double.POSITIVE_INFINITY;
+        int count = world.query(World.COLLIDER, World.FLAG_INACTIVE);
+        for (int i = 0; i < count; i++) {
+            int hazard = world.getQueryResult(i);
+            if ((world.getGroup(hazard) & HAZARDS) == 0
+                    || Math.abs(world.getX(hazard) - x) >= radius + world.getRadius(hazard)) {
+                continue; // Not in the way
+            }
+            // Cars recovering from a collision stand still on the road
+            boolean isDriving = world.has(hazard, World.VELOCITY) && world.getCollisionFrames(hazard) == 0
+                    && world.getTimeoutFrames(hazard) == 0 && world.getStandingFrames(hazard) == 0;
+            double speed = scrollSpeed - (isDriving ? world.getSpeedY(hazard) : 0);
+            double offset = world.getY(hazard) - y;
+            double gap = Math.abs(offset) - radius - world.getRadius(hazard);
+            if (gap <= 0) {
+                return 0;
+            }
+            if (offset < 0 && speed > 0) {
+                frames = Math.min(frames, gap / speed); // Coming down from ahead
+            }
+            else if (offset > 0 && speed < 0) {
+                frames = Math.min(frames, gap / -speed); // Catching up from behind
+            }
+        }
+        return frames;
+    }
+
+    private double findBestFrames(World world, Taxi taxi, double x) {
+        return Math.max(findFramesToHit(world, taxi, x, Y_SPEED), findFramesToHit(world, taxi, x, 0));
+    }
+
+    // Walk the driver toward a taxi
+    private void walkTo(Location driver, Location taxi) {
+        isUpDown = taxi.getY() < driver.getY();
+        isDownDown = taxi.getY() > driver.getY();
+        isLeftDown = taxi.getX() < driver.getX();
+        isRightDown = taxi.getX() > driver.getX();
+    }
+
+    // Find the column closest to the taxi that is within a distance of a target column
+    private static double approach(double x, double targetX, double distance) {
+        if (Math.abs(x - targetX) <= distance) {
+            return x;
+        }
+        return x < targetX ? targetX - distance : targetX + distance;
+    }
+}
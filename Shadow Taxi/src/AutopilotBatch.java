@@ -0,0 +1,193 @@
+import java.util.ArrayList;
+import java.util.Properties;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * Plays games with the autopilot and no window, as fast as the road can be simulated, and reports how they went.
+ * The games are headless: nothing they record is sorted or drawn, and a batch plays one game on each core at once.
+ * Each game is seeded in turn from a first seed and counted in seed order, so the same batch always meets the
+ * same traffic and gives the same report, and a change that makes the game harder or easier shows up in it.
+ * A game of about 2,000 frames takes about 15ms on one core, so a batch plays about 70 games a second per core;
+ * thousands of games a second would need a faster game, not a faster batch.
+ */
+public class AutopilotBatch {
+    private final Properties GAME_PROPS;
+    private final String[][] GAME_OBJECTS;
+    private final String[][] WEATHER;
+    private final double TARGET;
+
+    private int games;
+    private int wins;
+    private double totalScore;
+    private long totalFrames;
+    private long totalWinFrames;
+    private int totalTrips;
+    private int totalDamage;
+
+    /**
+     * Constructs a new batch with no games played.
+     *
+     * @param gameProps The property file containing configuration.
+     * @param gameObjects A 2D array containing game objects and their properties.
+     */
+    public AutopilotBatch(Properties gameProps, String[][] gameObjects) {
+        GAME_PROPS = gameProps;
+        GAME_OBJECTS = gameObjects;
+        WEATHER = IOUtils.readCommaSeparatedFile(gameProps.getProperty("gamePlay.weatherFile"));
+        TARGET = Double.parseDouble(gameProps.getProperty("gamePlay.target"));
+    }
+
+    /**
+     * Plays one game to completion with the autopilot.
+     *
+     * @param seed The seed of the game's traffic.
+     */
+    public void play(long seed) {
+        record(playGame(seed));
+    }
+
+    /**
+     * Plays a run of games to completion with the autopilot, one on each core at once.
+     *
+     * @param firstSeed The seed of the first game's traffic; each later game has the next seed.
+     * @param count The number of games.
+     * @throws InterruptedException If the thread is interrupted while the games are played.
+     */
+    public void playAll(long firstSeed, int count) throws InterruptedException {
+        ExecutorService pool = Executors.newFixedThreadPool(Runtime.getRuntime().availableProcessors());
+        try {
+            ArrayList<Future<GameResult>> results = new ArrayList<>(count);
+            for (int i = 0; i < count; i++) {
+                long seed = firstSeed + i;
+                results.add(pool.submit(() -> playGame(seed)));
+            }
+            for (Future<GameResult> result : results) {
+                record(result.get());
+            }
+        }
+        catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof RuntimeException) {
+                throw (RuntimeException) cause;
+            }
+            if (cause instanceof Error) {
+                throw (Error) cause;
+            }
+            throw new IllegalStateException(cause);
+        }
+        finally {
+            pool.shutdownNow();
+        }
+    }
+
+    /**
+     * Gets the share of the games played so far that reached the target.
+     *
+     * @return The win rate, between 0 and 1.
+     */
+    public double getWinRate() {
+        return games > 0 ? (double) wins / games : 0;
+    }
+
+    /**
+     * Gets the average final score of the games played so far.
+     *
+     * @return The mean score.
+     */
+    public double getMeanScore() {
+        return games > 0 ? totalScore / games : 0;
+    }
+
+    /**
+     * Gets the average number of frames the games won so far took to reach the target.
+     *
+     * @return The mean frames to target, or NaN if no game was won.
+     */
+    public double getMeanFramesToTarget() {
+        return wins > 0 ? (double) totalWinFrames / wins : Double.NaN;
+    }
+
+    /**
+     * Gets a one-line report of the games played so far.
+     *
+     * @return The number of games and wins, and the average score, length, trips and damage of a game.
+     */
+    public String getReport() {
+        return String.format("games=%d wins=%d score=%.2f frames=%.0f trips=%.2f damage=%.2f", games, wins,
+                totalScore / games, (double) totalFrames / games, (double) totalTrips / games,
+                (double) totalDamage / games);
+    }
+
+    // Play one headless game, throwing away what it records each frame
+    private GameResult playGame(long seed) {
+        Properties gameProps = new Properties();
+        gameProps.putAll(GAME_PROPS);
+        gameProps.setProperty("gamePlay.seed", Long.toString(seed));
+        gameProps.setProperty("gamePlay.headless", "true");
+
+        RenderQueue renderQueue = new RenderQueue(new Viewport(gameProps));
+        RoadSimulation road = new RoadSimulation(gameProps, GAME_OBJECTS, WEATHER, 1, renderQueue);
+        GameStats stats = new GameStats(road.getEventBus());
+        Autopilot autopilot = new Autopilot(gameProps, WEATHER);
+        InputSource[] inputs = {autopilot};
+        while (!road.getIsCompleted()) {
+            autopilot.update(road, 0);
+            road.tick(inputs);
+            renderQueue.reset();
+        }
+        road.shutdown();
+        return new GameResult(road.getPlayer(0).getScore(), road.getFramesPlayed(), stats.getTripsCompleted(),
+                stats.getDamageEvents());
+    }
+
+    // Add a game to the totals
+    private void record(GameResult result) {
+        // A game ends as soon as the target is reached, so the length of a game won is its frames to target
+        games++;
+        if (result.SCORE >= TARGET) {
+            wins++;
+            totalWinFrames += result.FRAMES;
+        }
+        totalScore += result.SCORE;
+        totalFrames += result.FRAMES;
+        totalTrips += result.TRIPS;
+        totalDamage += result.DAMAGE;
+    }
+
+    /**
+     * Plays a batch of games with the autopilot and prints the report.
+     *
+     * @param args The number of games and the seed of the first game, both optional.
+     * @throws InterruptedException If the thread is interrupted while the games are played.
+     */
+    public static void main(String[] args) throws InterruptedException {
+        Properties gameProps = IOUtils.readPropertiesFile("res/app.properties");
+        String[][] gameObjects = IOUtils.readCommaSeparatedFile(gameProps.getProperty("gamePlay.objectsFile"));
+        int games = Integer.parseInt(args.length > 0 ? args[0] : "100");
+        long firstSeed = Long.parseLong(args.length > 1 ? args[1] : "1");
+
+        AutopilotBatch batch = new AutopilotBatch(gameProps, gameObjects);
+        long start = System.nanoTime();
+        batch.playAll(firstSeed, games);
+        double seconds = (System.nanoTime() - start) / 1e9;
+        System.out.println(batch.getReport() + String.format(" gamesPerSecond=%.1f", games / seconds));
+    }
+
+    // How one game went
+    private static class GameResult {
+        private final double SCORE;
+        private final int FRAMES;
+        private final int TRIPS;
+        private final int DAMAGE;
+
+        private GameResult(double score, int frames, int trips, int damage) {
+            this.SCORE = score;
+            this.FRAMES = frames;
+            this.TRIPS = trips;
+            this.DAMAGE = damage;
+        }
+    }
+}
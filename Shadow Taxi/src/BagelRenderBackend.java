@@ -0,0 +1,82 @@
+import bagel.*;
+import java.util.Arrays;
+
+/**
+ * A render backend that draws with Bagel. Images and fonts are loaded the first time they are drawn.
+ */
+public class BagelRenderBackend implements RenderBackend {
+    private Image[] images;
+    private Font[] fonts;
+
+    /**
+     * Constructs a new Bagel render backend with no loaded images or fonts.
+     */
+    public BagelRenderBackend() {
+        images = new Image[0];
+        fonts = new Font[0];
+    }
+
+    /**
+     * Draws a batch of sprites sharing the same texture.
+     *
+     * @param texture The id of the texture to be drawn.
+     * @param xs The X-coordinates of the sprites' centres.
+     * @param ys The Y-coordinates of the sprites' centres.
+     * @param offset The index of the first sprite in the batch.
+     * @param count The number of sprites in the batch.
+     */
+    @Override
+    public void drawImages(int texture, double[] xs, double[] ys, int offset, int count) {
+        Image image = getImage(texture);
+        for (int i = offset; i < offset + count; i++) {
+            image.draw(xs[i], ys[i]);
+        }
+    }
+
+    /**
+     * Draws a string with its bottom-left corner at the given position.
+     *
+     * @param font The id of the font to be used.
+     * @param text The text to be drawn.
+     * @param x The X-coordinate of the text.
+     * @param y The Y-coordinate of the text.
+     */
+    @Override
+    public void drawText(int font, String text, double x, double y) {
+        getFont(font).drawString(text, x, y);
+    }
+
+    /**
+     * Gets the width of a string when drawn with the given font.
+     *
+     * @param font The id of the font.
+     * @param text The text to be measured.
+     * @return The width of the text in pixels.
+     */
+    @Override
+    public double getTextWidth(int font, String text) {
+        return getFont(font).getWidth(text);
+    }
+
+    // Get the image of a texture, loading it on first use
+    private Image getImage(int texture) {
+        if (texture >= images.length) {
+            images = Arrays.copyOf(images, Assets.size());
+        }
+        if (images[texture] == null) {
+            images[texture] = IOUtils.loadImage(Assets.getFilename(texture));
+        }
+        return images[texture];
+    }
+
+    // Get a font, loading it on first use
+    private Font getFont(int font) {
+        if (font >= fonts.length) {
+            fonts = Arrays.copyOf(fonts, Assets.size());
+        }
+        if (fonts[font] == null) {
+            fonts[font] = new Font(Assets.getFilename(font), Assets.getFontSize(font));
+        }
+        return fonts[font];
+    }
+}
@@ -0,0 +1,250 @@
+import java.io.BufferedReader;
+import java.io.FileReader;
+import java.io.FileWriter;
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.io.RandomAccessFile;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Properties;
+import java.util.Random;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Searches for a balance of the game by playing batches of games with the autopilot under many configurations,
+ * on every core at once. A spec file gives the values to try for any key of the property file, including the
+ * spawn factors, either as a range "min:max:steps" or as a list "a,b,c". Every combination is tried in a grid
+ * search, or a number of configurations are drawn at random from the ranges in a random search.
+ * Every configuration plays the same seeds, and a game draws everything that affects its play from its seed and
+ * keeps its state on its own road, so the results differ only by the configuration. Each configuration
+ * is written to the results file as soon as its batch is played, and a configuration already in the results file
+ * is skipped, so a sweep that was stopped carries on where it left off.
+ */
+public class BalanceSweep {
+    private static final long SEARCH_SEED = 1; // Random searches draw the same configurations every time
+    private static final long FIRST_SEED = 1;
+
+    private final Properties GAME_PROPS;
+    private final String[][] GAME_OBJECTS;
+    private final String[] KEYS;
+    private final String[][] VALUES;
+    private final boolean[] IS_WHOLE;
+    private final double[] MINS;
+    private final double[] MAXES;
+    private final int GAMES;
+
+    /**
+     * Constructs a new sweep over the keys of a spec file.
+     *
+     * @param gameProps The property file containing configuration.
+     * @param gameObjects A 2D array containing game objects and their properties.
+     * @param spec The values to try for each key, as a range "min:max:steps" or a list "a,b,c".
+     * @param games The number of games played under each configuration.
+     */
+    public BalanceSweep(Properties gameProps, String[][] gameObjects, Properties spec, int games) {
+        GAME_PROPS = gameProps;
+        GAME_OBJECTS = gameObjects;
+        GAMES = games;
+        KEYS = spec.stringPropertyNames().toArray(new String[0]);
+        Arrays.sort(KEYS); // The columns of the results file keep the same order between runs
+        VALUES = new String[KEYS.length][];
+        IS_WHOLE = new boolean[KEYS.length];
+        MINS = new double[KEYS.length];
+        MAXES = new double[KEYS.length];
+        for (int i = 0; i < KEYS.length; i++) {
+            readValues(i, spec.getProperty(KEYS[i]).trim());
+        }
+    }
+
+    /**
+     * Gets every configuration of a grid search, one value of each key.
+     *
+     * @return The configurations, each holding a value for every key in order.
+     */
+    public String[][] getGrid() {
+        int count = 1;
+        for (String[] values : VALUES) {
+            count *= values.length;
+        }
+        String[][] configs = new String[count][KEYS.length];
+        for (int config = 0; config < count; config++) {
+            // Count through the combinations with the last key changing fastest
+            int rest = config;
+            for (int i = KEYS.length - 1; i >= 0; i--) {
+                configs[config][i] = VALUES[i][rest % VALUES[i].length];
+                rest /= VALUES[i].length;
+            }
+        }
+        return configs;
+    }
+
+    /**
+     * Draws configurations of a random search, taking any value within the range of each key.
+     *
+     * @param count The number of configurations to draw.
+     * @return The configurations, each holding a value for every key in order.
+     */
+    public String[][] getRandomSample(int count) {
+        Random random = new Random(SEARCH_SEED);
+        String[][] configs = new String[count][KEYS.length];
+        for (int config = 0; config < count; config++) {
+            for (int i = 0; i < KEYS.length; i++) {
+                if (Double.isNaN(MINS[i])) {
+                    configs[config][i] = VALUES[i][random.nextInt(VALUES[i].length)]; // A list of values
+                }
+                else {
+                    configs[config][i] = formatValue(i, MINS[i] + random.nextDouble() * (MAXES[i] - MINS[i]));
+                }
+            }
+        }
+        return configs;
+    }
+
+    /**
+     * Plays every configuration not already in the results file on every core, appending each to the file as
+     * soon as its batch is played.
+     *
+     * @param configs The configurations to play.
+     * @param resultsFile The file the results are written to.
+     * @throws IOException If the results file cannot be read or written.
+     * @throws InterruptedException If interrupted while waiting for the batches.
+     */
+    public void run(String[][] configs, String resultsFile) throws IOException, InterruptedException {
+        String header = String.join(",", KEYS) + ",games,winRate,meanScore,meanFramesToTarget";
+        HashSet<String> done = readDone(resultsFile, header);
+        boolean isNewFile = !Files.exists(Paths.get(resultsFile)) || Files.size(Paths.get(resultsFile)) == 0;
+
+        try (PrintWriter out = new PrintWriter(new FileWriter(resultsFile, true))) {
+            if (isNewFile) {
+                out.println(header);
+                out.flush();
+            }
+            ExecutorService pool = Executors.newFixedThreadPool(Runtime.getRuntime().availableProcessors());
+            int skipped = 0;
+            for (String[] config : configs) {
+                String values = String.join(",", config);
+                if (!done.add(values)) {
+                    skipped++;
+                    continue; // Played in an earlier run, or listed twice
+                }
+                pool.execute(() -> {
+                    String row = values + "," + playConfig(config);
+                    synchronized (out) {
+                        out.println(row);
+                        out.flush(); // Written as it completes, so nothing is lost if the sweep is stopped
+                    }
+                });
+            }
+            System.out.println("configs=" + configs.length + " skipped=" + skipped);
+            pool.shutdown();
+            pool.awaitTermination(Long.MAX_VALUE, TimeUnit.DAYS);
+        }
+    }
+
+    // Play the batch of one configuration and format its results as the last columns of a row, the same on every run
+    private String playConfig(String[] config) {
+        Properties gameProps = new Properties();
+        gameProps.putAll(GAME_PROPS);
+        for (int i = 0; i < KEYS.length; i++) {
+            gameProps.setProperty(KEYS[i], config[i]);
+        }
+        AutopilotBatch batch = new AutopilotBatch(gameProps, GAME_OBJECTS);
+        for (int game = 0; game < GAMES; game++) {
+            batch.play(FIRST_SEED + game);
+        }
+        return String.format("%d,%.4f,%.2f,%.1f", GAMES, batch.getWinRate(), batch.getMeanScore(),
+                batch.getMeanFramesToTarget());
+    }
+
+    // Read the configurations already in a results file, which must have been written by the same spec
+    private HashSet<String> readDone(String resultsFile, String header) throws IOException {
+        HashSet<String> done = new HashSet<>();
+        if (!Files.exists(Paths.get(resultsFile))) {
+            return done;
+        }
+        dropPartialLine(resultsFile);
+        try (BufferedReader reader = new BufferedReader(new FileReader(resultsFile))) {
+            String line = reader.readLine();
+            if (line != null && !line.equals(header)) {
+                throw new IllegalArgumentException("Results file " + resultsFile + " has other columns: " + line);
+            }
+            while ((line = reader.readLine()) != null) {
+                String[] columns = line.split(",");
+                if (columns.length == KEYS.length + 4) {
+                    done.add(String.join(",", Arrays.copyOf(columns, KEYS.length)));
+                }
+            }
+        }
+        return done;
+    }
+
+    // Cut off a last line left without its newline by a sweep stopped while writing it, so the next row starts a line
+    private static void dropPartialLine(String resultsFile) throws IOException {
+        try (RandomAccessFile file = new RandomAccessFile(resultsFile, "rw")) {
+            long end = file.length();
+            while (end > 0) {
+                file.seek(end - 1);
+                if (file.read() == '\n') {
+                    break;
+                }
+                end--;
+            }
+            file.setLength(end);
+        }
+    }
+
+    // Read the values of a key, keeping the bounds of a range for random searches
+    private void readValues(int key, String spec) {
+        String[] range = spec.split(":");
+        if (range.length != 3) {
+            VALUES[key] = spec.split(",");
+            MINS[key] = Double.NaN;
+            MAXES[key] = Double.NaN;
+            return;
+        }
+        // A range of whole numbers stays whole, as some keys are read as integers
+        IS_WHOLE[key] = !range[0].contains(".") && !range[1].contains(".");
+        MINS[key] = Double.parseDouble(range[0]);
+        MAXES[key] = Double.parseDouble(range[1]);
+        int steps = Integer.parseInt(range[2]);
+        if (steps < 1) {
+            throw new IllegalArgumentException("Range of " + KEYS[key] + " needs at least one step: " + spec);
+        }
+        VALUES[key] = new String[steps];
+        for (int step = 0; step < steps; step++) {
+            double progress = steps > 1 ? (double) step / (steps - 1) : 0;
+            VALUES[key][step] = formatValue(key, MINS[key] + (MAXES[key] - MINS[key]) * progress);
+        }
+    }
+
+    private String formatValue(int key, double value) {
+        return IS_WHOLE[key] ? Long.toString(Math.round(value)) : String.format("%.4f", value);
+    }
+
+    /**
+     * Runs a sweep and writes its results.
+     *
+     * @param args The spec file, the results file, the number of games per configuration and the number of
+     *             configurations to draw for a random search, or 0 for a grid search, all optional.
+     * @throws IOException If the results file cannot be read or written.
+     * @throws InterruptedException If interrupted while waiting for the batches.
+     */
+    public static void main(String[] args) throws IOException, InterruptedException {
+        Properties gameProps = IOUtils.readPropertiesFile("res/app.properties");
+        String[][] gameObjects = IOUtils.readCommaSeparatedFile(gameProps.getProperty("gamePlay.objectsFile"));
+        Properties spec = IOUtils.readPropertiesFile(args.length > 0 ? args[0] : "res/balanceSweep.properties");
+        String resultsFile = args.length > 1 ? args[1] : "res/balanceSweep.csv";
+        int games = Integer.parseInt(args.length > 2 ? args[2] : "20");
+        int samples = Integer.parseInt(args.length > 3 ? args[3] : "0");
+
+        BalanceSweep sweep = new BalanceSweep(gameProps, gameObjects, spec, games);
+        long start = System.nanoTime();
+        sweep.run(samples > 0 ? sweep.getRandomSample(samples) : sweep.getGrid(), resultsFile);
+        System.out.printf("seconds=%.1f%n", (System.nanoTime() - start) / 1e9);
+    }
+}
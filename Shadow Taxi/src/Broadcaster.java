@@ -0,0 +1,298 @@
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.nio.ByteBuffer;
+import java.nio.channels.ClosedSelectorException;
+import java.nio.channels.SelectionKey;
+import java.nio.channels.Selector;
+import java.nio.channels.ServerSocketChannel;
+import java.nio.channels.SocketChannel;
+import java.util.ArrayList;
+import java.util.Iterator;
+
+/**
+ * Streams the frames of the games played on this machine to any number of spectators watching with
+ * {@link SpectatorClient}. The game only hands each drawn frame over, which never waits on a spectator: frames are
+ * encoded and sent on the broadcaster's own thread, which serves every spectator from one selector.
+ * A spectator is only sent a frame once it has taken everything sent before, so a slow spectator skips frames
+ * instead of falling behind. Every frame is encoded both against the frame before and as a keyframe, and a
+ * spectator who skipped the frame before is sent the keyframe.
+ */
+public class Broadcaster {
+    private static final int BUFFER_BYTES = 1 << 16;
+    private static final long CLOSE_MILLIS = 1000; // Longest wait for the spectators to be disconnected
+
+    private final Selector SELECTOR;
+    private final ServerSocketChannel SERVER_CHANNEL;
+    private final ArrayList<Spectator> SPECTATORS;
+    private final RemoteFrame PENDING; // The latest frame handed over, guarded by itself
+    private final RemoteFrame FRAME;
+    private final ByteBuffer DELTA;
+    private final ByteBuffer KEYFRAME;
+
+    private int pendingRemainingFrames;
+    private int publishedFrames;
+    private int takenFrames;
+    private int sentFrames;
+    private volatile int spectatorCount;
+    private volatile boolean isClosed;
+    private final Thread THREAD;
+
+    /**
+     * Starts a broadcaster listening for spectators on a port.
+     *
+     * @param port The port the broadcaster listens on.
+     * @throws IOException If the port cannot be opened.
+     */
+    public Broadcaster(int port) throws IOException {
+        SELECTOR = Selector.open();
+        SERVER_CHANNEL = ServerSocketChannel.open();
+        SERVER_CHANNEL.bind(new InetSocketAddress(port));
+        SERVER_CHANNEL.configureBlocking(false);
+        SERVER_CHANNEL.register(SELECTOR, SelectionKey.OP_ACCEPT);
+
+        SPECTATORS = new ArrayList<>();
+        PENDING = new RemoteFrame();
+        FRAME = new RemoteFrame();
+        DELTA = ByteBuffer.allocateDirect(RoadProtocol.MAX_MESSAGE_BYTES + Short.BYTES);
+        KEYFRAME = ByteBuffer.allocateDirect(RoadProtocol.MAX_MESSAGE_BYTES + Short.BYTES);
+
+        THREAD = new Thread(this::run, "broadcast");
+        THREAD.setDaemon(true); // Never keeps the game open once the window closes
+        THREAD.start();
+    }
+
+    /**
+     * Gets the port the broadcaster listens on.
+     *
+     * @return The local port of the broadcaster.
+     * @throws IOException If the port cannot be read.
+     */
+    public int getPort() throws IOException {
+        return ((InetSocketAddress) SERVER_CHANNEL.getLocalAddress()).getPort();
+    }
+
+    /**
+     * Gets the number of spectators watching.
+     *
+     * @return The number of spectators.
+     */
+    public int getSpectatorCount() {
+        return spectatorCount;
+    }
+
+    /**
+     * Hands a drawn frame over to be sent to the spectators, replacing any frame not yet sent.
+     * The commands are moved out of the frame, which is left empty to record the next one.
+     *
+     * @param frame The frame recorded while drawing.
+     * @param remainingFrames The number of frames left in the game.
+     */
+    public void publish(RemoteFrame frame, int remainingFrames) {
+        synchronized (PENDING) {
+            frame.moveCommandsTo(PENDING);
+            pendingRemainingFrames = remainingFrames;
+            publishedFrames++;
+        }
+        SELECTOR.wakeup();
+    }
+
+    /**
+     * Disconnects every spectator and stops the broadcaster, waiting a moment for the spectators' sockets to be
+     * closed so they see the broadcast end instead of a lost connection.
+     */
+    public void close() {
+        isClosed = true;
+        SELECTOR.wakeup();
+        try {
+            THREAD.join(CLOSE_MILLIS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    // Serve the spectators until closed, sending each frame as soon as it is handed over
+    private void run() {
+        try {
+            while (!isClosed) {
+                SELECTOR.select();
+                handleSelectedKeys();
+                if (takeFrame()) {
+                    sendFrame();
+                }
+            }
+        } catch (IOException | ClosedSelectorException e) {
+            // The broadcast ends, while the game goes on without it
+        } finally {
+            for (int i = SPECTATORS.size() - 1; i >= 0; i--) {
+                disconnect(SPECTATORS.get(i));
+            }
+            try {
+                SERVER_CHANNEL.close();
+                SELECTOR.close();
+            } catch (IOException e) {
+                // Already closed
+            }
+        }
+    }
+
+    private void handleSelectedKeys() throws IOException {
+        Iterator<SelectionKey> keys = SELECTOR.selectedKeys().iterator();
+        while (keys.hasNext()) {
+            SelectionKey key = keys.next();
+            keys.remove();
+            if (!key.isValid()) {
+                continue;
+            }
+            if (key.isAcceptable()) {
+                accept();
+                continue;
+            }
+            Spectator spectator = (Spectator) key.attachment();
+            try {
+                if (key.isReadable()) {
+                    read(spectator);
+                }
+                if (key.isValid() && key.isWritable()) {
+                    flush(spectator);
+                    if (spectator.outbound.position() == 0 && spectator.lastFrame < sentFrames) {
+                        send(spectator); // Caught up, so the latest frame is sent without waiting for the next
+                    }
+                }
+            } catch (IOException e) {
+                disconnect(spectator);
+            }
+        }
+    }
+
+    private void accept() throws IOException {
+        SocketChannel channel = SERVER_CHANNEL.accept();
+        if (channel == null) {
+            return;
+        }
+        channel.configureBlocking(false);
+        channel.socket().setTcpNoDelay(true);
+        Spectator spectator = new Spectator(channel);
+        spectator.key = channel.register(SELECTOR, SelectionKey.OP_READ, spectator);
+        SPECTATORS.add(spectator);
+        spectatorCount = SPECTATORS.size();
+    }
+
+    // Spectators only ever ask to watch, so what they send is read to notice them leaving and then dropped
+    private void read(Spectator spectator) throws IOException {
+        spectator.inbound.clear();
+        if (spectator.channel.read(spectator.inbound) < 0) {
+            disconnect(spectator);
+        }
+    }
+
+    // Take the latest frame handed over, if there is one not yet sent, and encode it outside the lock
+    private boolean takeFrame() {
+        int remainingFrames;
+        synchronized (PENDING) {
+            if (takenFrames == publishedFrames) {
+                return false;
+            }
+            PENDING.moveCommandsTo(FRAME);
+            remainingFrames = pendingRemainingFrames;
+            takenFrames = publishedFrames;
+        }
+        sentFrames++;
+        writeFrame(KEYFRAME, remainingFrames, true);
+        writeFrame(DELTA, remainingFrames, false);
+        return true;
+    }
+
+    private void writeFrame(ByteBuffer out, int remainingFrames, boolean isKeyframe) {
+        out.clear();
+        int start = RoadProtocol.beginMessage(out, RoadProtocol.FRAME);
+        out.putInt(sentFrames);
+        out.putInt(remainingFrames);
+        if (isKeyframe) {
+            FRAME.encodeKeyframe(out);
+        }
+        else {
+            FRAME.encode(out);
+        }
+        RoadProtocol.endMessage(out, start);
+        out.flip();
+    }
+
+    // Send the frame to every spectator who has taken everything sent before
+    private void sendFrame() {
+        for (int i = SPECTATORS.size() - 1; i >= 0; i--) {
+            Spectator spectator = SPECTATORS.get(i);
+            if (spectator.outbound.position() > 0) {
+                continue; // Still sending an earlier frame, so this one is skipped
+            }
+            try {
+                send(spectator);
+            } catch (IOException e) {
+                disconnect(spectator);
+            }
+        }
+    }
+
+    // Send the latest frame to a spectator, against the frame before if the spectator was sent that one
+    private void send(Spectator spectator) throws IOException {
+        writeNewAssets(spectator);
+        ByteBuffer frame = spectator.lastFrame == sentFrames - 1 ? DELTA : KEYFRAME;
+        spectator.outbound.put(frame.duplicate());
+        spectator.lastFrame = sentFrames;
+        flush(spectator);
+    }
+
+    // Tell a spectator about images and fonts first used since it was last sent a frame
+    private void writeNewAssets(Spectator spectator) {
+        int assets = Assets.size();
+        if (assets == spectator.sentAssets) {
+            return;
+        }
+        ByteBuffer out = spectator.outbound;
+        int start = RoadProtocol.beginMessage(out, RoadProtocol.ASSETS);
+        out.putShort((short) spectator.sentAssets);
+        out.putShort((short) (assets - spectator.sentAssets));
+        for (int id = spectator.sentAssets; id < assets; id++) {
+            out.putShort((short) Assets.getFontSize(id));
+            RoadProtocol.putString(out, Assets.getFilename(id));
+        }
+        RoadProtocol.endMessage(out, start);
+        spectator.sentAssets = assets;
+    }
+
+    // Write a spectator's queued bytes, waiting for the socket to be writable again if it does not take them all
+    private void flush(Spectator spectator) throws IOException {
+        spectator.outbound.flip();
+        spectator.channel.write(spectator.outbound);
+        spectator.outbound.compact();
+        spectator.key.interestOps(spectator.outbound.position() > 0
+                ? SelectionKey.OP_READ | SelectionKey.OP_WRITE : SelectionKey.OP_READ);
+    }
+
+    private void disconnect(Spectator spectator) {
+        spectator.key.cancel();
+        try {
+            spectator.channel.close();
+        } catch (IOException e) {
+            // Already closed
+        }
+        SPECTATORS.remove(spectator);
+        spectatorCount = SPECTATORS.size();
+    }
+
+    // A connection to a spectator, with the bytes not yet written and the last frame it was sent
+    private static class Spectator {
+        private final SocketChannel channel;
+        private final ByteBuffer inbound;
+        private final ByteBuffer outbound;
+        private SelectionKey key;
+        private int lastFrame;
+        private int sentAssets;
+
+        private Spectator(SocketChannel channel) {
+            this.channel = channel;
+            inbound = ByteBuffer.allocate(Byte.SIZE);
+            outbound = ByteBuffer.allocate(BUFFER_BYTES * 2); // Room for a keyframe after every asset
+            lastFrame = -1;
+        }
+    }
+}
@@ -0,0 +1,21 @@
+import jdk.jfr.*;
+
+/**
+ * A Java Flight Recorder event emitted when a car is spawned on the road.
+ * The duration of the event covers creating the car and adding it to the road.
+ */
+@Name("shadowtaxi.CarSpawn")
+@Label("Car Spawn")
+@Category({"Shadow Taxi", "Gameplay"})
+@Description("A new car was spawned on the road")
+@StackTrace(false)
+public class CarSpawnEvent extends Event {
+    @Label("Car Type")
+    String carType;
+
+    @Label("Lane X")
+    double laneX;
+
+    @Label("Active Cars")
+    int carCount;
+}
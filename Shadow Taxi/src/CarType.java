@@ -0,0 +1,139 @@
+import java.util.Properties;
+import java.util.Random;
+
+/**
+ * Describes a type of car that can drive on the road. Car types are plain data read from the game properties,
+ * so a new type of car only needs a new entry rather than a new class.
+ */
+public class CarType {
+    private final String NAME;
+    private final int KIND;
+    private final String[] IMAGES;
+    private final double DAMAGE;
+    private final double RADIUS;
+    private final double HEALTH;
+    private final int MIN_SPEED_Y;
+    private final int MAX_SPEED_Y;
+    private final boolean EMITS_FIREBALLS;
+
+    /**
+     * Constructs a new car type from the properties under "gameObjects.{name}".
+     *
+     * @param gameProps The property file containing configuration.
+     * @param name The name of the car type in the property file.
+     * @param kind The kind of entity the cars are.
+     * @param emitsFireballs Whether the cars shoot fireballs.
+     */
+    public CarType(Properties gameProps, String name, int kind, boolean emitsFireballs) {
+        String prefix = "gameObjects." + name + ".";
+        this.NAME = name;
+        this.KIND = kind;
+        // Each image type's filename is made once, rather than every time a car spawns
+        this.IMAGES = new String[Integer.parseInt(gameProps.getProperty(prefix + "types"))];
+        for (int type = 0; type < IMAGES.length; type++) {
+            IMAGES[type] = String.format(gameProps.getProperty(prefix + "image"), type + 1);
+        }
+        this.DAMAGE = Double.parseDouble(gameProps.getProperty(prefix + "damage")) * 100;
+        this.RADIUS = Double.parseDouble(gameProps.getProperty(prefix + "radius"));
+        this.HEALTH = Double.parseDouble(gameProps.getProperty(prefix + "health")) * 100;
+        this.MIN_SPEED_Y = Integer.parseInt(gameProps.getProperty(prefix + "minSpeedY"));
+        this.MAX_SPEED_Y = Integer.parseInt(gameProps.getProperty(prefix + "maxSpeedY"));
+        this.EMITS_FIREBALLS = emitsFireballs;
+    }
+
+    /**
+     * Reads the types of car in the game: other cars and enemy cars.
+     *
+     * @param gameProps The property file containing configuration.
+     * @return The array of car types.
+     */
+    public static CarType[] readCarTypes(Properties gameProps) {
+        return new CarType[] {
+                new CarType(gameProps, "otherCar", EntityKind.OTHER_CAR, false),
+                new CarType(gameProps, "enemyCar", EntityKind.ENEMY_CAR, true)
+        };
+    }
+
+    /**
+     * Gets the name of the car type in the property file.
+     *
+     * @return The name of the car type.
+     */
+    public String getName() {
+        return NAME;
+    }
+
+    /**
+     * Gets the kind of entity the cars are.
+     *
+     * @return The kind of the cars.
+     */
+    public int getKind() {
+        return KIND;
+    }
+
+    /**
+     * Gets the image filename of a car, picking one of the image types at random.
+     * The type number fills the image filename when it has a placeholder for it.
+     *
+     * @param random The random generator of the game.
+     * @return The image filename.
+     */
+    public String pickImage(Random random) {
+        return IMAGES[random.nextInt(IMAGES.length)];
+    }
+
+    /**
+     * Gets the damage the cars inflict.
+     *
+     * @return The damage of the cars.
+     */
+    public double getDamage() {
+        return DAMAGE;
+    }
+
+    /**
+     * Gets the radius of the cars.
+     *
+     * @return The radius of the cars.
+     */
+    public double getRadius() {
+        return RADIUS;
+    }
+
+    /**
+     * Gets the initial health of the cars.
+     *
+     * @return The health of the cars.
+     */
+    public double getHealth() {
+        return HEALTH;
+    }
+
+    /**
+     * Gets the minimum vertical speed of the cars.
+     *
+     * @return The minimum speed.
+     */
+    public int getMinSpeedY() {
+        return MIN_SPEED_Y;
+    }
+
+    /**
+     * Gets the maximum vertical speed of the cars.
+     *
+     * @return The maximum speed.
+     */
+    public int getMaxSpeedY() {
+        return MAX_SPEED_Y;
+    }
+
+    /**
+     * Gets whether the cars shoot fireballs.
+     *
+     * @return true if the cars shoot fireballs, false otherwise.
+     */
+    public boolean getEmitsFireballs() {
+        return EMITS_FIREBALLS;
+    }
+}
@@ -1,55 +1,66 @@
 import bagel.*;
-import java.util.Properties;
 
 /**
  * Represents a character in the game, including driver and passenger.
+ * The character's position, health and collision state are components of an entity in the world.
  */
-public abstract class Character implements Collideable{
+public abstract class Character {
     private static final double PUSH_OUT_DISTANCE = 2; // Pushed by two pixels away per frame during collision
 
-    private final Image IMAGE;
-    private final double RADIUS;
+    private final int TEXTURE;
     private final double WALK_X_SPEED;
     private final double WALK_Y_SPEED;
-    private double health;
-    private Location location;
-
-    private int collisionFrames;
-    private int timeoutFrames;
-    private Collideable inCollisionObject;
-    private boolean isInvincible;
+    private final World WORLD;
+    private final int ENTITY;
+    private final Location location;
 
     /**
-     * Constructs a new character.
+     * Constructs a new character as an entity in the world. The character does not collide until activated.
      *
-     * @param image The image representing the character
+     * @param world The world the character lives in.
+     * @param kind The kind of entity the character is.
+     * @param texture The id of the image representing the character
      * @param radius The radius of the character.
      * @param walkXSpeed The horizontal speed of the character.
      * @param walkYSpeed The vertical speed of the character.
      * @param health The initial health of the character.
-     * @param location The location of the character on the screen.
+     * @param x The X-coordinate of the character.
+     * @param y The Y-coordinate of the character.
      */
-    public Character(Image image, double radius, double walkXSpeed, double walkYSpeed, double health, Location location){
-        this.IMAGE = image;
-        this.RADIUS = radius;
+    public Character(World world, int kind, int texture, double radius, double walkXSpeed, double walkYSpeed,
+                     double health, double x, double y){
+        this.TEXTURE = texture;
         this.WALK_X_SPEED = walkXSpeed;
         this.WALK_Y_SPEED = walkYSpeed;
-        this.health = health;
-        this.location= location;
-        this.isInvincible = false;
+        this.WORLD = world;
+
+        // Characters are hit by cars and fireballs, and leave blood when they have no health left
+        ENTITY = world.create(kind, x, y);
+        world.setCollider(ENTITY, World.GROUP_CHARACTER, World.GROUP_CAR | World.GROUP_FIREBALL, radius, 0,
+                PUSH_OUT_DISTANCE);
+        world.setEffects(ENTITY, World.NO_EFFECT, EntityKind.BLOOD);
+        world.setHealth(ENTITY, health);
+        world.addComponents(ENTITY, World.TIMEOUT);
+        world.setFlag(ENTITY, World.FLAG_PUSH_OUT_X | World.FLAG_INACTIVE, true);
+        this.location = new EntityLocation(world, ENTITY);
+    }
 
-        // At start, character has no collision and timeout frames
-        collisionFrames = 0;
-        timeoutFrames = 0;
+    /**
+     * Gets the id of the entity of the character in the world.
+     *
+     * @return The entity id of the character.
+     */
+    public int getEntity() {
+        return ENTITY;
     }
 
     /**
-     * Gets the image of the character.
+     * Gets the id of the image of the character.
      *
-     * @return The image of the character.
+     * @return The image id of the character.
      */
-    public Image getImage() {
-        return IMAGE;
+    public int getTexture() {
+        return TEXTURE;
     }
 
     /**
@@ -58,7 +69,7 @@ public abstract class Character implements Collideable{
      * @return The radius of the character.
      */
     public double getRadius() {
-        return RADIUS;
+        return WORLD.getRadius(ENTITY);
     }
 
     /**
@@ -85,7 +96,7 @@ public abstract class Character implements Collideable{
      * @return The health of the character.
      */
     public double getHealth() {
-        return health;
+        return WORLD.getHealth(ENTITY);
     }
 
     /**
@@ -98,30 +109,21 @@ public abstract class Character implements Collideable{
     }
 
     /**
-     * Gets the damage the character inflicts, default is 0 as character does not inflict damage during collision
-     *
-     * @return The damage value.
-     */
-    public double getDamage() {
-        return 0;
-    }
-
-    /**
-     * Gets the number of timeout frames left for the character.
+     * Sets the invincibility status.
      *
-     * @return The timeout frame count.
+     * @param isInvincible The invincibility status.
      */
-    public int getTimeoutFrames() {
-        return timeoutFrames;
+    public void setIsInvincible(boolean isInvincible) {
+        WORLD.setFlag(ENTITY, World.FLAG_INVINCIBLE, isInvincible);
     }
 
     /**
-     * Sets the invincibility status.
+     * Sets whether the character can be hit by cars and fireballs.
      *
-     * @param isInvincible The invincibility status.
+     * @param canCollide true if the character collides, false otherwise.
      */
-    public void setIsInvincible(boolean isInvincible) {
-        this.isInvincible = isInvincible;
+    public void setCanCollide(boolean canCollide) {
+        WORLD.setFlag(ENTITY, World.FLAG_INACTIVE, !canCollide);
     }
 
     /**
@@ -136,7 +138,7 @@ public abstract class Character implements Collideable{
      * @param input The current keyboard input.
      * @param xSpeed The number of pixels passengers move horizontally per keyboard input.
      */
-    public void setLocationInTaxi(Input input, double xSpeed) {
+    public void setLocationInTaxi(InputSource input, double xSpeed) {
         if (input.isDown(Keys.LEFT)){
             getLocation().setX(getLocation().getX() - xSpeed);
         }
@@ -145,70 +147,4 @@ public abstract class Character implements Collideable{
             getLocation().setX(getLocation().getX() + xSpeed);
         }
     }
-
-    /**
-     * Handles the collision between the character and another collideable object.
-     *
-     * @param gameProps The property file containing configuration.
-     * @param other The other entity involved in the collision.
-     */
-    @Override
-    public void collide (Properties gameProps, Collideable other){
-        if (location.distance(other.getLocation()) <= (RADIUS + other.getRadius())) {
-            if (collisionFrames == 0){
-                inCollisionObject = other;
-                collisionFrames = TOTAL_COLLISION_FRAMES;
-            }
-            if (timeoutFrames == 0 && other.getTimeoutFrames()==0 && !isInvincible){
-                timeoutFrames = TOTAL_TIMEOUT_FRAMES;
-                health -= inCollisionObject.getDamage();
-                if (health <= 0) {
-                    // Generate blood if 0 health
-                    new Blood(gameProps, location.getX(), location.getY());
-                }
-            }
-            if (other instanceof Fireball fireball){
-                fireball.setHasHitTarget(true);
-            }
-        }
-    }
-
-    /**
-     * Handles collisions between the character and cars or fireballs when the character is outside the taxi.
-     *
-     * @param gameProps The property file containing configuration.
-     * @param isCharacterOutside The flag indicating whether the character is outside the taxi.
-     */
-    public void handleCharacterCollision(Properties gameProps, boolean isCharacterOutside) {
-        // Just implement collision logic when driver or passenger is outside taxi
-        if (isCharacterOutside) {
-            for (Car car : Car.getCarList()) {
-                collide(gameProps, car);
-                car.collide(gameProps, this);
-            }
-            for (Fireball fireball : Fireball.getFireballList()){
-                collide(gameProps, fireball);
-            }
-        }
-        if (collisionFrames > 0){
-            // Collision push-away logic
-            if (location.getY() < inCollisionObject.getLocation().getY()){
-                location.setY(location.getY() - PUSH_OUT_DISTANCE);
-            }
-            else {
-                location.setY(location.getY() + PUSH_OUT_DISTANCE);
-            }
-            if (location.getX() < inCollisionObject.getLocation().getX()){
-                location.setX(location.getX() - PUSH_OUT_DISTANCE);
-            }
-            else {
-                location.setX(location.getX() + PUSH_OUT_DISTANCE);
-            }
-            collisionFrames -= 1;
-        }
-
-        if (timeoutFrames > 0) {
-            timeoutFrames -= 1;
-        }
-    }
 }
\ No newline at end of file
@@ -0,0 +1,53 @@
+import jdk.jfr.*;
+
+/**
+ * A Java Flight Recorder event emitted when a collideable entity starts colliding with another entity.
+ */
+@Name("shadowtaxi.Collision")
+@Label("Collision")
+@Category({"Shadow Taxi", "Gameplay"})
+@Description("A collideable entity was hit by another entity")
+@StackTrace(false)
+public class CollisionEvent extends Event {
+    private static final EventType TYPE = EventType.getEventType(CollisionEvent.class);
+
+    @Label("Entity")
+    String entity;
+
+    @Label("Other Entity")
+    String other;
+
+    @Label("Damage Taken")
+    double damage;
+
+    @Label("Remaining Health")
+    double health;
+
+    @Label("Active Cars")
+    int carCount;
+
+    @Label("Active Fireballs")
+    int fireballCount;
+
+    /**
+     * Commits a collision event if collision events are being recorded.
+     *
+     * @param world The world containing the entities.
+     * @param entity The id of the entity that was hit.
+     * @param other The id of the other entity involved in the collision.
+     * @param damage The damage taken by the entity.
+     * @param health The health of the entity after the collision.
+     */
+    public static void emit(World world, int entity, int other, double damage, double health) {
+        if (TYPE.isEnabled()) { // No event is made while the recording is off
+            CollisionEvent event = new CollisionEvent();
+            event.entity = EntityKind.getName(world.getKind(entity));
+            event.other = EntityKind.getName(world.getKind(other));
+            event.damage = damage;
+            event.health = health;
+            event.carCount = world.countKind(EntityKind.OTHER_CAR) + world.countKind(EntityKind.ENEMY_CAR);
+            event.fireballCount = world.countKind(EntityKind.FIREBALL);
+            event.commit();
+        }
+    }
+}
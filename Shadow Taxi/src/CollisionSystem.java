@@ -0,0 +1,346 @@
+import java.util.Arrays;
+import java.util.Random;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * Detects collisions between entities with colliders and applies damage, timeouts, effects and push-out
+ * with one set of rules for every kind of entity. How an entity reacts is decided by its collider and flags.
+ * Touching cars are found from their lanes, as cars only meet the cars next to them in the same lane.
+ * Other colliders are swept along the path they moved since the last frame, so a fireball or car moving further
+ * in a frame than the radius of a character still hits it instead of passing through.
+ * In large worlds the other touching pairs are found on several cores, then merged in a fixed order and resolved
+ * on one thread, so the outcome is the same as finding them on one thread.
+ */
+public class CollisionSystem {
+    /**
+     * The total number of frames in a collision state.
+     */
+    public static final int TOTAL_COLLISION_FRAMES = 10;
+
+    /**
+     * The total number of frames in a timeout state after a collision.
+     */
+    public static final int TOTAL_TIMEOUT_FRAMES = 200;
+
+    private static final int PARALLEL_THRESHOLD = 512; // Colliders needed before pairs are found in parallel
+    private static final int ROWS_PER_CHUNK = 64;
+    private static final double MAX_SWEEP_DISTANCE = 30; // Longer moves are jumps, like ejecting from a taxi
+
+    private final EntityFactory FACTORY;
+    private final TrafficLanes LANES;
+    private final GameEventBus EVENT_BUS;
+    private final Random RANDOM;
+    // The colliders of the frame, gathered into arrays so finding pairs reads them in order
+    private int[] colliders;
+    private double[] xs;
+    private double[] ys;
+    private double[] moveXs; // How far the collider moved since the last frame
+    private double[] moveYs;
+    private double[] radii;
+    private int[] groups;
+    private int[] hitBys;
+    private final IntArray PAIRS; // Stored flat as the first and second id of each pair
+    private final TrafficLanes.PairConsumer ADD_PAIR;
+    // The tasks finding pairs on several cores, kept between frames with the pairs each chunk found
+    private final FindPairsTask FIND_PAIRS;
+    private PairTask[] pairTasks;
+
+    /**
+     * Constructs a new collision system.
+     *
+     * @param factory The factory creating hit effects.
+     * @param lanes The lanes of the cars on the road.
+     * @param eventBus The bus damage and destruction are published on.
+     * @param random The random generator of the game, which picks the speed of a car after a hit.
+     */
+    public CollisionSystem(EntityFactory factory, TrafficLanes lanes, GameEventBus eventBus, Random random) {
+        this.FACTORY = factory;
+        this.LANES = lanes;
+        this.EVENT_BUS = eventBus;
+        this.RANDOM = random;
+        allocate(64);
+        this.PAIRS = new IntArray();
+        this.ADD_PAIR = (entity, other) -> {
+            PAIRS.add(entity);
+            PAIRS.add(other);
+        };
+        this.FIND_PAIRS = new FindPairsTask();
+        this.pairTasks = new PairTask[0];
+    }
+
+    /**
+     * Detects and resolves the collisions of one frame, then advances every entity's collision animation
+     * and timeout.
+     *
+     * @param world The world containing the entities.
+     */
+    public void update(World world) {
+        int found = world.query(World.COLLIDER, World.FLAG_INACTIVE);
+        if (colliders.length < found) {
+            allocate(Math.max(found, colliders.length * 2));
+        }
+        // Colliders that hit nothing and that nothing hits, such as tokens, are left out of the search
+        int hitByAny = 0;
+        for (int i = 0; i < found; i++) {
+            hitByAny |= world.getHitBy(world.getQueryResult(i));
+        }
+        int count = 0;
+        for (int i = 0; i < found; i++) {
+            int entity = world.getQueryResult(i);
+            if (world.getHitBy(entity) != 0 || (world.getGroup(entity) & hitByAny) != 0) {
+                gather(world, count++, entity);
+            }
+        }
+
+        // Positions do not change while collisions are resolved, so every touching pair can be found first
+        PAIRS.clear();
+        if (count <= PARALLEL_THRESHOLD) {
+            findPairs(count, 0, count, PAIRS);
+        }
+        else {
+            findPairsInParallel(world, count);
+        }
+        LANES.sort(world);
+        LANES.forEachTouchingPair(world, ADD_PAIR);
+
+        for (int i = 0; i < PAIRS.size(); i += 2) {
+            int entity = PAIRS.get(i);
+            int other = PAIRS.get(i + 1);
+            if ((world.getHitBy(entity) & world.getGroup(other)) != 0) {
+                collide(world, entity, other);
+            }
+            if ((world.getHitBy(other) & world.getGroup(entity)) != 0) {
+                collide(world, other, entity);
+            }
+        }
+
+        for (int entity = 0; entity < world.size(); entity++) {
+            if (world.has(entity, World.COLLIDER)) {
+                advanceCollision(world, entity);
+                world.savePosition(entity);
+            }
+        }
+    }
+
+    // Find the touching pairs of a range of rows on worker threads, merging them in row order
+    private void findPairsInParallel(World world, int count) {
+        int chunks = (count + ROWS_PER_CHUNK - 1) / ROWS_PER_CHUNK;
+        if (pairTasks.length < chunks) {
+            int oldLength = pairTasks.length;
+            pairTasks = Arrays.copyOf(pairTasks, Math.max(chunks, oldLength * 2));
+            for (int chunk = oldLength; chunk < pairTasks.length; chunk++) {
+                pairTasks[chunk] = new PairTask();
+            }
+        }
+        for (int chunk = 0; chunk < chunks; chunk++) {
+            int from = chunk * ROWS_PER_CHUNK;
+            pairTasks[chunk].prepare(count, from, Math.min(count, from + ROWS_PER_CHUNK));
+        }
+        FIND_PAIRS.reinitialize(); // A finished task must be reset before it runs again
+        FIND_PAIRS.chunks = chunks;
+        SystemScheduler.getPool().invoke(FIND_PAIRS);
+        for (int chunk = 0; chunk < chunks; chunk++) {
+            PAIRS.addAll(pairTasks[chunk].PAIRS_FOUND);
+        }
+    }
+
+    // Copy the position, path and collider of an entity into a row of the gathered arrays
+    private void gather(World world, int row, int entity) {
+        double moveX = world.getX(entity) - world.getPreviousX(entity);
+        double moveY = world.getY(entity) - world.getPreviousY(entity);
+        if (moveX * moveX + moveY * moveY > MAX_SWEEP_DISTANCE * MAX_SWEEP_DISTANCE) {
+            moveX = 0; // Only the position the entity jumped to can be hit
+            moveY = 0;
+        }
+        colliders[row] = entity;
+        xs[row] = world.getX(entity);
+        ys[row] = world.getY(entity);
+        moveXs[row] = moveX;
+        moveYs[row] = moveY;
+        radii[row] = world.getRadius(entity);
+        groups[row] = world.getGroup(entity);
+        hitBys[row] = world.getHitBy(entity);
+    }
+
+    // Add every pair whose first collider is in the given rows, where either collider can hit the other and they
+    // came within reach of each other along their paths this frame, leaving pairs of cars to the lanes
+    private void findPairs(int count, int from, int to, IntArray pairs) {
+        for (int i = from; i < to; i++) {
+            double x = xs[i];
+            double y = ys[i];
+            double moveX = moveXs[i];
+            double moveY = moveYs[i];
+            double radius = radii[i];
+            int group = groups[i];
+            int hitBy = hitBys[i];
+            for (int j = i + 1; j < count; j++) {
+                if ((hitBy & groups[j]) == 0 && (hitBys[j] & group) == 0) {
+                    continue;
+                }
+                if (group == World.GROUP_CAR && groups[j] == World.GROUP_CAR) {
+                    continue;
+                }
+                // Go back along the relative path from where they are now to where they came closest
+                double dx = x - xs[j];
+                double dy = y - ys[j];
+                double relativeX = moveX - moveXs[j];
+                double relativeY = moveY - moveYs[j];
+                double moved = relativeX * relativeX + relativeY * relativeY;
+                double back = moved > 0 ? Math.min(1, Math.max(0, (dx * relativeX + dy * relativeY) / moved)) : 0;
+                dx -= back * relativeX;
+                dy -= back * relativeY;
+                double range = radius + radii[j];
+                if (dx * dx + dy * dy <= range * range) {
+                    pairs.add(colliders[i]);
+                    pairs.add(colliders[j]);
+                }
+            }
+        }
+    }
+
+    // Grow the gathered arrays to hold the given number of colliders
+    private void allocate(int capacity) {
+        colliders = new int[capacity];
+        xs = new double[capacity];
+        ys = new double[capacity];
+        moveXs = new double[capacity];
+        moveYs = new double[capacity];
+        radii = new double[capacity];
+        groups = new int[capacity];
+        hitBys = new int[capacity];
+    }
+
+    // Handle the entity being hit by the other entity they are touching
+    private void collide(World world, int entity, int other) {
+        double healthBeforeHit = world.getHealth(entity);
+        boolean isNewHit = world.getCollisionFrames(entity) == 0;
+        if (isNewHit) {
+            world.setCollisionFrames(entity, TOTAL_COLLISION_FRAMES);
+            world.setContact(entity, other);
+        }
+        if (world.getTimeoutFrames(entity) == 0) {
+            int otherTimeout = world.getTimeoutFrames(other);
+            boolean canBeHit = otherTimeout == 0 ||
+                    (world.hasFlag(entity, World.FLAG_MUTUAL_DAMAGE) && otherTimeout == TOTAL_TIMEOUT_FRAMES);
+            if (canBeHit && !world.hasFlag(entity, World.FLAG_INVINCIBLE)) {
+                world.setTimeoutFrames(entity, TOTAL_TIMEOUT_FRAMES);
+                world.setStandingFrames(entity, 0);
+                applyDamage(world, entity, other, healthBeforeHit);
+            }
+            else if (world.hasFlag(entity, World.FLAG_MUTUAL_DAMAGE)) {
+                // Wait for the other entity to recover before moving again
+                world.setStandingFrames(entity, TOTAL_TIMEOUT_FRAMES);
+            }
+            if (world.hasFlag(entity, World.FLAG_NEW_SPEED_ON_HIT)) {
+                world.setSpeedY(entity, world.getMinSpeedY(entity)
+                        + RANDOM.nextInt(world.getMaxSpeedY(entity) - world.getMinSpeedY(entity) + 1));
+            }
+        }
+        if (world.hasFlag(other, World.FLAG_DESTROY_ON_HIT)) {
+            world.setFlag(other, World.FLAG_HAS_HIT, true);
+        }
+
+        double health = world.getHealth(entity);
+        if (isNewHit || health != healthBeforeHit) {
+            CollisionEvent.emit(world, entity, other, healthBeforeHit - health, health);
+        }
+    }
+
+    // Take the damage of the entity being collided with and show the matching effect
+    private void applyDamage(World world, int entity, int other, double healthBeforeHit) {
+        double damage = world.getContactDamage(entity);
+        double health = healthBeforeHit - damage;
+        world.setHealth(entity, health);
+        EVENT_BUS.publish(GameEventType.DAMAGE_APPLIED, entity, damage);
+        if (health <= 0 && healthBeforeHit > 0) {
+            EVENT_BUS.publish(GameEventType.ENTITY_DESTROYED, entity, health);
+        }
+
+        int effect = chooseEffect(world, entity, other, health);
+        if (effect != World.NO_EFFECT) {
+            FACTORY.createEffect(world, effect, world.getX(entity), world.getY(entity));
+        }
+    }
+
+    // Pick the effect shown after the entity took damage from the other entity
+    private static int chooseEffect(World world, int entity, int other, double health) {
+        if (health <= 0) {
+            return world.getDeathEffect(entity);
+        }
+        if (world.hasFlag(entity, World.FLAG_NO_EFFECT_FROM_CHARACTER)
+                && world.getGroup(other) == World.GROUP_CHARACTER) {
+            return World.NO_EFFECT;
+        }
+        return world.getHitEffect(entity);
+    }
+
+    // Push the entity away from what it collided with and count down its collision and timeout frames
+    private static void advanceCollision(World world, int entity) {
+        if (world.getCollisionFrames(entity) > 0) {
+            double pushOut = world.getPushOut(entity);
+            if (world.getY(entity) < world.getContactY(entity)) {
+                world.setY(entity, world.getY(entity) - pushOut);
+            }
+            else {
+                world.setY(entity, world.getY(entity) + pushOut);
+            }
+            if (world.hasFlag(entity, World.FLAG_PUSH_OUT_X)) {
+                if (world.getX(entity) < world.getContactX(entity)) {
+                    world.setX(entity, world.getX(entity) - pushOut);
+                }
+                else {
+                    world.setX(entity, world.getX(entity) + pushOut);
+                }
+            }
+            world.setCollisionFrames(entity, world.getCollisionFrames(entity) - 1);
+        }
+        if (world.getTimeoutFrames(entity) > 0) {
+            world.setTimeoutFrames(entity, world.getTimeoutFrames(entity) - 1);
+        }
+        if (world.getStandingFrames(entity) > 0) {
+            world.setStandingFrames(entity, world.getStandingFrames(entity) - 1);
+        }
+    }
+
+    // Runs the pair tasks of the frame's chunks at the same time
+    private class FindPairsTask extends RecursiveAction {
+        private static final long serialVersionUID = 1L;
+
+        private int chunks;
+
+        @Override
+        protected void compute() {
+            for (int chunk = 1; chunk < chunks; chunk++) {
+                pairTasks[chunk].fork();
+            }
+            pairTasks[0].invoke();
+            for (int chunk = 1; chunk < chunks; chunk++) {
+                pairTasks[chunk].join();
+            }
+        }
+    }
+
+    // Finds the pairs of a chunk of rows into its own list, which is merged with the others in row order
+    private class PairTask extends RecursiveAction {
+        private static final long serialVersionUID = 1L;
+
+        private final IntArray PAIRS_FOUND = new IntArray();
+        private int count;
+        private int from;
+        private int to;
+
+        // Set the rows of the next run and empty the pairs found in the last one
+        private void prepare(int count, int from, int to) {
+            reinitialize();
+            PAIRS_FOUND.clear();
+            this.count = count;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected void compute() {
+            findPairs(count, from, to, PAIRS_FOUND);
+        }
+    }
+}
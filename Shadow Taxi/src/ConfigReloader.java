@@ -0,0 +1,137 @@
+import java.io.IOException;
+import java.nio.file.ClosedWatchServiceException;
+import java.nio.file.FileSystems;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardWatchEventKinds;
+import java.nio.file.WatchEvent;
+import java.nio.file.WatchKey;
+import java.nio.file.WatchService;
+import java.util.HashSet;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Watches the configuration, messages, level and weather files, and reads them again on its own thread whenever
+ * one of them is saved. A configuration that reads and checks cleanly against the one before is kept until the
+ * game takes it at a safe point, while one that does not is ignored, so the game carries on with the configuration
+ * before until the files are saved again.
+ */
+public class ConfigReloader {
+    private static final long QUIET_MILLIS = 200; // Editors often save a file in several writes
+
+    private final String GAME_PROPS_FILE;
+    private final String MESSAGE_PROPS_FILE;
+    private final WatchService WATCH_SERVICE;
+    private final HashSet<Path> WATCHED_DIRECTORIES;
+    private final HashSet<Path> WATCHED_FILES;
+    private final AtomicReference<GameConfig> RELOADED;
+    private GameConfig current; // The newest configuration that checked cleanly, only used on the watching thread
+
+    /**
+     * Starts watching the files of a configuration.
+     *
+     * @param gamePropsFile The path to the property file containing configuration.
+     * @param messagePropsFile The path to the property file containing game messages.
+     * @param config The configuration read from the files, whose level and weather files are watched too.
+     * @throws IOException If the files cannot be watched.
+     */
+    public ConfigReloader(String gamePropsFile, String messagePropsFile, GameConfig config) throws IOException {
+        GAME_PROPS_FILE = gamePropsFile;
+        MESSAGE_PROPS_FILE = messagePropsFile;
+        WATCH_SERVICE = FileSystems.getDefault().newWatchService();
+        WATCHED_DIRECTORIES = new HashSet<>();
+        WATCHED_FILES = new HashSet<>();
+        RELOADED = new AtomicReference<>();
+        current = config;
+        watchFiles(config);
+
+        Thread thread = new Thread(this::run, "config-reload");
+        thread.setDaemon(true); // Never keeps the game open once the window closes
+        thread.start();
+    }
+
+    /**
+     * Takes the configuration read since the last call, if any. Called by the game at a safe point, where no game
+     * is being played with the configuration before.
+     *
+     * @return The newest configuration read, or null if no file has changed.
+     */
+    public GameConfig takeReloaded() {
+        return RELOADED.getAndSet(null);
+    }
+
+    /**
+     * Stops watching the files.
+     */
+    public void close() {
+        try {
+            WATCH_SERVICE.close();
+        } catch (IOException e) {
+            // Already closed
+        }
+    }
+
+    // Wait for the watched files to change, and read them again once they have been quiet for a moment
+    private void run() {
+        try {
+            while (true) {
+                if (!isWatchedFileChanged(WATCH_SERVICE.take())) {
+                    continue;
+                }
+                WatchKey key;
+                while ((key = WATCH_SERVICE.poll(QUIET_MILLIS, TimeUnit.MILLISECONDS)) != null) {
+                    isWatchedFileChanged(key); // Still being written
+                }
+                reload();
+            }
+        } catch (InterruptedException | ClosedWatchServiceException e) {
+            // Stop watching
+        }
+    }
+
+    // Read the files again, keeping the configuration for the game only if it can be played
+    private void reload() {
+        try {
+            GameConfig config = GameConfig.read(GAME_PROPS_FILE, MESSAGE_PROPS_FILE, current);
+            watchFiles(config); // The configuration may have moved the level or weather to other files
+            current = config;
+            RELOADED.set(config);
+        } catch (IOException | RuntimeException e) {
+            // Not reloaded, and tried again when a file is next saved
+        }
+    }
+
+    // Check whether the events of a directory include a watched file, and keep watching the directory
+    private boolean isWatchedFileChanged(WatchKey key) {
+        boolean isChanged = false;
+        for (WatchEvent<?> event : key.pollEvents()) {
+            if (event.kind() == StandardWatchEventKinds.OVERFLOW) {
+                isChanged = true; // Events were lost, so any file may have changed
+                continue;
+            }
+            Path file = ((Path) key.watchable()).resolve((Path) event.context()).toAbsolutePath().normalize();
+            isChanged |= WATCHED_FILES.contains(file);
+        }
+        key.reset();
+        return isChanged;
+    }
+
+    private void watchFiles(GameConfig config) throws IOException {
+        WATCHED_FILES.clear();
+        watchFile(GAME_PROPS_FILE);
+        watchFile(MESSAGE_PROPS_FILE);
+        watchFile(config.getGameProps().getProperty("gamePlay.objectsFile"));
+        watchFile(config.getGameProps().getProperty("gamePlay.weatherFile"));
+    }
+
+    // Watch the directory of a file, as files are often saved by replacing them
+    private void watchFile(String filename) throws IOException {
+        Path file = Paths.get(filename).toAbsolutePath().normalize();
+        WATCHED_FILES.add(file);
+        if (WATCHED_DIRECTORIES.add(file.getParent())) {
+            file.getParent().register(WATCH_SERVICE, StandardWatchEventKinds.ENTRY_CREATE,
+                    StandardWatchEventKinds.ENTRY_MODIFY);
+        }
+    }
+}
@@ -0,0 +1,93 @@
+/**
+ * Destroys entities that have expired, died, hit their target or left the screen.
+ */
+public class DespawnSystem implements GameSystem {
+    private final double WINDOW_HEIGHT;
+    private final TrafficLanes LANES;
+
+    /**
+     * Constructs a new system removing entities from the world.
+     *
+     * @param windowHeight The height of the window, below which entities leave the screen.
+     * @param lanes The lanes destroyed cars are removed from.
+     */
+    public DespawnSystem(double windowHeight, TrafficLanes lanes) {
+        this.WINDOW_HEIGHT = windowHeight;
+        this.LANES = lanes;
+    }
+
+    /**
+     * Gets the state the system reads.
+     *
+     * @return Everything that decides whether an entity is removed.
+     */
+    @Override
+    public int getReads() {
+        return World.POSITION | World.HEALTH | World.COLLIDER | World.LIFETIME | FLAGS;
+    }
+
+    /**
+     * Gets the state the system writes.
+     *
+     * @return Everything, as the system destroys entities.
+     */
+    @Override
+    public int getWrites() {
+        return ALL;
+    }
+
+    /**
+     * Gets whether the system can be split into chunks.
+     *
+     * @return false, as destroying entities changes the world's free list.
+     */
+    @Override
+    public boolean isParallel() {
+        return false;
+    }
+
+    /**
+     * Gets the number of items the system updates.
+     *
+     * @param world The world being updated.
+     * @return The number of entity slots in the world.
+     */
+    @Override
+    public int size(World world) {
+        return world.size();
+    }
+
+    /**
+     * Destroys the entities in the range that should be removed from the world.
+     *
+     * @param world The world being updated.
+     * @param from The first entity id.
+     * @param to One past the last entity id.
+     */
+    @Override
+    public void update(World world, int from, int to) {
+        for (int entity = from; entity < to; entity++) {
+            if (world.has(entity, World.POSITION) && isExpired(world, entity)) {
+                if (world.has(entity, World.COLLIDER) && world.getGroup(entity) == World.GROUP_CAR) {
+                    LANES.remove(world, entity);
+                }
+                world.destroy(entity);
+            }
+        }
+    }
+
+    // Check whether the entity should be removed from the world
+    private boolean isExpired(World world, int entity) {
+        if (world.has(entity, World.LIFETIME) && world.getTtl(entity) == 0) {
+            return true;
+        }
+        if (world.hasFlag(entity, World.FLAG_DESTROY_WHEN_DEAD) && world.getHealth(entity) <= 0
+                && world.getCollisionFrames(entity) == 0) {
+            return true;
+        }
+        if (world.hasFlag(entity, World.FLAG_DESTROY_ON_HIT) && world.hasFlag(entity, World.FLAG_HAS_HIT)) {
+            return true;
+        }
+        return world.hasFlag(entity, World.FLAG_DESTROY_OFF_SCREEN) && world.getY(entity) > WINDOW_HEIGHT;
+    }
+}
@@ -0,0 +1,76 @@
+import java.util.Arrays;
+
+/**
+ * A growable list of doubles stored in a primitive array, so adding and reading values never boxes them.
+ */
+public class DoubleArray {
+    private static final int INITIAL_CAPACITY = 16;
+
+    private double[] values;
+    private int size;
+
+    /**
+     * Constructs a new empty list.
+     */
+    public DoubleArray() {
+        this(INITIAL_CAPACITY);
+    }
+
+    /**
+     * Constructs a new empty list with room for a given number of values.
+     *
+     * @param capacity The number of values the list holds before it grows.
+     */
+    public DoubleArray(int capacity) {
+        values = new double[Math.max(1, capacity)];
+        size = 0;
+    }
+
+    /**
+     * Adds a value to the end of the list.
+     *
+     * @param value The value added.
+     */
+    public void add(double value) {
+        if (size == values.length) {
+            values = Arrays.copyOf(values, values.length * 2);
+        }
+        values[size++] = value;
+    }
+
+    /**
+     * Gets the value at an index of the list.
+     *
+     * @param index The index of the value.
+     * @return The value.
+     */
+    public double get(int index) {
+        return values[index];
+    }
+
+    /**
+     * Sets the value at an index of the list.
+     *
+     * @param index The index of the value.
+     * @param value The new value.
+     */
+    public void set(int index, double value) {
+        values[index] = value;
+    }
+
+    /**
+     * Gets the number of values in the list.
+     *
+     * @return The number of values.
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Removes every value from the list, keeping its room.
+     */
+    public void clear() {
+        size = 0;
+    }
+}
@@ -6,22 +6,24 @@ import java.util.Properties;
  */
 public class Driver extends Character{
     private static final double EJECTED_DISTANCE = 50;
+    private final double GET_IN_RADIUS;
     private boolean isWaitingForPassenger;
 
     /**
      * Constructs a new Driver.
      *
+     * @param world The world the driver lives in.
      * @param gameProps The property file containing configuration.
      * @param x The X-coordinate of the driver's initial location.
      * @param y The Y-coordinate of the driver's initial location.
      */
-    public Driver(Properties gameProps, double x, double y){
-        super(new Image(gameProps.getProperty("gameObjects.driver.image")),
+    public Driver(World world, Properties gameProps, double x, double y){
+        super(world, EntityKind.DRIVER, Assets.getImageId(gameProps.getProperty("gameObjects.driver.image")),
                 Double.parseDouble(gameProps.getProperty("gameObjects.driver.radius")),
                 Double.parseDouble(gameProps.getProperty("gameObjects.driver.walkSpeedX")),
                 Double.parseDouble(gameProps.getProperty("gameObjects.driver.walkSpeedY")),
-                Double.parseDouble(gameProps.getProperty("gameObjects.driver.health")) * 100,
-                new Location(x, y));
+                Double.parseDouble(gameProps.getProperty("gameObjects.driver.health")) * 100, x, y);
+        GET_IN_RADIUS = Double.parseDouble(gameProps.getProperty("gameObjects.driver.taxiGetInRadius"));
         isWaitingForPassenger = false;
     }
 
@@ -42,12 +44,12 @@ public class Driver extends Character{
     /**
      * Displays and moves the driver on the screen based on user input.
      *
-     * @param gameProps The property file containing configuration.
      * @param input The user keyboard input.
      * @param taxi The taxi object.
      * @param inTripPassenger The passenger currently in the trip (if any).
+     * @param renderQueue The queue the driver is drawn into.
      */
-    public void showDriver(Properties gameProps, Input input, Taxi taxi, Passenger inTripPassenger){
+    public void showDriver(InputSource input, Taxi taxi, Passenger inTripPassenger, RenderQueue renderQueue){
         if (taxi.getHasDriver()){
             // In the taxi, moves with the taxi
             getLocation().setX(taxi.getLocation().getX());
@@ -56,7 +58,8 @@ public class Driver extends Character{
         else {
             if (!isWaitingForPassenger) {
                 // Outside the taxi
-                getImage().draw(getLocation().getX(), getLocation().getY());
+                renderQueue.drawImage(getTexture(), getLocation().getX(), getLocation().getY(),
+                        RenderQueue.LAYER_DRIVER);
                 if (input.isDown(Keys.UP)) {
                     getLocation().setY(getLocation().getY() - getWalkYSpeed());
                 }
@@ -71,8 +74,7 @@ public class Driver extends Character{
                 }
             }
 
-            if (getLocation().distance(taxi.getLocation()) <=
-                    Double.parseDouble(gameProps.getProperty("gameObjects.driver.taxiGetInRadius"))){
+            if (getLocation().distance(taxi.getLocation()) <= GET_IN_RADIUS){
                 // Have got in the new taxi, waiting for the in trip passenger to get in
                 if (inTripPassenger != null){
                     isWaitingForPassenger = true;
@@ -1,10 +1,8 @@
-import bagel.*;
-
 /**
  * Represents the end flag in the game, which marks the destination for passengers.
  */
 public class EndFlag {
-    private final Image IMAGE;
+    private final int TEXTURE;
     private final double RADIUS;
     private Location location;
 
@@ -17,7 +15,7 @@ public class EndFlag {
      * @param y The Y-coordinate of the end flag's location.
      */
     public EndFlag(String filename, double radius, double x, double y) {
-        IMAGE = new Image(filename);
+        TEXTURE = Assets.getImageId(filename);
         this.RADIUS = radius;
         location = new Location(x, y);
     }
@@ -39,9 +37,14 @@ public class EndFlag {
     }
 
     /**
-     * Renders the end flag's image on the screen.
+     * Renders the end flag's image on the screen, unless the flag is off-screen.
+     *
+     * @param renderQueue The queue the end flag is drawn into.
      */
-    public void showEndFlag() {
-        IMAGE.draw(location.getX(), location.getY());
+    public void showEndFlag(RenderQueue renderQueue) {
+        if (!renderQueue.isVisible(location.getX(), location.getY(), RADIUS)) {
+            return;
+        }
+        renderQueue.drawImage(TEXTURE, location.getX(), location.getY(), RenderQueue.LAYER_END_FLAG);
     }
 }
\ No newline at end of file
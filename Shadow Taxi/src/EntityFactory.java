@@ -0,0 +1,146 @@
+import java.util.Properties;
+import java.util.Random;
+import jdk.jfr.EventType;
+
+/**
+ * Creates the entities of a game in the world by giving them components read from the game properties.
+ */
+public class EntityFactory {
+    private static final double CAR_PUSH_OUT_DISTANCE = 1; // Pushed out by 1 pixel per frame when collide
+    private static final double FIREBALL_STARTING_Y_DISTANCE = 50; // Avoid collision with the car shooting it
+    private static final EventType CAR_SPAWN = EventType.getEventType(CarSpawnEvent.class);
+
+    private final Properties GAME_PROPS;
+    private final int FIREBALL_TEXTURE;
+    private final double FIREBALL_RADIUS;
+    private final double FIREBALL_DAMAGE;
+    private final double FIREBALL_SPEED_Y;
+    private final int[] EFFECT_TEXTURES;
+    private final int[] EFFECT_TTLS;
+
+    /**
+     * Constructs a new factory for the entities described in the game properties.
+     *
+     * @param gameProps The property file containing configuration.
+     */
+    public EntityFactory(Properties gameProps) {
+        this.GAME_PROPS = gameProps;
+        FIREBALL_TEXTURE = Assets.getImageId(gameProps.getProperty("gameObjects.fireball.image"));
+        FIREBALL_RADIUS = Double.parseDouble(gameProps.getProperty("gameObjects.fireball.radius"));
+        FIREBALL_DAMAGE = Double.parseDouble(gameProps.getProperty("gameObjects.fireball.damage")) * 100;
+        FIREBALL_SPEED_Y = Double.parseDouble(gameProps.getProperty("gameObjects.fireball.shootSpeedY"));
+
+        EFFECT_TEXTURES = new int[EntityKind.TOTAL_KINDS];
+        EFFECT_TTLS = new int[EntityKind.TOTAL_KINDS];
+        readEffect(EntityKind.SMOKE, "smoke");
+        readEffect(EntityKind.FIRE, "fire");
+        readEffect(EntityKind.BLOOD, "blood");
+    }
+
+    /**
+     * Creates a car of the given type at the given location.
+     *
+     * @param world The world to create the car in.
+     * @param type The type of car.
+     * @param x The X-coordinate of the lane the car drives in.
+     * @param y The Y-coordinate of the car.
+     * @param speedY The vertical speed of the car.
+     * @param random The random generator of the game, which picks the car's image.
+     * @return The id of the new car.
+     */
+    public int createCar(World world, CarType type, double x, double y, int speedY, Random random) {
+        // Only made while spawns are recorded, as a car spawned mid-game must not allocate
+        CarSpawnEvent event = CAR_SPAWN.isEnabled() ? new CarSpawnEvent() : null;
+        if (event != null) {
+            event.begin();
+        }
+        int car = world.create(type.getKind(), x, y);
+        world.setSprite(car, Assets.getImageId(type.pickImage(random)), RenderQueue.LAYER_CAR);
+        world.setVelocity(car, speedY, type.getMinSpeedY(), type.getMaxSpeedY());
+        world.setCollider(car, World.GROUP_CAR,
+                World.GROUP_CAR | World.GROUP_FIREBALL | World.GROUP_TAXI | World.GROUP_CHARACTER,
+                type.getRadius(), type.getDamage(), CAR_PUSH_OUT_DISTANCE);
+        world.setEffects(car, EntityKind.SMOKE, EntityKind.FIRE);
+        world.setHealth(car, type.getHealth());
+        world.addComponents(car, World.TIMEOUT | World.SCROLLING);
+        world.setFlag(car, World.FLAG_DESTROY_WHEN_DEAD | World.FLAG_MUTUAL_DAMAGE | World.FLAG_NEW_SPEED_ON_HIT
+                | World.FLAG_NO_EFFECT_FROM_CHARACTER, true);
+
+        if (event != null) {
+            event.carType = EntityKind.getName(type.getKind());
+            event.laneX = x;
+            event.carCount = world.countKind(EntityKind.OTHER_CAR) + world.countKind(EntityKind.ENEMY_CAR);
+            event.commit();
+        }
+        return car;
+    }
+
+    /**
+     * Creates a fireball shot from the given location.
+     *
+     * @param world The world to create the fireball in.
+     * @param x The X-coordinate of the car shooting the fireball.
+     * @param y The Y-coordinate of the car shooting the fireball.
+     * @return The id of the new fireball.
+     */
+    public int createFireball(World world, double x, double y) {
+        int fireball = world.create(EntityKind.FIREBALL, x, y - FIREBALL_STARTING_Y_DISTANCE);
+        world.setSprite(fireball, FIREBALL_TEXTURE, RenderQueue.LAYER_FIREBALL);
+        world.setVelocity(fireball, FIREBALL_SPEED_Y, 0, 0);
+        world.setCollider(fireball, World.GROUP_FIREBALL, 0, FIREBALL_RADIUS, FIREBALL_DAMAGE, 0);
+        world.addComponents(fireball, World.SCROLLING);
+        world.setFlag(fireball, World.FLAG_DESTROY_ON_HIT | World.FLAG_DESTROY_OFF_SCREEN, true);
+        return fireball;
+    }
+
+    /**
+     * Creates a smoke, fire or blood effect at the given location.
+     *
+     * @param world The world to create the effect in.
+     * @param kind The kind of effect.
+     * @param x The X-coordinate of the effect.
+     * @param y The Y-coordinate of the effect.
+     * @return The id of the new effect.
+     */
+    public int createEffect(World world, int kind, double x, double y) {
+        int effect = world.create(kind, x, y);
+        world.setSprite(effect, EFFECT_TEXTURES[kind], RenderQueue.LAYER_ANIMATION);
+        world.setLifetime(effect, EFFECT_TTLS[kind]);
+        world.addComponents(effect, World.SCROLLING);
+        return effect;
+    }
+
+    /**
+     * Creates every coin and invincible power listed in the game objects.
+     *
+     * @param world The world to create the tokens in.
+     * @param gameObjects An 2D array representing game object data.
+     */
+    public void readTokens(World world, String[][] gameObjects) {
+        for (String[] line : gameObjects) {
+            // Check if the game object is token
+            if (line[0].equals("COIN")) {
+                createToken(world, EntityKind.COIN, "coin", line);
+            }
+            else if (line[0].equals("INVINCIBLE_POWER")) {
+                createToken(world, EntityKind.INVINCIBLE_POWER, "invinciblePower", line);
+            }
+        }
+    }
+
+    // Create a token that the taxi or driver can collect
+    private void createToken(World world, int kind, String name, String[] line) {
+        int token = world.create(kind, Double.parseDouble(line[1]), Double.parseDouble(line[2]));
+        world.setSprite(token, Assets.getImageId(GAME_PROPS.getProperty("gameObjects." + name + ".image")),
+                RenderQueue.LAYER_TOKEN);
+        world.setCollider(token, World.GROUP_TOKEN, 0,
+                Double.parseDouble(GAME_PROPS.getProperty("gameObjects." + name + ".radius")), 0, 0);
+        world.addComponents(token, World.SCROLLING);
+    }
+
+    // Read the image and time to live of an effect
+    private void readEffect(int kind, String name) {
+        EFFECT_TEXTURES[kind] = Assets.getImageId(GAME_PROPS.getProperty("gameObjects." + name + ".image"));
+        EFFECT_TTLS[kind] = Integer.parseInt(GAME_PROPS.getProperty("gameObjects." + name + ".ttl"));
+    }
+}
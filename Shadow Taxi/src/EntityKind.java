@@ -0,0 +1,83 @@
+/**
+ * The kinds of entities stored in the world. A kind only names an entity for game rules and profiling;
+ * how the entity behaves is decided entirely by its components and flags.
+ */
+public class EntityKind {
+    /**
+     * The taxi driven by the player.
+     */
+    public static final int TAXI = 0;
+
+    /**
+     * A taxi that was destroyed and left on the road.
+     */
+    public static final int DAMAGED_TAXI = 1;
+
+    /**
+     * The driver of the taxi.
+     */
+    public static final int DRIVER = 2;
+
+    /**
+     * A passenger waiting for, in, or leaving the taxi.
+     */
+    public static final int PASSENGER = 3;
+
+    /**
+     * A car driving on the road that does not shoot.
+     */
+    public static final int OTHER_CAR = 4;
+
+    /**
+     * A car driving on the road that shoots fireballs.
+     */
+    public static final int ENEMY_CAR = 5;
+
+    /**
+     * A fireball shot by an enemy car.
+     */
+    public static final int FIREBALL = 6;
+
+    /**
+     * A coin that makes the in-trip passenger's priority higher.
+     */
+    public static final int COIN = 7;
+
+    /**
+     * An invincible power that protects the taxi and driver from damage.
+     */
+    public static final int INVINCIBLE_POWER = 8;
+
+    /**
+     * A smoke effect shown where an entity took damage.
+     */
+    public static final int SMOKE = 9;
+
+    /**
+     * A fire effect shown where a vehicle was destroyed.
+     */
+    public static final int FIRE = 10;
+
+    /**
+     * A blood effect shown where a character ran out of health.
+     */
+    public static final int BLOOD = 11;
+
+    /**
+     * The total number of kinds.
+     */
+    public static final int TOTAL_KINDS = 12;
+
+    private static final String[] NAMES = {"Taxi", "DamagedTaxi", "Driver", "Passenger", "OtherCar", "EnemyCar",
+            "Fireball", "Coin", "InvinciblePower", "Smoke", "Fire", "Blood"};
+
+    /**
+     * Gets the display name of a kind, used when recording profiling events.
+     *
+     * @param kind The kind of entity.
+     * @return The name of the kind.
+     */
+    public static String getName(int kind) {
+        return NAMES[kind];
+    }
+}
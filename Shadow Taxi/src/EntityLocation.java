@@ -0,0 +1,60 @@
+/**
+ * A location that reads and writes the position component of an entity in the world,
+ * so game objects that keep their own logic can share their position with the world's systems.
+ */
+public class EntityLocation extends Location {
+    private final World WORLD;
+    private final int ENTITY;
+
+    /**
+     * Constructs a new location backed by the position of an entity.
+     *
+     * @param world The world the entity lives in.
+     * @param entity The id of the entity.
+     */
+    public EntityLocation(World world, int entity) {
+        super(world.getX(entity), world.getY(entity));
+        this.WORLD = world;
+        this.ENTITY = entity;
+    }
+
+    /**
+     * Gets the X-coordinate of the entity.
+     *
+     * @return The X-coordinate of the entity.
+     */
+    @Override
+    public double getX() {
+        return WORLD.getX(ENTITY);
+    }
+
+    /**
+     * Gets the Y-coordinate of the entity.
+     *
+     * @return The Y-coordinate of the entity.
+     */
+    @Override
+    public double getY() {
+        return WORLD.getY(ENTITY);
+    }
+
+    /**
+     * Sets the X-coordinate of the entity.
+     *
+     * @param x The X-coordinate to set.
+     */
+    @Override
+    public void setX(double x) {
+        WORLD.setX(ENTITY, x);
+    }
+
+    /**
+     * Sets the Y-coordinate of the entity.
+     *
+     * @param y The Y-coordinate to set.
+     */
+    @Override
+    public void setY(double y) {
+        WORLD.setY(ENTITY, y);
+    }
+}
@@ -0,0 +1,95 @@
+/**
+ * Counts down every emitter, which shoots a fireball when its countdown runs out and then waits for a new
+ * number of frames picked by the spawn director.
+ */
+public class FireballSystem implements GameSystem {
+    private final EntityFactory FACTORY;
+    private final SpawnDirector DIRECTOR;
+    private int frame;
+
+    /**
+     * Constructs a new system shooting fireballs.
+     *
+     * @param factory The factory creating the fireballs.
+     * @param director The director deciding how often fireballs are shot.
+     */
+    public FireballSystem(EntityFactory factory, SpawnDirector director) {
+        this.FACTORY = factory;
+        this.DIRECTOR = director;
+    }
+
+    /**
+     * Sets the number of frames played, before the system is run for a frame.
+     *
+     * @param frame The number of frames played.
+     */
+    public void setFrame(int frame) {
+        this.frame = frame;
+    }
+
+    /**
+     * Gets the state the system reads.
+     *
+     * @return The position and countdown of the shooting entities.
+     */
+    @Override
+    public int getReads() {
+        return World.POSITION | World.EMITTER;
+    }
+
+    /**
+     * Gets the state the system writes.
+     *
+     * @return Everything, as the system creates entities.
+     */
+    @Override
+    public int getWrites() {
+        return ALL;
+    }
+
+    /**
+     * Gets whether the system can be split into chunks.
+     *
+     * @return false, as creating entities changes the world's arrays.
+     */
+    @Override
+    public boolean isParallel() {
+        return false;
+    }
+
+    /**
+     * Gets the number of items the system updates.
+     *
+     * @param world The world being updated.
+     * @return The number of entity slots in the world.
+     */
+    @Override
+    public int size(World world) {
+        return world.size();
+    }
+
+    /**
+     * Shoots fireballs from the entities in the range.
+     *
+     * @param world The world to spawn the fireballs in.
+     * @param from The first entity id.
+     * @param to One past the last entity id.
+     */
+    @Override
+    public void update(World world, int from, int to) {
+        for (int entity = from; entity < to; entity++) {
+            if (!world.has(entity, World.EMITTER)) {
+                continue;
+            }
+            int frames = world.getEmitFrames(entity) - 1;
+            if (frames > 0) {
+                world.setEmitFrames(entity, frames);
+                continue;
+            }
+            if (DIRECTOR.canShootFireball(frame)) {
+                FACTORY.createFireball(world, world.getX(entity), world.getY(entity));
+            }
+            world.setEmitFrames(entity, DIRECTOR.nextFireballInterval(frame));
+        }
+    }
+}
@@ -0,0 +1,147 @@
+import com.sun.management.ThreadMXBean;
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.nio.file.Files;
+import java.util.Properties;
+
+/**
+ * Checks that a frame of a game allocates nothing once the game is under way. It plays games without a window,
+ * driven by the autopilot, and measures the bytes the game's threads allocate during each frame: first a quiet game
+ * with every spawn curve turned off, then a game with its traffic, where cars spawn, scroll and are sorted in their
+ * lanes every frame. Frames near a trip, a token, a hit, a change of weather or the end of the game may allocate the
+ * texts they show, and frames where the world holds more entities than ever before may grow its arrays, but any
+ * other frame that allocates is reported, and the check exits with a failure so it can guard a build.
+ */
+public class FrameAllocationCheck {
+    private static final int WARM_UP_GAMES = 2; // Loads the classes used by a frame, and lets the JIT settle
+    private static final int EVENT_MARGIN = 1; // The frame an event happens in is simulated during the next
+    private static final int MAX_THREADS = 64;
+    private static final int MAX_REPORTED_FRAMES = 10;
+
+    /**
+     * Plays a quiet game and a game with traffic, and reports the frames that allocate.
+     *
+     * @param args The seed of the games, optional.
+     * @throws IOException If the configuration cannot be read.
+     */
+    public static void main(String[] args) throws IOException {
+        ThreadMXBean threads = (ThreadMXBean) ManagementFactory.getThreadMXBean();
+        if (!threads.isThreadAllocatedMemorySupported()) {
+            throw new IllegalStateException("This JVM cannot measure the memory allocated by a thread");
+        }
+        threads.setThreadAllocatedMemoryEnabled(true);
+
+        GameConfig config = GameConfig.read("res/app.properties", "res/message_en.properties");
+        Properties gameProps = config.getGameProps();
+        gameProps.setProperty("gamePlay.autopilot", "true");
+        gameProps.setProperty("gamePlay.seed", args.length > 0 ? args[0] : "1");
+        gameProps.setProperty("gameEnd.scoresFile", Files.createTempFile("scores", ".csv").toString());
+
+        // The quiet game keeps the same configuration with every spawn curve turned off
+        Properties quietProps = new Properties();
+        quietProps.putAll(gameProps);
+        for (String[] line : IOUtils.readCommaSeparatedFile(gameProps.getProperty("gamePlay.spawnFile"))) {
+            if (!line[0].equals("laneCap")) {
+                quietProps.setProperty("gamePlay.spawnFactor." + line[0], "0");
+            }
+        }
+        GameConfig quietConfig = new GameConfig(quietProps, config.getMessageProps(), config.getGameObjects(),
+                config.getWeather());
+
+        boolean isQuietClean = checkGame(threads, quietConfig, "quiet");
+        boolean isTrafficClean = checkGame(threads, config, "traffic");
+        System.exit(isQuietClean && isTrafficClean ? 0 : 1);
+    }
+
+    // Play a game with a configuration and report its frames that allocate, returning whether there were none
+    private static boolean checkGame(ThreadMXBean threads, GameConfig config, String label) {
+        for (int game = 0; game < WARM_UP_GAMES; game++) {
+            GamePlay gamePlay = new GamePlay(config, "check", new RecordingRenderBackend(), null);
+            while (!gamePlay.getGameCompleted()) {
+                gamePlay.showGamePlay(null);
+            }
+        }
+        GamePlay gamePlay = new GamePlay(config, "check", new RecordingRenderBackend(), null);
+        GameStats stats = gamePlay.getStats();
+        World world = gamePlay.getWorld();
+
+        // A change of weather reprices the passengers, so the heads-up display formats their new earnings
+        String[][] weather = config.getWeather();
+        int[] weatherStarts = new int[weather.length];
+        for (int i = 0; i < weather.length; i++) {
+            weatherStarts[i] = Integer.parseInt(weather[i][1]);
+        }
+
+        // The game's threads have all started by now, and share the thread group of this one
+        Thread[] gameThreads = new Thread[MAX_THREADS];
+        int threadCount = Thread.currentThread().getThreadGroup().enumerate(gameThreads);
+        long[] threadIds = new long[threadCount];
+        for (int i = 0; i < threadCount; i++) {
+            threadIds[i] = gameThreads[i].getId();
+        }
+
+        int maxFrames = Integer.parseInt(config.getGameProps().getProperty("gamePlay.maxFrames")) + 1;
+        long[] frameBytes = new long[maxFrames];
+        int[] frameEvents = new int[maxFrames];
+        int[] frameSlots = new int[maxFrames]; // The most entity slots the world has needed so far
+        int frames = 0;
+
+        while (!gamePlay.getGameCompleted() && frames < maxFrames) {
+            long bytesBefore = getAllocatedBytes(threads, threadIds);
+            gamePlay.showGamePlay(null);
+            frameBytes[frames] = getAllocatedBytes(threads, threadIds) - bytesBefore;
+            frameEvents[frames] = countEvents(stats) + countWeatherChanges(weatherStarts, frames);
+            frameSlots[frames] = world.size();
+            frames++;
+        }
+
+        // Only the frames well clear of any event or growth, and of the last frames of the game, have to allocate
+        // nothing
+        int steadyFrames = 0;
+        int allocatingFrames = 0;
+        long allocatedBytes = 0;
+        for (int frame = EVENT_MARGIN + 1; frame < frames - EVENT_MARGIN - 1; frame++) {
+            if (frameEvents[frame - EVENT_MARGIN - 1] != frameEvents[frame + EVENT_MARGIN]
+                    || frameSlots[frame - EVENT_MARGIN - 1] != frameSlots[frame + EVENT_MARGIN]) {
+                continue;
+            }
+            steadyFrames++;
+            if (frameBytes[frame] > 0) {
+                if (allocatingFrames < MAX_REPORTED_FRAMES) {
+                    System.out.println(label + " frame " + frame + " allocated " + frameBytes[frame] + " bytes");
+                }
+                allocatingFrames++;
+                allocatedBytes += frameBytes[frame];
+            }
+        }
+        System.out.println(label + ": frames=" + frames + " steadyFrames=" + steadyFrames +
+                " allocatingFrames=" + allocatingFrames + " allocatedBytes=" + allocatedBytes);
+        return allocatingFrames == 0 && steadyFrames > 0;
+    }
+
+    // Count the events of the game so far that can make a frame show new text
+    private static int countEvents(GameStats stats) {
+        return stats.getTripsStarted() + stats.getTripsCompleted() + stats.getTokensCollected() +
+                stats.getDamageEvents() + stats.getEntitiesDestroyed();
+    }
+
+    // Count the changes of weather up to a frame
+    private static int countWeatherChanges(int[] weatherStarts, int frame) {
+        int changes = 0;
+        for (int start : weatherStarts) {
+            if (start <= frame) {
+                changes++;
+            }
+        }
+        return changes;
+    }
+
+    // Sum the bytes allocated by the threads so far, skipping any that have finished
+    private static long getAllocatedBytes(ThreadMXBean threads, long[] threadIds) {
+        long bytes = 0;
+        for (long threadId : threadIds) {
+            bytes += Math.max(0, threads.getThreadAllocatedBytes(threadId));
+        }
+        return bytes;
+    }
+}
@@ -0,0 +1,21 @@
+import jdk.jfr.*;
+
+/**
+ * A Java Flight Recorder event emitted every time a frame of gameplay is submitted for drawing.
+ * The duration of the event covers sorting and submitting the frame's draw commands.
+ */
+@Name("shadowtaxi.FrameRender")
+@Label("Frame Render")
+@Category({"Shadow Taxi", "Rendering"})
+@Description("A gameplay frame was sorted and submitted to the render backend")
+@StackTrace(false)
+public class FrameRenderEvent extends Event {
+    @Label("Draw Commands")
+    int drawCommands;
+
+    @Label("Drawn Entities")
+    int drawnEntities;
+
+    @Label("Culled Entities")
+    int culledEntities;
+}
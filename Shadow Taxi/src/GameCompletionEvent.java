@@ -0,0 +1,38 @@
+import jdk.jfr.*;
+
+/**
+ * A Java Flight Recorder event emitted when a game session finishes.
+ * The duration of the event covers saving the player's score.
+ */
+@Name("shadowtaxi.GameCompletion")
+@Label("Game Completion")
+@Category({"Shadow Taxi", "Lifecycle"})
+@Description("A game session finished and the score was saved")
+public class GameCompletionEvent extends Event {
+    @Label("Won")
+    boolean isWon;
+
+    @Label("Score")
+    double score;
+
+    @Label("Frames Played")
+    int framesPlayed;
+
+    @Label("Active Cars")
+    int carCount;
+
+    @Label("Active Fireballs")
+    int fireballCount;
+
+    @Label("Active Tokens")
+    int tokenCount;
+
+    @Label("Trips Completed")
+    int tripsCompleted;
+
+    @Label("Tokens Collected")
+    int tokensCollected;
+
+    @Label("Entities Destroyed")
+    int entitiesDestroyed;
+}
@@ -0,0 +1,164 @@
+import java.io.IOException;
+import java.util.Properties;
+
+/**
+ * The configuration, messages, level and weather a game is played with, read together so that they can be
+ * swapped for newer versions all at once. Nothing in a configuration is changed once it is read.
+ */
+public class GameConfig {
+    private final Properties GAME_PROPS;
+    private final Properties MESSAGE_PROPS;
+    private final String[][] GAME_OBJECTS;
+    private final String[][] WEATHER;
+
+    /**
+     * Constructs a configuration from files already read.
+     *
+     * @param gameProps The property file containing configuration.
+     * @param messageProps The property file containing game messages.
+     * @param gameObjects A 2D array containing game objects and their properties.
+     * @param weather A 2D array containing the weather of the game.
+     */
+    public GameConfig(Properties gameProps, Properties messageProps, String[][] gameObjects, String[][] weather) {
+        GAME_PROPS = gameProps;
+        MESSAGE_PROPS = messageProps;
+        GAME_OBJECTS = gameObjects;
+        WEATHER = weather;
+    }
+
+    /**
+     * Reads a configuration and checks that its level and weather can be played, so that a file saved halfway or
+     * with a typo is rejected before any game uses it.
+     *
+     * @param gamePropsFile The path to the property file containing configuration.
+     * @param messagePropsFile The path to the property file containing game messages.
+     * @return The configuration read.
+     * @throws IOException If a file cannot be read.
+     * @throws IllegalArgumentException If a line of the level or weather cannot be played.
+     */
+    public static GameConfig read(String gamePropsFile, String messagePropsFile) throws IOException {
+        return read(gamePropsFile, messagePropsFile, null);
+    }
+
+    /**
+     * Reads a newer version of a configuration and checks that it can be played in place of the one before.
+     * Besides the level and weather, every property that is a number in the configuration before must still be
+     * a number, and a whole number if it was one, as the game parses them when a game is built; and every message
+     * must still be given. Checking against the configuration before covers the properties named after the
+     * level's objects, such as the spawn factors, without listing them here.
+     *
+     * @param gamePropsFile The path to the property file containing configuration.
+     * @param messagePropsFile The path to the property file containing game messages.
+     * @param previous The configuration the game is played with, or null to check only the level and weather.
+     * @return The configuration read.
+     * @throws IOException If a file cannot be read.
+     * @throws IllegalArgumentException If a property, message, or line of the level or weather cannot be played.
+     */
+    public static GameConfig read(String gamePropsFile, String messagePropsFile, GameConfig previous)
+            throws IOException {
+        Properties gameProps = IOUtils.parsePropertiesFile(gamePropsFile);
+        Properties messageProps = IOUtils.parsePropertiesFile(messagePropsFile);
+        String[][] gameObjects = IOUtils.parseCommaSeparatedFile(gameProps.getProperty("gamePlay.objectsFile"));
+        String[][] weather = IOUtils.parseCommaSeparatedFile(gameProps.getProperty("gamePlay.weatherFile"));
+        IOUtils.parseCommaSeparatedFile(gameProps.getProperty("gamePlay.spawnFile")); // Read by every new road
+        if (previous != null) {
+            checkProperties(previous.GAME_PROPS, gameProps);
+            for (String key : previous.MESSAGE_PROPS.stringPropertyNames()) {
+                if (messageProps.getProperty(key) == null) {
+                    throw new IllegalArgumentException("Message is missing: " + key);
+                }
+            }
+        }
+        for (String[] line : gameObjects) {
+            int columns = line[0].equals("PASSENGER") ? 7 : 3;
+            if (line.length < columns) {
+                throw new IllegalArgumentException("Game object line is too short: " + String.join(",", line));
+            }
+            for (int column = 1; column < columns; column++) {
+                Double.parseDouble(line[column]);
+            }
+        }
+        for (String[] line : weather) {
+            if (line.length < 3) {
+                throw new IllegalArgumentException("Weather line is too short: " + String.join(",", line));
+            }
+            Integer.parseInt(line[1]);
+            Integer.parseInt(line[2]);
+        }
+        return new GameConfig(gameProps, messageProps, gameObjects, weather);
+    }
+
+    // Check that the numbers of a configuration are still numbers of the same kind in its newer version
+    private static void checkProperties(Properties previous, Properties gameProps) {
+        for (String key : previous.stringPropertyNames()) {
+            String before = previous.getProperty(key).trim();
+            if (!isNumber(before)) {
+                continue;
+            }
+            String value = gameProps.getProperty(key);
+            if (value == null) {
+                throw new IllegalArgumentException("Property is missing: " + key);
+            }
+            if (!isNumber(value.trim()) || (isWholeNumber(before) && !isWholeNumber(value.trim()))) {
+                throw new IllegalArgumentException("Property " + key + " must be a" +
+                        (isWholeNumber(before) ? " whole" : "") + " number: " + value);
+            }
+        }
+    }
+
+    // Check whether a value can be parsed as a number
+    private static boolean isNumber(String value) {
+        try {
+            Double.parseDouble(value);
+            return true;
+        } catch (NumberFormatException e) {
+            return false;
+        }
+    }
+
+    // Check whether a value can be parsed as an int
+    private static boolean isWholeNumber(String value) {
+        try {
+            Integer.parseInt(value);
+            return true;
+        } catch (NumberFormatException e) {
+            return false;
+        }
+    }
+
+    /**
+     * Gets the configuration of the game.
+     *
+     * @return The property file containing configuration.
+     */
+    public Properties getGameProps() {
+        return GAME_PROPS;
+    }
+
+    /**
+     * Gets the messages shown in the game.
+     *
+     * @return The property file containing game messages.
+     */
+    public Properties getMessageProps() {
+        return MESSAGE_PROPS;
+    }
+
+    /**
+     * Gets the level of the game.
+     *
+     * @return A 2D array containing game objects and their properties.
+     */
+    public String[][] getGameObjects() {
+        return GAME_OBJECTS;
+    }
+
+    /**
+     * Gets the weather of the game.
+     *
+     * @return A 2D array containing the weather of the game.
+     */
+    public String[][] getWeather() {
+        return WEATHER;
+    }
+}
@@ -0,0 +1,102 @@
+import java.util.Arrays;
+
+/**
+ * A bus that collects game events in a ring buffer during a frame and delivers them to subscribers once per frame.
+ * Each road has its own bus, so games can be simulated side by side.
+ * Events are stored in preallocated arrays, so publishing and dispatching allocate nothing in a steady frame.
+ */
+public class GameEventBus {
+    private static final int INITIAL_CAPACITY = 64;
+    private static final int TOTAL_TYPES = GameEventType.values().length;
+
+    private GameEventType[] types;
+    private int[] entities;
+    private double[] values;
+    private int head; // Index of the oldest undelivered event
+    private int count; // Number of undelivered events
+
+    private GameEventListener[][] listeners;
+    private int[] listenerCounts;
+
+    /**
+     * Constructs a new empty event bus with no subscribers.
+     */
+    public GameEventBus() {
+        types = new GameEventType[INITIAL_CAPACITY];
+        entities = new int[INITIAL_CAPACITY];
+        values = new double[INITIAL_CAPACITY];
+        head = 0;
+        count = 0;
+        listeners = new GameEventListener[TOTAL_TYPES][0];
+        listenerCounts = new int[TOTAL_TYPES];
+    }
+
+    /**
+     * Subscribes a listener to one type of event.
+     *
+     * @param type The type of event to listen to.
+     * @param listener The listener to be notified.
+     */
+    public void subscribe(GameEventType type, GameEventListener listener) {
+        int index = type.ordinal();
+        if (listenerCounts[index] == listeners[index].length) {
+            listeners[index] = Arrays.copyOf(listeners[index], listenerCounts[index] + 1);
+        }
+        listeners[index][listenerCounts[index]++] = listener;
+    }
+
+    /**
+     * Publishes an event, which is delivered to subscribers on the next dispatch.
+     *
+     * @param type The type of the event.
+     * @param entity The id of the entity the event is about.
+     * @param value The value carried by the event.
+     */
+    public void publish(GameEventType type, int entity, double value) {
+        if (count == types.length) {
+            grow();
+        }
+        int tail = (head + count) % types.length;
+        types[tail] = type;
+        entities[tail] = entity;
+        values[tail] = value;
+        count++;
+    }
+
+    /**
+     * Delivers every published event to its subscribers in the order they were published.
+     * Events published by a subscriber during dispatch are delivered in the same dispatch.
+     */
+    public void dispatch() {
+        while (count > 0) {
+            GameEventType type = types[head];
+            int entity = entities[head];
+            double value = values[head];
+            head = (head + 1) % types.length;
+            count--;
+
+            int index = type.ordinal();
+            for (int i = 0; i < listenerCounts[index]; i++) {
+                listeners[index][i].onGameEvent(type, entity, value);
+            }
+        }
+    }
+
+    // Double the capacity of the ring buffer, keeping the undelivered events in order
+    private void grow() {
+        int capacity = types.length * 2;
+        GameEventType[] newTypes = new GameEventType[capacity];
+        int[] newEntities = new int[capacity];
+        double[] newValues = new double[capacity];
+        for (int i = 0; i < count; i++) {
+            int index = (head + i) % types.length;
+            newTypes[i] = types[index];
+            newEntities[i] = entities[index];
+            newValues[i] = values[index];
+        }
+        types = newTypes;
+        entities = newEntities;
+        values = newValues;
+        head = 0;
+    }
+}
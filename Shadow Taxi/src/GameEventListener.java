@@ -0,0 +1,13 @@
+/**
+ * An interface representing objects that observe events published on the game event bus.
+ */
+public interface GameEventListener {
+    /**
+     * Handles an event published on the game event bus.
+     *
+     * @param type The type of the event.
+     * @param entity The id of the entity the event is about.
+     * @param value The value carried by the event, see {@link GameEventType}.
+     */
+    void onGameEvent(GameEventType type, int entity, double value);
+}
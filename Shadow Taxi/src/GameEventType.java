@@ -0,0 +1,29 @@
+/**
+ * The types of events published on the game event bus.
+ */
+public enum GameEventType {
+    /**
+     * An entity took damage in a collision. The value is the damage taken.
+     */
+    DAMAGE_APPLIED,
+
+    /**
+     * An entity's health dropped to 0 or below. The value is the entity's remaining health.
+     */
+    ENTITY_DESTROYED,
+
+    /**
+     * The taxi or driver collected a coin or an invincible power. The value is unused.
+     */
+    TOKEN_COLLECTED,
+
+    /**
+     * A passenger got into the taxi. The value is the passenger's expected earnings.
+     */
+    TRIP_STARTED,
+
+    /**
+     * A passenger reached their end flag. The value is the amount added to the score.
+     */
+    TRIP_COMPLETED
+}
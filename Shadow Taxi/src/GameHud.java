@@ -0,0 +1,184 @@
+import java.util.Properties;
+
+/**
+ * Represents the heads-up display of the gameplay screen.
+ * All labels, positions and formatted values are cached so a steady frame builds no new strings.
+ */
+public class GameHud {
+    private static final double EARNING_DISTANCE_TO_TRIP_INFO = 30;
+    private static final double PRIORITY_DISTANCE_TO_TRIP_INFO = 60;
+    private static final double PENALTY_DISTANCE_TO_TRIP_INFO = 90;
+    private static final double HINT_DISTANCE_TO_PASSENGER = 40;
+    private static final String[] DIGITS = {"0", "1", "2", "3", "4", "5", "6", "7", "8", "9"};
+
+    private final int FONT;
+    private final double[] DIGIT_WIDTHS;
+    private final int[] digitBuffer;
+
+    private final HudText EARNINGS;
+    private final HudText TARGET;
+    private final HudText TAXI_HEALTH;
+    private final HudText DRIVER_HEALTH;
+    private final HudText PASSENGER_HEALTH;
+    private final HudText TRIP_EARNINGS;
+    private final HudText TRIP_PRIORITY;
+    private final HudText TRIP_PENALTY;
+    private final HudText TRIP_HINT;
+
+    private final String FRAMES_LABEL;
+    private final double FRAMES_LABEL_WIDTH;
+    private final String ONGOING_TRIP_TITLE;
+    private final String COMPLETED_TRIP_TITLE;
+
+    private final double EARNINGS_X;
+    private final double EARNINGS_Y;
+    private final double TARGET_X;
+    private final double TARGET_Y;
+    private final double FRAMES_X;
+    private final double FRAMES_Y;
+    private final double COIN_X;
+    private final double COIN_Y;
+    private final double TAXI_HEALTH_X;
+    private final double TAXI_HEALTH_Y;
+    private final double DRIVER_HEALTH_X;
+    private final double DRIVER_HEALTH_Y;
+    private final double PASSENGER_HEALTH_X;
+    private final double PASSENGER_HEALTH_Y;
+    private final double TRIP_INFO_X;
+    private final double TRIP_INFO_Y;
+
+    /**
+     * Constructs the heads-up display, reading its font, labels and positions once.
+     *
+     * @param gameProps The property file containing configuration.
+     * @param messageProps The property file containing game messages.
+     * @param renderBackend The backend used to measure the width of texts.
+     */
+    public GameHud(Properties gameProps, Properties messageProps, RenderBackend renderBackend) {
+        FONT = Assets.getFontId(gameProps.getProperty("font"),
+                Integer.parseInt(gameProps.getProperty("gamePlay.info.fontSize")));
+        DIGIT_WIDTHS = new double[DIGITS.length];
+        for (int i = 0; i < DIGITS.length; i++) {
+            DIGIT_WIDTHS[i] = renderBackend.getTextWidth(FONT, DIGITS[i]);
+        }
+        digitBuffer = new int[10];
+
+        EARNINGS = new HudText(messageProps.getProperty("gamePlay.earnings"), "%.2f");
+        TARGET = new HudText(messageProps.getProperty("gamePlay.target"), "%.2f");
+        TAXI_HEALTH = new HudText(messageProps.getProperty("gamePlay.taxiHealth"), "%.2f");
+        DRIVER_HEALTH = new HudText(messageProps.getProperty("gamePlay.driverHealth"), "%.2f");
+        PASSENGER_HEALTH = new HudText(messageProps.getProperty("gamePlay.passengerHealth"), "%.1f");
+        TRIP_EARNINGS = new HudText(messageProps.getProperty("gamePlay.trip.expectedEarning"), "%.1f");
+        TRIP_PRIORITY = new HudText(messageProps.getProperty("gamePlay.trip.priority"), "%.0f");
+        TRIP_PENALTY = new HudText(messageProps.getProperty("gamePlay.trip.penalty"), "%.2f");
+        TRIP_HINT = new HudText(messageProps.getProperty("gamePlay.trip.hint"), "%.1f");
+
+        FRAMES_LABEL = messageProps.getProperty("gamePlay.remFrames");
+        FRAMES_LABEL_WIDTH = renderBackend.getTextWidth(FONT, FRAMES_LABEL);
+        ONGOING_TRIP_TITLE = messageProps.getProperty("gamePlay.onGoingTrip.title");
+        COMPLETED_TRIP_TITLE = messageProps.getProperty("gamePlay.completedTrip.title");
+
+        EARNINGS_X = Double.parseDouble(gameProps.getProperty("gamePlay.earnings.x"));
+        EARNINGS_Y = Double.parseDouble(gameProps.getProperty("gamePlay.earnings.y"));
+        TARGET_X = Double.parseDouble(gameProps.getProperty("gamePlay.target.x"));
+        TARGET_Y = Double.parseDouble(gameProps.getProperty("gamePlay.target.y"));
+        FRAMES_X = Double.parseDouble(gameProps.getProperty("gamePlay.maxFrames.x"));
+        FRAMES_Y = Double.parseDouble(gameProps.getProperty("gamePlay.maxFrames.y"));
+        COIN_X = Double.parseDouble(gameProps.getProperty("gameplay.coin.x"));
+        COIN_Y = Double.parseDouble(gameProps.getProperty("gameplay.coin.y"));
+        TAXI_HEALTH_X = Double.parseDouble(gameProps.getProperty("gamePlay.taxiHealth.x"));
+        TAXI_HEALTH_Y = Double.parseDouble(gameProps.getProperty("gamePlay.taxiHealth.y"));
+        DRIVER_HEALTH_X = Double.parseDouble(gameProps.getProperty("gamePlay.driverHealth.x"));
+        DRIVER_HEALTH_Y = Double.parseDouble(gameProps.getProperty("gamePlay.driverHealth.y"));
+        PASSENGER_HEALTH_X = Double.parseDouble(gameProps.getProperty("gamePlay.passengerHealth.x"));
+        PASSENGER_HEALTH_Y = Double.parseDouble(gameProps.getProperty("gamePlay.passengerHealth.y"));
+        TRIP_INFO_X = Double.parseDouble(gameProps.getProperty("gamePlay.tripInfo.x"));
+        TRIP_INFO_Y = Double.parseDouble(gameProps.getProperty("gamePlay.tripInfo.y"));
+    }
+
+    /**
+     * Renders the score, target, remaining frames, coin timer and health of the taxi, driver and passenger.
+     *
+     * @param score The current score of the player.
+     * @param target The target score of the game.
+     * @param remainingFrames The number of frames remaining in the game.
+     * @param coinFrames The number of frames the coin power has been active, or a negative value if inactive.
+     * @param taxiHealth The health of the taxi.
+     * @param driverHealth The health of the driver.
+     * @param passengerHealth The health of the passenger shown on screen.
+     * @param renderQueue The queue the game details are drawn into.
+     */
+    public void showGameDetails(double score, double target, int remainingFrames, int coinFrames,
+                                double taxiHealth, double driverHealth, double passengerHealth,
+                                RenderQueue renderQueue) {
+        // Show the current score, target and frame remaining
+        renderQueue.drawText(FONT, EARNINGS.getText(score), EARNINGS_X, EARNINGS_Y, RenderQueue.LAYER_HUD);
+        renderQueue.drawText(FONT, TARGET.getText(target), TARGET_X, TARGET_Y, RenderQueue.LAYER_HUD);
+        renderQueue.drawText(FONT, FRAMES_LABEL, FRAMES_X, FRAMES_Y, RenderQueue.LAYER_HUD);
+        drawNumber(remainingFrames, FRAMES_X + FRAMES_LABEL_WIDTH, FRAMES_Y, renderQueue);
+
+        if (coinFrames >= 0) {
+            // Print the coin timer
+            drawNumber(coinFrames, COIN_X, COIN_Y, renderQueue);
+        }
+
+        // Print the taxi, driver and passenger health
+        renderQueue.drawText(FONT, TAXI_HEALTH.getText(taxiHealth), TAXI_HEALTH_X, TAXI_HEALTH_Y,
+                RenderQueue.LAYER_HUD);
+        renderQueue.drawText(FONT, DRIVER_HEALTH.getText(driverHealth), DRIVER_HEALTH_X, DRIVER_HEALTH_Y,
+                RenderQueue.LAYER_HUD);
+        renderQueue.drawText(FONT, PASSENGER_HEALTH.getText(passengerHealth),
+                PASSENGER_HEALTH_X, PASSENGER_HEALTH_Y, RenderQueue.LAYER_HUD);
+    }
+
+    /**
+     * Renders the details of the ongoing trip or the last completed trip.
+     *
+     * @param inTrip A flag indicating whether a trip is ongoing.
+     * @param earnings The expected earnings of the trip.
+     * @param priority The priority of the trip's passenger.
+     * @param penalty The penalty of the last completed trip, ignored while a trip is ongoing.
+     * @param renderQueue The queue the trip details are drawn into.
+     */
+    public void showTripDetails(boolean inTrip, double earnings, int priority, double penalty,
+                                RenderQueue renderQueue) {
+        renderQueue.drawText(FONT, inTrip ? ONGOING_TRIP_TITLE : COMPLETED_TRIP_TITLE,
+                TRIP_INFO_X, TRIP_INFO_Y, RenderQueue.LAYER_HUD);
+        renderQueue.drawText(FONT, TRIP_EARNINGS.getText(earnings),
+                TRIP_INFO_X, TRIP_INFO_Y + EARNING_DISTANCE_TO_TRIP_INFO, RenderQueue.LAYER_HUD);
+        renderQueue.drawText(FONT, TRIP_PRIORITY.getText(priority),
+                TRIP_INFO_X, TRIP_INFO_Y + PRIORITY_DISTANCE_TO_TRIP_INFO, RenderQueue.LAYER_HUD);
+        if (!inTrip) {
+            renderQueue.drawText(FONT, TRIP_PENALTY.getText(penalty),
+                    TRIP_INFO_X, TRIP_INFO_Y + PENALTY_DISTANCE_TO_TRIP_INFO, RenderQueue.LAYER_HUD);
+        }
+    }
+
+    /**
+     * Renders a hint below the passenger recommended to pick up next, with the fee they are expected to pay.
+     *
+     * @param earnings The expected fee of the recommended trip.
+     * @param x The x-coordinate of the recommended passenger.
+     * @param y The y-coordinate of the recommended passenger.
+     * @param renderQueue The queue the hint is drawn into.
+     */
+    public void showTripHint(double earnings, double x, double y, RenderQueue renderQueue) {
+        renderQueue.drawText(FONT, TRIP_HINT.getText(earnings), x, y + HINT_DISTANCE_TO_PASSENGER,
+                RenderQueue.LAYER_HUD);
+    }
+
+    // Draw a counter digit by digit, so values changing every frame do not build new strings
+    private void drawNumber(int value, double x, double y, RenderQueue renderQueue) {
+        int count = 0;
+        value = Math.max(0, value);
+        do {
+            digitBuffer[count++] = value % 10;
+            value /= 10;
+        } while (value > 0);
+
+        for (int i = count - 1; i >= 0; i--) {
+            renderQueue.drawText(FONT, DIGITS[digitBuffer[i]], x, y, RenderQueue.LAYER_HUD);
+            x += DIGIT_WIDTHS[digitBuffer[i]];
+        }
+    }
+}
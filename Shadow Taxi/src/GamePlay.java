@@ -1,118 +1,152 @@
 import bagel.*;
-import java.util.ArrayList;
+import java.io.IOException;
+import java.io.UncheckedIOException;
 import java.util.Properties;
 
 /**
  * Represents the gameplay screen of the game.
  */
-public class GamePlay extends Screen{
-    private static final double EARNING_DISTANCE_TO_TRIP_INFO = 30;
-    private static final double PRIORITY_DISTANCE_TO_TRIP_INFO = 60;
-    private static final double PENALTY_DISTANCE_TO_TRIP_INFO = 90;
-
-    private ArrayList<Background> gamePlayImages; // Containing sunny and raining backgrounds
-
-    private final double X_SPEED;
-    private final double Y_SPEED;
+public class GamePlay extends Screen {
     private final double TARGET;
-    private final int MAX_FRAMES;
-    private final int MAX_COIN_TIME;
-    private final int MAX_INVINCIBLE_TIME;
-    private final String PLAYER_NAME;
-
-    private Taxi taxi;
-    private Driver driver;
-    private Passenger[] passengers;
-    private ArrayList<Token> tokenList;
-    private Font font;
+    private String playerName;
+
+    private final RoadSimulation ROAD;
+    private final TaxiPlayer PLAYER;
+    private GameHud hud;
+    private GameStats stats;
+    private final RenderQueue RENDER_QUEUE;
+    private final RenderBackend RENDER_BACKEND;
+    private final SimulationPipeline PIPELINE;
+    private final InputSnapshot INPUT;
+    private final Autopilot AUTOPILOT; // null unless the game drives itself
+    private final TripPlanner PLANNER; // null unless the player is shown which passenger to pick up next
+    private final InputSource[] INPUTS;
+    private final Runnable TICK;
+    private final String REPLAY_FILE; // null unless the game is recorded
+    private ReplayRecorder replay; // null unless the game is being recorded, and once its recording is finished
+    private final Broadcaster BROADCASTER; // null unless the game is being broadcast
+    private final RemoteFrame BROADCAST_FRAME;
 
-    private boolean inTrip;
-    private boolean lastTripCompleted;
     private boolean gameCompleted;
+    private boolean isLastFrameShown; // Only read and written on the render thread
     private boolean isWon;
 
-    private Passenger waitingPassenger;
-    private Passenger inTripPassenger;
-    private Passenger lastTripPassenger;
-
-    private double currentScore;
-    private int remainingFrames;
-    private int remainingLostFrames;
-    private int coinTimer;
-    private int invincibleTimer;
-    private double penalty;
-
-    private boolean isRaining;
-    private final String[][] WEATHER_CONDITION;
-
     /**
-     * Initializes a new game session with game properties, message properties, game objects, and the player's name.
+     * Initializes a new game session with the game's configuration, level and weather, and the player's name.
      *
-     * @param gameProps The property file containing configuration.
-     * @param messageProps The property file containing game messages.
-     * @param gameObjects A 2D array containing game objects and their properties.
+     * @param config The configuration the game is played with.
      * @param playerName The name of the player.
+     * @param renderBackend The backend that draws the game.
+     * @param broadcaster The broadcaster the game is streamed to spectators by, or null.
      */
-    public GamePlay(Properties gameProps, Properties messageProps, String[][] gameObjects, String playerName){
-        super(gameProps, messageProps);
+    public GamePlay(GameConfig config, String playerName, RenderBackend renderBackend, Broadcaster broadcaster){
+        this(config, renderBackend, broadcaster,
+                new GameHud(config.getGameProps(), config.getMessageProps(), renderBackend), new World(),
+                new RenderQueue(new Viewport(config.getGameProps())));
+        start(playerName);
+    }
 
-        // Add sun and rain backgrounds to the background list
-        gamePlayImages = new ArrayList<>();
-        gamePlayImages.add(new Background(gameProps.getProperty("backgroundImage.sunny"),
-                Window.getWidth()/2.0, Window.getHeight()/2.0));
-        gamePlayImages.add(new Background(gameProps.getProperty("backgroundImage.sunny"),
-                Window.getWidth()/2.0, -Window.getHeight()/2.0));
-        gamePlayImages.add(new Background(gameProps.getProperty("backgroundImage.raining"),
-                Window.getWidth()/2.0, Window.getHeight()/2.0));
-        gamePlayImages.add(new Background(gameProps.getProperty("backgroundImage.raining"),
-                Window.getWidth()/2.0, -Window.getHeight()/2.0));
+    /**
+     * Initializes a new game session in a given world, which is played once the player's name is known.
+     * Nothing here needs the window, so a game can be built on another thread while the player types their name.
+     *
+     * @param config The configuration the game is played with.
+     * @param renderBackend The backend that draws the game.
+     * @param broadcaster The broadcaster the game is streamed to spectators by, or null.
+     * @param hud The heads-up display of the game, made on the thread that owns the window.
+     * @param world The empty world the game's entities are created in.
+     * @param renderQueue The empty queue the game is recorded into.
+     */
+    public GamePlay(GameConfig config, RenderBackend renderBackend, Broadcaster broadcaster, GameHud hud,
+                    World world, RenderQueue renderQueue){
+        super(config.getGameProps(), config.getMessageProps());
+        Properties gameProps = config.getGameProps();
 
-        X_SPEED = Double.parseDouble(gameProps.getProperty("gameObjects.taxi.speedX"));
-        Y_SPEED = Double.parseDouble(gameProps.getProperty("gameObjects.taxi.speedY"));
         TARGET = Double.parseDouble(gameProps.getProperty("gamePlay.target"));
-        MAX_FRAMES = Integer.parseInt(gameProps.getProperty("gamePlay.maxFrames"));
-        MAX_COIN_TIME = Integer.parseInt(gameProps.getProperty("gameObjects.coin.maxFrames"));
-        MAX_INVINCIBLE_TIME = Integer.parseInt(gameProps.getProperty("gameObjects.invinciblePower.maxFrames"));
-        PLAYER_NAME = playerName;
-
-        WEATHER_CONDITION = IOUtils.readCommaSeparatedFile(gameProps.getProperty("gamePlay.weatherFile"));
+        playerName = null;
 
-        inTrip = false;
-        lastTripCompleted = true;
         gameCompleted= false;
+        isLastFrameShown = false;
+
+        // The player drives the only taxi on the road
+        RENDER_QUEUE = renderQueue;
+        BROADCASTER = broadcaster;
+        BROADCAST_FRAME = new RemoteFrame();
+        // Every drawn frame is also recorded for the spectators when broadcasting
+        RENDER_BACKEND = broadcaster != null ? new TeeRenderBackend(renderBackend, BROADCAST_FRAME) : renderBackend;
+        ROAD = new RoadSimulation(gameProps, config.getGameObjects(), config.getWeather(), 1, RENDER_QUEUE,
+                world);
+        PLAYER = ROAD.getPlayer(0);
+        this.hud = hud;
+        stats = new GameStats(ROAD.getEventBus());
+
+        // The game is simulated one frame ahead of drawing, from a copy of the input
+        PIPELINE = new SimulationPipeline();
+        INPUT = new InputSnapshot();
+        AUTOPILOT = Boolean.parseBoolean(gameProps.getProperty("gamePlay.autopilot")) ? new Autopilot(gameProps,
+                config.getWeather()) : null;
+        INPUTS = new InputSource[] {AUTOPILOT != null ? AUTOPILOT : INPUT};
+        // The hint shows the autopilot's own plan when it drives
+        boolean isAssisted = Boolean.parseBoolean(gameProps.getProperty("gamePlay.tripPlanner"));
+        PLANNER = !isAssisted ? null : AUTOPILOT != null ? AUTOPILOT.getPlanner() : new TripPlanner(gameProps,
+                config.getWeather());
+        TICK = () -> simulateTick(INPUTS);
+        REPLAY_FILE = gameProps.getProperty("gamePlay.replayFile");
+        replay = null;
+    }
 
-        waitingPassenger = null;
-        inTripPassenger = null;
-        lastTripPassenger = null;
+    /**
+     * Gives the game the name of its player, whose score is saved under it, and starts recording it when a replay
+     * file is configured. The recording replaces the last game's only now, so a game built ahead and never played
+     * leaves it alone. Must be called before the game is first shown.
+     *
+     * @param playerName The name of the player.
+     */
+    public void start(String playerName){
+        this.playerName = playerName;
+        try {
+            replay = REPLAY_FILE != null ? new ReplayRecorder(REPLAY_FILE) : null;
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
 
-        currentScore = 0;
-        remainingFrames = MAX_FRAMES;
-        remainingLostFrames = Integer.parseInt(gameProps.getProperty("gameObjects.fire.ttl"));
-        coinTimer = 0;
-        invincibleTimer = 0;
-        penalty = 0;
+    /**
+     * Stops the threads of the game once the frame being simulated has finished, and finishes its recording, so a
+     * game quit part way through leaves a replay that can be read. Also stops a game that was built but will not
+     * be played. Must be called on the render thread.
+     */
+    public void close(){
+        PIPELINE.shutdown();
+        ROAD.shutdown();
+        closeReplay();
+    }
 
-        // Initialise game entities and tokens
-        taxi = new Taxi(gameProps, gameObjects);
-        driver = new Driver(gameProps, taxi.getLocation().getX(), taxi.getLocation().getY());
-        passengers = Passenger.readPassengers(gameProps, gameObjects);
-        tokenList = Token.readToken(gameProps, gameObjects);
-        font = null;
+    /**
+     * Gets the world of the game, so its arrays can be reused by a later game once this one is over.
+     *
+     * @return The world of the game.
+     */
+    public World getWorld(){
+        return ROAD.getWorld();
+    }
 
-        // Refresh game entities list for the new game
-        Taxi.makeNewDamagedTaxiList();
-        Car.makeNewCarList();
-        Fireball.makeNewFireballList();
-        AnimationItem.makeNewAnimationList();
+    /**
+     * Gets the render queue of the game, so its buffers can be reused by a later game once this one is over.
+     *
+     * @return The render queue of the game.
+     */
+    public RenderQueue getRenderQueue(){
+        return RENDER_QUEUE;
     }
 
     /**
-     * Gets whether the game has completed.
+     * Gets whether the game has completed and its last frame has been drawn.
      *
      * @return true if game completed, false otherwise.
      */
     public boolean getGameCompleted(){
-        return gameCompleted;
+        return isLastFrameShown;
     }
 
     /**
@@ -125,308 +159,139 @@ public class GamePlay extends Screen{
     }
 
     /**
-     * Render the Game Play Screen
+     * Gets the statistics collected during the game.
+     *
+     * @return The statistics of the game.
+     */
+    public GameStats getStats(){
+        return stats;
+    }
+
+    /**
+     * Render the Game Play Screen.
+     * The frame simulated during the previous call is drawn while the next frame is simulated on another thread.
      *
-     * @param input The current keyboard input.
+     * @param input The current keyboard input, ignored while the autopilot drives.
      */
     public void showGamePlay(Input input) {
-        showGameElements(input);
-        handleAllGameLogic(input);
-        if (!inTrip){
-            findNewTrip(input);
+        if (isLastFrameShown){
+            return;
+        }
+        // Wait for the frame in progress, then publish it and start simulating the next one while it is drawn
+        PIPELINE.awaitTick();
+        RENDER_QUEUE.swapBuffers();
+        int remainingFrames = ROAD.getRemainingFrames(); // Read before the next tick changes it
+        if (gameCompleted){
+            PIPELINE.shutdown();
+            ROAD.shutdown();
+            isLastFrameShown = true;
         }
         else {
-            commenceTrip(input);
+            if (AUTOPILOT == null) {
+                INPUT.capture(input);
+            }
+            PIPELINE.startTick(TICK);
+        }
+        RENDER_QUEUE.flush(RENDER_BACKEND);
+        if (BROADCASTER != null) {
+            BROADCASTER.publish(BROADCAST_FRAME, remainingFrames);
         }
     }
 
-    private void showGameElements(Input input){
-        // Draw two connected backgrounds
-        showGamePlayBackgrounds(input);
-
-        // Show game entities and tokens
-        taxi.showTaxi(input, X_SPEED, Y_SPEED);
-        Token.showTokens(input, tokenList, Y_SPEED);
-        driver.showDriver(getGameProps(), input, taxi, inTripPassenger);
-        Passenger.showSelectedPassengers(input, passengers, taxi, driver, isRaining, getGameProps(),
-                inTripPassenger,lastTripPassenger, Y_SPEED);
-        showCarsAndFireballs(input);
-        AnimationItem.showAnimationItems(input, Y_SPEED);
-
-        // Show game details
+    // Simulate one frame of the game, recording what it draws into the render queue
+    private void simulateTick(InputSource[] inputs){
+        if (AUTOPILOT != null) {
+            AUTOPILOT.update(ROAD, 0); // Also updates its planner
+        }
+        else if (PLANNER != null) {
+            PLANNER.update(ROAD, 0);
+        }
+        // Show the road, then the game details over it, then handle all the logic in game
+        ROAD.showRoad(inputs);
         showGameDetails();
-    }
-
-    // Handle all the logic in game
-    private void handleAllGameLogic(Input input){
-        handleNewTaxiCreation();
-        handleTokenCollision();
-        handleEntitiesCollision();
+        ROAD.updateRoad(inputs);
+        recordReplay();
         handleGameCompletion();
-        remainingFrames -= 1;
     }
 
-    // Generate a new taxi when the current taxi is damaged
-    private void handleNewTaxiCreation(){
-        if (taxi.getHealth() <= 0){
-            taxi = Taxi.makeNewTaxi(getGameProps(), taxi, driver, inTripPassenger);
+    // Record the state of the road after this frame, and finish the recording once the game completes
+    private void recordReplay(){
+        if (replay == null || gameCompleted) {
+            return;
         }
-    }
-
-    // Randomly create and render other cars, enemy cars and fireballs
-    private void showCarsAndFireballs(Input input){
-        Car.create(getGameProps());
-        Car.showCars(input, getGameProps(), Y_SPEED);
-        Fireball.showFireballs(input, getGameProps(), Y_SPEED);
-    }
-
-    // Handle the collision logic of coin and invincible power
-    private void handleTokenCollision(){
-        for (Token token : tokenList) {
-            // Check if the taxi or driver has collided with token
-            if ((taxi.getLocation().distance(token.getLocation()) <= (taxi.getRadius() + token.getRadius())
-                    && taxi.getHasDriver()) ||
-                    (driver.getLocation().distance(token.getLocation()) <= (driver.getRadius() + token.getRadius())
-                            && !taxi.getHasDriver())){
-                token.setIsUsed(true);
-                if (token instanceof Coin){
-                    coinTimer = MAX_COIN_TIME;
-                }
-                else {
-                    invincibleTimer = MAX_INVINCIBLE_TIME;
-                }
-            }
+        try {
+            replay.record(ROAD);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
         }
-
-        if (coinTimer > 0) {
-            if (inTripPassenger != null){
-                // Apply coin effect to the passenger
-                inTripPassenger.useCoin();
-            }
-            coinTimer -= 1;
-        }
-
-        if (invincibleTimer > 0){
-            // Apply invincible effect to taxi and driver
-            if (taxi.getHasDriver()){
-                taxi.setIsInvincible(true);
-            }
-            driver.setIsInvincible(true);
-            invincibleTimer -= 1;
-        }
-        else {
-            taxi.setIsInvincible(false);
-            driver.setIsInvincible(false);
+        if (ROAD.getIsCompleted()) {
+            closeReplay();
         }
     }
 
-    // Handle the collision logic between game entities
-    private void handleEntitiesCollision(){
-        driver.handleCharacterCollision(getGameProps(), !taxi.getHasDriver());
-        if (inTripPassenger != null){
-            inTripPassenger.handleCharacterCollision(getGameProps(), !taxi.getHasDriver());
+    // Write out what is left of the recording and close its file, unless it is already closed
+    private void closeReplay(){
+        if (replay == null) {
+            return;
         }
-        if (lastTripPassenger != null){
-            lastTripPassenger.handleCharacterCollision(getGameProps(), !taxi.getHasDriver());
+        ReplayRecorder recorder = replay;
+        replay = null;
+        try {
+            recorder.close();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
         }
-        taxi.handleTaxiCollision(getGameProps());
-        Car.handleCarsCollision(getGameProps());
-    }
-
-    // Check various condition if the game has completed
-    private boolean isGameCompleted(){
-        // If driver or passenger has no health, set the timer for remaining frame until lost
-        if (driver.getHealth() <= 0 || Passenger.getMinHealth(passengers) <= 0){
-            remainingLostFrames -= 1;
-        }
-        return currentScore >= TARGET || remainingFrames == 0 ||
-                taxi.getLocation().getY() >= Double.parseDouble(getGameProps().getProperty("window.height"))||
-                taxi.getLocation().getY() <= 0 || remainingLostFrames == 0;
     }
 
     private void handleGameCompletion(){
-        if (isGameCompleted()) {
+        if (ROAD.getIsCompleted() && !gameCompleted) {
+            GameCompletionEvent event = new GameCompletionEvent();
+            event.begin();
             // Only wining condition, all other condition lead too game lost
-            isWon = currentScore >= TARGET;
+            isWon = PLAYER.getScore() >= TARGET;
             IOUtils.writeScoreToFile(getGameProps().getProperty("gameEnd.scoresFile"),
-                    PLAYER_NAME +"," + String.format("%.2f", currentScore));
+                    playerName +"," + String.format("%.2f", PLAYER.getScore()));
             gameCompleted = true;
-        }
-    }
-
-    // Set the game state to sun or rain based on current frame
-    private void checkRaining(){
-        for (String[] weather : WEATHER_CONDITION){
-            if (MAX_FRAMES - remainingFrames >= Integer.parseInt(weather[1])
-            && MAX_FRAMES - remainingFrames < Integer.parseInt(weather[2])){
-                isRaining = weather[0].equals("RAINING");
-                break;
-            }
-        }
-    }
-
-    // Render the scrolling backgrounds of the game
-    private void showGamePlayBackgrounds(Input input){
-        checkRaining();
-        Background.drawGamePlayBackgrounds(input, isRaining, gamePlayImages, Y_SPEED);
-    }
-
-    // Handle situation where there is no passenger currently in a trip.
-    private void findNewTrip(Input input) {
-        handleLastTripCompletion();
-        if (taxi.getHasDriver()) {
-            if ((waitingPassenger =
-                    taxi.findNearPassenger(input, getGameProps(), passengers, lastTripPassenger)) != null) {
-                // Found a near passenger waiting to be picked up
-                if (waitingPassenger.moveTowardLocation(taxi.getLocation())) {
-                    // Passenger has moved to the taxi, trip commences
-                    inTripPassenger = waitingPassenger;
-                    inTrip = true;
-                }
-            }
-        }
-    }
 
-    // Handle situations where a passenger is currently in a trip.
-    private void commenceTrip (Input input) {
-        handleLastTripCompletion();
-        // Update the in-trip passenger location and show their end flag
-        if (taxi.getHasDriver()) {
-            inTripPassenger.setLocationInTaxi(input, X_SPEED);
-        }
-        inTripPassenger.getEndFlag().showEndFlag();
-        // Check if the trip has completed
-        handleInTripCompletion(input);
-    }
-
-    // Handle the completion of a trip
-    private void handleInTripCompletion (Input input) {
-        if (taxi.getHasDriver() && input.isUp(Keys.UP) && input.isUp(Keys.RIGHT) && input.isUp(Keys.LEFT)){
-            // The taxi has fully stopped
-            if (inTripPassenger.getLocation().distance(inTripPassenger.getEndFlag().getLocation()) <=
-                    inTripPassenger.getEndFlag().getRadius() ||
-                    inTripPassenger.getLocation().getY() <= inTripPassenger.getEndFlag().getLocation().getY()){
-                // The locations are satisfied
-                penalty = inTripPassenger.calculatePenalty(getGameProps()); // Calculate penalty
-                currentScore += Double.max(0, inTripPassenger.getEarnings() - penalty); // Update total score
-                lastTripPassenger = inTripPassenger;
-                inTripPassenger = null;
-
-                inTrip = false; // Start looking for new trip
-                lastTripCompleted = false; // To handle the process of passenger walking to their end flag
-            }
-        }
-    }
-
-    // Handle the process where the passenger leaving taxi and walk to their end flag
-    private void handleLastTripCompletion(){
-        if (!lastTripCompleted) {
-            // The passenger from last trip has not moved to the end flag
-            lastTripPassenger.getEndFlag().showEndFlag();
-            if (lastTripPassenger.moveTowardLocation(lastTripPassenger.getEndFlag().getLocation())){
-                // The passenger has moved to the end flag
-                lastTripCompleted = true;
-            }
+            World world = ROAD.getWorld();
+            event.isWon = isWon;
+            event.score = PLAYER.getScore();
+            event.framesPlayed = ROAD.getFramesPlayed();
+            event.carCount = world.countKind(EntityKind.OTHER_CAR) + world.countKind(EntityKind.ENEMY_CAR);
+            event.fireballCount = world.countKind(EntityKind.FIREBALL);
+            event.tokenCount = world.countKind(EntityKind.COIN) + world.countKind(EntityKind.INVINCIBLE_POWER);
+            event.tripsCompleted = stats.getTripsCompleted();
+            event.tokensCollected = stats.getTokensCollected();
+            event.entitiesDestroyed = stats.getEntitiesDestroyed();
+            event.commit();
         }
     }
 
     // Render the trip details on the screen based on the current game state.
     private void showGameDetails(){
-        // Set up font and print game details
-        font = new Font(getGameProps().getProperty("font"),
-                Integer.parseInt(getGameProps().getProperty("gamePlay.info.fontSize")));
-
-        // Show the current score, target and frame remaining
-        font.drawString(getMessageProps().getProperty("gamePlay.earnings") + String.format("%.2f", currentScore),
-                Double.parseDouble(getGameProps().getProperty("gamePlay.earnings.x")),
-                Double.parseDouble(getGameProps().getProperty("gamePlay.earnings.y")));
-
-        font.drawString(getMessageProps().getProperty("gamePlay.target") + String.format("%.2f", TARGET),
-                Double.parseDouble(getGameProps().getProperty("gamePlay.target.x")),
-                Double.parseDouble(getGameProps().getProperty("gamePlay.target.y")));
-
-        font.drawString(getMessageProps().getProperty("gamePlay.remFrames")  + remainingFrames,
-                Double.parseDouble(getGameProps().getProperty("gamePlay.maxFrames.x")),
-                Double.parseDouble(getGameProps().getProperty("gamePlay.maxFrames.y")));
-
-        if (coinTimer > 0) {
-            // Set up font and print the coin timer
-            font = new Font(getGameProps().getProperty("font"),
-                    Integer.parseInt(getGameProps().getProperty("gamePlay.info.fontSize")));
-            font.drawString(String.valueOf(MAX_COIN_TIME - coinTimer),
-                    Double.parseDouble(getGameProps().getProperty("gameplay.coin.x")),
-                    Double.parseDouble(getGameProps().getProperty("gameplay.coin.y")));
-        }
-
-        // Print the taxi, driver and passenger health
-        font.drawString(getMessageProps().getProperty("gamePlay.taxiHealth") +
-                        String.format("%.2f", taxi.getHealth()),
-                Double.parseDouble(getGameProps().getProperty("gamePlay.taxiHealth.x")),
-                Double.parseDouble(getGameProps().getProperty("gamePlay.taxiHealth.y")));
-
-        font.drawString(getMessageProps().getProperty("gamePlay.driverHealth") +
-                        String.format("%.2f", driver.getHealth()),
-                Double.parseDouble(getGameProps().getProperty("gamePlay.driverHealth.x")),
-                Double.parseDouble(getGameProps().getProperty("gamePlay.driverHealth.y")));
-        if (inTripPassenger != null){
-            font.drawString(getMessageProps().getProperty("gamePlay.passengerHealth") +
-                            String.format("%.1f", inTripPassenger.getHealth()),
-                    Double.parseDouble(getGameProps().getProperty("gamePlay.passengerHealth.x")),
-                    Double.parseDouble(getGameProps().getProperty("gamePlay.passengerHealth.y")));
-        }
-        else {
-            font.drawString(getMessageProps().getProperty("gamePlay.passengerHealth") +
-                            String.format("%.1f", Passenger.getMinHealth(passengers)),
-                    Double.parseDouble(getGameProps().getProperty("gamePlay.passengerHealth.x")),
-                    Double.parseDouble(getGameProps().getProperty("gamePlay.passengerHealth.y")));
+        Passenger inTripPassenger = PLAYER.getInTripPassenger();
+        Passenger lastTripPassenger = PLAYER.getLastTripPassenger();
+        hud.showGameDetails(PLAYER.getScore(), TARGET, ROAD.getRemainingFrames(), PLAYER.getCoinFrames(),
+                PLAYER.getTaxi().getHealth(), PLAYER.getDriver().getHealth(),
+                inTripPassenger != null ? inTripPassenger.getHealth() : ROAD.getMinPassengerHealth(),
+                RENDER_QUEUE);
+        if (PLANNER != null && PLANNER.getNextPassenger() != null) {
+            Location location = PLANNER.getNextPassenger().getLocation();
+            hud.showTripHint(PLANNER.getNextEarnings(), location.getX(), location.getY(), RENDER_QUEUE);
         }
 
         // No current trip or last trip
-        if (!inTrip && lastTripPassenger == null) return;
+        if (!PLAYER.getInTrip() && lastTripPassenger == null) return;
 
-        font = new Font(getGameProps().getProperty("font"),
-                Integer.parseInt(getGameProps().getProperty("gamePlay.info.fontSize")));
-
-        if (inTrip) {
+        if (PLAYER.getInTrip()) {
             // Currently in-trip, show title, expected earnings, priority
-            font.drawString(getMessageProps().getProperty("gamePlay.onGoingTrip.title"),
-                    Double.parseDouble(getGameProps().getProperty("gamePlay.tripInfo.x")),
-                    Double.parseDouble(getGameProps().getProperty("gamePlay.tripInfo.y")));
-
-            font.drawString(getMessageProps().getProperty("gamePlay.trip.expectedEarning") +
-                            String.format("%.1f", inTripPassenger.getEarnings()),
-                    Double.parseDouble(getGameProps().getProperty("gamePlay.tripInfo.x")),
-                    Double.parseDouble(getGameProps().getProperty("gamePlay.tripInfo.y")) +
-                            EARNING_DISTANCE_TO_TRIP_INFO);
-
-            font.drawString(getMessageProps().getProperty("gamePlay.trip.priority") + inTripPassenger.getPriority(),
-                    Double.parseDouble(getGameProps().getProperty("gamePlay.tripInfo.x")),
-                    Double.parseDouble(getGameProps().getProperty("gamePlay.tripInfo.y")) +
-                            PRIORITY_DISTANCE_TO_TRIP_INFO);
+            hud.showTripDetails(true, inTripPassenger.getEarnings(), inTripPassenger.getPriority(),
+                    PLAYER.getPenalty(), RENDER_QUEUE);
         }
-
         else {
             // Currently not in-trip, show title, last earnings, priority and penalty
-            font.drawString(getMessageProps().getProperty("gamePlay.completedTrip.title"),
-                    Double.parseDouble(getGameProps().getProperty("gamePlay.tripInfo.x")),
-                    Double.parseDouble(getGameProps().getProperty("gamePlay.tripInfo.y")));
-
-            font.drawString(getMessageProps().getProperty("gamePlay.trip.expectedEarning") +
-                            String.format("%.1f", lastTripPassenger.getEarnings()),
-                    Double.parseDouble(getGameProps().getProperty("gamePlay.tripInfo.x")),
-                    Double.parseDouble(getGameProps().getProperty("gamePlay.tripInfo.y")) +
-                            EARNING_DISTANCE_TO_TRIP_INFO);
-
-            font.drawString(getMessageProps().getProperty("gamePlay.trip.priority") + lastTripPassenger.getPriority(),
-                    Double.parseDouble(getGameProps().getProperty("gamePlay.tripInfo.x")),
-                    Double.parseDouble(getGameProps().getProperty("gamePlay.tripInfo.y")) +
-                            PRIORITY_DISTANCE_TO_TRIP_INFO);
-
-            font.drawString(getMessageProps().getProperty("gamePlay.trip.penalty") + String.format("%.2f", penalty),
-                    Double.parseDouble(getGameProps().getProperty("gamePlay.tripInfo.x")),
-                    Double.parseDouble(getGameProps().getProperty("gamePlay.tripInfo.y")) +
-                            PENALTY_DISTANCE_TO_TRIP_INFO);
+            hud.showTripDetails(false, lastTripPassenger.getEarnings(), lastTripPassenger.getPriority(),
+                    PLAYER.getPenalty(), RENDER_QUEUE);
         }
     }
 }
-
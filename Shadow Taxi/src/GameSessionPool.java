@@ -0,0 +1,129 @@
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * Builds the next game on a background thread while the player types their name, so that the game starts in the
+ * frame ENTER is pressed. The world and render queue of the last game are kept once it is over and emptied in
+ * place for the next one, so their arrays are not grown again from scratch.
+ */
+public class GameSessionPool {
+    private final RenderBackend RENDER_BACKEND;
+    private final Broadcaster BROADCASTER;
+    private final ExecutorService BUILDER;
+
+    private Future<GamePlay> next; // null unless a game is being built or waiting to be played
+    private GameConfig nextConfig;
+
+    // The world and render queue of the last game, kept for the next game with the same configuration
+    private World spareWorld;
+    private RenderQueue spareRenderQueue;
+    private GameConfig spareConfig;
+
+    /**
+     * Constructs a new pool with no game built.
+     *
+     * @param renderBackend The backend that draws the games.
+     * @param broadcaster The broadcaster the games are streamed to spectators by, or null.
+     */
+    public GameSessionPool(RenderBackend renderBackend, Broadcaster broadcaster) {
+        RENDER_BACKEND = renderBackend;
+        BROADCASTER = broadcaster;
+        BUILDER = Executors.newSingleThreadExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "game-builder");
+            thread.setDaemon(true); // Never keeps the game open once the window closes
+            return thread;
+        });
+        next = null;
+    }
+
+    /**
+     * Starts building the next game on the background thread. Must be called on the thread that owns the window,
+     * which makes the game's heads-up display.
+     *
+     * @param config The configuration the game is played with.
+     */
+    public void prepare(GameConfig config) {
+        if (next != null) {
+            if (nextConfig == config) {
+                return;
+            }
+            discard(); // Built for a configuration that has since been reloaded
+        }
+        GameHud hud = new GameHud(config.getGameProps(), config.getMessageProps(), RENDER_BACKEND);
+        World world = spareConfig == config ? spareWorld : new World();
+        RenderQueue renderQueue = spareConfig == config ? spareRenderQueue
+                : new RenderQueue(new Viewport(config.getGameProps()));
+        spareWorld = null;
+        spareRenderQueue = null;
+        spareConfig = null;
+        nextConfig = config;
+        next = BUILDER.submit(() -> {
+            world.reset();
+            renderQueue.reset();
+            return new GamePlay(config, RENDER_BACKEND, BROADCASTER, hud, world, renderQueue);
+        });
+    }
+
+    /**
+     * Takes the next game for a player, preparing it first if it was not, and waiting for it to be built.
+     * Must be called on the thread that owns the window.
+     *
+     * @param config The configuration the game is played with.
+     * @param playerName The name of the player.
+     * @return The game, ready to be shown.
+     */
+    public GamePlay take(GameConfig config, String playerName) {
+        prepare(config);
+        GamePlay gamePlay = await();
+        next = null;
+        nextConfig = null;
+        if (gamePlay == null) {
+            gamePlay = new GamePlay(config, playerName, RENDER_BACKEND, BROADCASTER);
+        }
+        gamePlay.start(playerName);
+        return gamePlay;
+    }
+
+    /**
+     * Keeps the world and render queue of a game that is over for the next game.
+     *
+     * @param gamePlay The completed game.
+     * @param config The configuration the game was played with.
+     */
+    public void recycle(GamePlay gamePlay, GameConfig config) {
+        spareWorld = gamePlay.getWorld();
+        spareRenderQueue = gamePlay.getRenderQueue();
+        spareConfig = config;
+    }
+
+    // Stop the game built for a configuration that is no longer played
+    private void discard() {
+        GamePlay gamePlay = await();
+        if (gamePlay != null) {
+            gamePlay.close();
+        }
+        next = null;
+        nextConfig = null;
+    }
+
+    // Wait for the game being built, rethrowing any error it failed with, or return null if interrupted
+    private GamePlay await() {
+        try {
+            return next.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return null;
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof RuntimeException) {
+                throw (RuntimeException) cause;
+            }
+            if (cause instanceof Error) {
+                throw (Error) cause;
+            }
+            throw new IllegalStateException(cause);
+        }
+    }
+}
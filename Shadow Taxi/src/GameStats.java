@@ -0,0 +1,94 @@
+/**
+ * Collects statistics about a game session by observing the game event bus.
+ */
+public class GameStats implements GameEventListener {
+    private int damageEvents;
+    private int entitiesDestroyed;
+    private int tokensCollected;
+    private int tripsStarted;
+    private int tripsCompleted;
+
+    /**
+     * Constructs a new set of statistics and subscribes it to every type of game event.
+     *
+     * @param eventBus The bus of the game.
+     */
+    public GameStats(GameEventBus eventBus) {
+        for (GameEventType type : GameEventType.values()) {
+            eventBus.subscribe(type, this);
+        }
+    }
+
+    /**
+     * Counts an event published on the game event bus.
+     *
+     * @param type The type of the event.
+     * @param entity The id of the entity the event is about.
+     * @param value The value carried by the event.
+     */
+    @Override
+    public void onGameEvent(GameEventType type, int entity, double value) {
+        switch (type) {
+            case DAMAGE_APPLIED:
+                damageEvents++;
+                break;
+            case ENTITY_DESTROYED:
+                entitiesDestroyed++;
+                break;
+            case TOKEN_COLLECTED:
+                tokensCollected++;
+                break;
+            case TRIP_STARTED:
+                tripsStarted++;
+                break;
+            case TRIP_COMPLETED:
+                tripsCompleted++;
+                break;
+        }
+    }
+
+    /**
+     * Gets the number of times an entity took damage.
+     *
+     * @return The number of damage events.
+     */
+    public int getDamageEvents() {
+        return damageEvents;
+    }
+
+    /**
+     * Gets the number of entities whose health dropped to 0.
+     *
+     * @return The number of destroyed entities.
+     */
+    public int getEntitiesDestroyed() {
+        return entitiesDestroyed;
+    }
+
+    /**
+     * Gets the number of coins and invincible powers collected.
+     *
+     * @return The number of collected tokens.
+     */
+    public int getTokensCollected() {
+        return tokensCollected;
+    }
+
+    /**
+     * Gets the number of trips started.
+     *
+     * @return The number of started trips.
+     */
+    public int getTripsStarted() {
+        return tripsStarted;
+    }
+
+    /**
+     * Gets the number of trips completed.
+     *
+     * @return The number of completed trips.
+     */
+    public int getTripsCompleted() {
+        return tripsCompleted;
+    }
+}
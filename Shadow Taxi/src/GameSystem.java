@@ -0,0 +1,64 @@
+/**
+ * An interface representing a system that updates part of the game state once per frame.
+ * A system declares which state it reads and writes, so the scheduler can run systems that do not conflict
+ * at the same time, and split a parallel system's items into chunks that run on different cores.
+ */
+public interface GameSystem {
+    /**
+     * The passengers' priorities and earnings, which are kept outside the world.
+     */
+    int PASSENGERS = 1 << 16;
+
+    /**
+     * The render queue of the frame.
+     */
+    int RENDERING = 1 << 17;
+
+    /**
+     * The flags of the entities in the world.
+     */
+    int FLAGS = 1 << 18;
+
+    /**
+     * Everything, used by systems that create or destroy entities.
+     */
+    int ALL = -1;
+
+    /**
+     * Gets the state the system reads: a bit mask of world components and the resources above.
+     *
+     * @return The bit mask of state read by the system.
+     */
+    int getReads();
+
+    /**
+     * Gets the state the system writes: a bit mask of world components and the resources above.
+     *
+     * @return The bit mask of state written by the system.
+     */
+    int getWrites();
+
+    /**
+     * Gets whether the system's items can be updated on different threads at the same time.
+     *
+     * @return true if the system can be split into chunks, false otherwise.
+     */
+    boolean isParallel();
+
+    /**
+     * Gets the number of items the system updates this frame.
+     *
+     * @param world The world being updated.
+     * @return The number of items.
+     */
+    int size(World world);
+
+    /**
+     * Updates a range of the system's items.
+     *
+     * @param world The world being updated.
+     * @param from The index of the first item to update.
+     * @param to One past the index of the last item to update.
+     */
+    void update(World world, int from, int to);
+}
@@ -0,0 +1,82 @@
+import java.util.Arrays;
+
+/**
+ * Stores the health of a group of entities in a primitive array and keeps the minimum health up to date
+ * with a tournament tree, so the minimum can be read in constant time and each change costs O(log n).
+ */
+public class HealthTree {
+    private final int SIZE;
+    private final int LEAF_OFFSET;
+    private final double[] TREE;
+
+    /**
+     * Constructs a new tree holding the given number of health values, all starting at 0.
+     *
+     * @param size The number of entities whose health is stored.
+     */
+    public HealthTree(int size) {
+        this.SIZE = size;
+
+        // Pad the leaves to a power of two so every internal node has exactly two children
+        int leaves = 1;
+        while (leaves < size) {
+            leaves <<= 1;
+        }
+        this.LEAF_OFFSET = leaves;
+        this.TREE = new double[leaves * 2];
+        Arrays.fill(TREE, Double.POSITIVE_INFINITY);
+        Arrays.fill(TREE, leaves, leaves + size, 0);
+        for (int node = leaves - 1; node > 0; node--) {
+            TREE[node] = Math.min(TREE[node * 2], TREE[node * 2 + 1]);
+        }
+    }
+
+    /**
+     * Gets the number of health values stored in the tree.
+     *
+     * @return The number of health values.
+     */
+    public int size() {
+        return SIZE;
+    }
+
+    /**
+     * Gets the health stored at the given index.
+     *
+     * @param index The index of the entity.
+     * @return The health of the entity.
+     */
+    public double get(int index) {
+        return TREE[LEAF_OFFSET + index];
+    }
+
+    /**
+     * Sets the health stored at the given index and updates the minimum along the path to the root.
+     *
+     * @param index The index of the entity.
+     * @param health The new health of the entity.
+     */
+    public void set(int index, double health) {
+        int node = LEAF_OFFSET + index;
+        TREE[node] = health;
+        node >>= 1;
+        while (node > 0) {
+            double min = Math.min(TREE[node * 2], TREE[node * 2 + 1]);
+            if (TREE[node] == min) {
+                // The rest of the path already holds the correct minimum
+                break;
+            }
+            TREE[node] = min;
+            node >>= 1;
+        }
+    }
+
+    /**
+     * Gets the minimum health stored in the tree, or positive infinity if the tree is empty.
+     *
+     * @return The minimum health.
+     */
+    public double getMin() {
+        return TREE[1];
+    }
+}
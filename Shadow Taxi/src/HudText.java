@@ -0,0 +1,46 @@
+/**
+ * Represents a labelled numeric text shown on the heads-up display.
+ * The formatted text is cached and only rebuilt when the displayed value changes.
+ */
+public class HudText {
+    private final String LABEL;
+    private final String FORMAT;
+
+    private double value;
+    private String text;
+    private boolean isDirty;
+
+    /**
+     * Constructs a new HUD text with a label and a number format.
+     *
+     * @param label The label printed before the value.
+     * @param format The format used to print the value, e.g. "%.2f".
+     */
+    public HudText(String label, String format) {
+        this.LABEL = label;
+        this.FORMAT = format;
+        this.isDirty = true;
+    }
+
+    /**
+     * Marks the cached text as out of date so that it is rebuilt on the next request.
+     */
+    public void markDirty() {
+        isDirty = true;
+    }
+
+    /**
+     * Gets the text for the given value, reusing the cached text if the value has not changed.
+     *
+     * @param value The value to be displayed.
+     * @return The label followed by the formatted value.
+     */
+    public String getText(double value) {
+        if (isDirty || value != this.value) {
+            this.value = value;
+            text = LABEL + String.format(FORMAT, value);
+            isDirty = false;
+        }
+        return text;
+    }
+}
@@ -1,63 +1,115 @@
+import bagel.Image;
+
 import java.io.*;
+import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.Properties;
 
 /**
  * A utility class that provides methods to read and write files.
  */
 public class IOUtils {
+    private static final HashMap<String, Image> IMAGES = new HashMap<>(); // Only used by the window's thread
 
     /***
-     * Read a file and return a list of String arrays
+     * Read a file and return a list of String arrays, exiting the game if it cannot be read
      * @param file: the path to the CSV file
      * @return String[][]. Each String[] array represents elements in a single line in the CSV file
      */
     public static String[][] readCommaSeparatedFile(String file) {
         try {
-            // checking number of lines in file
-            BufferedReader reader = new BufferedReader(new FileReader(file));
-            int numLines = 0;
+            return parseCommaSeparatedFile(file);
+        } catch (IOException ex) {
+            ex.printStackTrace();
+            System.exit(-1);
+        }
 
-            while (reader.readLine() != null) {
-                numLines++;
-            }
-            reader.close();
+        return null;
+    }
 
-            reader = new BufferedReader(new FileReader(file));
-            String[][] lines = new String[numLines][];
+    /**
+     * Read a file and return a list of String arrays, leaving it to the caller to handle a file that cannot be read
+     * @param file The path to the CSV file
+     * @return Each String[] array represents elements in a single line in the CSV file
+     * @throws IOException If the file cannot be read
+     */
+    public static String[][] parseCommaSeparatedFile(String file) throws IOException {
+        AssetLoadEvent event = new AssetLoadEvent();
+        event.begin();
+        ArrayList<String[]> lines = new ArrayList<>();
+        try (BufferedReader reader = new BufferedReader(new FileReader(file))) {
             String textRead;
-            int lineIndex = 0;
-
             while ((textRead = reader.readLine()) != null) {
-                String[] splitText = textRead.split(",");
-                lines[lineIndex++] = splitText;
+                lines.add(textRead.split(","));
             }
-            return lines;
-
-        } catch (IOException ex) {
-            ex.printStackTrace();
-            System.exit(-1);
         }
 
-        return null;
+        event.path = file;
+        event.kind = "csv";
+        event.entries = lines.size();
+        event.commit();
+        return lines.toArray(new String[0][]);
     }
 
     /***
-     * Read a properties file and return a Properties object
+     * Read a properties file and return a Properties object, exiting the game if it cannot be read
      * @param configFile: the path to the properties file
      * @return: Properties object
      */
     public static Properties readPropertiesFile(String configFile) {
-        Properties appProps = new Properties();
         try {
-            appProps.load(new FileInputStream(configFile));
+            return parsePropertiesFile(configFile);
         } catch(IOException ex) {
             ex.printStackTrace();
             System.exit(-1);
         }
 
+        return null;
+    }
+
+    /**
+     * Read a properties file, leaving it to the caller to handle a file that cannot be read
+     * @param configFile The path to the properties file
+     * @return The properties in the file
+     * @throws IOException If the file cannot be read
+     */
+    public static Properties parsePropertiesFile(String configFile) throws IOException {
+        AssetLoadEvent event = new AssetLoadEvent();
+        event.begin();
+        Properties appProps = new Properties();
+        try (FileInputStream in = new FileInputStream(configFile)) {
+            appProps.load(in);
+        }
+
+        event.path = configFile;
+        event.kind = "properties";
+        event.entries = appProps.size();
+        event.commit();
         return appProps;
     }
 
+    /**
+     * Load an image from a file, or reuse the image already loaded from it.
+     * Must be called on the thread that owns the window.
+     * @param filename The path to the image file
+     * @return The loaded image
+     */
+    public static Image loadImage(String filename) {
+        Image image = IMAGES.get(filename);
+        if (image != null) {
+            return image;
+        }
+        AssetLoadEvent event = new AssetLoadEvent();
+        event.begin();
+        image = new Image(filename);
+        IMAGES.put(filename, image);
+
+        event.path = filename;
+        event.kind = "image";
+        event.commit();
+        return image;
+    }
+
     /**
      * Write a score to a file
      * @param filename The name of the file
@@ -0,0 +1,82 @@
+import bagel.*;
+
+/**
+ * A copy of the state of the keys used in gameplay, taken on the render thread at the start of a frame.
+ * The simulation reads the copy instead of the live input, so it can run on another thread.
+ */
+public class InputSnapshot implements InputSource {
+    private static final Keys[] GAMEPLAY_KEYS = {Keys.UP, Keys.DOWN, Keys.LEFT, Keys.RIGHT};
+
+    private final boolean[] isKeyDown;
+
+    /**
+     * Constructs a new snapshot with no key held down.
+     */
+    public InputSnapshot() {
+        isKeyDown = new boolean[GAMEPLAY_KEYS.length];
+    }
+
+    /**
+     * Copies the state of the gameplay keys from the live input.
+     *
+     * @param input The current keyboard input.
+     */
+    public void capture(Input input) {
+        for (int i = 0; i < GAMEPLAY_KEYS.length; i++) {
+            isKeyDown[i] = input.isDown(GAMEPLAY_KEYS[i]);
+        }
+    }
+
+    /**
+     * Gets the state of the gameplay keys as a bit set, one bit per key held down, to be sent over the network.
+     *
+     * @return The bits of the keys held down.
+     */
+    public int getKeyBits() {
+        int bits = 0;
+        for (int i = 0; i < GAMEPLAY_KEYS.length; i++) {
+            if (isKeyDown[i]) {
+                bits |= 1 << i;
+            }
+        }
+        return bits;
+    }
+
+    /**
+     * Sets the state of the gameplay keys from a bit set received over the network.
+     *
+     * @param bits The bits of the keys held down.
+     */
+    public void setKeyBits(int bits) {
+        for (int i = 0; i < GAMEPLAY_KEYS.length; i++) {
+            isKeyDown[i] = (bits & (1 << i)) != 0;
+        }
+    }
+
+    /**
+     * Checks whether a key was held down when the snapshot was taken.
+     *
+     * @param key The key to be checked.
+     * @return true if the key was held down, false otherwise.
+     */
+    @Override
+    public boolean isDown(Keys key) {
+        for (int i = 0; i < GAMEPLAY_KEYS.length; i++) {
+            if (GAMEPLAY_KEYS[i] == key) {
+                return isKeyDown[i];
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Checks whether a key was up when the snapshot was taken.
+     *
+     * @param key The key to be checked.
+     * @return true if the key was up, false otherwise.
+     */
+    @Override
+    public boolean isUp(Keys key) {
+        return !isDown(key);
+    }
+}
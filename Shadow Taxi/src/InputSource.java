@@ -0,0 +1,22 @@
+import bagel.*;
+
+/**
+ * A source of the gameplay keys a player holds down in a frame, such as a copy of the keyboard or an autopilot.
+ */
+public interface InputSource {
+    /**
+     * Checks whether a key is held down.
+     *
+     * @param key The key to be checked.
+     * @return true if the key is held down, false otherwise.
+     */
+    boolean isDown(Keys key);
+
+    /**
+     * Checks whether a key is up.
+     *
+     * @param key The key to be checked.
+     * @return true if the key is up, false otherwise.
+     */
+    boolean isUp(Keys key);
+}
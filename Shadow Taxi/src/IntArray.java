@@ -0,0 +1,108 @@
+import java.util.Arrays;
+
+/**
+ * A growable list of ints stored in a primitive array, so adding and reading values never boxes them.
+ * The array only grows, so a list cleared and refilled every frame allocates nothing once it is big enough.
+ */
+public class IntArray {
+    private static final int INITIAL_CAPACITY = 16;
+
+    private int[] values;
+    private int size;
+
+    /**
+     * Constructs a new empty list.
+     */
+    public IntArray() {
+        this(INITIAL_CAPACITY);
+    }
+
+    /**
+     * Constructs a new empty list with room for a given number of values.
+     *
+     * @param capacity The number of values the list holds before it grows.
+     */
+    public IntArray(int capacity) {
+        values = new int[Math.max(1, capacity)];
+        size = 0;
+    }
+
+    /**
+     * Adds a value to the end of the list.
+     *
+     * @param value The value added.
+     */
+    public void add(int value) {
+        if (size == values.length) {
+            values = Arrays.copyOf(values, values.length * 2);
+        }
+        values[size++] = value;
+    }
+
+    /**
+     * Adds every value of another list to the end of this one.
+     *
+     * @param other The list whose values are added.
+     */
+    public void addAll(IntArray other) {
+        if (size + other.size > values.length) {
+            values = Arrays.copyOf(values, Math.max(values.length * 2, size + other.size));
+        }
+        System.arraycopy(other.values, 0, values, size, other.size);
+        size += other.size;
+    }
+
+    /**
+     * Removes the value at the end of the list.
+     *
+     * @return The value removed.
+     */
+    public int pop() {
+        return values[--size];
+    }
+
+    /**
+     * Gets the value at an index of the list.
+     *
+     * @param index The index of the value.
+     * @return The value.
+     */
+    public int get(int index) {
+        return values[index];
+    }
+
+    /**
+     * Sets the value at an index of the list.
+     *
+     * @param index The index of the value.
+     * @param value The new value.
+     */
+    public void set(int index, int value) {
+        values[index] = value;
+    }
+
+    /**
+     * Gets the number of values in the list.
+     *
+     * @return The number of values.
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Checks whether the list has no values.
+     *
+     * @return true if the list is empty, false otherwise.
+     */
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    /**
+     * Removes every value from the list, keeping its room.
+     */
+    public void clear() {
+        size = 0;
+    }
+}
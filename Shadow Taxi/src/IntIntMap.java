@@ -0,0 +1,150 @@
+import java.util.Arrays;
+
+/**
+ * A map from int keys to int values stored in two primitive arrays with open addressing, so putting and getting
+ * entries never boxes them or allocates an entry. Collisions are resolved by probing the next slots in turn, and
+ * the arrays double once they are half full.
+ */
+public class IntIntMap {
+    private static final int EMPTY = Integer.MIN_VALUE; // Marks a free slot, so it cannot be used as a key
+
+    private int[] keys;
+    private int[] values;
+    private int size;
+
+    /**
+     * Constructs a new empty map with room for a given number of entries.
+     *
+     * @param capacity The number of entries the map holds before it grows.
+     */
+    public IntIntMap(int capacity) {
+        int slots = 2;
+        while (slots < capacity * 2) {
+            slots <<= 1;
+        }
+        keys = new int[slots];
+        values = new int[slots];
+        Arrays.fill(keys, EMPTY);
+        size = 0;
+    }
+
+    /**
+     * Sets the value of a key, replacing any value it had.
+     *
+     * @param key The key, which must not be Integer.MIN_VALUE.
+     * @param value The value.
+     */
+    public void put(int key, int value) {
+        if (key == EMPTY) {
+            throw new IllegalArgumentException("Integer.MIN_VALUE cannot be used as a key");
+        }
+        int slot = findSlot(key);
+        if (keys[slot] == EMPTY) {
+            if ((size + 1) * 2 > keys.length) {
+                resize();
+                slot = findSlot(key);
+            }
+            keys[slot] = key;
+            size++;
+        }
+        values[slot] = value;
+    }
+
+    /**
+     * Gets the value of a key.
+     *
+     * @param key The key.
+     * @param missingValue The value returned if the key is not in the map.
+     * @return The value of the key, or the missing value.
+     */
+    public int get(int key, int missingValue) {
+        int slot = findSlot(key);
+        return keys[slot] == EMPTY ? missingValue : values[slot];
+    }
+
+    /**
+     * Checks whether a key is in the map.
+     *
+     * @param key The key.
+     * @return true if the key has a value, false otherwise.
+     */
+    public boolean containsKey(int key) {
+        return key != EMPTY && keys[findSlot(key)] != EMPTY;
+    }
+
+    /**
+     * Removes a key and its value from the map.
+     *
+     * @param key The key.
+     * @return true if the key was in the map, false otherwise.
+     */
+    public boolean remove(int key) {
+        int slot = findSlot(key);
+        if (keys[slot] == EMPTY) {
+            return false;
+        }
+        // Move back each later entry of the probe run that would no longer be found past the gap
+        int mask = keys.length - 1;
+        int gap = slot;
+        for (int next = (gap + 1) & mask; keys[next] != EMPTY; next = (next + 1) & mask) {
+            int home = hash(keys[next]) & mask;
+            if (((next - home) & mask) >= ((next - gap) & mask)) {
+                keys[gap] = keys[next];
+                values[gap] = values[next];
+                gap = next;
+            }
+        }
+        keys[gap] = EMPTY;
+        size--;
+        return true;
+    }
+
+    /**
+     * Gets the number of entries in the map.
+     *
+     * @return The number of entries.
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Removes every entry from the map, keeping its room.
+     */
+    public void clear() {
+        Arrays.fill(keys, EMPTY);
+        size = 0;
+    }
+
+    // Find the slot holding a key, or the free slot where it would go
+    private int findSlot(int key) {
+        int mask = keys.length - 1;
+        int slot = hash(key) & mask;
+        while (keys[slot] != EMPTY && keys[slot] != key) {
+            slot = (slot + 1) & mask;
+        }
+        return slot;
+    }
+
+    // Double the slots and put every entry back in its new place
+    private void resize() {
+        int[] oldKeys = keys;
+        int[] oldValues = values;
+        keys = new int[oldKeys.length * 2];
+        values = new int[oldValues.length * 2];
+        Arrays.fill(keys, EMPTY);
+        for (int i = 0; i < oldKeys.length; i++) {
+            if (oldKeys[i] != EMPTY) {
+                int slot = findSlot(oldKeys[i]);
+                keys[slot] = oldKeys[i];
+                values[slot] = oldValues[i];
+            }
+        }
+    }
+
+    // Spread consecutive ids over the slots, so runs of neighbouring keys do not cluster
+    private static int hash(int key) {
+        int hash = key * 0x9E3779B9;
+        return hash ^ (hash >>> 16);
+    }
+}
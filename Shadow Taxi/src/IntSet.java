@@ -0,0 +1,96 @@
+import java.util.Arrays;
+
+/**
+ * A set of small non-negative ints, such as entity or passenger ids, stored as a sparse array indexed by value and
+ * a dense array of the values in the set. Adding, removing and checking a value take constant time, and the
+ * values can be iterated by index without visiting the ids that are not in the set.
+ */
+public class IntSet {
+    private int[] dense; // The values in the set, in no particular order
+    private int[] sparse; // The index in the dense array of each value, valid only for values in the set
+    private int size;
+
+    /**
+     * Constructs a new empty set with room for the values below a given bound.
+     *
+     * @param capacity One more than the largest value the set holds before it grows.
+     */
+    public IntSet(int capacity) {
+        dense = new int[Math.max(1, capacity)];
+        sparse = new int[Math.max(1, capacity)];
+        size = 0;
+    }
+
+    /**
+     * Adds a value to the set.
+     *
+     * @param value The value added, which must not be negative.
+     * @return true if the value was not already in the set, false otherwise.
+     */
+    public boolean add(int value) {
+        if (contains(value)) {
+            return false;
+        }
+        if (value >= sparse.length) {
+            sparse = Arrays.copyOf(sparse, Math.max(sparse.length * 2, value + 1));
+        }
+        if (size == dense.length) {
+            dense = Arrays.copyOf(dense, dense.length * 2);
+        }
+        sparse[value] = size;
+        dense[size++] = value;
+        return true;
+    }
+
+    /**
+     * Removes a value from the set, moving the last value into its place.
+     *
+     * @param value The value removed.
+     * @return true if the value was in the set, false otherwise.
+     */
+    public boolean remove(int value) {
+        if (!contains(value)) {
+            return false;
+        }
+        int last = dense[--size];
+        dense[sparse[value]] = last;
+        sparse[last] = sparse[value];
+        return true;
+    }
+
+    /**
+     * Checks whether a value is in the set.
+     *
+     * @param value The value checked.
+     * @return true if the value is in the set, false otherwise.
+     */
+    public boolean contains(int value) {
+        return value >= 0 && value < sparse.length && sparse[value] < size && dense[sparse[value]] == value;
+    }
+
+    /**
+     * Gets the value at an index of the set, for iterating over its values.
+     *
+     * @param index The index, from 0 to one less than the size of the set.
+     * @return The value.
+     */
+    public int get(int index) {
+        return dense[index];
+    }
+
+    /**
+     * Gets the number of values in the set.
+     *
+     * @return The number of values.
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Removes every value from the set in constant time, keeping its room.
+     */
+    public void clear() {
+        size = 0;
+    }
+}
@@ -0,0 +1,61 @@
+/**
+ * Counts down the number of frames entities with a lifetime have left to live.
+ */
+public class LifetimeSystem implements GameSystem {
+    /**
+     * Gets the state the system reads.
+     *
+     * @return The lifetime component.
+     */
+    @Override
+    public int getReads() {
+        return World.LIFETIME;
+    }
+
+    /**
+     * Gets the state the system writes.
+     *
+     * @return The lifetime component.
+     */
+    @Override
+    public int getWrites() {
+        return World.LIFETIME;
+    }
+
+    /**
+     * Gets whether the system can be split into chunks.
+     *
+     * @return true, as each entity's lifetime is independent.
+     */
+    @Override
+    public boolean isParallel() {
+        return true;
+    }
+
+    /**
+     * Gets the number of items the system updates.
+     *
+     * @param world The world being updated.
+     * @return The number of entity slots in the world.
+     */
+    @Override
+    public int size(World world) {
+        return world.size();
+    }
+
+    /**
+     * Decreases the lifetime of the entities in the range by one frame.
+     *
+     * @param world The world being updated.
+     * @param from The first entity id.
+     * @param to One past the last entity id.
+     */
+    @Override
+    public void update(World world, int from, int to) {
+        for (int entity = from; entity < to; entity++) {
+            if (world.has(entity, World.LIFETIME)) {
+                world.setTtl(entity, world.getTtl(entity) - 1);
+            }
+        }
+    }
+}
@@ -59,7 +59,7 @@ public class Location {
      * @return The Euclidean distance between this location and the specified location.
      */
     public double distance(Location location) {
-        return Math.sqrt(Math.pow(location.x - this.x, 2) + Math.pow(location.y - this.y, 2));
+        return Math.sqrt(Math.pow(location.getX() - getX(), 2) + Math.pow(location.getY() - getY(), 2));
     }
 
 }
@@ -1,10 +1,12 @@
 import bagel.Input;
 import bagel.Keys;
 
-import java.util.Random;
+import java.util.concurrent.ThreadLocalRandom;
 
 /**
  * This class contains miscellaneous utility methods.
+ * Its random draws are not seeded, so they are only for draws that never change how a game plays; the game's own
+ * draws come from the generator of its spawn director.
  */
 public class MiscUtils {
 
@@ -14,7 +16,7 @@ public class MiscUtils {
      * @return true if the game should spawn a new invader, false otherwise.
      */
     public static boolean canSpawn(int invRate) {
-        int rnd = new Random().nextInt(1000) + 1;
+        int rnd = ThreadLocalRandom.current().nextInt(1000) + 1;
         return rnd % invRate == 0;
     }
 
@@ -25,7 +27,7 @@ public class MiscUtils {
      * @return A random integer between min and max.
      */
     public static int getRandomInt(int min, int max) {
-        return new Random().nextInt(max - min) + min;
+        return ThreadLocalRandom.current().nextInt(max - min) + min;
     }
 
     /**
@@ -35,7 +37,7 @@ public class MiscUtils {
      * @return A random value between val1 and val2.
      */
     public static int selectAValue(int val1, int val2) {
-        return new Random().nextBoolean() ? val1 : val2;
+        return ThreadLocalRandom.current().nextBoolean() ? val1 : val2;
     }
 
     /**
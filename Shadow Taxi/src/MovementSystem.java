@@ -0,0 +1,77 @@
+/**
+ * Moves entities with a velocity up the screen and scrolls entities down with the road.
+ */
+public class MovementSystem implements GameSystem {
+    private double scrollSpeed;
+
+    /**
+     * Sets the number of pixels the road scrolls down this frame.
+     *
+     * @param scrollSpeed The scroll distance, 0 if the road does not move.
+     */
+    public void setScrollSpeed(double scrollSpeed) {
+        this.scrollSpeed = scrollSpeed;
+    }
+
+    /**
+     * Gets the state the system reads.
+     *
+     * @return The velocity, collision and timeout state, and whether entities scroll.
+     */
+    @Override
+    public int getReads() {
+        return World.VELOCITY | World.COLLIDER | World.TIMEOUT | World.SCROLLING;
+    }
+
+    /**
+     * Gets the state the system writes.
+     *
+     * @return The position component.
+     */
+    @Override
+    public int getWrites() {
+        return World.POSITION;
+    }
+
+    /**
+     * Gets whether the system can be split into chunks.
+     *
+     * @return true, as each entity moves independently.
+     */
+    @Override
+    public boolean isParallel() {
+        return true;
+    }
+
+    /**
+     * Gets the number of items the system updates.
+     *
+     * @param world The world being updated.
+     * @return The number of entity slots in the world.
+     */
+    @Override
+    public int size(World world) {
+        return world.size();
+    }
+
+    /**
+     * Moves the entities in the range for one frame.
+     *
+     * @param world The world being updated.
+     * @param from The first entity id.
+     * @param to One past the last entity id.
+     */
+    @Override
+    public void update(World world, int from, int to) {
+        for (int entity = from; entity < to; entity++) {
+            if (world.has(entity, World.VELOCITY) && world.getCollisionFrames(entity) == 0
+                    && world.getTimeoutFrames(entity) == 0 && world.getStandingFrames(entity) == 0) {
+                // Entities only drive on their own when they are not recovering from a collision
+                world.setY(entity, world.getY(entity) - world.getSpeedY(entity));
+            }
+            if (scrollSpeed != 0 && world.has(entity, World.SCROLLING)) {
+                world.setY(entity, world.getY(entity) + scrollSpeed);
+            }
+        }
+    }
+}
@@ -1,10 +1,16 @@
 import bagel.*;
+import java.util.Arrays;
 import java.util.Properties;
 
 /**
  * Represents a passenger character in the game.
  */
 public class Passenger extends Character {
+    /**
+     * The id meaning no passenger, such as when a player has no trip.
+     */
+    public static final int NO_PASSENGER = -1;
+
     private static final double EARNINGS_DISTANCE_TO_PASSENGER = 100;
     private static final double PRIORITY_DISTANCE_TO_PASSENGER = 30;
     private static final int IN_RAIN_PRIORITY = 1;
@@ -12,6 +18,7 @@ public class Passenger extends Character {
 
     private final boolean HAS_UMBRELLA;
 
+    private int id;
     private double yDistance;
     private EndFlag endFlag;
 
@@ -19,11 +26,19 @@ public class Passenger extends Character {
     private int original_priority;
 
     private boolean usedCoin;
+    private double[] priorityRates;
+    private double perYRate;
+    private double penaltyPerYRate;
     private double earnings;
+    private String[] earningsTexts;
+    private String[] priorityTexts;
+    private boolean isTaken;
+    private int font; // The same for every passenger of a road, read with its configuration
 
     /**
      * Constructs a new Passenger with the given parameters.
      *
+     * @param world The world the passenger lives in.
      * @param filename The filename of the image representing the passenger.
      * @param radius The radius of the passenger.
      * @param walkXSpeed The horizontal speed of the passenger.
@@ -34,13 +49,22 @@ public class Passenger extends Character {
      * @param y The Y-coordinate of the passenger's location.
      * @param endFlag The flag representing the passenger's destination.
      */
-    public Passenger(String filename, double radius, double walkXSpeed, double walkYSpeed, double health,
-                     int has_umbrella, double x, double y, EndFlag endFlag) {
-        super(new Image(filename), radius, walkXSpeed, walkYSpeed, health, new Location(x, y));
+    public Passenger(World world, String filename, double radius, double walkXSpeed, double walkYSpeed,
+                     double health, int has_umbrella, double x, double y, EndFlag endFlag) {
+        super(world, EntityKind.PASSENGER, Assets.getImageId(filename), radius, walkXSpeed, walkYSpeed, health, x, y);
         this.HAS_UMBRELLA = has_umbrella == 1;
         this.endFlag = endFlag;
     }
 
+    /**
+     * Gets the id of the passenger, their index among the passengers of the road, which never changes.
+     *
+     * @return the id of the passenger
+     */
+    public int getId() {
+        return id;
+    }
+
     /**
      * Gets the end flag (destination) of the passenger.
      *
@@ -59,6 +83,25 @@ public class Passenger extends Character {
         return current_priority;
     }
 
+    /**
+     * Gets the priority the passenger would have in a given weather, which their earnings are paid at.
+     *
+     * @param isRaining A flag indicating whether it is raining.
+     * @return the priority of the passenger in that weather
+     */
+    public int getPriority(boolean isRaining) {
+        return isRaining && !HAS_UMBRELLA ? IN_RAIN_PRIORITY : original_priority;
+    }
+
+    /**
+     * Gets the distance up the road from where the passenger waits to their end flag.
+     *
+     * @return the trip distance of the passenger
+     */
+    public double getYDistance() {
+        return yDistance;
+    }
+
     /**
      * Gets the current earnings of the passenger.
      *
@@ -71,11 +114,12 @@ public class Passenger extends Character {
     /**
      * Read and return an array of passengers from the provided game objects.
      *
+     * @param world The world the passengers live in.
      * @param gameProps The property filename containing configuration.
      * @param gameObjects Game objects array containing all passengers' information.
      * @return An array of Passenger objects initialized with the specified properties and game object data.
      */
-    public static Passenger[] readPassengers(Properties gameProps, String[][] gameObjects) {
+    public static Passenger[] readPassengers(World world, Properties gameProps, String[][] gameObjects) {
         int count = 0;
 
         // Count the total number of passengers
@@ -85,12 +129,28 @@ public class Passenger extends Character {
             }
         }
 
+        int font = Assets.getFontId(gameProps.getProperty("font"),
+                Integer.parseInt(gameProps.getProperty("gameObjects.passenger.fontSize")));
+
+        // The rates are read once, so a change of priority or a completed trip reads no configuration
+        double[] priorityRates = new double[1]; // Priorities start from 1
+        for (int priority = 1; gameProps.getProperty("trip.rate.priority" + priority) != null; priority++) {
+            priorityRates = Arrays.copyOf(priorityRates, priority + 1);
+            priorityRates[priority] = Double.parseDouble(gameProps.getProperty("trip.rate.priority" + priority));
+        }
+        double perYRate = Double.parseDouble(gameProps.getProperty("trip.rate.perY"));
+        double penaltyPerYRate = Double.parseDouble(gameProps.getProperty("trip.penalty.perY"));
+        String[] priorityTexts = new String[priorityRates.length];
+        for (int priority = 1; priority < priorityRates.length; priority++) {
+            priorityTexts[priority] = Integer.toString(priority);
+        }
+
         Passenger[] passengers = new Passenger[count]; // Initialize the passenger array
         int index = 0;
         for (String[] line : gameObjects) {
             if (line[0].equals("PASSENGER")) {
                 // Add new passenger object to the array
-                passengers[index] = new Passenger(gameProps.getProperty("gameObjects.passenger.image"),
+                passengers[index] = new Passenger(world, gameProps.getProperty("gameObjects.passenger.image"),
                         Double.parseDouble(gameProps.getProperty("gameObjects.passenger.radius")),
                         Double.parseDouble(gameProps.getProperty("gameObjects.passenger.walkSpeedX")),
                         Double.parseDouble(gameProps.getProperty("gameObjects.passenger.walkSpeedY")),
@@ -101,11 +161,18 @@ public class Passenger extends Character {
                                 Double.parseDouble(gameProps.getProperty("gameObjects.tripEndFlag.radius")),
                                 Double.parseDouble(line[4]),
                                 Double.parseDouble(line[2]) - Double.parseDouble(line[5])));
+                passengers[index].id = index;
                 passengers[index].original_priority = Integer.parseInt(line[3]);
                 passengers[index].current_priority = passengers[index].original_priority;
                 passengers[index].usedCoin = false;
                 passengers[index].yDistance= Double.parseDouble(line[5]);
-                passengers[index].earnings = passengers[index].calculateEarnings(gameProps);
+                passengers[index].priorityRates = priorityRates;
+                passengers[index].perYRate = perYRate;
+                passengers[index].penaltyPerYRate = penaltyPerYRate;
+                passengers[index].priorityTexts = priorityTexts;
+                passengers[index].font = font;
+                passengers[index].formatEarnings();
+                passengers[index].updateEarnings();
                 index++;
             }
         }
@@ -113,90 +180,132 @@ public class Passenger extends Character {
     }
 
     /**
-     * Renders and moves passengers based on user input, excluding those in the current or last trip.
-     * Shows earnings and priority of passengers based on game properties.
+     * Updates the priority of the passenger from the weather, recalculating the earnings only when it changes.
      *
-     * @param input The user current keyboard input.
-     * @param passengers The array of all passengers in the game.
-     * @param taxi The taxi object.
-     * @param driver The driver character.
      * @param isRaining A flag indicating whether it is raining in the game.
-     * @param gameProps The property file containing configuration.
-     * @param inTripPassenger Passenger currently in a trip.
-     * @param lastTripPassenger Passenger who has just completed a trip.
-     * @param ySpeed The number of pixels passengers move vertically per keyboard input.
      */
-    public static void showSelectedPassengers(Input input, Passenger[] passengers, Taxi taxi, Driver driver,
-                                              boolean isRaining, Properties gameProps, Passenger inTripPassenger,
-                                              Passenger lastTripPassenger, double ySpeed) {
+    public void updatePriority(boolean isRaining) {
+        int priority = getPriority(isRaining);
+        if (priority != current_priority) {
+            // Recalculate the current earning of the passenger only when the priority changes
+            current_priority = priority;
+            updateEarnings();
+        }
+    }
+
+    /**
+     * Renders passengers and scrolls them with the road, excluding the passengers in a trip, whom their
+     * players show. Shows earnings and priority of passengers who are not in or leaving a trip.
+     *
+     * @param passengers The array of all passengers in the game.
+     * @param players The players on the road.
+     * @param scrollDistance The number of pixels the road scrolls down this frame.
+     * @param renderQueue The queue the passengers are drawn into.
+     */
+    public static void showSelectedPassengers(Passenger[] passengers, TaxiPlayer[] players, double scrollDistance,
+                                              RenderQueue renderQueue) {
         // Render passengers' images and earnings
         for (Passenger passenger : passengers) {
-            if (passenger != lastTripPassenger) {
-                if (isRaining) {
-                    // Implement passenger in rain logic
-                    if (!(passenger.HAS_UMBRELLA)) {
-                        passenger.current_priority = IN_RAIN_PRIORITY;
-                    } else {
-                        passenger.current_priority = passenger.original_priority;
-                    }
-                } else {
-                    passenger.current_priority = passenger.original_priority;
-                }
-                // Calculate the current earning of the passenger
-                passenger.earnings = passenger.calculateEarnings(gameProps);
+            if (isInTrip(passenger, players)) {
+                continue; // Exclude rendering the in-trip passengers' images and earnings
             }
 
-            if (passenger == inTripPassenger) {
-                if (!taxi.getHasDriver()) {
-                    // Implement walking movement for in trip passenger after being ejected from the taxi
-                    passenger.getImage().draw(passenger.getLocation().getX(), passenger.getLocation().getY());
-                    if (!driver.getIsWaitingForPassenger()) {
-                        if (input.isDown(Keys.UP)) {
-                            passenger.getLocation().setY(passenger.getLocation().getY() - passenger.getWalkYSpeed());
-                        }
-                        if (input.isDown(Keys.DOWN)) {
-                            passenger.getLocation().setY(passenger.getLocation().getY() + passenger.getWalkYSpeed());
-                        }
-                        if (input.isDown(Keys.LEFT)) {
-                            passenger.getLocation().setX(passenger.getLocation().getX() - passenger.getWalkXSpeed());
-                        }
-                        if (input.isDown(Keys.RIGHT)) {
-                            passenger.getLocation().setX(passenger.getLocation().getX() + passenger.getWalkXSpeed());
-                        }
-                    }
-                }
-                continue; // Exclude rendering the in-trip passenger's image and earnings
+            if (!renderQueue.isVisible(passenger.getLocation().getX(), passenger.getLocation().getY(),
+                    passenger.getRadius() + EARNINGS_DISTANCE_TO_PASSENGER)) {
+                continue; // Exclude off-screen passengers and their earnings
             }
+            renderQueue.drawImage(passenger.getTexture(), passenger.getLocation().getX(),
+                    passenger.getLocation().getY(), RenderQueue.LAYER_PASSENGER);
 
-            passenger.getImage().draw(passenger.getLocation().getX(), passenger.getLocation().getY());
-
-            if (passenger == lastTripPassenger) {
-                continue; // Exclude rendering the last-trip passenger's earnings
+            if (passenger.isTaken) {
+                continue; // Exclude rendering the last-trip passengers' earnings
             }
-            // Render passengers' earnings and priorities
-            Font font = new Font(gameProps.getProperty("font"),
-                    Integer.parseInt(gameProps.getProperty("gameObjects.passenger.fontSize")));
-            font.drawString(Double.toString(passenger.earnings),
-                    passenger.getLocation().getX() - EARNINGS_DISTANCE_TO_PASSENGER, passenger.getLocation().getY());
-            font.drawString(Integer.toString(passenger.current_priority),
-                    passenger.getLocation().getX() - PRIORITY_DISTANCE_TO_PASSENGER, passenger.getLocation().getY());
+            // Render passengers' earnings and priorities, formatted for every priority when the level is read
+            renderQueue.drawText(passenger.font, passenger.earningsTexts[passenger.current_priority],
+                    passenger.getLocation().getX() - EARNINGS_DISTANCE_TO_PASSENGER, passenger.getLocation().getY(),
+                    RenderQueue.LAYER_PASSENGER);
+            renderQueue.drawText(passenger.font, passenger.priorityTexts[passenger.current_priority],
+                    passenger.getLocation().getX() - PRIORITY_DISTANCE_TO_PASSENGER, passenger.getLocation().getY(),
+                    RenderQueue.LAYER_PASSENGER);
 
         }
 
-        if (input.isDown(Keys.UP)){
+        if (scrollDistance != 0){
             // Apply vertical movement to passengers and their flags
             for (Passenger passenger : passengers) {
-                passenger.endFlag.getLocation().setY(passenger.endFlag.getLocation().getY() + ySpeed);
-                if (passenger == inTripPassenger) {
-                    if (!driver.getIsWaitingForPassenger()) {
-                        continue;
-                    }
+                passenger.endFlag.getLocation().setY(passenger.endFlag.getLocation().getY() + scrollDistance);
+                if (isRiding(passenger, players)) {
+                    continue; // Moves with the taxi, or walks on their own
                 }
-                passenger.getLocation().setY(passenger.getLocation().getY() + ySpeed);
+                passenger.getLocation().setY(passenger.getLocation().getY() + scrollDistance);
             }
         }
     }
 
+    /**
+     * Renders and moves the in-trip passenger after being ejected from the taxi, based on user input.
+     *
+     * @param input The user current keyboard input.
+     * @param driver The driver of the passenger's taxi.
+     * @param renderQueue The queue the passenger is drawn into.
+     */
+    public void walkOutsideTaxi(InputSource input, Driver driver, RenderQueue renderQueue) {
+        renderQueue.drawImage(getTexture(), getLocation().getX(), getLocation().getY(), RenderQueue.LAYER_PASSENGER);
+        if (!driver.getIsWaitingForPassenger()) {
+            if (input.isDown(Keys.UP)) {
+                getLocation().setY(getLocation().getY() - getWalkYSpeed());
+            }
+            if (input.isDown(Keys.DOWN)) {
+                getLocation().setY(getLocation().getY() + getWalkYSpeed());
+            }
+            if (input.isDown(Keys.LEFT)) {
+                getLocation().setX(getLocation().getX() - getWalkXSpeed());
+            }
+            if (input.isDown(Keys.RIGHT)) {
+                getLocation().setX(getLocation().getX() + getWalkXSpeed());
+            }
+        }
+    }
+
+    /**
+     * Gets whether the passenger is taken by a player, from the start of their trip until the player
+     * completes another trip. A taken passenger cannot be picked up by any taxi.
+     *
+     * @return true if the passenger is taken, false otherwise.
+     */
+    public boolean getIsTaken() {
+        return isTaken;
+    }
+
+    /**
+     * Sets whether the passenger is taken by a player.
+     *
+     * @param isTaken true if the passenger is taken, false otherwise.
+     */
+    public void setIsTaken(boolean isTaken) {
+        this.isTaken = isTaken;
+    }
+
+    // Check whether a passenger is in the trip of any player
+    private static boolean isInTrip(Passenger passenger, TaxiPlayer[] players) {
+        for (TaxiPlayer player : players) {
+            if (player.getInTripPassengerId() == passenger.id) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    // Check whether a passenger is in a trip and not walking back into a new taxi, so does not scroll
+    private static boolean isRiding(Passenger passenger, TaxiPlayer[] players) {
+        for (TaxiPlayer player : players) {
+            if (player.getInTripPassengerId() == passenger.id) {
+                return !player.getDriver().getIsWaitingForPassenger();
+            }
+        }
+        return false;
+    }
+
     /**
      * Moves the passenger toward a specific location.
      *
@@ -232,26 +341,36 @@ public class Passenger extends Character {
     /**
      * Calculate the expected earnings of the passenger based on travelled distance and priority
      *
-     * @param gameProps The property object containing configuration.
      * @return the calculated earnings of the passenger.
      */
-    private double calculateEarnings(Properties gameProps) {
-        return Double.parseDouble(gameProps.getProperty("trip.rate.priority" + current_priority)) +
-                yDistance *  Double.parseDouble(gameProps.getProperty("trip.rate.perY"));
+    private double calculateEarnings() {
+        return priorityRates[current_priority] + yDistance * perYRate;
+    }
+
+    // Recalculate the earnings when the priority changes
+    private void updateEarnings() {
+        earnings = calculateEarnings();
+    }
+
+    // Format the earnings shown next to the passenger at every priority, so that none is formatted during a game
+    private void formatEarnings() {
+        earningsTexts = new String[priorityRates.length];
+        for (int priority = 1; priority < priorityRates.length; priority++) {
+            earningsTexts[priority] = Double.toString(priorityRates[priority] + yDistance * perYRate);
+        }
     }
 
     /**
      * Calculate the penalty of the passenger based on current passenger's and their flag's coordinates
      *
-     * @param gameProps The property object containing configuration.
      * @return The calculated penalty of the passenger.
      */
-    public double calculatePenalty (Properties gameProps){
+    public double calculatePenalty (){
         // Check if passenger has moved beyond the end flag
         if (getLocation().getY() < endFlag.getLocation().getY()){
             // Check if the distance is greater than the end flag's radius
             if (getLocation().distance(endFlag.getLocation()) > endFlag.getRadius()){
-                return Double.parseDouble(gameProps.getProperty("trip.penalty.perY")) *
+                return penaltyPerYRate *
                         (endFlag.getLocation().getY() - getLocation().getY());
             }
         }
@@ -271,22 +390,6 @@ public class Passenger extends Character {
         }
     }
 
-    /**
-     * Returns the minimum health value among all passengers.
-     *
-     * @param passengers The array of passengers.
-     * @return The minimum health value among the passengers.
-     */
-    public static double getMinHealth (Passenger[] passengers){
-        double minHealth = passengers[0].getHealth();
-        for (Passenger passenger : passengers){
-            if (passenger.getHealth() < minHealth) {
-                minHealth = passenger.getHealth();
-            }
-        }
-        return minHealth;
-    }
-
     /**
      * Ejects the passenger from a location by setting the driver's location to a position nearby the location.
      *
@@ -0,0 +1,95 @@
+/**
+ * Recomputes the priority of every passenger from the weather, and their earnings when the priority changes.
+ */
+public class PassengerPrioritySystem implements GameSystem {
+    private final Passenger[] SELECTED_PASSENGERS;
+    private boolean isRaining;
+    private TaxiPlayer[] players;
+
+    /**
+     * Constructs a new system updating the given passengers.
+     *
+     * @param passengers The array of all passengers in the game.
+     */
+    public PassengerPrioritySystem(Passenger[] passengers) {
+        this.SELECTED_PASSENGERS = passengers;
+    }
+
+    /**
+     * Sets the state of the game the priorities depend on this frame.
+     *
+     * @param isRaining A flag indicating whether it is raining in the game.
+     * @param players The players on the road, whose passengers who have just completed a trip keep their priority.
+     */
+    public void setFrame(boolean isRaining, TaxiPlayer[] players) {
+        this.isRaining = isRaining;
+        this.players = players;
+    }
+
+    /**
+     * Gets the state the system reads.
+     *
+     * @return The passengers.
+     */
+    @Override
+    public int getReads() {
+        return PASSENGERS;
+    }
+
+    /**
+     * Gets the state the system writes.
+     *
+     * @return The passengers.
+     */
+    @Override
+    public int getWrites() {
+        return PASSENGERS;
+    }
+
+    /**
+     * Gets whether the system can be split into chunks.
+     *
+     * @return true, as each passenger's priority is independent.
+     */
+    @Override
+    public boolean isParallel() {
+        return true;
+    }
+
+    /**
+     * Gets the number of items the system updates.
+     *
+     * @param world The world being updated.
+     * @return The number of passengers.
+     */
+    @Override
+    public int size(World world) {
+        return SELECTED_PASSENGERS.length;
+    }
+
+    /**
+     * Updates the priority of the passengers in the range.
+     *
+     * @param world The world being updated.
+     * @param from The index of the first passenger.
+     * @param to One past the index of the last passenger.
+     */
+    @Override
+    public void update(World world, int from, int to) {
+        for (int i = from; i < to; i++) {
+            if (!isLastTripPassenger(SELECTED_PASSENGERS[i])) {
+                SELECTED_PASSENGERS[i].updatePriority(isRaining);
+            }
+        }
+    }
+
+    // Check whether a passenger has just completed a trip with any player
+    private boolean isLastTripPassenger(Passenger passenger) {
+        for (TaxiPlayer player : players) {
+            if (player.getLastTripPassengerId() == passenger.getId()) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
@@ -0,0 +1,112 @@
+import java.util.Arrays;
+
+/**
+ * A render backend that draws nothing and only records what was submitted to it.
+ * It allows the game to be run and inspected without a window.
+ */
+public class RecordingRenderBackend implements RenderBackend {
+    private static final double CHARACTER_WIDTH_FACTOR = 0.75; // Approximate glyph width relative to font size
+
+    private int[] imageDraws;
+    private int totalImageDraws;
+    private int totalTextDraws;
+    private int totalBatches;
+
+    /**
+     * Constructs a new recording backend with all counters at zero.
+     */
+    public RecordingRenderBackend() {
+        imageDraws = new int[0];
+    }
+
+    /**
+     * Records a batch of sprites without drawing them.
+     *
+     * @param texture The id of the texture to be drawn.
+     * @param xs The X-coordinates of the sprites' centres.
+     * @param ys The Y-coordinates of the sprites' centres.
+     * @param offset The index of the first sprite in the batch.
+     * @param count The number of sprites in the batch.
+     */
+    @Override
+    public void drawImages(int texture, double[] xs, double[] ys, int offset, int count) {
+        if (texture >= imageDraws.length) {
+            imageDraws = Arrays.copyOf(imageDraws, Assets.size());
+        }
+        imageDraws[texture] += count;
+        totalImageDraws += count;
+        totalBatches += 1;
+    }
+
+    /**
+     * Records a string without drawing it.
+     *
+     * @param font The id of the font to be used.
+     * @param text The text to be drawn.
+     * @param x The X-coordinate of the text.
+     * @param y The Y-coordinate of the text.
+     */
+    @Override
+    public void drawText(int font, String text, double x, double y) {
+        totalTextDraws += 1;
+    }
+
+    /**
+     * Estimates the width of a string from its length and the font size.
+     *
+     * @param font The id of the font.
+     * @param text The text to be measured.
+     * @return The estimated width of the text in pixels.
+     */
+    @Override
+    public double getTextWidth(int font, String text) {
+        return text.length() * Assets.getFontSize(font) * CHARACTER_WIDTH_FACTOR;
+    }
+
+    /**
+     * Gets the number of times a texture has been drawn since the last reset.
+     *
+     * @param texture The id of the texture.
+     * @return The number of draws of the texture.
+     */
+    public int getImageDraws(int texture) {
+        return texture < imageDraws.length ? imageDraws[texture] : 0;
+    }
+
+    /**
+     * Gets the total number of sprites drawn since the last reset.
+     *
+     * @return The number of sprites drawn.
+     */
+    public int getTotalImageDraws() {
+        return totalImageDraws;
+    }
+
+    /**
+     * Gets the total number of strings drawn since the last reset.
+     *
+     * @return The number of strings drawn.
+     */
+    public int getTotalTextDraws() {
+        return totalTextDraws;
+    }
+
+    /**
+     * Gets the total number of sprite batches submitted since the last reset.
+     *
+     * @return The number of sprite batches.
+     */
+    public int getTotalBatches() {
+        return totalBatches;
+    }
+
+    /**
+     * Resets all counters to zero.
+     */
+    public void reset() {
+        Arrays.fill(imageDraws, 0);
+        totalImageDraws = 0;
+        totalTextDraws = 0;
+        totalBatches = 0;
+    }
+}
@@ -0,0 +1,297 @@
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+
+/**
+ * The draw commands of a frame shown on another machine.
+ * On the server, a render queue is flushed into the frame, which records the sorted commands and encodes them
+ * against the commands of the previous frame. A command that did not change costs nothing but its share of a
+ * skip count, and a changed command only carries the fields that changed. On the client, the same encoding is
+ * decoded against the previous frame, and the commands are drawn in order with the client's backend.
+ * A frame can also be encoded as a keyframe, against nothing, for a viewer who missed the previous frame.
+ */
+public class RemoteFrame implements RenderBackend {
+    private static final int INITIAL_CAPACITY = 256;
+    private static final int MAX_SKIP = 0x80; // Unchanged commands one skip byte can cover
+
+    // Bits of the byte starting a command, whose top bit marks a skip instead
+    private static final int SKIP = 0x80;
+    private static final int TEXTURE_CHANGED = 1;
+    private static final int X_CHANGED = 1 << 1;
+    private static final int Y_CHANGED = 1 << 2;
+    private static final int TEXT_CHANGED = 1 << 3;
+    private static final int IS_TEXT = 1 << 4;
+
+    private int[] textures;
+    private int[] xs;
+    private int[] ys;
+    private String[] texts;
+    private int size;
+
+    // The commands of the previous frame, which the next frame is encoded against
+    private int[] baseTextures;
+    private int[] baseXs;
+    private int[] baseYs;
+    private String[] baseTexts;
+    private int baseSize;
+
+    // Working arrays for drawing runs of images
+    private double[] drawXs;
+    private double[] drawYs;
+
+    /**
+     * Constructs a new empty frame.
+     */
+    public RemoteFrame() {
+        textures = new int[INITIAL_CAPACITY];
+        xs = new int[INITIAL_CAPACITY];
+        ys = new int[INITIAL_CAPACITY];
+        texts = new String[INITIAL_CAPACITY];
+        baseTextures = new int[INITIAL_CAPACITY];
+        baseXs = new int[INITIAL_CAPACITY];
+        baseYs = new int[INITIAL_CAPACITY];
+        baseTexts = new String[INITIAL_CAPACITY];
+        drawXs = new double[INITIAL_CAPACITY];
+        drawYs = new double[INITIAL_CAPACITY];
+    }
+
+    /**
+     * Records images drawn by a render queue, rounding their positions to whole pixels.
+     *
+     * @param texture The id of the image.
+     * @param xs The X-coordinates of the images' centres.
+     * @param ys The Y-coordinates of the images' centres.
+     * @param offset The index of the first image in the coordinate arrays.
+     * @param count The number of images.
+     */
+    @Override
+    public void drawImages(int texture, double[] xs, double[] ys, int offset, int count) {
+        for (int i = offset; i < offset + count; i++) {
+            add(texture, null, (int) Math.round(xs[i]), (int) Math.round(ys[i]));
+        }
+    }
+
+    /**
+     * Records a string drawn by a render queue, rounding its position to whole pixels.
+     *
+     * @param font The id of the font.
+     * @param text The text to be drawn.
+     * @param x The X-coordinate of the text.
+     * @param y The Y-coordinate of the text.
+     */
+    @Override
+    public void drawText(int font, String text, double x, double y) {
+        add(font, text, (int) Math.round(x), (int) Math.round(y));
+    }
+
+    /**
+     * Measures nothing, as the frame is only recorded to be drawn elsewhere.
+     *
+     * @param font The id of the font.
+     * @param text The text to be measured.
+     * @return 0, as the width is unknown.
+     */
+    @Override
+    public double getTextWidth(int font, String text) {
+        return 0;
+    }
+
+    /**
+     * Writes the recorded commands encoded against the previous frame, which they then replace.
+     *
+     * @param out The buffer the frame is written to.
+     */
+    public void encode(ByteBuffer out) {
+        write(out, baseSize);
+        swapWithBase();
+    }
+
+    /**
+     * Writes the recorded commands encoded against nothing, so they can be read whatever frame was read before.
+     * The previous frame is kept, so the same commands can be encoded against it afterwards.
+     *
+     * @param out The buffer the frame is written to.
+     */
+    public void encodeKeyframe(ByteBuffer out) {
+        write(out, 0);
+    }
+
+    /**
+     * Moves the recorded commands to another frame, replacing any it recorded but did not encode.
+     * This frame is left with no recorded commands, and the previous frame of neither is changed.
+     *
+     * @param other The frame the commands are moved to.
+     */
+    public void moveCommandsTo(RemoteFrame other) {
+        int[] movedTextures = other.textures;
+        int[] movedXs = other.xs;
+        int[] movedYs = other.ys;
+        String[] movedTexts = other.texts;
+        other.textures = textures;
+        other.xs = xs;
+        other.ys = ys;
+        other.texts = texts;
+        other.size = size;
+        textures = movedTextures;
+        xs = movedXs;
+        ys = movedYs;
+        texts = movedTexts;
+        size = 0;
+    }
+
+    /**
+     * Reads a frame encoded against the previous frame read, which it then replaces.
+     *
+     * @param in The buffer the frame is read from.
+     */
+    public void decode(ByteBuffer in) {
+        int count = in.getShort() & 0xFFFF;
+        size = 0;
+        while (size < count) {
+            int changes = in.get() & 0xFF;
+            if ((changes & SKIP) != 0) {
+                for (int skip = (changes & ~SKIP) + 1; skip > 0; skip--) {
+                    add(baseTextures[size], baseTexts[size], baseXs[size], baseYs[size]);
+                }
+                continue;
+            }
+            int index = size;
+            boolean isInBase = index < baseSize;
+            int texture = (changes & TEXTURE_CHANGED) != 0 ? in.getShort() : isInBase ? baseTextures[index] : 0;
+            int x = (changes & X_CHANGED) != 0 ? in.getShort() : isInBase ? baseXs[index] : 0;
+            int y = (changes & Y_CHANGED) != 0 ? in.getShort() : isInBase ? baseYs[index] : 0;
+            String text = null;
+            if ((changes & IS_TEXT) != 0) {
+                text = (changes & TEXT_CHANGED) != 0 ? RoadProtocol.getString(in) : baseTexts[index];
+            }
+            add(texture, text, x, y);
+        }
+        // Keep the frame just read as the base of the next one
+        swapWithBase();
+    }
+
+    /**
+     * Draws the last frame read, in the order it was recorded.
+     *
+     * @param backend The backend that draws the commands.
+     * @param localIds The id on this machine of each asset id of the server.
+     */
+    public void draw(RenderBackend backend, int[] localIds) {
+        if (drawXs.length < baseSize) {
+            drawXs = new double[baseTextures.length];
+            drawYs = new double[baseTextures.length];
+        }
+        int start = 0;
+        while (start < baseSize) {
+            if (baseTexts[start] != null) {
+                backend.drawText(localIds[baseTextures[start]], baseTexts[start], baseXs[start], baseYs[start]);
+                start++;
+                continue;
+            }
+
+            // Gather the run of images sharing this texture
+            int end = start;
+            while (end < baseSize && baseTexts[end] == null && baseTextures[end] == baseTextures[start]) {
+                drawXs[end] = baseXs[end];
+                drawYs[end] = baseYs[end];
+                end++;
+            }
+            backend.drawImages(localIds[baseTextures[start]], drawXs, drawYs, start, end - start);
+            start = end;
+        }
+    }
+
+    // Write the recorded commands against the first commands of the previous frame
+    private void write(ByteBuffer out, int baseCount) {
+        out.putShort((short) size);
+        int skipped = 0;
+        for (int i = 0; i < size; i++) {
+            int changes = findChanges(i, baseCount);
+            if (changes == 0) {
+                skipped++;
+                if (skipped == MAX_SKIP) {
+                    skipped = writeSkip(out, skipped);
+                }
+                continue;
+            }
+            skipped = writeSkip(out, skipped);
+            out.put((byte) (texts[i] != null ? changes | IS_TEXT : changes));
+            if ((changes & TEXTURE_CHANGED) != 0) {
+                out.putShort((short) textures[i]);
+            }
+            if ((changes & X_CHANGED) != 0) {
+                out.putShort((short) xs[i]);
+            }
+            if ((changes & Y_CHANGED) != 0) {
+                out.putShort((short) ys[i]);
+            }
+            if ((changes & TEXT_CHANGED) != 0 && texts[i] != null) {
+                RoadProtocol.putString(out, texts[i]);
+            }
+        }
+        writeSkip(out, skipped);
+    }
+
+    // Find the fields of a command that differ from the command at the same index of the previous frame
+    private int findChanges(int index, int baseCount) {
+        if (index >= baseCount) {
+            return TEXTURE_CHANGED | X_CHANGED | Y_CHANGED | (texts[index] != null ? TEXT_CHANGED : 0);
+        }
+        int changes = 0;
+        if (textures[index] != baseTextures[index]) {
+            changes |= TEXTURE_CHANGED;
+        }
+        if (xs[index] != baseXs[index]) {
+            changes |= X_CHANGED;
+        }
+        if (ys[index] != baseYs[index]) {
+            changes |= Y_CHANGED;
+        }
+        if (texts[index] != null ? !texts[index].equals(baseTexts[index]) : baseTexts[index] != null) {
+            changes |= TEXT_CHANGED;
+        }
+        return changes;
+    }
+
+    // Write the skip byte of a run of unchanged commands, if any
+    private static int writeSkip(ByteBuffer out, int skipped) {
+        if (skipped > 0) {
+            out.put((byte) (SKIP | (skipped - 1)));
+        }
+        return 0;
+    }
+
+    private void add(int texture, String text, int x, int y) {
+        if (size == textures.length) {
+            int capacity = size * 2;
+            textures = Arrays.copyOf(textures, capacity);
+            xs = Arrays.copyOf(xs, capacity);
+            ys = Arrays.copyOf(ys, capacity);
+            texts = Arrays.copyOf(texts, capacity);
+            drawXs = new double[capacity];
+            drawYs = new double[capacity];
+        }
+        textures[size] = texture;
+        xs[size] = x;
+        ys[size] = y;
+        texts[size] = text;
+        size++;
+    }
+
+    // Make the current commands the previous frame, reusing the arrays of the old previous frame
+    private void swapWithBase() {
+        int[] swappedTextures = baseTextures;
+        int[] swappedXs = baseXs;
+        int[] swappedYs = baseYs;
+        String[] swappedTexts = baseTexts;
+        baseTextures = textures;
+        baseXs = xs;
+        baseYs = ys;
+        baseTexts = texts;
+        baseSize = size;
+        textures = swappedTextures;
+        xs = swappedXs;
+        ys = swappedYs;
+        texts = swappedTexts;
+        size = 0;
+    }
+}
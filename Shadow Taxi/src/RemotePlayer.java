@@ -0,0 +1,99 @@
+import java.nio.ByteBuffer;
+
+/**
+ * The state of a player on a road server that a client shows in its game details.
+ */
+public class RemotePlayer {
+    // Bits of the status byte
+    private static final int OUT = 1;
+    private static final int IN_TRIP = 1 << 1;
+    private static final int HAS_TRIP = 1 << 2;
+
+    private int status;
+    private double score;
+    private int coinFrames;
+    private double taxiHealth;
+    private double driverHealth;
+    private double passengerHealth;
+    private double earnings;
+    private int priority;
+    private double penalty;
+
+    /**
+     * Gets the player's total score.
+     *
+     * @return The score of the player.
+     */
+    public double getScore() {
+        return score;
+    }
+
+    /**
+     * Gets whether the player is out of the game.
+     *
+     * @return true if the player is out, false otherwise.
+     */
+    public boolean getIsOut() {
+        return (status & OUT) != 0;
+    }
+
+    /**
+     * Writes the state of a player on the road.
+     *
+     * @param out The buffer the state is written to.
+     * @param player The player.
+     * @param isOut Whether the player is out of the game.
+     * @param minPassengerHealth The lowest health of the passengers on the road.
+     */
+    public static void encode(ByteBuffer out, TaxiPlayer player, boolean isOut, double minPassengerHealth) {
+        Passenger tripPassenger = player.getInTrip() ? player.getInTripPassenger() : player.getLastTripPassenger();
+        int status = (isOut ? OUT : 0) | (player.getInTrip() ? IN_TRIP : 0) | (tripPassenger != null ? HAS_TRIP : 0);
+        out.put((byte) status);
+        out.putFloat((float) player.getScore());
+        out.putShort((short) player.getCoinFrames());
+        out.putFloat((float) player.getTaxi().getHealth());
+        out.putFloat((float) player.getDriver().getHealth());
+        out.putFloat((float) (player.getInTripPassenger() != null ? player.getInTripPassenger().getHealth()
+                : minPassengerHealth));
+        if (tripPassenger != null) {
+            out.putFloat((float) tripPassenger.getEarnings());
+            out.put((byte) tripPassenger.getPriority());
+            out.putFloat((float) player.getPenalty());
+        }
+    }
+
+    /**
+     * Reads the state of the player.
+     *
+     * @param in The buffer the state is read from.
+     */
+    public void decode(ByteBuffer in) {
+        status = in.get();
+        score = in.getFloat();
+        coinFrames = in.getShort();
+        taxiHealth = in.getFloat();
+        driverHealth = in.getFloat();
+        passengerHealth = in.getFloat();
+        if ((status & HAS_TRIP) != 0) {
+            earnings = in.getFloat();
+            priority = in.get();
+            penalty = in.getFloat();
+        }
+    }
+
+    /**
+     * Renders the game and trip details of the player, as the game play screen does for a local player.
+     *
+     * @param hud The game details display.
+     * @param target The target score.
+     * @param remainingFrames The number of frames left in the game.
+     * @param renderQueue The queue the details are drawn into.
+     */
+    public void showDetails(GameHud hud, double target, int remainingFrames, RenderQueue renderQueue) {
+        hud.showGameDetails(score, target, remainingFrames, coinFrames, taxiHealth, driverHealth, passengerHealth,
+                renderQueue);
+        if ((status & HAS_TRIP) != 0) {
+            hud.showTripDetails((status & IN_TRIP) != 0, earnings, priority, penalty, renderQueue);
+        }
+    }
+}
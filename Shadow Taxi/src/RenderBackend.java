@@ -0,0 +1,34 @@
+/**
+ * An interface representing the target that sorted draw commands are submitted to.
+ */
+public interface RenderBackend {
+    /**
+     * Draws a batch of sprites sharing the same texture.
+     *
+     * @param texture The id of the texture to be drawn.
+     * @param xs The X-coordinates of the sprites' centres.
+     * @param ys The Y-coordinates of the sprites' centres.
+     * @param offset The index of the first sprite in the batch.
+     * @param count The number of sprites in the batch.
+     */
+    void drawImages(int texture, double[] xs, double[] ys, int offset, int count);
+
+    /**
+     * Draws a string with its bottom-left corner at the given position.
+     *
+     * @param font The id of the font to be used.
+     * @param text The text to be drawn.
+     * @param x The X-coordinate of the text.
+     * @param y The Y-coordinate of the text.
+     */
+    void drawText(int font, String text, double x, double y);
+
+    /**
+     * Gets the width of a string when drawn with the given font.
+     *
+     * @param font The id of the font.
+     * @param text The text to be measured.
+     * @return The width of the text in pixels.
+     */
+    double getTextWidth(int font, String text);
+}
@@ -0,0 +1,278 @@
+import java.util.Arrays;
+import jdk.jfr.EventType;
+
+/**
+ * A double buffer of draw commands filled by the game every frame.
+ * Commands are recorded into one buffer while the other, holding the previous frame, is drawn, so that
+ * the game can simulate its next frame on another thread while the current one is on screen.
+ * On flush, commands are sorted by layer and then by texture, and submitted to a render backend in batches.
+ */
+public class RenderQueue {
+    /**
+     * The layer of the scrolling backgrounds.
+     */
+    public static final int LAYER_BACKGROUND = 0;
+
+    /**
+     * The layer of the taxi and damaged taxis.
+     */
+    public static final int LAYER_TAXI = 1;
+
+    /**
+     * The layer of the coins and invincible powers.
+     */
+    public static final int LAYER_TOKEN = 2;
+
+    /**
+     * The layer of the driver.
+     */
+    public static final int LAYER_DRIVER = 3;
+
+    /**
+     * The layer of the passengers and their earnings and priorities.
+     */
+    public static final int LAYER_PASSENGER = 4;
+
+    /**
+     * The layer of other cars and enemy cars.
+     */
+    public static final int LAYER_CAR = 5;
+
+    /**
+     * The layer of the fireballs.
+     */
+    public static final int LAYER_FIREBALL = 6;
+
+    /**
+     * The layer of smoke, fire and blood.
+     */
+    public static final int LAYER_ANIMATION = 7;
+
+    /**
+     * The layer of the trip end flags.
+     */
+    public static final int LAYER_END_FLAG = 8;
+
+    /**
+     * The layer of the game details.
+     */
+    public static final int LAYER_HUD = 9;
+
+    private static final int TOTAL_LAYERS = 10;
+    private static final EventType FRAME_RENDER = EventType.getEventType(FrameRenderEvent.class);
+    private static final int INITIAL_CAPACITY = 256;
+
+    private final Viewport VIEWPORT;
+
+    private CommandBuffer recording; // Filled by the game
+    private CommandBuffer showing; // Drawn on flush
+
+    // Working arrays for sorting, reused between frames
+    private int[] order;
+    private int[] bucketStarts;
+    private double[] sortedXs;
+    private double[] sortedYs;
+
+    /**
+     * Constructs a new empty render queue.
+     *
+     * @param viewport The visible area of the window used to cull entities.
+     */
+    public RenderQueue(Viewport viewport) {
+        VIEWPORT = viewport;
+        recording = new CommandBuffer();
+        showing = new CommandBuffer();
+        order = new int[INITIAL_CAPACITY];
+        sortedXs = new double[INITIAL_CAPACITY];
+        sortedYs = new double[INITIAL_CAPACITY];
+        bucketStarts = new int[1];
+    }
+
+    /**
+     * Gets the number of commands recorded for the frame being built.
+     *
+     * @return The number of queued commands.
+     */
+    public int size() {
+        return recording.size;
+    }
+
+    /**
+     * Gets the viewport used to cull entities, holding the drawn and culled counters of the frame being built.
+     *
+     * @return The viewport of the queue.
+     */
+    public Viewport getViewport() {
+        return VIEWPORT;
+    }
+
+    /**
+     * Checks whether an entity is visible in the window, so that off-screen entities skip drawing.
+     *
+     * @param x The X-coordinate of the entity.
+     * @param y The Y-coordinate of the entity.
+     * @param radius The distance from the entity's centre to the furthest point it draws at.
+     * @return true if the entity may be on screen, false otherwise.
+     */
+    public boolean isVisible(double x, double y, double radius) {
+        return VIEWPORT.isVisible(x, y, radius);
+    }
+
+    /**
+     * Queues an image to be drawn centred at the given position.
+     *
+     * @param texture The id of the image.
+     * @param x The X-coordinate of the image's centre.
+     * @param y The Y-coordinate of the image's centre.
+     * @param layer The layer the image is drawn on.
+     */
+    public void drawImage(int texture, double x, double y, int layer) {
+        recording.add(texture, null, x, y, layer);
+    }
+
+    /**
+     * Queues a string to be drawn with its bottom-left corner at the given position.
+     *
+     * @param font The id of the font.
+     * @param text The text to be drawn.
+     * @param x The X-coordinate of the text.
+     * @param y The Y-coordinate of the text.
+     * @param layer The layer the text is drawn on.
+     */
+    public void drawText(int font, String text, double x, double y, int layer) {
+        recording.add(font, text, x, y, layer);
+    }
+
+    /**
+     * Publishes the recorded frame to be drawn by the next flush, and starts recording a new frame.
+     * Must not be called while the game is recording or the queue is flushing on another thread.
+     */
+    public void swapBuffers() {
+        recording.drawnCount = VIEWPORT.getDrawnCount();
+        recording.culledCount = VIEWPORT.getCulledCount();
+        VIEWPORT.resetCounters();
+
+        CommandBuffer published = recording;
+        recording = showing;
+        showing = published;
+    }
+
+    /**
+     * Empties both the recording and the published frame, keeping the room of their buffers, so the queue can be
+     * reused by a new game. Must not be called while the queue is recording or flushing on another thread.
+     */
+    public void reset() {
+        recording.clear();
+        showing.clear();
+        VIEWPORT.resetCounters();
+    }
+
+    /**
+     * Sorts the commands of the last published frame by layer and texture, submits them to the backend
+     * and empties the buffer. Images sharing a texture within a layer are submitted as one batch.
+     * This may run on one thread while the next frame is recorded on another.
+     *
+     * @param backend The backend that draws the commands.
+     */
+    public void flush(RenderBackend backend) {
+        // The event is only made while it is being recorded, so that a frame allocates nothing otherwise
+        FrameRenderEvent event = FRAME_RENDER.isEnabled() ? new FrameRenderEvent() : null;
+        if (event != null) {
+            event.begin();
+        }
+        CommandBuffer buffer = showing;
+        sortCommands(buffer);
+
+        int start = 0;
+        while (start < buffer.size) {
+            int first = order[start];
+            if (buffer.texts[first] != null) {
+                backend.drawText(buffer.textures[first], buffer.texts[first], buffer.xs[first], buffer.ys[first]);
+                start++;
+                continue;
+            }
+
+            // Gather the run of images sharing this layer and texture
+            int end = start;
+            while (end < buffer.size && buffer.texts[order[end]] == null
+                    && buffer.textures[order[end]] == buffer.textures[first]
+                    && buffer.layers[order[end]] == buffer.layers[first]) {
+                sortedXs[end] = buffer.xs[order[end]];
+                sortedYs[end] = buffer.ys[order[end]];
+                end++;
+            }
+            backend.drawImages(buffer.textures[first], sortedXs, sortedYs, start, end - start);
+            start = end;
+        }
+
+        if (event != null) {
+            event.drawCommands = buffer.size;
+            event.drawnEntities = buffer.drawnCount;
+            event.culledEntities = buffer.culledCount;
+            event.commit();
+        }
+
+        buffer.clear();
+    }
+
+    // Stable counting sort of the command indices of a buffer by layer, then by texture
+    private void sortCommands(CommandBuffer buffer) {
+        if (order.length < buffer.size) {
+            order = new int[buffer.textures.length];
+            sortedXs = new double[buffer.textures.length];
+            sortedYs = new double[buffer.textures.length];
+        }
+        int textureCount = Assets.size();
+        int bucketCount = TOTAL_LAYERS * textureCount;
+        if (bucketStarts.length < bucketCount + 1) {
+            bucketStarts = new int[bucketCount + 1];
+        }
+        Arrays.fill(bucketStarts, 0, bucketCount + 1, 0);
+
+        for (int i = 0; i < buffer.size; i++) {
+            bucketStarts[buffer.layers[i] * textureCount + buffer.textures[i] + 1]++;
+        }
+        for (int bucket = 0; bucket < bucketCount; bucket++) {
+            bucketStarts[bucket + 1] += bucketStarts[bucket];
+        }
+        for (int i = 0; i < buffer.size; i++) {
+            order[bucketStarts[buffer.layers[i] * textureCount + buffer.textures[i]]++] = i;
+        }
+    }
+
+    // The draw commands of one frame, with the culling counters from when it was recorded
+    private static class CommandBuffer {
+        private int[] textures = new int[INITIAL_CAPACITY];
+        private int[] layers = new int[INITIAL_CAPACITY];
+        private double[] xs = new double[INITIAL_CAPACITY];
+        private double[] ys = new double[INITIAL_CAPACITY];
+        private String[] texts = new String[INITIAL_CAPACITY];
+        private int size;
+        private int drawnCount;
+        private int culledCount;
+
+        private void add(int texture, String text, double x, double y, int layer) {
+            if (size == textures.length) {
+                int capacity = size * 2;
+                textures = Arrays.copyOf(textures, capacity);
+                layers = Arrays.copyOf(layers, capacity);
+                xs = Arrays.copyOf(xs, capacity);
+                ys = Arrays.copyOf(ys, capacity);
+                texts = Arrays.copyOf(texts, capacity);
+            }
+            textures[size] = texture;
+            layers[size] = layer;
+            xs[size] = x;
+            ys[size] = y;
+            texts[size] = text;
+            size++;
+        }
+
+        private void clear() {
+            Arrays.fill(texts, 0, size, null);
+            size = 0;
+            drawnCount = 0;
+            culledCount = 0;
+        }
+    }
+}
@@ -0,0 +1,51 @@
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Reads back a recording made by a {@link ReplayRecorder}, one snapshot at a time.
+ * The file is mapped into memory rather than read, and each snapshot is decoded in place.
+ */
+public class ReplayReader {
+    private final ByteBuffer BUFFER;
+    private final SnapshotCodec CODEC;
+
+    /**
+     * Opens a recording.
+     *
+     * @param filename The file of the recording.
+     * @throws IOException If the file cannot be read.
+     */
+    public ReplayReader(String filename) throws IOException {
+        try (FileChannel channel = FileChannel.open(Path.of(filename), StandardOpenOption.READ)) {
+            BUFFER = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+        }
+        CODEC = new SnapshotCodec(ReplayRecorder.KEYFRAME_INTERVAL);
+    }
+
+    /**
+     * Gets the codec holding the state of the last snapshot read.
+     *
+     * @return The codec of the recording.
+     */
+    public SnapshotCodec getSnapshot() {
+        return CODEC;
+    }
+
+    /**
+     * Reads the next snapshot of the recording.
+     *
+     * @return true if a snapshot was read, false at the end of the recording.
+     */
+    public boolean next() {
+        if (BUFFER.remaining() < Integer.BYTES) {
+            return false;
+        }
+        int end = BUFFER.getInt() + BUFFER.position();
+        CODEC.decode(BUFFER);
+        BUFFER.position(end);
+        return true;
+    }
+}
@@ -0,0 +1,103 @@
+import java.io.IOException;
+import java.nio.BufferOverflowException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Records a game as a file of snapshots, one per frame, each preceded by its length in bytes.
+ * Snapshots are encoded by a {@link SnapshotCodec} into one reused direct buffer, which is written to the file
+ * whenever it runs low on room, so recording allocates nothing per frame and seldom touches the file. A snapshot
+ * that does not fit in what is left of the buffer is encoded again once the buffer has been written out.
+ */
+public class ReplayRecorder {
+    /**
+     * The number of frames from one keyframe to the next, five seconds of play at 60 frames per second.
+     */
+    public static final int KEYFRAME_INTERVAL = 300;
+
+    private static final int BUFFER_BYTES = 1 << 18;
+    private static final int MIN_FREE_BYTES = 1 << 16; // Written out early, so a snapshot seldom overflows
+
+    private final FileChannel CHANNEL;
+    private final ByteBuffer BUFFER;
+    private final SnapshotCodec CODEC;
+
+    private long bytesWritten;
+
+    /**
+     * Creates a recording, replacing any file of the same name.
+     *
+     * @param filename The file the recording is written to.
+     * @throws IOException If the file cannot be created.
+     */
+    public ReplayRecorder(String filename) throws IOException {
+        CHANNEL = FileChannel.open(Path.of(filename), StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                StandardOpenOption.TRUNCATE_EXISTING);
+        BUFFER = ByteBuffer.allocateDirect(BUFFER_BYTES);
+        CODEC = new SnapshotCodec(KEYFRAME_INTERVAL);
+    }
+
+    /**
+     * Gets the number of bytes recorded so far, including any not yet written to the file.
+     *
+     * @return The size of the recording.
+     */
+    public long getBytesWritten() {
+        return bytesWritten + BUFFER.position();
+    }
+
+    /**
+     * Records the current state of a road as the next snapshot.
+     *
+     * @param road The road being simulated.
+     * @throws IOException If the file cannot be written.
+     */
+    public void record(RoadSimulation road) throws IOException {
+        if (BUFFER.remaining() < MIN_FREE_BYTES) {
+            flush();
+        }
+        CODEC.capture(road);
+        int start = BUFFER.position();
+        try {
+            encode(start);
+        } catch (BufferOverflowException e) {
+            // The codec only moves on once a snapshot is whole, so the snapshot can be encoded again from the start
+            BUFFER.position(start);
+            flush();
+            try {
+                encode(0);
+            } catch (BufferOverflowException tooLarge) {
+                throw new IllegalStateException("A snapshot is larger than the " + BUFFER_BYTES
+                        + " byte recording buffer", tooLarge);
+            }
+        }
+    }
+
+    /**
+     * Writes what is left of the recording and closes the file.
+     *
+     * @throws IOException If the file cannot be written.
+     */
+    public void close() throws IOException {
+        flush();
+        CHANNEL.close();
+    }
+
+    // Encode the captured snapshot after its length, from a position in the buffer
+    private void encode(int start) {
+        BUFFER.putInt(0);
+        CODEC.encode(BUFFER);
+        BUFFER.putInt(start, BUFFER.position() - start - Integer.BYTES);
+    }
+
+    // Write the recorded snapshots to the file and empty the buffer
+    private void flush() throws IOException {
+        BUFFER.flip();
+        while (BUFFER.hasRemaining()) {
+            bytesWritten += CHANNEL.write(BUFFER);
+        }
+        BUFFER.clear();
+    }
+}
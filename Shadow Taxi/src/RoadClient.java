@@ -0,0 +1,98 @@
+import bagel.*;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.Properties;
+
+/**
+ * A window that plays on a road server: it sends the player's keys to the server, draws the frames the server
+ * simulates with the player's own game details over them, and shows the game end screen once the game completes.
+ */
+public class RoadClient extends AbstractGame {
+    private final Properties GAME_PROPS;
+    private final Properties MESSAGE_PROPS;
+    private final double TARGET;
+    private final RoadConnection CONNECTION;
+    private final RenderBackend RENDER_BACKEND;
+    private final RenderQueue RENDER_QUEUE;
+    private final GameHud HUD;
+    private final InputSnapshot INPUT;
+
+    private GameEnd gameEndScreen;
+
+    /**
+     * Constructs a new client window connected to a road server.
+     *
+     * @param gameProps The property file containing configuration for the game.
+     * @param messageProps The property file containing messages to display in the game.
+     * @param connection The connection to the server.
+     */
+    public RoadClient(Properties gameProps, Properties messageProps, RoadConnection connection) {
+        super(Integer.parseInt(gameProps.getProperty("window.width")),
+                Integer.parseInt(gameProps.getProperty("window.height")),
+                messageProps.getProperty("home.title"));
+
+        GAME_PROPS = gameProps;
+        MESSAGE_PROPS = messageProps;
+        TARGET = Double.parseDouble(gameProps.getProperty("gamePlay.target"));
+        CONNECTION = connection;
+        RENDER_BACKEND = new BagelRenderBackend();
+        RENDER_QUEUE = new RenderQueue(new Viewport(gameProps));
+        HUD = new GameHud(gameProps, messageProps, RENDER_BACKEND);
+        INPUT = new InputSnapshot();
+        gameEndScreen = null;
+    }
+
+    /**
+     * Sends the keys of the player, then renders the latest frame of the server, or the game end screen.
+     *
+     * @param input The current keyboard input.
+     */
+    @Override
+    protected void update(Input input) {
+        if (input.wasPressed(Keys.ESCAPE)){
+            Window.close();
+        }
+        if (gameEndScreen != null) {
+            gameEndScreen.showGameEnd();
+            return;
+        }
+
+        try {
+            CONNECTION.poll();
+            INPUT.capture(input);
+            CONNECTION.sendInput(INPUT);
+        } catch (IOException e) {
+            if (!CONNECTION.getIsGameOver()) {
+                throw new UncheckedIOException(e);
+            }
+        }
+
+        if (CONNECTION.getIsGameOver()) {
+            gameEndScreen = new GameEnd(GAME_PROPS, MESSAGE_PROPS, CONNECTION.getLeader() == CONNECTION.getPlayer());
+        }
+        else if (CONNECTION.getHasFrame()) {
+            // Draw the road as the server sees it, with this player's details over it
+            CONNECTION.drawFrame(RENDER_BACKEND);
+            CONNECTION.getRemotePlayer(CONNECTION.getPlayer()).showDetails(HUD, TARGET,
+                    CONNECTION.getRemainingFrames(), RENDER_QUEUE);
+            RENDER_QUEUE.swapBuffers();
+            RENDER_QUEUE.flush(RENDER_BACKEND);
+        }
+    }
+
+    /**
+     * Connects to a road server and opens the client window.
+     *
+     * @param args The host of the server, its port and the name of the player.
+     * @throws IOException If the server cannot be reached.
+     */
+    public static void main(String[] args) throws IOException {
+        Properties gameProps = IOUtils.readPropertiesFile("res/app.properties");
+        Properties messageProps = IOUtils.readPropertiesFile("res/message_en.properties");
+        String host = args.length > 0 ? args[0] : "localhost";
+        int port = Integer.parseInt(args.length > 1 ? args[1] : gameProps.getProperty("multiplayer.port"));
+        String name = args.length > 2 ? args[2] : System.getProperty("user.name");
+        RoadClient client = new RoadClient(gameProps, messageProps, new RoadConnection(host, port, name));
+        client.run();
+    }
+}
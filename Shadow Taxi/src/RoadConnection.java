@@ -0,0 +1,247 @@
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.nio.ByteBuffer;
+import java.nio.channels.SocketChannel;
+import java.util.Arrays;
+
+/**
+ * A client's connection to a road server. The connection sends the player's keys whenever they change, and
+ * keeps the latest frame and player states the server sent, ready to be drawn. Reading never blocks, so the
+ * connection can be polled once per frame of the client's window.
+ * A spectator's connection to a broadcaster works the same way, with no player and no keys to send.
+ */
+public class RoadConnection {
+    private static final int BUFFER_BYTES = 1 << 16;
+
+    private final SocketChannel CHANNEL;
+    private ByteBuffer inbound;
+    private final ByteBuffer OUTBOUND;
+    private final RemoteFrame FRAME;
+
+    private int[] localIds; // The id on this machine of each asset id of the server
+    private RemotePlayer[] players;
+    private int player;
+    private int remainingFrames;
+    private int ticks;
+    private int leader;
+    private int sentKeyBits;
+
+    /**
+     * Connects to a road server and asks to join its game.
+     *
+     * @param host The host name of the server.
+     * @param port The port of the server.
+     * @param name The name of the player.
+     * @throws IOException If the server cannot be reached.
+     */
+    public RoadConnection(String host, int port, String name) throws IOException {
+        this(host, port, RoadProtocol.JOIN, name);
+    }
+
+    /**
+     * Connects to a broadcaster and asks to watch its game.
+     *
+     * @param host The host name of the broadcaster.
+     * @param port The port of the broadcaster.
+     * @throws IOException If the broadcaster cannot be reached.
+     */
+    public RoadConnection(String host, int port) throws IOException {
+        this(host, port, RoadProtocol.WATCH, null);
+    }
+
+    private RoadConnection(String host, int port, int type, String name) throws IOException {
+        CHANNEL = SocketChannel.open(new InetSocketAddress(host, port));
+        CHANNEL.socket().setTcpNoDelay(true);
+        CHANNEL.configureBlocking(false);
+        inbound = ByteBuffer.allocate(BUFFER_BYTES);
+        OUTBOUND = ByteBuffer.allocate(BUFFER_BYTES);
+        FRAME = new RemoteFrame();
+        localIds = new int[0];
+        players = new RemotePlayer[0];
+        player = -1;
+        leader = -1;
+        sentKeyBits = -1;
+
+        int start = RoadProtocol.beginMessage(OUTBOUND, type);
+        if (name != null) {
+            RoadProtocol.putString(OUTBOUND, name);
+        }
+        RoadProtocol.endMessage(OUTBOUND, start);
+        flush();
+    }
+
+    /**
+     * Gets the index of the player on the server.
+     *
+     * @return The player index, or -1 until the server has welcomed the player.
+     */
+    public int getPlayer() {
+        return player;
+    }
+
+    /**
+     * Gets the state of a player, as of the latest frame.
+     *
+     * @param player The index of the player.
+     * @return The state of the player.
+     */
+    public RemotePlayer getRemotePlayer(int player) {
+        return players[player];
+    }
+
+    /**
+     * Gets the number of frames left in the game, as of the latest frame.
+     *
+     * @return The remaining frames.
+     */
+    public int getRemainingFrames() {
+        return remainingFrames;
+    }
+
+    /**
+     * Gets the number of frames received since the game started.
+     *
+     * @return The number of ticks received.
+     */
+    public int getTicks() {
+        return ticks;
+    }
+
+    /**
+     * Gets whether the server has sent any frame yet.
+     *
+     * @return true if there is a frame to draw, false otherwise.
+     */
+    public boolean getHasFrame() {
+        return ticks > 0;
+    }
+
+    /**
+     * Gets whether the game on the server has completed.
+     *
+     * @return true if the game has completed, false otherwise.
+     */
+    public boolean getIsGameOver() {
+        return leader >= 0;
+    }
+
+    /**
+     * Gets the player with the highest score once the game has completed.
+     *
+     * @return The index of the leading player, or -1 while the game runs.
+     */
+    public int getLeader() {
+        return leader;
+    }
+
+    /**
+     * Reads and applies everything the server has sent since the last poll, without blocking.
+     *
+     * @throws IOException If the connection fails.
+     */
+    public void poll() throws IOException {
+        flush();
+        int read;
+        do {
+            if (!inbound.hasRemaining()) {
+                // More than a buffer has arrived, such as frames queued while the window was busy
+                ByteBuffer grown = ByteBuffer.allocate(inbound.capacity() * 2);
+                inbound.flip();
+                grown.put(inbound);
+                inbound = grown;
+            }
+            read = CHANNEL.read(inbound);
+        } while (read > 0);
+        inbound.flip();
+        while (RoadProtocol.hasMessage(inbound)) {
+            int length = inbound.getShort() & 0xFFFF;
+            int end = inbound.position() + length;
+            handleMessage(inbound.get());
+            inbound.position(end);
+        }
+        inbound.compact();
+        if (read < 0) {
+            throw new IOException("The server closed the connection");
+        }
+    }
+
+    /**
+     * Sends the player's keys to the server if they changed since they were last sent.
+     *
+     * @param input The player's keyboard input.
+     * @throws IOException If the connection fails.
+     */
+    public void sendInput(InputSnapshot input) throws IOException {
+        int keyBits = input.getKeyBits();
+        if (keyBits == sentKeyBits || player < 0) {
+            return;
+        }
+        int start = RoadProtocol.beginMessage(OUTBOUND, RoadProtocol.INPUT);
+        OUTBOUND.put((byte) keyBits);
+        RoadProtocol.endMessage(OUTBOUND, start);
+        sentKeyBits = keyBits;
+        flush();
+    }
+
+    /**
+     * Draws the latest frame the server sent.
+     *
+     * @param backend The backend that draws the frame.
+     */
+    public void drawFrame(RenderBackend backend) {
+        FRAME.draw(backend, localIds);
+    }
+
+    /**
+     * Closes the connection.
+     *
+     * @throws IOException If the connection cannot be closed.
+     */
+    public void close() throws IOException {
+        CHANNEL.close();
+    }
+
+    private void handleMessage(int type) {
+        switch (type) {
+            case RoadProtocol.WELCOME:
+                player = inbound.get();
+                players = new RemotePlayer[inbound.get()];
+                for (int i = 0; i < players.length; i++) {
+                    players[i] = new RemotePlayer();
+                }
+                break;
+
+            case RoadProtocol.ASSETS:
+                // Register the server's images and fonts here, where they may have other ids
+                int first = inbound.getShort() & 0xFFFF;
+                int count = inbound.getShort() & 0xFFFF;
+                localIds = Arrays.copyOf(localIds, Math.max(localIds.length, first + count));
+                for (int id = first; id < first + count; id++) {
+                    int fontSize = inbound.getShort();
+                    String filename = RoadProtocol.getString(inbound);
+                    localIds[id] = fontSize == 0 ? Assets.getImageId(filename) : Assets.getFontId(filename, fontSize);
+                }
+                break;
+
+            case RoadProtocol.FRAME:
+                ticks = inbound.getInt();
+                remainingFrames = inbound.getInt();
+                for (RemotePlayer remotePlayer : players) {
+                    remotePlayer.decode(inbound);
+                }
+                FRAME.decode(inbound);
+                break;
+
+            case RoadProtocol.GAME_OVER:
+                leader = inbound.get();
+                break;
+        }
+    }
+
+    // Write as much of the queued bytes as the socket takes now, keeping the rest for the next poll
+    private void flush() throws IOException {
+        OUTBOUND.flip();
+        CHANNEL.write(OUTBOUND);
+        OUTBOUND.compact();
+    }
+}
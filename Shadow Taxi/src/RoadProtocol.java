@@ -0,0 +1,114 @@
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * The binary protocol spoken between a road server and its clients, and between a broadcaster and its spectators.
+ * Every message is an unsigned 16-bit length, followed by a one-byte type and the payload of that type.
+ * Numbers are big-endian, and strings are an unsigned 16-bit length followed by UTF-8 bytes.
+ */
+public class RoadProtocol {
+    /**
+     * Sent by a client to take part in the game: the name of the player.
+     */
+    public static final int JOIN = 1;
+
+    /**
+     * Sent by the server to a client who joined: the index of the player and the number of players.
+     */
+    public static final int WELCOME = 2;
+
+    /**
+     * Sent by a client whenever its keys change: one byte of key bits.
+     */
+    public static final int INPUT = 3;
+
+    /**
+     * Sent by the server before a frame that uses new images or fonts: the id of the first asset and the number
+     * of assets, then the font size, 0 for an image, and the filename of each.
+     */
+    public static final int ASSETS = 4;
+
+    /**
+     * Sent by the server every tick: the tick, the remaining frames, the state of every player, then the draw
+     * commands of the frame encoded against the previous frame.
+     */
+    public static final int FRAME = 5;
+
+    /**
+     * Sent by the server when the game completes: the index of the leading player.
+     */
+    public static final int GAME_OVER = 6;
+
+    /**
+     * Sent by a spectator to watch a broadcast game, with no payload.
+     */
+    public static final int WATCH = 7;
+
+    /**
+     * The largest message that can be framed, including its type.
+     */
+    public static final int MAX_MESSAGE_BYTES = 0xFFFF;
+
+    /**
+     * Starts a message, leaving room for its length to be filled in by {@link #endMessage}.
+     *
+     * @param out The buffer the message is written to.
+     * @param type The type of the message.
+     * @return The position of the message in the buffer.
+     */
+    public static int beginMessage(ByteBuffer out, int type) {
+        int start = out.position();
+        out.putShort((short) 0);
+        out.put((byte) type);
+        return start;
+    }
+
+    /**
+     * Fills in the length of a message once its payload has been written.
+     *
+     * @param out The buffer the message is written to.
+     * @param start The position of the message returned by {@link #beginMessage}.
+     */
+    public static void endMessage(ByteBuffer out, int start) {
+        int length = out.position() - start - Short.BYTES;
+        if (length > MAX_MESSAGE_BYTES) {
+            throw new IllegalStateException("Message of " + length + " bytes is too long to frame");
+        }
+        out.putShort(start, (short) length);
+    }
+
+    /**
+     * Checks whether a whole message is waiting at the position of a buffer being read.
+     *
+     * @param in The buffer being read.
+     * @return true if a whole message can be read, false otherwise.
+     */
+    public static boolean hasMessage(ByteBuffer in) {
+        return in.remaining() >= Short.BYTES
+                && in.remaining() >= Short.BYTES + (in.getShort(in.position()) & 0xFFFF);
+    }
+
+    /**
+     * Writes a string.
+     *
+     * @param out The buffer the string is written to.
+     * @param text The string to be written.
+     */
+    public static void putString(ByteBuffer out, String text) {
+        byte[] bytes = text.getBytes(StandardCharsets.UTF_8);
+        out.putShort((short) bytes.length);
+        out.put(bytes);
+    }
+
+    /**
+     * Reads a string.
+     *
+     * @param in The buffer the string is read from.
+     * @return The string read.
+     */
+    public static String getString(ByteBuffer in) {
+        byte[] bytes = new byte[in.getShort() & 0xFFFF];
+        in.get(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+}
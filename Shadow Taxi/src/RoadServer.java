@@ -0,0 +1,409 @@
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.nio.ByteBuffer;
+import java.nio.channels.SelectionKey;
+import java.nio.channels.Selector;
+import java.nio.channels.ServerSocketChannel;
+import java.nio.channels.SocketChannel;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.Properties;
+
+/**
+ * A headless server hosting one road shared by several players, who each drive their own taxi from a client.
+ * The server owns the only simulation of the road. It waits for every player to join, then simulates the road
+ * at a fixed tick rate from the latest keys each client sent, and sends every client the frame it recorded.
+ * All sockets are non-blocking and served by one selector on the thread running the server.
+ */
+public class RoadServer {
+    private static final int BUFFER_BYTES = 1 << 16;
+    private static final int MAX_PENDING_BYTES = 1 << 20; // A client further behind than this is disconnected
+    private static final long CLOSE_TIMEOUT_NANOS = 5_000_000_000L;
+
+    private final Properties GAME_PROPS;
+    private final String[][] GAME_OBJECTS;
+    private final int PLAYER_COUNT;
+    private final long TICK_NANOS;
+    private final Selector SELECTOR;
+    private final ServerSocketChannel SERVER_CHANNEL;
+    private final ArrayList<Client> CLIENTS;
+    private final InputSnapshot[] INPUTS;
+    private final String[] PLAYER_NAMES;
+    private final RenderQueue RENDER_QUEUE;
+    private final RemoteFrame FRAME;
+    private final ByteBuffer MESSAGES;
+    private final ReplayRecorder REPLAY; // null unless the game is being recorded
+
+    private RoadSimulation road;
+    private int ticksSent;
+    private int sentAssets;
+    private long closingSince;
+
+    /**
+     * Constructs a new server listening for players on a port.
+     *
+     * @param gameProps The property file containing configuration.
+     * @param gameObjects A 2D array containing game objects and their properties.
+     * @param port The port the server listens on.
+     * @param playerCount The number of players who must join before the game starts.
+     * @throws IOException If the port cannot be opened.
+     */
+    public RoadServer(Properties gameProps, String[][] gameObjects, int port, int playerCount) throws IOException {
+        GAME_PROPS = gameProps;
+        GAME_OBJECTS = gameObjects;
+        PLAYER_COUNT = playerCount;
+        TICK_NANOS = 1_000_000_000L / Integer.parseInt(gameProps.getProperty("multiplayer.tickRate"));
+
+        SELECTOR = Selector.open();
+        SERVER_CHANNEL = ServerSocketChannel.open();
+        SERVER_CHANNEL.bind(new InetSocketAddress(port));
+        SERVER_CHANNEL.configureBlocking(false);
+        SERVER_CHANNEL.register(SELECTOR, SelectionKey.OP_ACCEPT);
+
+        CLIENTS = new ArrayList<>();
+        INPUTS = new InputSnapshot[playerCount];
+        PLAYER_NAMES = new String[playerCount];
+        for (int i = 0; i < playerCount; i++) {
+            INPUTS[i] = new InputSnapshot();
+        }
+        RENDER_QUEUE = new RenderQueue(new Viewport(gameProps));
+        FRAME = new RemoteFrame();
+        MESSAGES = ByteBuffer.allocateDirect(BUFFER_BYTES); // Written to every socket without another copy
+        String replayFile = gameProps.getProperty("gamePlay.replayFile");
+        REPLAY = replayFile != null ? new ReplayRecorder(replayFile) : null;
+        closingSince = -1;
+    }
+
+    /**
+     * Gets the port the server listens on.
+     *
+     * @return The local port of the server.
+     * @throws IOException If the port cannot be read.
+     */
+    public int getPort() throws IOException {
+        return ((InetSocketAddress) SERVER_CHANNEL.getLocalAddress()).getPort();
+    }
+
+    /**
+     * Serves the game until it completes and every client has received its end, or timed out.
+     *
+     * @throws IOException If the selector fails.
+     */
+    public void run() throws IOException {
+        long nextTick = System.nanoTime();
+        while (!isClosed()) {
+            if (road == null) {
+                // Nothing happens in the lobby until a client connects or sends something
+                SELECTOR.select();
+                handleSelectedKeys();
+                nextTick = System.nanoTime();
+                continue;
+            }
+            if (closingSince >= 0) {
+                // Only the last frames are left to write, until they are written or the clients time out
+                long timeout = CLOSE_TIMEOUT_NANOS - (System.nanoTime() - closingSince);
+                SELECTOR.select(Math.max(1, timeout / 1_000_000));
+                handleSelectedKeys();
+                continue;
+            }
+            long wait = nextTick - System.nanoTime();
+            if (wait <= 0) {
+                tick();
+                nextTick += TICK_NANOS;
+                if (System.nanoTime() - nextTick > TICK_NANOS) {
+                    // Too far behind to catch up, so drop the missed ticks instead of running them in a burst
+                    nextTick = System.nanoTime();
+                }
+                continue;
+            }
+            SELECTOR.select(Math.max(1, wait / 1_000_000));
+            handleSelectedKeys();
+        }
+        SERVER_CHANNEL.close();
+        SELECTOR.close();
+    }
+
+    /**
+     * Starts a server with the game properties, taking the port and number of players from the arguments
+     * or, when absent, from the properties.
+     *
+     * @param args The port and the number of players, both optional.
+     * @throws IOException If the server cannot be started.
+     */
+    public static void main(String[] args) throws IOException {
+        Properties gameProps = IOUtils.readPropertiesFile("res/app.properties");
+        String[][] gameObjects = IOUtils.readCommaSeparatedFile("res/gameObjects.csv");
+        int port = Integer.parseInt(args.length > 0 ? args[0] : gameProps.getProperty("multiplayer.port"));
+        int players = Integer.parseInt(args.length > 1 ? args[1] : gameProps.getProperty("multiplayer.players"));
+        RoadServer server = new RoadServer(gameProps, gameObjects, port, players);
+        System.out.println("Waiting for " + players + " players on port " + server.getPort());
+        server.run();
+    }
+
+    // Accept, read from and write to the clients whose sockets are ready
+    private void handleSelectedKeys() throws IOException {
+        Iterator<SelectionKey> keys = SELECTOR.selectedKeys().iterator();
+        while (keys.hasNext()) {
+            SelectionKey key = keys.next();
+            keys.remove();
+            if (!key.isValid()) {
+                continue;
+            }
+            if (key.isAcceptable()) {
+                accept();
+                continue;
+            }
+            Client client = (Client) key.attachment();
+            try {
+                if (key.isReadable()) {
+                    read(client);
+                }
+                if (key.isValid() && key.isWritable()) {
+                    flush(client);
+                }
+            } catch (IOException e) {
+                disconnect(client);
+            }
+        }
+    }
+
+    private void accept() throws IOException {
+        SocketChannel channel = SERVER_CHANNEL.accept();
+        if (channel == null) {
+            return;
+        }
+        channel.configureBlocking(false);
+        channel.socket().setTcpNoDelay(true); // Frames are small and late frames are useless
+        Client client = new Client(channel);
+        client.key = channel.register(SELECTOR, SelectionKey.OP_READ, client);
+        CLIENTS.add(client);
+    }
+
+    // Read what a client sent and handle every whole message
+    private void read(Client client) throws IOException {
+        if (client.channel.read(client.inbound) < 0) {
+            disconnect(client);
+            return;
+        }
+        client.inbound.flip();
+        while (RoadProtocol.hasMessage(client.inbound)) {
+            int length = client.inbound.getShort() & 0xFFFF;
+            int end = client.inbound.position() + length;
+            handleMessage(client, client.inbound.get());
+            client.inbound.position(end);
+        }
+        client.inbound.compact();
+    }
+
+    private void handleMessage(Client client, int type) throws IOException {
+        if (type == RoadProtocol.JOIN && client.player < 0) {
+            String name = RoadProtocol.getString(client.inbound);
+            if (road != null || countPlayers() == PLAYER_COUNT) {
+                disconnect(client); // The game has already started
+                return;
+            }
+            client.player = countPlayers();
+            PLAYER_NAMES[client.player] = name;
+            welcome(client);
+
+            if (countPlayers() == PLAYER_COUNT) {
+                // Everyone is here, so the game starts
+                road = new RoadSimulation(GAME_PROPS, GAME_OBJECTS, PLAYER_COUNT, RENDER_QUEUE);
+            }
+        }
+        else if (type == RoadProtocol.INPUT && client.player >= 0) {
+            INPUTS[client.player].setKeyBits(client.inbound.get());
+        }
+    }
+
+    // Simulate one tick of the road and send its frame to every client
+    private void tick() throws IOException {
+        road.tick(INPUTS);
+        if (REPLAY != null) {
+            REPLAY.record(road);
+        }
+        RENDER_QUEUE.swapBuffers();
+        RENDER_QUEUE.flush(FRAME);
+        ticksSent++;
+
+        MESSAGES.clear();
+        writeNewAssets();
+        int start = RoadProtocol.beginMessage(MESSAGES, RoadProtocol.FRAME);
+        MESSAGES.putInt(ticksSent);
+        MESSAGES.putInt(road.getRemainingFrames());
+        for (int i = 0; i < PLAYER_COUNT; i++) {
+            RemotePlayer.encode(MESSAGES, road.getPlayer(i), road.getIsOut(i), road.getMinPassengerHealth());
+        }
+        FRAME.encode(MESSAGES);
+        RoadProtocol.endMessage(MESSAGES, start);
+
+        if (road.getIsCompleted()) {
+            finishGame();
+        }
+        MESSAGES.flip();
+        for (int i = CLIENTS.size() - 1; i >= 0; i--) {
+            if (CLIENTS.get(i).player >= 0) {
+                send(CLIENTS.get(i), MESSAGES.duplicate());
+            }
+        }
+    }
+
+    // Tell the clients about images and fonts first used since the last frame
+    private void writeNewAssets() {
+        int assets = Assets.size();
+        if (assets == sentAssets) {
+            return;
+        }
+        int start = RoadProtocol.beginMessage(MESSAGES, RoadProtocol.ASSETS);
+        MESSAGES.putShort((short) sentAssets);
+        MESSAGES.putShort((short) (assets - sentAssets));
+        for (int id = sentAssets; id < assets; id++) {
+            MESSAGES.putShort((short) Assets.getFontSize(id));
+            RoadProtocol.putString(MESSAGES, Assets.getFilename(id));
+        }
+        RoadProtocol.endMessage(MESSAGES, start);
+        sentAssets = assets;
+    }
+
+    // Announce the leader, record every player's score and start closing once the last messages are sent
+    private void finishGame() throws IOException {
+        int start = RoadProtocol.beginMessage(MESSAGES, RoadProtocol.GAME_OVER);
+        MESSAGES.put((byte) road.getLeader());
+        RoadProtocol.endMessage(MESSAGES, start);
+        for (int i = 0; i < PLAYER_COUNT; i++) {
+            IOUtils.writeScoreToFile(GAME_PROPS.getProperty("gameEnd.scoresFile"),
+                    PLAYER_NAMES[i] + "," + String.format("%.2f", road.getPlayer(i).getScore()));
+        }
+        road.shutdown();
+        if (REPLAY != null) {
+            REPLAY.close();
+        }
+        closingSince = System.nanoTime();
+    }
+
+    // Queue bytes for a client and write as many as the socket takes now
+    private void send(Client client, ByteBuffer bytes) throws IOException {
+        if (!client.channel.isOpen()) {
+            return;
+        }
+        if (client.outbound.position() + bytes.remaining() > MAX_PENDING_BYTES) {
+            disconnect(client); // Too slow to keep up with the game
+            return;
+        }
+        if (client.outbound.remaining() < bytes.remaining()) {
+            ByteBuffer grown = ByteBuffer.allocate(
+                    Math.max(client.outbound.capacity() * 2, client.outbound.position() + bytes.remaining()));
+            client.outbound.flip();
+            grown.put(client.outbound);
+            client.outbound = grown;
+        }
+        client.outbound.put(bytes);
+        try {
+            flush(client);
+        } catch (IOException e) {
+            disconnect(client);
+        }
+    }
+
+    // Write a client's queued bytes, waiting for the socket to be writable again if it does not take them all
+    private void flush(Client client) throws IOException {
+        client.outbound.flip();
+        client.channel.write(client.outbound);
+        client.outbound.compact();
+        client.key.interestOps(client.outbound.position() > 0
+                ? SelectionKey.OP_READ | SelectionKey.OP_WRITE : SelectionKey.OP_READ);
+    }
+
+    private void disconnect(Client client) {
+        if (!CLIENTS.remove(client)) {
+            return; // Already disconnected
+        }
+        if (client.player >= 0) {
+            INPUTS[client.player].setKeyBits(0); // The taxi of a player who left stops where it is
+        }
+        client.key.cancel();
+        try {
+            client.channel.close();
+        } catch (IOException e) {
+            // Already closed
+        }
+        if (road == null && client.player >= 0) {
+            leaveLobby(client.player);
+        }
+    }
+
+    // Free the place of a player who left before the game started, moving the players after them up one place
+    private void leaveLobby(int player) {
+        System.arraycopy(PLAYER_NAMES, player + 1, PLAYER_NAMES, player, PLAYER_COUNT - player - 1);
+        PLAYER_NAMES[PLAYER_COUNT - 1] = null;
+        for (Client other : CLIENTS) {
+            if (other.player > player) {
+                other.player--;
+            }
+        }
+        // Tell the players who moved their new place; sending may disconnect a client, so go backwards
+        for (int i = CLIENTS.size() - 1; i >= 0; i--) {
+            Client other = i < CLIENTS.size() ? CLIENTS.get(i) : null;
+            if (other != null && other.player >= player) {
+                try {
+                    welcome(other);
+                } catch (IOException e) {
+                    disconnect(other);
+                }
+            }
+        }
+    }
+
+    // Send a player the place they have in the game and the number of players
+    private void welcome(Client client) throws IOException {
+        MESSAGES.clear();
+        int start = RoadProtocol.beginMessage(MESSAGES, RoadProtocol.WELCOME);
+        MESSAGES.put((byte) client.player);
+        MESSAGES.put((byte) PLAYER_COUNT);
+        RoadProtocol.endMessage(MESSAGES, start);
+        MESSAGES.flip();
+        send(client, MESSAGES);
+    }
+
+    // Check whether the game has completed and every client has been sent everything, or given up on
+    private boolean isClosed() {
+        if (closingSince < 0) {
+            return false;
+        }
+        if (System.nanoTime() - closingSince > CLOSE_TIMEOUT_NANOS) {
+            return true;
+        }
+        for (Client client : CLIENTS) {
+            if (client.outbound.position() > 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private int countPlayers() {
+        int count = 0;
+        for (String name : PLAYER_NAMES) {
+            if (name != null) {
+                count++;
+            }
+        }
+        return count;
+    }
+
+    // A connection to a client, with the bytes read but not yet handled and the bytes not yet written
+    private static class Client {
+        private final SocketChannel channel;
+        private final ByteBuffer inbound;
+        private ByteBuffer outbound;
+        private SelectionKey key;
+        private int player;
+
+        private Client(SocketChannel channel) {
+            this.channel = channel;
+            inbound = ByteBuffer.allocate(BUFFER_BYTES);
+            outbound = ByteBuffer.allocate(BUFFER_BYTES);
+            player = -1;
+        }
+    }
+}
@@ -0,0 +1,438 @@
+import bagel.*;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Properties;
+
+/**
+ * Simulates a road shared by one or more taxi players: the scrolling backgrounds and weather, the world of cars,
+ * fireballs and tokens, and the passengers the players compete for. What the road shows is recorded into a
+ * render queue and never drawn here, so the same simulation runs the single-player game and a headless server.
+ * The road scrolls while any player drives forward; the taxis of the other players fall back down the screen.
+ * When "gamePlay.headless" is true the road is never shown, so the world and backgrounds are not drawn at all.
+ */
+public class RoadSimulation {
+    private final ScrollingLayer SUNNY_BACKGROUND;
+    private final ScrollingLayer RAINING_BACKGROUND;
+    private double scrollOffset; // Total distance the road has scrolled down
+
+    private final double Y_SPEED;
+    private final int MAX_FRAMES;
+    private final boolean IS_HEADLESS;
+    private final int[] WEATHER_STARTS;
+    private final int[] WEATHER_ENDS;
+    private final boolean[] IS_WEATHER_RAINING;
+
+    private final World WORLD;
+    private final GameEventBus EVENT_BUS;
+    private final SpawnDirector SPAWN_DIRECTOR;
+    private final SpawnSystem SPAWN;
+    private final FireballSystem FIREBALLS;
+    private final MovementSystem MOVEMENT;
+    private final PassengerPrioritySystem PASSENGER_PRIORITY;
+    private final TokenPickupSystem TOKEN_PICKUP;
+    private final CollisionSystem COLLISION;
+    private final SystemScheduler WORLD_SCHEDULE;
+    private final SystemScheduler PICKUP_SCHEDULE;
+    private final Passenger[] PASSENGERS;
+    private final HealthTree PASSENGER_HEALTH; // Kept per road, as roads may be simulated side by side
+    private final TaxiPlayer[] PLAYERS;
+    private final boolean[] IS_OUT;
+    private final RenderQueue RENDER_QUEUE;
+
+    private int remainingFrames;
+    private boolean isRaining;
+    private boolean isCompleted;
+
+    /**
+     * Constructs a new road with its entities, tokens and passengers, and a taxi for each player.
+     * The first taxi starts where the game objects place it, and the others start in the road lanes beside it.
+     *
+     * @param gameProps The property file containing configuration.
+     * @param gameObjects A 2D array containing game objects and their properties.
+     * @param playerCount The number of players on the road.
+     * @param renderQueue The queue the road is recorded into.
+     */
+    public RoadSimulation(Properties gameProps, String[][] gameObjects, int playerCount, RenderQueue renderQueue) {
+        this(gameProps, gameObjects, IOUtils.readCommaSeparatedFile(gameProps.getProperty("gamePlay.weatherFile")),
+                playerCount, renderQueue);
+    }
+
+    /**
+     * Constructs a new road with a weather already read, as the other constructor does.
+     *
+     * @param gameProps The property file containing configuration.
+     * @param gameObjects A 2D array containing game objects and their properties.
+     * @param weather A 2D array containing the weather of the game.
+     * @param playerCount The number of players on the road.
+     * @param renderQueue The queue the road is recorded into.
+     */
+    public RoadSimulation(Properties gameProps, String[][] gameObjects, String[][] weather, int playerCount,
+                          RenderQueue renderQueue) {
+        this(gameProps, gameObjects, weather, playerCount, renderQueue, new World());
+    }
+
+    /**
+     * Constructs a new road in a given world, as the other constructors do.
+     *
+     * @param gameProps The property file containing configuration.
+     * @param gameObjects A 2D array containing game objects and their properties.
+     * @param weather A 2D array containing the weather of the game.
+     * @param playerCount The number of players on the road.
+     * @param renderQueue The queue the road is recorded into.
+     * @param world The empty world the road's entities are created in.
+     */
+    public RoadSimulation(Properties gameProps, String[][] gameObjects, String[][] weather, int playerCount,
+                          RenderQueue renderQueue, World world) {
+        // Set up the scrolling sun and rain backgrounds
+        SUNNY_BACKGROUND = new ScrollingLayer(gameProps, gameProps.getProperty("backgroundImage.sunny"), 1,
+                RenderQueue.LAYER_BACKGROUND);
+        RAINING_BACKGROUND = new ScrollingLayer(gameProps, gameProps.getProperty("backgroundImage.raining"), 1,
+                RenderQueue.LAYER_BACKGROUND);
+        scrollOffset = 0;
+
+        Y_SPEED = Double.parseDouble(gameProps.getProperty("gameObjects.taxi.speedY"));
+        MAX_FRAMES = Integer.parseInt(gameProps.getProperty("gamePlay.maxFrames"));
+        IS_HEADLESS = Boolean.parseBoolean(gameProps.getProperty("gamePlay.headless"));
+        // The weather is parsed once, as it is checked every frame
+        WEATHER_STARTS = new int[weather.length];
+        WEATHER_ENDS = new int[weather.length];
+        IS_WEATHER_RAINING = new boolean[weather.length];
+        for (int i = 0; i < weather.length; i++) {
+            WEATHER_STARTS[i] = Integer.parseInt(weather[i][1]);
+            WEATHER_ENDS[i] = Integer.parseInt(weather[i][2]);
+            IS_WEATHER_RAINING[i] = weather[i][0].equals("RAINING");
+        }
+        remainingFrames = MAX_FRAMES;
+        isCompleted = false;
+
+        // Observe the players' entities being destroyed instead of checking their health every frame
+        EVENT_BUS = new GameEventBus();
+
+        // Initialise the world with the players' taxis and drivers, the passengers and the tokens
+        WORLD = world;
+        EntityFactory entityFactory = new EntityFactory(gameProps);
+        TrafficLanes lanes = new TrafficLanes(gameProps);
+        Taxi[] taxis = new Taxi[playerCount];
+        Driver[] drivers = new Driver[playerCount];
+        for (int i = 0; i < playerCount; i++) {
+            // The other taxis take every other lane first, so that neighbouring taxis do not start side by side
+            taxis[i] = i == 0 ? new Taxi(WORLD, gameProps, gameObjects) : new Taxi(WORLD, gameProps,
+                    lanes.getLaneX(2 * (i - 1) % lanes.getLaneCount()), taxis[0].getLocation().getY());
+            drivers[i] = new Driver(WORLD, gameProps, taxis[i].getLocation().getX(), taxis[i].getLocation().getY());
+        }
+        PASSENGERS = Passenger.readPassengers(WORLD, gameProps, gameObjects);
+        PASSENGER_HEALTH = new HealthTree(PASSENGERS.length);
+        for (Passenger passenger : PASSENGERS) {
+            WORLD.trackHealth(passenger.getEntity(), PASSENGER_HEALTH, passenger.getId());
+        }
+        PLAYERS = new TaxiPlayer[playerCount];
+        IS_OUT = new boolean[playerCount];
+        for (int i = 0; i < playerCount; i++) {
+            PLAYERS[i] = new TaxiPlayer(WORLD, EVENT_BUS, gameProps, PASSENGERS, taxis[i], drivers[i]);
+            EVENT_BUS.subscribe(GameEventType.ENTITY_DESTROYED, PLAYERS[i]);
+        }
+        entityFactory.readTokens(WORLD, gameObjects);
+        RENDER_QUEUE = renderQueue;
+
+        // Systems updating the world each frame, in order; the scheduler runs non-conflicting ones together
+        MOVEMENT = new MovementSystem();
+        PASSENGER_PRIORITY = new PassengerPrioritySystem(PASSENGERS);
+        TOKEN_PICKUP = new TokenPickupSystem();
+        SPAWN_DIRECTOR = new SpawnDirector(gameProps, CarType.readCarTypes(gameProps), lanes);
+        SPAWN = new SpawnSystem(SPAWN_DIRECTOR, entityFactory, lanes);
+        FIREBALLS = new FireballSystem(entityFactory, SPAWN_DIRECTOR);
+        COLLISION = new CollisionSystem(entityFactory, lanes, EVENT_BUS, SPAWN_DIRECTOR.getGameRandom());
+        ArrayList<GameSystem> worldSystems = new ArrayList<>();
+        Collections.addAll(worldSystems,
+                SPAWN,
+                new DespawnSystem(Double.parseDouble(gameProps.getProperty("window.height")), lanes),
+                PASSENGER_PRIORITY,
+                new LifetimeSystem());
+        if (!IS_HEADLESS) {
+            worldSystems.add(new SpriteSystem(RENDER_QUEUE));
+        }
+        Collections.addAll(worldSystems,
+                MOVEMENT,
+                FIREBALLS);
+        WORLD_SCHEDULE = new SystemScheduler(worldSystems.toArray(new GameSystem[0]));
+        PICKUP_SCHEDULE = new SystemScheduler(TOKEN_PICKUP);
+    }
+
+    /**
+     * Gets the bus the events of the road are published on.
+     *
+     * @return The event bus of the road.
+     */
+    public GameEventBus getEventBus() {
+        return EVENT_BUS;
+    }
+
+    /**
+     * Gets the world containing the entities on the road.
+     *
+     * @return The world of the road.
+     */
+    public World getWorld() {
+        return WORLD;
+    }
+
+    /**
+     * Gets the number of players on the road.
+     *
+     * @return The number of players.
+     */
+    public int getPlayerCount() {
+        return PLAYERS.length;
+    }
+
+    /**
+     * Gets a player on the road.
+     *
+     * @param player The index of the player.
+     * @return The player.
+     */
+    public TaxiPlayer getPlayer(int player) {
+        return PLAYERS[player];
+    }
+
+    /**
+     * Gets the number of passengers on the road.
+     *
+     * @return The number of passengers.
+     */
+    public int getPassengerCount() {
+        return PASSENGERS.length;
+    }
+
+    /**
+     * Gets the lowest health of the passengers on the road, in constant time.
+     *
+     * @return The minimum health of the passengers.
+     */
+    public double getMinPassengerHealth() {
+        return PASSENGER_HEALTH.getMin();
+    }
+
+    /**
+     * Gets a passenger on the road.
+     *
+     * @param passenger The index of the passenger.
+     * @return The passenger.
+     */
+    public Passenger getPassenger(int passenger) {
+        return PASSENGERS[passenger];
+    }
+
+    /**
+     * Gets whether a player is out of the game.
+     *
+     * @param player The index of the player.
+     * @return true if the player is out, false otherwise.
+     */
+    public boolean getIsOut(int player) {
+        return IS_OUT[player];
+    }
+
+    /**
+     * Gets the number of frames left in the game.
+     *
+     * @return The remaining frames.
+     */
+    public int getRemainingFrames() {
+        return remainingFrames;
+    }
+
+    /**
+     * Gets the number of frames simulated so far.
+     *
+     * @return The frames played.
+     */
+    public int getFramesPlayed() {
+        return MAX_FRAMES - remainingFrames;
+    }
+
+    /**
+     * Gets whether the game on the road has completed.
+     *
+     * @return true if the game has completed, false otherwise.
+     */
+    public boolean getIsCompleted() {
+        return isCompleted;
+    }
+
+    /**
+     * Gets the player with the highest score, the earliest player winning a tie.
+     *
+     * @return The index of the leading player.
+     */
+    public int getLeader() {
+        int leader = 0;
+        for (int i = 1; i < PLAYERS.length; i++) {
+            if (PLAYERS[i].getScore() > PLAYERS[leader].getScore()) {
+                leader = i;
+            }
+        }
+        return leader;
+    }
+
+    /**
+     * Shows the road for one frame and moves everything on it: the backgrounds, the world, the players' taxis
+     * and characters, and the passengers.
+     *
+     * @param inputs The keyboard input of each player.
+     */
+    public void showRoad(InputSource[] inputs) {
+        // The road scrolls while any player in the game drives forward
+        double scrollDistance = 0;
+        for (int i = 0; i < PLAYERS.length; i++) {
+            if (!IS_OUT[i] && inputs[i].isDown(Keys.UP)) {
+                scrollDistance = Y_SPEED;
+            }
+        }
+
+        // Draw two connected backgrounds
+        showBackgrounds(scrollDistance);
+
+        // Update and draw the world, then show the taxis, drivers and passengers
+        updateWorld(scrollDistance);
+        for (int i = 0; i < PLAYERS.length; i++) {
+            if (IS_OUT[i]) {
+                continue;
+            }
+            PLAYERS[i].showTaxiAndDriver(inputs[i], RENDER_QUEUE);
+            if (scrollDistance != 0 && inputs[i].isUp(Keys.UP)) {
+                // Left behind by a player driving ahead
+                PLAYERS[i].drift(scrollDistance);
+            }
+        }
+        Passenger.showSelectedPassengers(PASSENGERS, PLAYERS, scrollDistance, RENDER_QUEUE);
+    }
+
+    /**
+     * Handles the game logic of one frame after the road has been shown: replacing destroyed taxis, tokens,
+     * collisions, the end of the game and the players' trips.
+     *
+     * @param inputs The keyboard input of each player.
+     */
+    public void updateRoad(InputSource[] inputs) {
+        for (int i = 0; i < PLAYERS.length; i++) {
+            if (!IS_OUT[i]) {
+                PLAYERS[i].replaceDestroyedTaxi(SPAWN_DIRECTOR.getGameRandom());
+            }
+        }
+        handleTokenCollision();
+        handleEntitiesCollision();
+        EVENT_BUS.dispatch();
+        checkCompletion();
+        remainingFrames -= 1;
+        for (int i = 0; i < PLAYERS.length; i++) {
+            if (!IS_OUT[i]) {
+                PLAYERS[i].updateTrip(inputs[i], RENDER_QUEUE);
+            }
+        }
+        WORLD.releaseDestroyed(); // Nothing refers to the entities destroyed this frame any more
+    }
+
+    /**
+     * Simulates one frame of the road.
+     *
+     * @param inputs The keyboard input of each player.
+     */
+    public void tick(InputSource[] inputs) {
+        showRoad(inputs);
+        updateRoad(inputs);
+    }
+
+    /**
+     * Stops the background work of the road once the game has completed.
+     */
+    public void shutdown() {
+        SPAWN_DIRECTOR.shutdown();
+    }
+
+    // Render the scrolling backgrounds of the road, and scroll them down
+    private void showBackgrounds(double scrollDistance) {
+        checkRaining();
+        // Only the background of the current weather is drawn, and none on a road that is never shown
+        if (isRaining && !IS_HEADLESS) {
+            RAINING_BACKGROUND.draw(RENDER_QUEUE, scrollOffset);
+        }
+        else if (!IS_HEADLESS) {
+            SUNNY_BACKGROUND.draw(RENDER_QUEUE, scrollOffset);
+        }
+        scrollOffset += scrollDistance;
+    }
+
+    // Randomly create cars and fireballs, update passenger priorities, then remove, draw and move the entities
+    private void updateWorld(double scrollDistance) {
+        SPAWN.setProgress(MAX_FRAMES - remainingFrames, scrollOffset);
+        FIREBALLS.setFrame(MAX_FRAMES - remainingFrames);
+        PASSENGER_PRIORITY.setFrame(isRaining, PLAYERS);
+        MOVEMENT.setScrollSpeed(scrollDistance);
+        WORLD_SCHEDULE.run(WORLD);
+    }
+
+    // Handle the collision logic of coin and invincible power
+    private void handleTokenCollision() {
+        for (int i = 0; i < PLAYERS.length; i++) {
+            if (IS_OUT[i]) {
+                continue;
+            }
+            // Flag the tokens the player's taxi, or driver when outside the taxi, has collided with
+            TOKEN_PICKUP.setCollector(PLAYERS[i].getTokenCollector());
+            PICKUP_SCHEDULE.run(WORLD);
+            for (int token = 0; token < WORLD.size(); token++) {
+                if (WORLD.has(token, World.COLLIDER) && WORLD.getGroup(token) == World.GROUP_TOKEN
+                        && WORLD.hasFlag(token, World.FLAG_HAS_HIT)) {
+                    EVENT_BUS.publish(GameEventType.TOKEN_COLLECTED, token, 0);
+                    int kind = WORLD.getKind(token);
+                    WORLD.destroy(token);
+                    PLAYERS[i].collectToken(kind);
+                }
+            }
+        }
+        for (int i = 0; i < PLAYERS.length; i++) {
+            if (!IS_OUT[i]) {
+                PLAYERS[i].applyTokenEffects();
+            }
+        }
+    }
+
+    // Handle the collision logic between game entities
+    private void handleEntitiesCollision() {
+        // Only the drivers and trip passengers can be hit, and only when they are outside their taxis
+        for (int i = 0; i < PLAYERS.length; i++) {
+            if (!IS_OUT[i]) {
+                PLAYERS[i].prepareCollisions();
+            }
+        }
+        COLLISION.update(WORLD);
+    }
+
+    // Take the players who are out off the road, and check whether the game has completed
+    private void checkCompletion() {
+        int playersLeft = 0;
+        boolean isTargetReached = false;
+        for (int i = 0; i < PLAYERS.length; i++) {
+            if (!IS_OUT[i] && PLAYERS[i].isOut()) {
+                IS_OUT[i] = true;
+                PLAYERS[i].retire();
+            }
+            if (!IS_OUT[i]) {
+                playersLeft++;
+            }
+            isTargetReached |= PLAYERS[i].hasReachedTarget();
+        }
+        isCompleted = isTargetReached || remainingFrames == 0 || playersLeft == 0;
+    }
+
+    // Set the road to sun or rain based on current frame
+    private void checkRaining() {
+        for (int i = 0; i < WEATHER_STARTS.length; i++) {
+            if (MAX_FRAMES - remainingFrames >= WEATHER_STARTS[i] && MAX_FRAMES - remainingFrames < WEATHER_ENDS[i]) {
+                isRaining = IS_WEATHER_RAINING[i];
+                break;
+            }
+        }
+    }
+}
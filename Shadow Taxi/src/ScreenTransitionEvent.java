@@ -0,0 +1,43 @@
+import jdk.jfr.*;
+
+/**
+ * A Java Flight Recorder event emitted when the game moves from one screen to another.
+ * The duration of the event covers the construction of the next screen.
+ */
+@Name("shadowtaxi.ScreenTransition")
+@Label("Screen Transition")
+@Category({"Shadow Taxi", "Lifecycle"})
+@Description("The game moved to another screen")
+public class ScreenTransitionEvent extends Event {
+    @Label("From Screen")
+    int fromScreen;
+
+    @Label("To Screen")
+    int toScreen;
+
+    @Label("World Objects")
+    @Description("Number of game objects listed in the world file")
+    int worldObjects;
+
+    /**
+     * Starts timing a transition away from the given screen.
+     *
+     * @param fromScreen The index of the screen being left.
+     * @param worldObjects The number of game objects listed in the world file.
+     */
+    public ScreenTransitionEvent(int fromScreen, int worldObjects) {
+        this.fromScreen = fromScreen;
+        this.worldObjects = worldObjects;
+        begin();
+    }
+
+    /**
+     * Records the screen that has been entered and commits the event.
+     *
+     * @param toScreen The index of the screen being entered.
+     */
+    public void complete(int toScreen) {
+        this.toScreen = toScreen;
+        commit();
+    }
+}
@@ -0,0 +1,50 @@
+import java.util.Properties;
+
+/**
+ * Represents a vertically scrolling layer made of one image tiled down the screen.
+ * The position of each tile is computed from the scroll offset, so scrolling changes no per-tile state.
+ */
+public class ScrollingLayer {
+    private static final int TILE_COUNT = 2; // One tile covering the screen, plus one scrolling in from the top
+
+    private final int TEXTURE;
+    private final int RENDER_LAYER;
+    private final double PARALLAX;
+    private final double CENTRE_X;
+    private final double TILE_HEIGHT;
+
+    /**
+     * Constructs a scrolling layer whose tiles are the size of the window.
+     *
+     * @param gameProps The property file containing configuration.
+     * @param filename The filename of the image to be tiled.
+     * @param parallax The fraction of the scroll offset the layer moves by, 1 for the road itself.
+     * @param renderLayer The render queue layer the tiles are drawn on.
+     */
+    public ScrollingLayer(Properties gameProps, String filename, double parallax, int renderLayer) {
+        this.TEXTURE = Assets.getImageId(filename);
+        this.RENDER_LAYER = renderLayer;
+        this.PARALLAX = parallax;
+        this.CENTRE_X = Double.parseDouble(gameProps.getProperty("window.width")) / 2.0;
+        this.TILE_HEIGHT = Double.parseDouble(gameProps.getProperty("window.height"));
+    }
+
+    /**
+     * Queues the tiles covering the screen for the given scroll offset.
+     *
+     * @param renderQueue The queue the tiles are drawn into.
+     * @param scrollOffset The total number of pixels the road has scrolled down.
+     */
+    public void draw(RenderQueue renderQueue, double scrollOffset) {
+        double offset = (scrollOffset * PARALLAX) % TILE_HEIGHT;
+        if (offset < 0) {
+            offset += TILE_HEIGHT;
+        }
+
+        // The first tile starts centred on screen and moves down by the offset
+        double y = TILE_HEIGHT / 2.0 + offset;
+        for (int i = 0; i < TILE_COUNT; i++) {
+            renderQueue.drawImage(TEXTURE, CENTRE_X, y - i * TILE_HEIGHT, RENDER_LAYER);
+        }
+    }
+}
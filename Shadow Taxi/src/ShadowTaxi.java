@@ -1,5 +1,7 @@
 import bagel.*;
 
+import java.io.IOException;
+import java.io.UncheckedIOException;
 import java.util.Arrays;
 import java.util.Comparator;
 import java.util.Properties;
@@ -10,9 +12,12 @@ import java.util.Properties;
  */
 public class ShadowTaxi extends AbstractGame {
 
-    private final Properties GAME_PROPS;
-    private final Properties MESSAGE_PROPS;
-    private final String[][] GAME_OBJECTS;
+    private final RenderBackend RENDER_BACKEND;
+    private final Broadcaster BROADCASTER; // null unless games are broadcast to spectators
+    private final ConfigReloader RELOADER; // null unless the configuration is reloaded when its files change
+    private final GameSessionPool SESSIONS;
+
+    private GameConfig config;
 
     private Home homeScreen;
     private PlayerInformation playerInfoScreen;
@@ -23,20 +28,31 @@ public class ShadowTaxi extends AbstractGame {
 
     /**
      * Constructs a new ShadowTaxi game instance, setting up game properties, message properties, and world objects.
+     * The window keeps the size and title of the first configuration, while every other setting of a reloaded
+     * configuration applies from the next game.
      *
-     * @param gameProps The property file containing configuration for the game.
-     * @param messageProps The property file containing messages to display in the game.
-     * @param worldFile A 2D array representing the world file.
+     * @param config The configuration the games are played with.
+     * @param reloader The reloader of the configuration, or null.
+     * @param preloader The preloader reading the configuration's images while the window is created.
      */
-    public ShadowTaxi(Properties gameProps, Properties messageProps, String[][] worldFile) {
-        super(Integer.parseInt(gameProps.getProperty("window.width")),
-                Integer.parseInt(gameProps.getProperty("window.height")),
-                messageProps.getProperty("home.title"));
-
-        this.GAME_PROPS = gameProps;
-        this.MESSAGE_PROPS = messageProps;
-        this.GAME_OBJECTS = worldFile;
-        this.homeScreen = new Home(gameProps, messageProps);
+    public ShadowTaxi(GameConfig config, ConfigReloader reloader, AssetPreloader preloader) {
+        super(Integer.parseInt(config.getGameProps().getProperty("window.width")),
+                Integer.parseInt(config.getGameProps().getProperty("window.height")),
+                config.getMessageProps().getProperty("home.title"));
+
+        this.config = config;
+        this.RELOADER = reloader;
+        this.RENDER_BACKEND = new BagelRenderBackend();
+        Properties gameProps = config.getGameProps();
+        try {
+            this.BROADCASTER = Boolean.parseBoolean(gameProps.getProperty("broadcast.enabled"))
+                    ? new Broadcaster(Integer.parseInt(gameProps.getProperty("broadcast.port"))) : null;
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        this.SESSIONS = new GameSessionPool(RENDER_BACKEND, BROADCASTER);
+        preloader.loadImages(); // The window now exists, so every image is made before the first screen
+        this.homeScreen = new Home(gameProps, config.getMessageProps());
         this.currentScreen = 1;
     }
 
@@ -51,10 +67,15 @@ public class ShadowTaxi extends AbstractGame {
         switch (currentScreen) {
             // Home Screen
             case 1:
+                takeReloadedConfig();
                 homeScreen.showHome();
                 if (input.wasPressed(Keys.ENTER)){
-                    playerInfoScreen = new PlayerInformation(GAME_PROPS, MESSAGE_PROPS);
+                    ScreenTransitionEvent transition = new ScreenTransitionEvent(currentScreen,
+                            config.getGameObjects().length);
+                    playerInfoScreen = new PlayerInformation(config.getGameProps(), config.getMessageProps());
+                    SESSIONS.prepare(config); // Built while the player types their name
                     currentScreen++; // Next screen
+                    transition.complete(currentScreen);
                 }
                 break;
 
@@ -63,9 +84,11 @@ public class ShadowTaxi extends AbstractGame {
                 playerInfoScreen.showPlayerInformation(input);
 
                 if (input.wasPressed(Keys.ENTER)){
-                    gamePlayScreen = new GamePlay(GAME_PROPS, MESSAGE_PROPS, GAME_OBJECTS,
-                            playerInfoScreen.getPlayerName());
+                    ScreenTransitionEvent transition = new ScreenTransitionEvent(currentScreen,
+                            config.getGameObjects().length);
+                    gamePlayScreen = SESSIONS.take(config, playerInfoScreen.getPlayerName());
                     currentScreen++; // Next screen
+                    transition.complete(currentScreen);
                 }
                 break;
 
@@ -74,8 +97,13 @@ public class ShadowTaxi extends AbstractGame {
                 gamePlayScreen.showGamePlay(input);
 
                 if (gamePlayScreen.getGameCompleted()){
-                    gameEndScreen = new GameEnd(GAME_PROPS, MESSAGE_PROPS, gamePlayScreen.getIsWon());
+                    ScreenTransitionEvent transition = new ScreenTransitionEvent(currentScreen,
+                            config.getGameObjects().length);
+                    SESSIONS.recycle(gamePlayScreen, config);
+                    gameEndScreen = new GameEnd(config.getGameProps(), config.getMessageProps(),
+                            gamePlayScreen.getIsWon());
                     currentScreen++; // Game ends, move to next screen
+                    transition.complete(currentScreen);
                 }
                 break;
 
@@ -84,8 +112,11 @@ public class ShadowTaxi extends AbstractGame {
                 gameEndScreen.showGameEnd();
                 if (input.wasPressed(Keys.SPACE)){
                     // Commence a new game
-                    homeScreen = new Home(GAME_PROPS, MESSAGE_PROPS);
+                    ScreenTransitionEvent transition = new ScreenTransitionEvent(currentScreen,
+                            config.getGameObjects().length);
+                    homeScreen = new Home(config.getGameProps(), config.getMessageProps());
                     currentScreen = 1;
+                    transition.complete(currentScreen);
                 }
                 break;
         }
@@ -96,6 +127,32 @@ public class ShadowTaxi extends AbstractGame {
 
     }
 
+    /**
+     * Finishes the game being played, stops broadcasting the game and watching the configuration files.
+     * Called once the window has closed.
+     */
+    public void close() {
+        if (currentScreen == 3) {
+            gamePlayScreen.close(); // Quit part way through, so its recording is still open
+        }
+        if (BROADCASTER != null) {
+            BROADCASTER.close();
+        }
+        if (RELOADER != null) {
+            RELOADER.close();
+        }
+    }
+
+    // Swap in the configuration reloaded since the last frame, which is safe while no game is being played
+    private void takeReloadedConfig() {
+        GameConfig reloaded = RELOADER != null ? RELOADER.takeReloaded() : null;
+        if (reloaded != null) {
+            config = reloaded;
+            new AssetPreloader(config.getGameProps()).loadImages();
+            homeScreen = new Home(config.getGameProps(), config.getMessageProps());
+        }
+    }
+
     /**
      * Initializes game properties, messages, and world data from configuration files, then starts the game.
      *
@@ -103,9 +160,21 @@ public class ShadowTaxi extends AbstractGame {
      */
     public static void main(String[] args) {
         Properties game_props = IOUtils.readPropertiesFile("res/app.properties");
+        AssetPreloader preloader = new AssetPreloader(game_props); // Reads the images while the window opens
         Properties message_props = IOUtils.readPropertiesFile("res/message_en.properties");
-        String[][] world_file = IOUtils.readCommaSeparatedFile("res/gameObjects.csv");
-        ShadowTaxi game = new ShadowTaxi(game_props, message_props, world_file);
+        String[][] world_file = IOUtils.readCommaSeparatedFile(game_props.getProperty("gamePlay.objectsFile"));
+        String[][] weather_file = IOUtils.readCommaSeparatedFile(game_props.getProperty("gamePlay.weatherFile"));
+        GameConfig config = new GameConfig(game_props, message_props, world_file, weather_file);
+        ConfigReloader reloader = null;
+        try {
+            if (Boolean.parseBoolean(game_props.getProperty("gamePlay.hotReload"))) {
+                reloader = new ConfigReloader("res/app.properties", "res/message_en.properties", config);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        ShadowTaxi game = new ShadowTaxi(config, reloader, preloader);
         game.run();
+        game.close();
     }
 }
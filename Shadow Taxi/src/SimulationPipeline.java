@@ -0,0 +1,95 @@
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Runs the simulation of a game one frame ahead of its drawing.
+ * While the render thread draws the frame of tick N, tick N+1 is simulated on a worker thread, so that a spike
+ * in game logic overlaps with drawing instead of delaying it. Both threads meet once per frame, when the render
+ * thread waits for the tick in progress before publishing its draw commands and starting the next one.
+ * The threads hand ticks to each other by parking and unparking, so a frame allocates no task or queue node.
+ */
+public class SimulationPipeline {
+    private final Thread WORKER;
+    private volatile Runnable tickInProgress; // Cleared by the worker once the tick has finished
+    private volatile Thread waitingThread;
+    private volatile boolean isShutdown;
+    private Throwable failure; // Published by clearing the tick in progress
+
+    /**
+     * Constructs a new pipeline with its own simulation thread.
+     */
+    public SimulationPipeline() {
+        tickInProgress = null;
+        waitingThread = null;
+        isShutdown = false;
+        WORKER = new Thread(this::run, "simulation");
+        WORKER.setDaemon(true); // Never keeps the game open once the window closes
+        WORKER.start();
+    }
+
+    /**
+     * Starts simulating a tick on the worker thread. The previous tick must have been waited for.
+     *
+     * @param tick The simulation of one tick.
+     */
+    public void startTick(Runnable tick) {
+        waitingThread = Thread.currentThread();
+        tickInProgress = tick;
+        LockSupport.unpark(WORKER);
+    }
+
+    /**
+     * Waits for the tick in progress to finish, if any, rethrowing any error it failed with.
+     * Everything the tick wrote is visible to the calling thread afterwards. An interrupt does not end the wait,
+     * as the tick would still be writing, but the thread is interrupted again once the tick has finished.
+     */
+    public void awaitTick() {
+        boolean isInterrupted = false;
+        while (tickInProgress != null) {
+            // Parking returns at once while the thread is interrupted, so the interrupt is cleared until the end
+            isInterrupted |= Thread.interrupted();
+            LockSupport.park(this);
+        }
+        if (isInterrupted) {
+            Thread.currentThread().interrupt();
+        }
+        if (failure == null) {
+            return;
+        }
+        Throwable cause = failure;
+        failure = null;
+        if (cause instanceof RuntimeException) {
+            throw (RuntimeException) cause;
+        }
+        if (cause instanceof Error) {
+            throw (Error) cause;
+        }
+        throw new IllegalStateException(cause);
+    }
+
+    /**
+     * Waits for the tick in progress and stops the simulation thread.
+     */
+    public void shutdown() {
+        awaitTick();
+        isShutdown = true;
+        LockSupport.unpark(WORKER);
+    }
+
+    // Run each tick handed over by the render thread, and wake the render thread once it has finished
+    private void run() {
+        while (!isShutdown) {
+            Runnable tick = tickInProgress;
+            if (tick == null) {
+                LockSupport.park(this);
+                continue;
+            }
+            try {
+                tick.run();
+            } catch (Throwable e) {
+                failure = e;
+            }
+            tickInProgress = null;
+            LockSupport.unpark(waitingThread);
+        }
+    }
+}
@@ -0,0 +1,502 @@
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+
+/**
+ * Encodes the state of a road as compact bit-packed snapshots, each encoded against the snapshots before it.
+ * The state is the location, health and collision and timeout frames of every entity, the priority and earnings
+ * of every passenger, and the score and token timers of every player, quantised to integers.
+ * Every value is predicted to carry on changing as it did between the last two snapshots, which holds for
+ * driving cars, counting timers and anything standing still, so most values cost a single bit and entities
+ * whose every value was predicted cost one bit together. A keyframe, encoded against nothing, is written at
+ * a fixed interval so that a stream can be joined or seeked part way through.
+ * The codec writes into and reads from buffers supplied by its caller, and allocates nothing once the world
+ * stops growing.
+ */
+public class SnapshotCodec {
+    /**
+     * The number of steps per pixel coordinates are quantised to.
+     */
+    public static final int POSITION_SCALE = 8;
+
+    /**
+     * The number of steps per unit health, earnings and scores are quantised to.
+     */
+    public static final int AMOUNT_SCALE = 100;
+
+    // Values of the snapshot header, then of each player, passenger and entity, entities last as they grow
+    private static final int FRAME = 0;
+    private static final int REMAINING_FRAMES = 1;
+    private static final int HEADER_VALUES = 2;
+    private static final int PLAYER_SCORE = 0;
+    private static final int PLAYER_COIN_TIMER = 1;
+    private static final int PLAYER_INVINCIBLE_TIMER = 2;
+    private static final int PLAYER_VALUES = 3;
+    private static final int PASSENGER_PRIORITY = 0;
+    private static final int PASSENGER_EARNINGS = 1;
+    private static final int PASSENGER_VALUES = 2;
+    private static final int ENTITY_KIND = 0;
+    private static final int ENTITY_X = 1;
+    private static final int ENTITY_Y = 2;
+    private static final int ENTITY_HEALTH = 3;
+    private static final int ENTITY_COLLISION_FRAMES = 4;
+    private static final int ENTITY_TIMEOUT_FRAMES = 5;
+    private static final int ENTITY_VALUES = 6;
+
+    private static final int NO_ENTITY = -1; // The kind of a free entity slot
+    private static final int COUNT_BITS = 16;
+    private static final int LENGTH_BITS = 6; // Enough for the bit length of any 32-bit residual
+
+    private final int KEYFRAME_INTERVAL;
+    private final BitWriter WRITER;
+    private final BitReader READER;
+
+    private int[] values;
+    private int[] previous; // The values of the last snapshot
+    private int[] beforePrevious; // The values of the snapshot before the last
+    private int playerCount;
+    private int passengerCount;
+    private int entityCount;
+    private int length; // The number of values in use
+    private int snapshotsSinceKeyframe;
+
+    /**
+     * Constructs a new codec with no snapshot before the first.
+     *
+     * @param keyframeInterval The number of snapshots from one keyframe to the next.
+     */
+    public SnapshotCodec(int keyframeInterval) {
+        KEYFRAME_INTERVAL = keyframeInterval;
+        WRITER = new BitWriter();
+        READER = new BitReader();
+        values = new int[0];
+        previous = new int[0];
+        beforePrevious = new int[0];
+        snapshotsSinceKeyframe = keyframeInterval;
+    }
+
+    /**
+     * Copies the current state of a road, to be encoded next.
+     *
+     * @param road The road being simulated.
+     */
+    public void capture(RoadSimulation road) {
+        World world = road.getWorld();
+        resize(road.getPlayerCount(), road.getPassengerCount(), world.size());
+
+        values[FRAME] = road.getFramesPlayed();
+        values[REMAINING_FRAMES] = road.getRemainingFrames();
+        for (int i = 0; i < playerCount; i++) {
+            TaxiPlayer player = road.getPlayer(i);
+            int index = getPlayerIndex(i);
+            values[index + PLAYER_SCORE] = quantise(player.getScore(), AMOUNT_SCALE);
+            values[index + PLAYER_COIN_TIMER] = player.getCoinTimer();
+            values[index + PLAYER_INVINCIBLE_TIMER] = player.getInvincibleTimer();
+        }
+        for (int i = 0; i < passengerCount; i++) {
+            Passenger passenger = road.getPassenger(i);
+            int index = getPassengerIndex(i);
+            values[index + PASSENGER_PRIORITY] = passenger.getPriority();
+            values[index + PASSENGER_EARNINGS] = quantise(passenger.getEarnings(), AMOUNT_SCALE);
+        }
+        for (int entity = 0; entity < entityCount; entity++) {
+            int index = getEntityIndex(entity);
+            if (!world.has(entity, World.POSITION)) {
+                // A free slot takes the values predicted for it, which cost nothing until the slot is used again
+                values[index + ENTITY_KIND] = NO_ENTITY;
+                for (int value = 1; value < ENTITY_VALUES; value++) {
+                    values[index + value] = predict(index + value);
+                }
+                continue;
+            }
+            values[index + ENTITY_KIND] = world.getKind(entity);
+            values[index + ENTITY_X] = quantise(world.getX(entity), POSITION_SCALE);
+            values[index + ENTITY_Y] = quantise(world.getY(entity), POSITION_SCALE);
+            values[index + ENTITY_HEALTH] = world.has(entity, World.HEALTH)
+                    ? quantise(world.getHealth(entity), AMOUNT_SCALE) : 0;
+            values[index + ENTITY_COLLISION_FRAMES] = world.has(entity, World.COLLIDER)
+                    ? world.getCollisionFrames(entity) : 0;
+            values[index + ENTITY_TIMEOUT_FRAMES] = world.has(entity, World.TIMEOUT)
+                    ? world.getTimeoutFrames(entity) : 0;
+        }
+    }
+
+    /**
+     * Writes the captured state as a snapshot encoded against the snapshots before it, padded to whole bytes.
+     * The codec only moves on to the next snapshot once this one is whole, so a snapshot that overflows the buffer
+     * can be encoded again into another.
+     *
+     * @param out The buffer the snapshot is written to.
+     * @throws IllegalStateException If there are more players, passengers or entity slots than a snapshot holds.
+     */
+    public void encode(ByteBuffer out) {
+        WRITER.start(out);
+        boolean isKeyframe = snapshotsSinceKeyframe >= KEYFRAME_INTERVAL;
+        WRITER.write(isKeyframe ? 1 : 0, 1);
+        if (isKeyframe) {
+            forgetPrevious();
+        }
+        writeCount(playerCount);
+        writeCount(passengerCount);
+        writeCount(entityCount);
+
+        encodeGroup(0, HEADER_VALUES);
+        for (int i = 0; i < playerCount; i++) {
+            encodeGroup(getPlayerIndex(i), PLAYER_VALUES);
+        }
+        for (int i = 0; i < passengerCount; i++) {
+            encodeGroup(getPassengerIndex(i), PASSENGER_VALUES);
+        }
+        for (int entity = 0; entity < entityCount; entity++) {
+            encodeGroup(getEntityIndex(entity), ENTITY_VALUES);
+        }
+        WRITER.finish();
+        advance(isKeyframe);
+    }
+
+    /**
+     * Reads a snapshot encoded against the snapshots read before it, making its state available to the getters.
+     *
+     * @param in The buffer the snapshot is read from.
+     */
+    public void decode(ByteBuffer in) {
+        READER.start(in);
+        boolean isKeyframe = READER.read(1) == 1;
+        if (isKeyframe) {
+            forgetPrevious();
+        }
+        int players = READER.read(COUNT_BITS);
+        int passengers = READER.read(COUNT_BITS);
+        int entities = READER.read(COUNT_BITS);
+        resize(players, passengers, entities);
+
+        decodeGroup(0, HEADER_VALUES);
+        for (int i = 0; i < playerCount; i++) {
+            decodeGroup(getPlayerIndex(i), PLAYER_VALUES);
+        }
+        for (int i = 0; i < passengerCount; i++) {
+            decodeGroup(getPassengerIndex(i), PASSENGER_VALUES);
+        }
+        for (int entity = 0; entity < entityCount; entity++) {
+            decodeGroup(getEntityIndex(entity), ENTITY_VALUES);
+        }
+        READER.finish();
+        advance(isKeyframe);
+    }
+
+    /**
+     * Gets the number of frames played at the last snapshot.
+     *
+     * @return The frame of the snapshot.
+     */
+    public int getFrame() {
+        return previous[FRAME];
+    }
+
+    /**
+     * Gets the number of frames left in the game at the last snapshot.
+     *
+     * @return The remaining frames.
+     */
+    public int getRemainingFrames() {
+        return previous[REMAINING_FRAMES];
+    }
+
+    /**
+     * Gets the number of players in the last snapshot.
+     *
+     * @return The number of players.
+     */
+    public int getPlayerCount() {
+        return playerCount;
+    }
+
+    /**
+     * Gets the score of a player at the last snapshot.
+     *
+     * @param player The index of the player.
+     * @return The score of the player.
+     */
+    public double getScore(int player) {
+        return (double) previous[getPlayerIndex(player) + PLAYER_SCORE] / AMOUNT_SCALE;
+    }
+
+    /**
+     * Gets the frames of coin power a player had left at the last snapshot.
+     *
+     * @param player The index of the player.
+     * @return The coin timer of the player.
+     */
+    public int getCoinTimer(int player) {
+        return previous[getPlayerIndex(player) + PLAYER_COIN_TIMER];
+    }
+
+    /**
+     * Gets the frames of invincibility a player had left at the last snapshot.
+     *
+     * @param player The index of the player.
+     * @return The invincibility timer of the player.
+     */
+    public int getInvincibleTimer(int player) {
+        return previous[getPlayerIndex(player) + PLAYER_INVINCIBLE_TIMER];
+    }
+
+    /**
+     * Gets the number of passengers in the last snapshot.
+     *
+     * @return The number of passengers.
+     */
+    public int getPassengerCount() {
+        return passengerCount;
+    }
+
+    /**
+     * Gets the priority of a passenger at the last snapshot.
+     *
+     * @param passenger The index of the passenger.
+     * @return The priority of the passenger.
+     */
+    public int getPriority(int passenger) {
+        return previous[getPassengerIndex(passenger) + PASSENGER_PRIORITY];
+    }
+
+    /**
+     * Gets the earnings of a passenger at the last snapshot.
+     *
+     * @param passenger The index of the passenger.
+     * @return The earnings of the passenger.
+     */
+    public double getEarnings(int passenger) {
+        return (double) previous[getPassengerIndex(passenger) + PASSENGER_EARNINGS] / AMOUNT_SCALE;
+    }
+
+    /**
+     * Gets the number of entity slots in the last snapshot.
+     *
+     * @return The number of entity slots.
+     */
+    public int getEntityCount() {
+        return entityCount;
+    }
+
+    /**
+     * Gets the kind of an entity at the last snapshot.
+     *
+     * @param entity The id of the entity.
+     * @return The kind of the entity, or -1 if the slot was free.
+     */
+    public int getKind(int entity) {
+        return previous[getEntityIndex(entity) + ENTITY_KIND];
+    }
+
+    /**
+     * Gets the X-coordinate of an entity at the last snapshot.
+     *
+     * @param entity The id of the entity.
+     * @return The X-coordinate of the entity.
+     */
+    public double getX(int entity) {
+        return (double) previous[getEntityIndex(entity) + ENTITY_X] / POSITION_SCALE;
+    }
+
+    /**
+     * Gets the Y-coordinate of an entity at the last snapshot.
+     *
+     * @param entity The id of the entity.
+     * @return The Y-coordinate of the entity.
+     */
+    public double getY(int entity) {
+        return (double) previous[getEntityIndex(entity) + ENTITY_Y] / POSITION_SCALE;
+    }
+
+    /**
+     * Gets the health of an entity at the last snapshot.
+     *
+     * @param entity The id of the entity.
+     * @return The health of the entity.
+     */
+    public double getHealth(int entity) {
+        return (double) previous[getEntityIndex(entity) + ENTITY_HEALTH] / AMOUNT_SCALE;
+    }
+
+    /**
+     * Gets the collision frames of an entity at the last snapshot.
+     *
+     * @param entity The id of the entity.
+     * @return The collision frames of the entity.
+     */
+    public int getCollisionFrames(int entity) {
+        return previous[getEntityIndex(entity) + ENTITY_COLLISION_FRAMES];
+    }
+
+    /**
+     * Gets the timeout frames of an entity at the last snapshot.
+     *
+     * @param entity The id of the entity.
+     * @return The timeout frames of the entity.
+     */
+    public int getTimeoutFrames(int entity) {
+        return previous[getEntityIndex(entity) + ENTITY_TIMEOUT_FRAMES];
+    }
+
+    // Write the number of players, passengers or entities, which must fit in its field for the stream to be read
+    private void writeCount(int count) {
+        if (count >= 1 << COUNT_BITS) {
+            throw new IllegalStateException("Cannot encode a snapshot of " + count + " items, the most is "
+                    + ((1 << COUNT_BITS) - 1));
+        }
+        WRITER.write(count, COUNT_BITS);
+    }
+
+    // Write a group of values, with one bit for a group that was predicted exactly
+    private void encodeGroup(int start, int count) {
+        boolean isPredicted = true;
+        for (int i = start; i < start + count; i++) {
+            isPredicted &= values[i] == predict(i);
+        }
+        WRITER.write(isPredicted ? 0 : 1, 1);
+        if (isPredicted) {
+            return;
+        }
+        for (int i = start; i < start + count; i++) {
+            // Zigzag the residual so that small negative residuals have few bits too
+            int residual = values[i] - predict(i);
+            int zigzag = (residual << 1) ^ (residual >> 31);
+            int length = Integer.SIZE - Integer.numberOfLeadingZeros(zigzag);
+            WRITER.write(length, LENGTH_BITS);
+            if (length > 1) {
+                WRITER.write(zigzag, length - 1); // The leading one bit is implied by the length
+            }
+        }
+    }
+
+    private void decodeGroup(int start, int count) {
+        if (READER.read(1) == 0) {
+            for (int i = start; i < start + count; i++) {
+                values[i] = predict(i);
+            }
+            return;
+        }
+        for (int i = start; i < start + count; i++) {
+            int length = READER.read(LENGTH_BITS);
+            int zigzag = length == 0 ? 0 : length == 1 ? 1 : (1 << (length - 1)) | READER.read(length - 1);
+            int residual = (zigzag >>> 1) ^ -(zigzag & 1);
+            values[i] = predict(i) + residual;
+        }
+    }
+
+    // Predict a value to change by as much as it did between the last two snapshots
+    private int predict(int index) {
+        return 2 * previous[index] - beforePrevious[index];
+    }
+
+    // Encode the next snapshot against nothing
+    private void forgetPrevious() {
+        Arrays.fill(previous, 0);
+        Arrays.fill(beforePrevious, 0);
+    }
+
+    // Make the snapshot just written or read the last snapshot, reusing the arrays of the oldest one
+    private void advance(boolean isKeyframe) {
+        int[] oldest = beforePrevious;
+        beforePrevious = previous;
+        previous = values;
+        values = oldest;
+        if (isKeyframe) {
+            // Nothing before a keyframe is known, so its values are predicted to stay as they are
+            System.arraycopy(previous, 0, beforePrevious, 0, previous.length);
+            snapshotsSinceKeyframe = 0;
+        }
+        snapshotsSinceKeyframe++;
+    }
+
+    // Set the number of players, passengers and entities, growing the arrays when there are more
+    private void resize(int players, int passengers, int entities) {
+        playerCount = players;
+        passengerCount = passengers;
+        entityCount = entities;
+        int newLength = getEntityIndex(entities);
+        if (values.length < newLength) {
+            int capacity = Math.max(newLength, values.length * 2);
+            values = Arrays.copyOf(values, capacity);
+            previous = Arrays.copyOf(previous, capacity);
+            beforePrevious = Arrays.copyOf(beforePrevious, capacity);
+        }
+        if (newLength > length) {
+            // New values are predicted from nothing, whatever the arrays last held there
+            Arrays.fill(previous, length, newLength, 0);
+            Arrays.fill(beforePrevious, length, newLength, 0);
+        }
+        length = newLength;
+    }
+
+    private int getPlayerIndex(int player) {
+        return HEADER_VALUES + player * PLAYER_VALUES;
+    }
+
+    private int getPassengerIndex(int passenger) {
+        return HEADER_VALUES + playerCount * PLAYER_VALUES + passenger * PASSENGER_VALUES;
+    }
+
+    private int getEntityIndex(int entity) {
+        return getPassengerIndex(passengerCount) + entity * ENTITY_VALUES;
+    }
+
+    private static int quantise(double value, int scale) {
+        return (int) Math.round(value * scale);
+    }
+
+    // Packs bits into a buffer, most significant bit first
+    private static class BitWriter {
+        private ByteBuffer out;
+        private long bits;
+        private int bitCount;
+
+        private void start(ByteBuffer out) {
+            this.out = out;
+            bits = 0;
+            bitCount = 0;
+        }
+
+        private void write(int value, int count) {
+            bits = (bits << count) | (value & ((1L << count) - 1));
+            bitCount += count;
+            while (bitCount >= Byte.SIZE) {
+                bitCount -= Byte.SIZE;
+                out.put((byte) (bits >>> bitCount));
+            }
+        }
+
+        private void finish() {
+            if (bitCount > 0) {
+                out.put((byte) (bits << (Byte.SIZE - bitCount)));
+            }
+            out = null;
+        }
+    }
+
+    // Unpacks bits from a buffer, most significant bit first
+    private static class BitReader {
+        private ByteBuffer in;
+        private long bits;
+        private int bitCount;
+
+        private void start(ByteBuffer in) {
+            this.in = in;
+            bits = 0;
+            bitCount = 0;
+        }
+
+        private int read(int count) {
+            while (bitCount < count) {
+                bits = (bits << Byte.SIZE) | (in.get() & 0xFF);
+                bitCount += Byte.SIZE;
+            }
+            bitCount -= count;
+            return (int) ((bits >>> bitCount) & ((1L << count) - 1));
+        }
+
+        private void finish() {
+            in = null;
+        }
+    }
+}
@@ -0,0 +1,415 @@
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Properties;
+import java.util.Random;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Decides when and where cars and fireballs appear, following the spawn rate curves in the spawn file.
+ * Each line of the spawn file is either a segment of a rate curve,
+ * "name,FRAME|DISTANCE,start,end,rate at start,rate at end", with rates given per 1000 frames or pixels,
+ * or a cap on the number of cars on screen in a lane, "laneCap,lane,max cars".
+ * The traffic of the next few thousand frames is generated in chunks on a background thread from the seed,
+ * into ring buffers the game reads from, so spawning never rolls random numbers and the same seed always
+ * gives the same traffic. Headless games, played many at a time, generate it on their own thread as it is needed.
+ */
+public class SpawnDirector {
+    /**
+     * The axis of a curve over the number of frames played.
+     */
+    public static final String FRAME_AXIS = "FRAME";
+
+    /**
+     * The axis of a curve over the distance the road has scrolled, in pixels.
+     */
+    public static final String DISTANCE_AXIS = "DISTANCE";
+
+    private static final double RATE_SCALE = 1000; // Rates are given per 1000 frames or pixels
+    private static final int Y_1 = -50; // First random y-coordinate of a new car
+    private static final int Y_2 = 768; // Second random y-coordinate of a new car
+    private static final int CHUNK_STEPS = 256; // Frames or pixels generated at a time
+    private static final int LOOKAHEAD_STEPS = 4096; // How far the schedule is generated ahead of the game
+    private static final int CAR_CAPACITY = 1024; // Cars held by a schedule, a power of 2
+    private static final int FIREBALL_CAPACITY = 256; // Fireball waits held ahead, a power of 2
+    private static final long WAIT_NANOS = 50_000; // Pause while the game waits for the generator
+
+    private final long SEED;
+    private final CarType[] CAR_TYPES;
+    private final TrafficLanes LANES;
+    private final double WINDOW_HEIGHT;
+    private final int[] LANE_CAPS;
+    private final Curve FIREBALL_CURVE;
+    private final Schedule FRAME_SCHEDULE;
+    private final Schedule DISTANCE_SCHEDULE;
+    private final FireballWaits FIREBALL_WAITS;
+    private final Random GAME_RANDOM;
+    private final Thread GENERATOR; // null when the traffic is generated on the game's thread
+    private volatile boolean isRunning;
+
+    /**
+     * Constructs a new director from the spawn file and starts generating the game's traffic.
+     * The seed is read from "gamePlay.seed", or picked at random when it is not set, and the rates of a curve
+     * are multiplied by "gamePlay.spawnFactor.&lt;name&gt;" when it is set. No background thread is started when
+     * "gamePlay.headless" is true.
+     *
+     * @param gameProps The property file containing configuration.
+     * @param carTypes The types of car in the game.
+     * @param lanes The lanes the cars are added to.
+     */
+    public SpawnDirector(Properties gameProps, CarType[] carTypes, TrafficLanes lanes) {
+        String seed = gameProps.getProperty("gamePlay.seed");
+        SEED = seed != null ? Long.parseLong(seed) : new Random().nextLong();
+        CAR_TYPES = carTypes;
+        LANES = lanes;
+        WINDOW_HEIGHT = Double.parseDouble(gameProps.getProperty("window.height"));
+        LANE_CAPS = new int[lanes.getLaneCount()];
+        Arrays.fill(LANE_CAPS, Integer.MAX_VALUE);
+
+        HashMap<String, Curve> curves = readSpawnFile(gameProps.getProperty("gamePlay.spawnFile"));
+        for (String name : curves.keySet()) {
+            // Balance tuning can make any curve busier or quieter without editing the spawn file
+            curves.get(name).scale(Double.parseDouble(gameProps.getProperty("gamePlay.spawnFactor." + name, "1")));
+        }
+        Curve[] carCurves = new Curve[carTypes.length];
+        for (int type = 0; type < carTypes.length; type++) {
+            carCurves[type] = curves.getOrDefault(carTypes[type].getName(), new Curve(FRAME_AXIS));
+        }
+        FIREBALL_CURVE = curves.getOrDefault("fireball", new Curve(FRAME_AXIS));
+
+        // Frame curves cover the longest game, distance curves the furthest the taxi can drive in it.
+        // Every stream has its own generator, so the numbers it gets never depend on thread timing
+        int maxFrames = Integer.parseInt(gameProps.getProperty("gamePlay.maxFrames"));
+        int maxDistance = (int) Math.ceil(maxFrames * Double.parseDouble(gameProps.getProperty(
+                "gameObjects.taxi.speedY")));
+        Random seedRandom = new Random(SEED);
+        FRAME_SCHEDULE = new Schedule(carCurves, FRAME_AXIS, maxFrames, new Random(seedRandom.nextLong()));
+        DISTANCE_SCHEDULE = new Schedule(carCurves, DISTANCE_AXIS, maxDistance, new Random(seedRandom.nextLong()));
+        FIREBALL_WAITS = new FireballWaits(new Random(seedRandom.nextLong()));
+        GAME_RANDOM = new Random(seedRandom.nextLong());
+
+        // Generate the first chunks here so the first frames never wait, then keep generating on another thread
+        generateAhead();
+        isRunning = true;
+        if (Boolean.parseBoolean(gameProps.getProperty("gamePlay.headless"))) {
+            GENERATOR = null;
+            return;
+        }
+        GENERATOR = new Thread(this::runGenerator, "spawn-generator");
+        GENERATOR.setDaemon(true); // Never keeps the game open once the window closes
+        GENERATOR.start();
+    }
+
+    /**
+     * Gets the seed the game's traffic is generated from.
+     *
+     * @return The seed of the game.
+     */
+    public long getSeed() {
+        return SEED;
+    }
+
+    /**
+     * Gets the generator of the game's other random draws, such as the image of a car, the speed of a car after
+     * a hit and where a new taxi appears, derived from the seed so a game can be played again exactly.
+     * Only used on the thread simulating the road.
+     *
+     * @return The random generator of the game.
+     */
+    public Random getGameRandom() {
+        return GAME_RANDOM;
+    }
+
+    /**
+     * Spawns every car scheduled up to the current frame and distance. A car is skipped when its lane already
+     * has as many cars on screen as its cap allows, or when it would appear on top of another car.
+     *
+     * @param world The world to spawn the cars in.
+     * @param factory The factory creating the cars.
+     * @param frame The number of frames played.
+     * @param distance The distance the road has scrolled.
+     */
+    public void spawnCars(World world, EntityFactory factory, int frame, double distance) {
+        spawnDue(world, factory, FRAME_SCHEDULE, frame, frame);
+        spawnDue(world, factory, DISTANCE_SCHEDULE, (int) distance, frame);
+        if (GENERATOR != null) {
+            LockSupport.unpark(GENERATOR); // The game has moved on, so there may be room to generate more
+        }
+    }
+
+    /**
+     * Checks whether fireballs may be shot at the current frame.
+     *
+     * @param frame The number of frames played.
+     * @return true if the fireball rate is above zero, false otherwise.
+     */
+    public boolean canShootFireball(int frame) {
+        return FIREBALL_CURVE.getRate(frame) > 0;
+    }
+
+    /**
+     * Picks the number of frames until an emitter next shoots, at the fireball rate of the current frame.
+     * The wait follows the geometric distribution, as if the emitter tried to shoot every frame.
+     *
+     * @param frame The number of frames played.
+     * @return The number of frames to wait, at least 1.
+     */
+    public int nextFireballInterval(int frame) {
+        double chance = FIREBALL_CURVE.getRate(frame) / RATE_SCALE;
+        if (chance <= 0 || chance >= 1) {
+            return 1; // Check again next frame
+        }
+        // An exponential wait scaled by the rate gives the geometric wait, so it can be drawn ahead of time
+        double frames = Math.floor(FIREBALL_WAITS.take() / -Math.log(1 - chance));
+        return (int) Math.min(Integer.MAX_VALUE - 1, frames) + 1;
+    }
+
+    /**
+     * Stops generating traffic. Called when the game is over.
+     */
+    public void shutdown() {
+        isRunning = false;
+        if (GENERATOR != null) {
+            LockSupport.unpark(GENERATOR);
+        }
+    }
+
+    // Spawn the cars of a schedule up to a position, waiting for the generator if it has not got that far
+    private void spawnDue(World world, EntityFactory factory, Schedule schedule, int position, int frame) {
+        schedule.consumedPosition = position;
+        while (true) {
+            // Every car before the generated position has been written once the position is read
+            int generatedUpTo = schedule.generatedUpTo;
+            long written = schedule.written;
+            long read = schedule.read;
+            while (read < written && schedule.keys[(int) read & (CAR_CAPACITY - 1)] <= position) {
+                spawnCar(world, factory, schedule, (int) read & (CAR_CAPACITY - 1), frame);
+                read++;
+                schedule.read = read;
+            }
+            if (read < written || generatedUpTo > position || generatedUpTo == schedule.LENGTH) {
+                return;
+            }
+            waitForGenerator();
+        }
+    }
+
+    // Let the generator catch up with the game, generating on the game's thread when there is no generator thread
+    private void waitForGenerator() {
+        if (GENERATOR == null) {
+            generateAhead();
+            return;
+        }
+        LockSupport.unpark(GENERATOR);
+        LockSupport.parkNanos(WAIT_NANOS);
+    }
+
+    // Spawn a scheduled car if its lane has room for it
+    private void spawnCar(World world, EntityFactory factory, Schedule schedule, int index, int frame) {
+        CarType type = CAR_TYPES[schedule.types[index]];
+        int lane = schedule.lanes[index];
+        double y = schedule.ys[index];
+        if (LANES.countCarsBetween(world, lane, 0, WINDOW_HEIGHT) >= LANE_CAPS[lane]
+                || !LANES.isClear(world, lane, y, type.getRadius())) {
+            return;
+        }
+        int car = factory.createCar(world, type, LANES.getLaneX(lane), y, schedule.speeds[index],
+                GAME_RANDOM);
+        LANES.add(world, car);
+        if (type.getEmitsFireballs()) {
+            world.setEmitter(car, nextFireballInterval(frame));
+        }
+    }
+
+    // Keep the schedules a few thousand steps ahead of the game, sleeping while they are far enough ahead
+    private void runGenerator() {
+        while (isRunning) {
+            if (!generateAhead()) {
+                LockSupport.park(this);
+            }
+        }
+    }
+
+    // Generate one more chunk of every stream that has fallen behind, returning whether anything was generated
+    private boolean generateAhead() {
+        boolean hasGenerated = FRAME_SCHEDULE.generateChunk();
+        hasGenerated |= DISTANCE_SCHEDULE.generateChunk();
+        hasGenerated |= FIREBALL_WAITS.fill();
+        return hasGenerated;
+    }
+
+    // Read the rate curves and lane caps in the spawn file
+    private HashMap<String, Curve> readSpawnFile(String file) {
+        HashMap<String, Curve> curves = new HashMap<>();
+        for (String[] line : IOUtils.readCommaSeparatedFile(file)) {
+            if (line[0].equals("laneCap")) {
+                LANE_CAPS[Integer.parseInt(line[1]) - 1] = Integer.parseInt(line[2]);
+                continue;
+            }
+            Curve curve = curves.computeIfAbsent(line[0], name -> new Curve(line[1]));
+            if (!curve.AXIS.equals(line[1])) {
+                throw new IllegalArgumentException("Spawn curve " + line[0] + " mixes axes in " + file);
+            }
+            curve.addSegment(Double.parseDouble(line[2]), Double.parseDouble(line[3]),
+                    Double.parseDouble(line[4]), Double.parseDouble(line[5]));
+        }
+        return curves;
+    }
+
+    // A rate that changes linearly within each segment, and is zero outside every segment
+    private static class Curve {
+        private final String AXIS;
+        private final DoubleArray STARTS = new DoubleArray();
+        private final DoubleArray ENDS = new DoubleArray();
+        private final DoubleArray START_RATES = new DoubleArray();
+        private final DoubleArray END_RATES = new DoubleArray();
+
+        private Curve(String axis) {
+            if (!axis.equals(FRAME_AXIS) && !axis.equals(DISTANCE_AXIS)) {
+                throw new IllegalArgumentException("Unknown spawn curve axis " + axis);
+            }
+            AXIS = axis;
+        }
+
+        private void addSegment(double start, double end, double startRate, double endRate) {
+            STARTS.add(start);
+            ENDS.add(end);
+            START_RATES.add(startRate);
+            END_RATES.add(endRate);
+        }
+
+        private void scale(double factor) {
+            for (int i = 0; i < STARTS.size(); i++) {
+                START_RATES.set(i, START_RATES.get(i) * factor);
+                END_RATES.set(i, END_RATES.get(i) * factor);
+            }
+        }
+
+        private double getRate(double position) {
+            for (int i = 0; i < STARTS.size(); i++) {
+                double start = STARTS.get(i);
+                double end = ENDS.get(i);
+                if (position >= start && position < end) {
+                    double progress = (position - start) / (end - start);
+                    return START_RATES.get(i) + (END_RATES.get(i) - START_RATES.get(i)) * progress;
+                }
+            }
+            return 0;
+        }
+    }
+
+    // A ring buffer of the cars spawned along one axis, written by the generator and read by the game
+    private class Schedule {
+        private final Curve[] CURVES;
+        private final String AXIS;
+        private final int LENGTH;
+        private final Random RANDOM;
+
+        private final int[] keys = new int[CAR_CAPACITY];
+        private final int[] types = new int[CAR_CAPACITY];
+        private final int[] lanes = new int[CAR_CAPACITY];
+        private final int[] ys = new int[CAR_CAPACITY];
+        private final int[] speeds = new int[CAR_CAPACITY];
+        private volatile long written;
+        private volatile long read;
+        private volatile int generatedUpTo; // Every step before this has been generated
+        private volatile int consumedPosition;
+
+        // A chunk being generated, kept aside until the ring has room for all of it
+        private final IntArray CHUNK = new IntArray(5 * 16); // Five values a car
+        private int chunkEnd;
+
+        private Schedule(Curve[] curves, String axis, int length, Random random) {
+            CURVES = curves;
+            AXIS = axis;
+            LENGTH = length;
+            RANDOM = random;
+        }
+
+        // Generate the next chunk if the game is close enough to need it, and publish it once it fits
+        private boolean generateChunk() {
+            if (chunkEnd == generatedUpTo) {
+                if (generatedUpTo == LENGTH || generatedUpTo > consumedPosition + LOOKAHEAD_STEPS) {
+                    return false;
+                }
+                rollChunk(generatedUpTo, Math.min(LENGTH, generatedUpTo + CHUNK_STEPS));
+            }
+            int chunkCount = CHUNK.size() / 5;
+            if (written - read + chunkCount > CAR_CAPACITY) {
+                return false; // Wait for the game to use up some cars
+            }
+            long position = written;
+            for (int i = 0; i < chunkCount; i++) {
+                int index = (int) (position + i) & (CAR_CAPACITY - 1);
+                keys[index] = CHUNK.get(i * 5);
+                types[index] = CHUNK.get(i * 5 + 1);
+                lanes[index] = CHUNK.get(i * 5 + 2);
+                ys[index] = CHUNK.get(i * 5 + 3);
+                speeds[index] = CHUNK.get(i * 5 + 4);
+            }
+            written = position + chunkCount;
+            generatedUpTo = chunkEnd;
+            return true;
+        }
+
+        // Roll for each type of car at every step of the chunk, like the game once did every frame
+        private void rollChunk(int from, int to) {
+            CHUNK.clear();
+            chunkEnd = to;
+            for (int step = from; step < to; step++) {
+                for (int type = 0; type < CURVES.length; type++) {
+                    if (CURVES[type].AXIS.equals(AXIS)
+                            && RANDOM.nextDouble() < CURVES[type].getRate(step) / RATE_SCALE) {
+                        CarType carType = CAR_TYPES[type];
+                        addToChunk(step, type, RANDOM.nextInt(LANES.getLaneCount()),
+                                RANDOM.nextBoolean() ? Y_1 : Y_2, carType.getMinSpeedY()
+                                        + RANDOM.nextInt(carType.getMaxSpeedY() - carType.getMinSpeedY() + 1));
+                    }
+                }
+            }
+        }
+
+        private void addToChunk(int key, int type, int lane, int y, int speed) {
+            CHUNK.add(key);
+            CHUNK.add(type);
+            CHUNK.add(lane);
+            CHUNK.add(y);
+            CHUNK.add(speed);
+        }
+    }
+
+    // A ring buffer of exponential waits between fireballs, written by the generator and read by the game
+    private class FireballWaits {
+        private final Random RANDOM;
+        private final double[] waits = new double[FIREBALL_CAPACITY];
+        private volatile long written;
+        private volatile long read;
+
+        private FireballWaits(Random random) {
+            RANDOM = random;
+        }
+
+        private boolean fill() {
+            long position = written;
+            long end = read + FIREBALL_CAPACITY;
+            if (position == end) {
+                return false;
+            }
+            while (position < end) {
+                waits[(int) position & (FIREBALL_CAPACITY - 1)] = -Math.log(1 - RANDOM.nextDouble());
+                position++;
+            }
+            written = position;
+            return true;
+        }
+
+        private double take() {
+            long position = read;
+            while (written == position) {
+                waitForGenerator();
+            }
+            double wait = waits[(int) position & (FIREBALL_CAPACITY - 1)];
+            read = position + 1;
+            return wait;
+        }
+    }
+}
@@ -0,0 +1,87 @@
+/**
+ * Spawns the cars the spawn director has scheduled up to the current frame and distance.
+ */
+public class SpawnSystem implements GameSystem {
+    private final SpawnDirector DIRECTOR;
+    private final EntityFactory FACTORY;
+    private final TrafficLanes LANES;
+    private int frame;
+    private double distance;
+
+    /**
+     * Constructs a new system spawning the cars of a spawn director.
+     *
+     * @param director The director scheduling the cars.
+     * @param factory The factory creating the entities.
+     * @param lanes The lanes the cars are added to.
+     */
+    public SpawnSystem(SpawnDirector director, EntityFactory factory, TrafficLanes lanes) {
+        this.DIRECTOR = director;
+        this.FACTORY = factory;
+        this.LANES = lanes;
+    }
+
+    /**
+     * Sets how far the game has progressed, before the system is run for a frame.
+     *
+     * @param frame The number of frames played.
+     * @param distance The distance the road has scrolled.
+     */
+    public void setProgress(int frame, double distance) {
+        this.frame = frame;
+        this.distance = distance;
+    }
+    /**
+     * Gets the state the system reads.
+     *
+     * @return The positions of the cars, which decide whether a lane has room for a new car.
+     */
+    @Override
+    public int getReads() {
+        return World.POSITION;
+    }
+
+    /**
+     * Gets the state the system writes.
+     *
+     * @return Everything, as the system creates entities.
+     */
+    @Override
+    public int getWrites() {
+        return ALL;
+    }
+
+    /**
+     * Gets whether the system can be split into chunks.
+     *
+     * @return false, as creating entities changes the world's arrays.
+     */
+    @Override
+    public boolean isParallel() {
+        return false;
+    }
+
+    /**
+     * Gets the number of items the system updates.
+     *
+     * @param world The world being updated.
+     * @return 1, as spawning is done in one step.
+     */
+    @Override
+    public int size(World world) {
+        return 1;
+    }
+
+    /**
+     * Spawns the cars scheduled up to the current frame and distance.
+     *
+     * @param world The world to spawn the cars in.
+     * @param from Unused.
+     * @param to Unused.
+     */
+    @Override
+    public void update(World world, int from, int to) {
+        LANES.sort(world);
+        DIRECTOR.spawnCars(world, FACTORY, frame, distance);
+    }
+}
@@ -0,0 +1,64 @@
+import bagel.*;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.Properties;
+
+/**
+ * A window that watches the games broadcast by another machine, such as a lobby screen at a tournament.
+ * It draws the latest frame the broadcaster sent, and keeps showing the last frame between games.
+ */
+public class SpectatorClient extends AbstractGame {
+    private final RoadConnection CONNECTION;
+    private final RenderBackend RENDER_BACKEND;
+
+    /**
+     * Constructs a new spectator window connected to a broadcaster.
+     *
+     * @param gameProps The property file containing configuration for the game.
+     * @param messageProps The property file containing messages to display in the game.
+     * @param connection The connection to the broadcaster.
+     */
+    public SpectatorClient(Properties gameProps, Properties messageProps, RoadConnection connection) {
+        super(Integer.parseInt(gameProps.getProperty("window.width")),
+                Integer.parseInt(gameProps.getProperty("window.height")),
+                messageProps.getProperty("home.title"));
+
+        CONNECTION = connection;
+        RENDER_BACKEND = new BagelRenderBackend();
+    }
+
+    /**
+     * Reads what the broadcaster sent, then draws its latest frame.
+     *
+     * @param input The current keyboard input.
+     */
+    @Override
+    protected void update(Input input) {
+        if (input.wasPressed(Keys.ESCAPE)){
+            Window.close();
+        }
+        try {
+            CONNECTION.poll();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        if (CONNECTION.getHasFrame()) {
+            CONNECTION.drawFrame(RENDER_BACKEND);
+        }
+    }
+
+    /**
+     * Connects to a broadcaster and opens the spectator window.
+     *
+     * @param args The host of the broadcaster and its port.
+     * @throws IOException If the broadcaster cannot be reached.
+     */
+    public static void main(String[] args) throws IOException {
+        Properties gameProps = IOUtils.readPropertiesFile("res/app.properties");
+        Properties messageProps = IOUtils.readPropertiesFile("res/message_en.properties");
+        String host = args.length > 0 ? args[0] : "localhost";
+        int port = Integer.parseInt(args.length > 1 ? args[1] : gameProps.getProperty("broadcast.port"));
+        SpectatorClient client = new SpectatorClient(gameProps, messageProps, new RoadConnection(host, port));
+        client.run();
+    }
+}
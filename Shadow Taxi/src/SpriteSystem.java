@@ -0,0 +1,78 @@
+/**
+ * Draws every entity with a sprite, skipping entities that are off-screen.
+ */
+public class SpriteSystem implements GameSystem {
+    private final RenderQueue RENDER_QUEUE;
+
+    /**
+     * Constructs a new system drawing into the given render queue.
+     *
+     * @param renderQueue The queue the entities are drawn into.
+     */
+    public SpriteSystem(RenderQueue renderQueue) {
+        this.RENDER_QUEUE = renderQueue;
+    }
+
+    /**
+     * Gets the state the system reads.
+     *
+     * @return The position, sprite and radius of the entities.
+     */
+    @Override
+    public int getReads() {
+        return World.POSITION | World.SPRITE | World.COLLIDER;
+    }
+
+    /**
+     * Gets the state the system writes.
+     *
+     * @return The render queue.
+     */
+    @Override
+    public int getWrites() {
+        return RENDERING;
+    }
+
+    /**
+     * Gets whether the system can be split into chunks.
+     *
+     * @return false, as the render queue is filled by one thread.
+     */
+    @Override
+    public boolean isParallel() {
+        return false;
+    }
+
+    /**
+     * Gets the number of items the system updates.
+     *
+     * @param world The world being updated.
+     * @return The number of entity slots in the world.
+     */
+    @Override
+    public int size(World world) {
+        return world.size();
+    }
+
+    /**
+     * Draws the sprites of the entities in the range into the render queue.
+     *
+     * @param world The world being drawn.
+     * @param from The first entity id.
+     * @param to One past the last entity id.
+     */
+    @Override
+    public void update(World world, int from, int to) {
+        for (int entity = from; entity < to; entity++) {
+            if (!world.has(entity, World.SPRITE)) {
+                continue;
+            }
+            double radius = world.getRadius(entity);
+            if (radius > 0 && !RENDER_QUEUE.isVisible(world.getX(entity), world.getY(entity), radius)) {
+                continue; // Entities without a radius, such as effects, are always drawn
+            }
+            RENDER_QUEUE.drawImage(world.getTexture(entity), world.getX(entity), world.getY(entity),
+                    world.getLayer(entity));
+        }
+    }
+}
@@ -0,0 +1,37 @@
+import java.io.IOException;
+
+/**
+ * A training run for a class-data sharing archive, which lets the game start without loading and verifying its
+ * classes one by one. It goes through the start of the game as far as it can without a window, then plays a few
+ * games with the autopilot so the classes of a game are loaded too. Run it once with
+ * "-XX:ArchiveClassesAtExit=shadowtaxi.jsa", then start the game with "-XX:SharedArchiveFile=shadowtaxi.jsa".
+ */
+public class StartupTraining {
+    private static final String[] SCREEN_CLASSES = {"ShadowTaxi", "Home", "PlayerInformation", "GameEnd",
+            "Background", "BagelRenderBackend", "InputSnapshot", "ScreenTransitionEvent", "GameCompletionEvent"};
+
+    /**
+     * Runs the start of the game and a few games without a window.
+     *
+     * @param args The number of games played, optional.
+     * @throws IOException If the configuration cannot be read or watched.
+     * @throws ClassNotFoundException If a screen class is missing.
+     */
+    public static void main(String[] args) throws IOException, ClassNotFoundException {
+        GameConfig config = GameConfig.read("res/app.properties", "res/message_en.properties");
+        new ConfigReloader("res/app.properties", "res/message_en.properties", config).close();
+        new AssetPreloader(config.getGameProps()); // Reads the images, which need a window to be made
+
+        // The screens need a window to be constructed, so they are only loaded
+        for (String screenClass : SCREEN_CLASSES) {
+            Class.forName(screenClass, false, StartupTraining.class.getClassLoader());
+        }
+
+        AutopilotBatch batch = new AutopilotBatch(config.getGameProps(), config.getGameObjects());
+        int games = Integer.parseInt(args.length > 0 ? args[0] : "3");
+        for (int i = 0; i < games; i++) {
+            batch.play(i + 1);
+        }
+        System.out.println(batch.getReport());
+    }
+}
@@ -0,0 +1,144 @@
+import java.util.ArrayList;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * Runs a list of systems in order, grouping neighbouring systems whose read and write sets do not conflict
+ * into stages. The systems of a stage run at the same time on a fork-join pool, and parallel systems are split
+ * into chunks across cores. Small stages run on the calling thread, so ordinary levels pay no threading cost.
+ */
+public class SystemScheduler {
+    /**
+     * The number of items a chunk of a parallel system updates.
+     */
+    public static final int CHUNK_SIZE = 1024;
+
+    private static final ForkJoinPool POOL = ForkJoinPool.commonPool();
+
+    private final GameSystem[][] STAGES;
+
+    /**
+     * Constructs a new scheduler, grouping the systems into stages.
+     *
+     * @param systems The systems in the order they must appear to run.
+     */
+    public SystemScheduler(GameSystem... systems) {
+        ArrayList<GameSystem[]> stages = new ArrayList<>();
+        ArrayList<GameSystem> stage = new ArrayList<>();
+        int stageReads = 0;
+        int stageWrites = 0;
+        for (GameSystem system : systems) {
+            boolean conflicts = (system.getWrites() & (stageReads | stageWrites)) != 0 ||
+                    (system.getReads() & stageWrites) != 0;
+            if (conflicts && !stage.isEmpty()) {
+                // Start a new stage that runs after every system of the current one has finished
+                stages.add(stage.toArray(new GameSystem[0]));
+                stage.clear();
+                stageReads = 0;
+                stageWrites = 0;
+            }
+            stage.add(system);
+            stageReads |= system.getReads();
+            stageWrites |= system.getWrites();
+        }
+        if (!stage.isEmpty()) {
+            stages.add(stage.toArray(new GameSystem[0]));
+        }
+        STAGES = stages.toArray(new GameSystem[0][]);
+    }
+
+    /**
+     * Gets the fork-join pool the systems run on.
+     *
+     * @return The fork-join pool.
+     */
+    public static ForkJoinPool getPool() {
+        return POOL;
+    }
+
+    /**
+     * Gets the number of stages the systems were grouped into.
+     *
+     * @return The number of stages.
+     */
+    public int getStageCount() {
+        return STAGES.length;
+    }
+
+    /**
+     * Runs every system once, stage by stage.
+     *
+     * @param world The world being updated.
+     */
+    public void run(World world) {
+        for (GameSystem[] stage : STAGES) {
+            if (isSmall(world, stage)) {
+                for (GameSystem system : stage) {
+                    system.update(world, 0, system.size(world));
+                }
+            }
+            else {
+                POOL.invoke(new StageTask(world, stage));
+            }
+        }
+    }
+
+    // Check whether no system of the stage has more than one chunk of work
+    private static boolean isSmall(World world, GameSystem[] stage) {
+        for (GameSystem system : stage) {
+            if (system.isParallel() && system.size(world) > CHUNK_SIZE) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    // Runs every system of a stage at the same time
+    private static class StageTask extends RecursiveAction {
+        private static final long serialVersionUID = 1L;
+
+        private final World WORLD;
+        private final GameSystem[] STAGE;
+
+        private StageTask(World world, GameSystem[] stage) {
+            this.WORLD = world;
+            this.STAGE = stage;
+        }
+
+        @Override
+        protected void compute() {
+            ChunkTask[] tasks = new ChunkTask[STAGE.length];
+            for (int i = 0; i < STAGE.length; i++) {
+                tasks[i] = new ChunkTask(WORLD, STAGE[i], 0, STAGE[i].size(WORLD));
+            }
+            invokeAll(tasks);
+        }
+    }
+
+    // Runs a range of a system's items, splitting it in half until it fits in one chunk
+    private static class ChunkTask extends RecursiveAction {
+        private static final long serialVersionUID = 1L;
+
+        private final World WORLD;
+        private final GameSystem SYSTEM;
+        private final int FROM;
+        private final int TO;
+
+        private ChunkTask(World world, GameSystem system, int from, int to) {
+            this.WORLD = world;
+            this.SYSTEM = system;
+            this.FROM = from;
+            this.TO = to;
+        }
+
+        @Override
+        protected void compute() {
+            if (!SYSTEM.isParallel() || TO - FROM <= CHUNK_SIZE) {
+                SYSTEM.update(WORLD, FROM, TO);
+                return;
+            }
+            int middle = (FROM + TO) >>> 1;
+            invokeAll(new ChunkTask(WORLD, SYSTEM, FROM, middle), new ChunkTask(WORLD, SYSTEM, middle, TO));
+        }
+    }
+}
@@ -1,68 +1,67 @@
 import bagel.*;
-import java.util.ArrayList;
 import java.util.Properties;
+import java.util.Random;
 
 /**
  * Represents the taxi in the game.
+ * The taxi's position, health and collision state are components of an entity in the world.
  */
-public class Taxi implements Collideable {
+public class Taxi {
     private static final double PUSH_OUT_DISTANCE = 1; // Pushed away 1 pixel per frame during collision
 
-    private Image image;
-    private final double DAMAGE;
-    private final double RADIUS;
-    private Location location;
-    private double health;
+    private final int TEXTURE;
+    private final double DETECT_RADIUS;
+    private final World WORLD;
+    private final int ENTITY;
+    private final Location location;
     private boolean hasDriver;
-    private boolean isInvincible;
-
-    private int collisionFrames;
-    private int timeoutFrames;
-    private Collideable inCollisionObject;
-
-    private static ArrayList<Taxi> damagedTaxiList;
 
     /**
-     * Constructs a new Taxi object with the specified game properties and game objects.
+     * Constructs a new Taxi object at the location given in the game objects.
      *
+     * @param world The world the taxi lives in.
      * @param gameProps The property file containing configuration of the game.
      * @param gameObjects A 2D array representing the game objects' configuration.
      */
-    public Taxi(Properties gameProps, String[][] gameObjects){
-        image = new Image(gameProps.getProperty("gameObjects.taxi.image"));
-        DAMAGE = Double.parseDouble(gameProps.getProperty("gameObjects.taxi.damage")) * 100;
-        RADIUS = Double.parseDouble(gameProps.getProperty("gameObjects.taxi.radius"));
-        for (String[] line : gameObjects) {
-            if (line[0].equals("TAXI")) {
-                location = new Location(Double.parseDouble(line[1]), Double.parseDouble(line[2]));
-                break;
-            }
-        }
-        health = Double.parseDouble(gameProps.getProperty("gameObjects.taxi.health")) * 100;
+    public Taxi(World world, Properties gameProps, String[][] gameObjects){
+        this(world, gameProps, findCoordinate(gameObjects, 1), findCoordinate(gameObjects, 2));
         hasDriver = true;
-        isInvincible = false;
-
-        // At start, taxi has no collision and timeout frames.
-        collisionFrames = 0;
-        timeoutFrames = 0;
     }
 
     /**
      * Constructs a new Taxi object with the specified location coordinates.
      *
+     * @param world The world the taxi lives in.
      * @param gameProps The property file containing configuration of the game.
      * @param x The X-coordinate of the taxi.
      * @param y The Y-coordinate of the taxi.
      */
-    public Taxi(Properties gameProps, double x, double y){
-        image = new Image(gameProps.getProperty("gameObjects.taxi.image"));
-        DAMAGE = Double.parseDouble(gameProps.getProperty("gameObjects.taxi.damage")) * 100;
-        RADIUS = Double.parseDouble(gameProps.getProperty("gameObjects.taxi.radius"));
-        location = new Location(x, y);
-        health = Double.parseDouble(gameProps.getProperty("gameObjects.taxi.health")) * 100;
+    public Taxi(World world, Properties gameProps, double x, double y){
+        TEXTURE = Assets.getImageId(gameProps.getProperty("gameObjects.taxi.image"));
+        DETECT_RADIUS = Double.parseDouble(gameProps.getProperty("gameObjects.passenger.taxiDetectRadius"));
+        WORLD = world;
+
+        // The taxi is hit by cars and fireballs, showing smoke when damaged and fire when destroyed
+        ENTITY = world.create(EntityKind.TAXI, x, y);
+        world.setCollider(ENTITY, World.GROUP_TAXI, World.GROUP_CAR | World.GROUP_FIREBALL,
+                Double.parseDouble(gameProps.getProperty("gameObjects.taxi.radius")),
+                Double.parseDouble(gameProps.getProperty("gameObjects.taxi.damage")) * 100, PUSH_OUT_DISTANCE);
+        world.setEffects(ENTITY, EntityKind.SMOKE, EntityKind.FIRE);
+        world.setHealth(ENTITY, Double.parseDouble(gameProps.getProperty("gameObjects.taxi.health")) * 100);
+        world.addComponents(ENTITY, World.TIMEOUT);
+        location = new EntityLocation(world, ENTITY);
         hasDriver = false;
     }
 
+    /**
+     * Gets the id of the entity of the taxi in the world.
+     *
+     * @return The entity id of the taxi.
+     */
+    public int getEntity() {
+        return ENTITY;
+    }
+
     /**
      * Gets the current location of the taxi.
      *
@@ -78,7 +77,7 @@ public class Taxi implements Collideable {
      * @return The radius of the taxi.
      */
     public double getRadius() {
-        return RADIUS;
+        return WORLD.getRadius(ENTITY);
     }
 
     /**
@@ -87,7 +86,7 @@ public class Taxi implements Collideable {
      * @return The damage value of the taxi.
      */
     public double getDamage() {
-        return DAMAGE;
+        return WORLD.getDamage(ENTITY);
     }
 
     /**
@@ -96,7 +95,7 @@ public class Taxi implements Collideable {
      * @return The health of the taxi.
      */
     public double getHealth() {
-        return health;
+        return WORLD.getHealth(ENTITY);
     }
 
     /**
@@ -117,110 +116,36 @@ public class Taxi implements Collideable {
         this.hasDriver = hasDriver;
     }
 
-    /**
-     * Gets the current number of timeout frames.
-     *
-     * @return The number of timeout frames.
-     */
-    public int getTimeoutFrames() {
-        return timeoutFrames;
-    }
-
     /**
      * Sets the invincibility status of the taxi.
      *
      * @param isInvincible A boolean indicating whether the taxi is invincible.
      */
     public void setIsInvincible(boolean isInvincible) {
-        this.isInvincible = isInvincible;
+        WORLD.setFlag(ENTITY, World.FLAG_INVINCIBLE, isInvincible);
     }
 
     /**
-     * Initializes a new list to store damaged taxi instances.
-     */
-    public static void makeNewDamagedTaxiList(){
-        damagedTaxiList = new ArrayList<>();
-    }
-
-    /**
-     * Handles the collision between the taxi and another collideable object.
-     *
-     * @param gameProps The property file containing configuration.
-     * @param other The other object involved in the collision.
-     */
-    @Override
-    public void collide (Properties gameProps, Collideable other){
-        if (location.distance(other.getLocation()) <= (RADIUS + other.getRadius())) {
-            if (collisionFrames == 0){
-                inCollisionObject = other;
-                collisionFrames = TOTAL_COLLISION_FRAMES;
-            }
-            if (timeoutFrames == 0 && other.getTimeoutFrames()==0 && !isInvincible){
-                timeoutFrames = TOTAL_TIMEOUT_FRAMES;
-                health -= inCollisionObject.getDamage();
-                if (health > 0){
-                    // Generate a smoke
-                    new Smoke(gameProps, location.getX(), location.getY());
-                }
-                else {
-                    // Generate a fire if taxi is damaged
-                    new Fire(gameProps, location.getX(), location.getY());
-                }
-            }
-            if (other instanceof Fireball fireball){
-                // Taxi has hit a fireball
-                fireball.setHasHitTarget(true);
-            }
-        }
-    }
-
-    /**
-     * Handles collisions between the taxi and cars or fireballs.
-     *
-     * @param gameProps The property file containing configuration.
-     */
-    public void handleTaxiCollision(Properties gameProps) {
-        for (Car car : Car.getCarList()){
-            // Collision between taxi and cars
-            collide(gameProps, car);
-            car.collide(gameProps, this);
-        }
-
-        for (Fireball fireball : Fireball.getFireballList()){
-            // Collision between taxi and fireballs
-            collide(gameProps, fireball);
-        }
-
-        if (collisionFrames > 0){
-            // Implement collision animation
-            if (location.getY() < inCollisionObject.getLocation().getY()){
-                location.setY(location.getY() - PUSH_OUT_DISTANCE);
-            }
-            else {
-                location.setY(location.getY() + PUSH_OUT_DISTANCE);
-            }
-            collisionFrames -= 1;
-        }
-
-        if (timeoutFrames > 0) {
-            timeoutFrames -= 1;
-        }
-    }
-
-    /**
-     * Creates a damaged taxi and spawns a new taxi at a random location on the road.
+     * Leaves the current taxi on the road as a damaged taxi and spawns a new taxi at a random location on the road.
      *
+     * @param world The world the taxis live in.
      * @param gameProps The property file containing configuration for the game.
      * @param taxi The current taxi to be damaged and replaced.
      * @param driver The driver of the taxi.
      * @param inTripPassenger The passenger currently in the taxi, who will be ejected if present.
+     * @param random The random generator of the game, which picks where the new taxi appears.
      * @return A new Taxi object.
      */
-    public static Taxi makeNewTaxi(Properties gameProps, Taxi taxi, Driver driver, Passenger inTripPassenger){
-        // Change the image to a damaged taxi
-        taxi.image = new Image(gameProps.getProperty("gameObjects.taxi.damagedImage"));
-        // Add taxi to the damaged list
-        damagedTaxiList.add(taxi);
+    public static Taxi makeNewTaxi(World world, Properties gameProps, Taxi taxi, Driver driver,
+                                   Passenger inTripPassenger, Random random){
+        TaxiReplacedEvent event = new TaxiReplacedEvent();
+        event.begin();
+        // The damaged taxi no longer collides, and is drawn and scrolled by the world like any other sprite
+        world.setKind(taxi.ENTITY, EntityKind.DAMAGED_TAXI);
+        world.removeComponents(taxi.ENTITY, World.COLLIDER | World.HEALTH | World.TIMEOUT);
+        world.setSprite(taxi.ENTITY, Assets.getImageId(gameProps.getProperty("gameObjects.taxi.damagedImage")),
+                RenderQueue.LAYER_TAXI);
+        world.addComponents(taxi.ENTITY, World.SCROLLING);
         if (taxi.hasDriver || driver.getIsWaitingForPassenger()) {
             if (driver.getIsWaitingForPassenger()){
                 driver.setWaitingForPassenger(false);
@@ -232,11 +157,17 @@ public class Taxi implements Collideable {
             }
         }
         // Make and return a new taxi
-        return new Taxi(gameProps,
-                MiscUtils.selectAValue(Integer.parseInt(gameProps.getProperty("roadLaneCenter1")),
-                        Integer.parseInt(gameProps.getProperty("roadLaneCenter3"))),
-                MiscUtils.getRandomInt(Integer.parseInt(gameProps.getProperty("gameObjects.taxi.nextSpawnMinY")),
-                        Integer.parseInt(gameProps.getProperty("gameObjects.taxi.nextSpawnMaxY"))+1));
+        int minY = Integer.parseInt(gameProps.getProperty("gameObjects.taxi.nextSpawnMinY"));
+        int maxY = Integer.parseInt(gameProps.getProperty("gameObjects.taxi.nextSpawnMaxY"));
+        Taxi newTaxi = new Taxi(world, gameProps,
+                Integer.parseInt(gameProps.getProperty(random.nextBoolean() ? "roadLaneCenter1" : "roadLaneCenter3")),
+                minY + random.nextInt(maxY - minY + 1));
+
+        event.damagedTaxiCount = world.countKind(EntityKind.DAMAGED_TAXI);
+        event.passengerEjected = inTripPassenger != null;
+        event.carCount = world.countKind(EntityKind.OTHER_CAR) + world.countKind(EntityKind.ENEMY_CAR);
+        event.commit();
+        return newTaxi;
     }
 
 
@@ -246,9 +177,10 @@ public class Taxi implements Collideable {
      * @param input The current keyboard input.
      * @param xSpeed The speed at which the taxi moves horizontally.
      * @param ySpeed The speed at which the taxi moves vertically when there is no driver in the taxi.
+     * @param renderQueue The queue the taxi is drawn into.
      */
-    public void showTaxi(Input input, double xSpeed, double ySpeed){
-        image.draw(location.getX(), location.getY());
+    public void showTaxi(InputSource input, double xSpeed, double ySpeed, RenderQueue renderQueue){
+        renderQueue.drawImage(TEXTURE, location.getX(), location.getY(), RenderQueue.LAYER_TAXI);
 
         if (!hasDriver){
             if (input.isDown(Keys.UP)) {
@@ -264,35 +196,25 @@ public class Taxi implements Collideable {
                 location.setX(location.getX() + xSpeed);
             }
         }
-
-        for (Taxi damagedTaxi: damagedTaxiList){
-            damagedTaxi.image.draw(damagedTaxi.location.getX(), damagedTaxi.location.getY());
-            if (input.isDown(Keys.UP)) {
-                damagedTaxi.location.setY(damagedTaxi.location.getY() + ySpeed);
-            }
-        }
     }
 
     /**
      * Find and return the passenger with in taxi's detect radius, when the taxi has fully stopped,
-     * excluding the passenger who just completed the last trip
+     * excluding the passenger who just completed the last trip and passengers taken by other taxis
      * @param input The current mouse/keyboard input.
-     * @param gameProps The property filename containing configuration.
      * @param passengers The array of passengers in game.
-     * @param lastTripPassenger Passenger just completing the last trip.
+     * @param lastTripPassengerId The id of the passenger just completing the last trip.
      *
      * @return The passenger in taxi's detection, or null if no such passenger is found.
      */
-    public Passenger findNearPassenger(Input input, Properties gameProps,
-                                              Passenger[] passengers, Passenger lastTripPassenger){
+    public Passenger findNearPassenger(InputSource input, Passenger[] passengers, int lastTripPassengerId){
         if (input.isUp(Keys.UP) && input.isUp(Keys.RIGHT) && input.isUp(Keys.LEFT)){
             // Taxi has stopped
             for (Passenger passenger : passengers){
-                if (passenger == lastTripPassenger){
-                    continue; // Exclude the previous trip passenger
+                if (passenger.getId() == lastTripPassengerId || passenger.getIsTaken()){
+                    continue; // Exclude the previous trip passenger and passengers taken by other taxis
                 }
-                if (location.distance(passenger.getLocation()) <=
-                        Double.parseDouble(gameProps.getProperty("gameObjects.passenger.taxiDetectRadius"))){
+                if (location.distance(passenger.getLocation()) <= DETECT_RADIUS){
                     // The passenger is in the taxi detect radius
                     return passenger;
                 }
@@ -300,4 +222,14 @@ public class Taxi implements Collideable {
         }
         return null;
     }
+
+    // Find a coordinate of the taxi in the game objects, column 1 being X and column 2 being Y
+    private static double findCoordinate(String[][] gameObjects, int column){
+        for (String[] line : gameObjects) {
+            if (line[0].equals("TAXI")) {
+                return Double.parseDouble(line[column]);
+            }
+        }
+        return 0;
+    }
 }
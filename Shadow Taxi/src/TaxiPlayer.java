@@ -0,0 +1,447 @@
+import bagel.*;
+import java.util.Properties;
+import java.util.Random;
+
+/**
+ * Represents a player on the road: their taxi and driver, the trip they are on, their score and their tokens.
+ * The road, passengers and traffic are shared, so the same player logic serves the single-player game
+ * and a road with several taxis.
+ */
+public class TaxiPlayer implements GameEventListener {
+    private final World WORLD;
+    private final GameEventBus EVENT_BUS;
+    private final Properties GAME_PROPS;
+    private final double X_SPEED;
+    private final double Y_SPEED;
+    private final double TARGET;
+    private final double WINDOW_HEIGHT;
+    private final int MAX_COIN_TIME;
+    private final int MAX_INVINCIBLE_TIME;
+    private final Passenger[] PASSENGERS;
+    private final IntIntMap PASSENGER_IDS; // The passenger id of each passenger entity
+
+    private Taxi taxi;
+    private final Driver DRIVER;
+
+    private boolean inTrip;
+    private boolean lastTripCompleted;
+    private boolean isTaxiDestroyed;
+    private boolean isCharacterDestroyed;
+
+    private int inTripPassengerId;
+    private int lastTripPassengerId;
+
+    private double currentScore;
+    private int remainingLostFrames;
+    private int coinTimer;
+    private int invincibleTimer;
+    private double penalty;
+
+    /**
+     * Constructs a new player driving the given taxi, with their driver inside it.
+     *
+     * @param world The world the player's taxi and driver live in.
+     * @param eventBus The bus trips are published on.
+     * @param gameProps The property file containing configuration.
+     * @param passengers The passengers on the road.
+     * @param taxi The taxi of the player.
+     * @param driver The driver of the player.
+     */
+    public TaxiPlayer(World world, GameEventBus eventBus, Properties gameProps, Passenger[] passengers, Taxi taxi,
+                      Driver driver) {
+        WORLD = world;
+        EVENT_BUS = eventBus;
+        GAME_PROPS = gameProps;
+        X_SPEED = Double.parseDouble(gameProps.getProperty("gameObjects.taxi.speedX"));
+        Y_SPEED = Double.parseDouble(gameProps.getProperty("gameObjects.taxi.speedY"));
+        TARGET = Double.parseDouble(gameProps.getProperty("gamePlay.target"));
+        WINDOW_HEIGHT = Double.parseDouble(gameProps.getProperty("window.height"));
+        MAX_COIN_TIME = Integer.parseInt(gameProps.getProperty("gameObjects.coin.maxFrames"));
+        MAX_INVINCIBLE_TIME = Integer.parseInt(gameProps.getProperty("gameObjects.invinciblePower.maxFrames"));
+        PASSENGERS = passengers;
+        PASSENGER_IDS = new IntIntMap(passengers.length);
+        for (Passenger passenger : passengers) {
+            PASSENGER_IDS.put(passenger.getEntity(), passenger.getId());
+        }
+
+        this.taxi = taxi;
+        taxi.setHasDriver(true);
+        DRIVER = driver;
+
+        inTrip = false;
+        lastTripCompleted = true;
+        isTaxiDestroyed = false;
+        isCharacterDestroyed = false;
+
+        inTripPassengerId = Passenger.NO_PASSENGER;
+        lastTripPassengerId = Passenger.NO_PASSENGER;
+
+        currentScore = 0;
+        remainingLostFrames = Integer.parseInt(gameProps.getProperty("gameObjects.fire.ttl"));
+        coinTimer = 0;
+        invincibleTimer = 0;
+        penalty = 0;
+    }
+
+    /**
+     * Gets the taxi the player is driving.
+     *
+     * @return The taxi of the player.
+     */
+    public Taxi getTaxi() {
+        return taxi;
+    }
+
+    /**
+     * Gets the driver of the player.
+     *
+     * @return The driver of the player.
+     */
+    public Driver getDriver() {
+        return DRIVER;
+    }
+
+    /**
+     * Gets whether the player is on a trip.
+     *
+     * @return true if a passenger is in the player's trip, false otherwise.
+     */
+    public boolean getInTrip() {
+        return inTrip;
+    }
+
+    /**
+     * Gets the passenger on the player's current trip.
+     *
+     * @return The in-trip passenger, or null if there is none.
+     */
+    public Passenger getInTripPassenger() {
+        return inTripPassengerId == Passenger.NO_PASSENGER ? null : PASSENGERS[inTripPassengerId];
+    }
+
+    /**
+     * Gets the id of the passenger on the player's current trip.
+     *
+     * @return The id of the in-trip passenger, or Passenger.NO_PASSENGER if there is none.
+     */
+    public int getInTripPassengerId() {
+        return inTripPassengerId;
+    }
+
+    /**
+     * Gets the passenger of the player's last completed trip.
+     *
+     * @return The last-trip passenger, or null if there is none.
+     */
+    public Passenger getLastTripPassenger() {
+        return lastTripPassengerId == Passenger.NO_PASSENGER ? null : PASSENGERS[lastTripPassengerId];
+    }
+
+    /**
+     * Gets the id of the passenger of the player's last completed trip.
+     *
+     * @return The id of the last-trip passenger, or Passenger.NO_PASSENGER if there is none.
+     */
+    public int getLastTripPassengerId() {
+        return lastTripPassengerId;
+    }
+
+    /**
+     * Gets the player's total score.
+     *
+     * @return The score of the player.
+     */
+    public double getScore() {
+        return currentScore;
+    }
+
+    /**
+     * Gets the penalty of the player's last completed trip.
+     *
+     * @return The penalty of the last trip.
+     */
+    public double getPenalty() {
+        return penalty;
+    }
+
+    /**
+     * Gets the number of frames the coin power has been active.
+     *
+     * @return The frames the coin has been active, or -1 if it is inactive.
+     */
+    public int getCoinFrames() {
+        return coinTimer > 0 ? MAX_COIN_TIME - coinTimer : -1;
+    }
+
+    /**
+     * Gets the number of frames of coin power left.
+     *
+     * @return The frames left on the coin timer.
+     */
+    public int getCoinTimer() {
+        return coinTimer;
+    }
+
+    /**
+     * Gets the number of frames of invincibility left.
+     *
+     * @return The frames left on the invincibility timer.
+     */
+    public int getInvincibleTimer() {
+        return invincibleTimer;
+    }
+
+    /**
+     * Updates the player's state when their taxi, driver or trip passenger is destroyed.
+     *
+     * @param type The type of the event.
+     * @param entity The id of the entity the event is about.
+     * @param value The value carried by the event.
+     */
+    @Override
+    public void onGameEvent(GameEventType type, int entity, double value) {
+        if (type == GameEventType.ENTITY_DESTROYED) {
+            if (entity == taxi.getEntity()) {
+                isTaxiDestroyed = true;
+            }
+            else if (entity == DRIVER.getEntity() || isTripPassenger(entity)) {
+                // The driver or a passenger of the player has no health left
+                isCharacterDestroyed = true;
+            }
+        }
+    }
+
+    /**
+     * Shows and moves the player's taxi and driver, and their in-trip passenger after being ejected from the taxi.
+     *
+     * @param input The player's keyboard input.
+     * @param renderQueue The queue the taxi and characters are drawn into.
+     */
+    public void showTaxiAndDriver(InputSource input, RenderQueue renderQueue) {
+        taxi.showTaxi(input, X_SPEED, Y_SPEED, renderQueue);
+        Passenger inTripPassenger = getInTripPassenger();
+        DRIVER.showDriver(input, taxi, inTripPassenger, renderQueue);
+        if (inTripPassenger != null && !taxi.getHasDriver()) {
+            inTripPassenger.walkOutsideTaxi(input, DRIVER, renderQueue);
+        }
+    }
+
+    /**
+     * Moves the player's taxi down with the road when another player scrolls the road and this player does not,
+     * taking the passenger riding in it along.
+     *
+     * @param distance The number of pixels the road scrolled down.
+     */
+    public void drift(double distance) {
+        taxi.getLocation().setY(taxi.getLocation().getY() + distance);
+        Passenger inTripPassenger = getInTripPassenger();
+        if (inTripPassenger != null && taxi.getHasDriver()) {
+            inTripPassenger.getLocation().setY(inTripPassenger.getLocation().getY() + distance);
+        }
+    }
+
+    /**
+     * Takes the player's taxi and driver out of the game, so they are no longer hit by cars and fireballs.
+     */
+    public void retire() {
+        WORLD.removeComponents(taxi.getEntity(), World.COLLIDER);
+        DRIVER.setCanCollide(false);
+        if (inTripPassengerId != Passenger.NO_PASSENGER) {
+            PASSENGERS[inTripPassengerId].setCanCollide(false);
+        }
+        if (lastTripPassengerId != Passenger.NO_PASSENGER) {
+            PASSENGERS[lastTripPassengerId].setCanCollide(false);
+        }
+    }
+
+    /**
+     * Leaves a destroyed taxi on the road and gives the player a new one.
+     *
+     * @param random The random generator of the game, which picks where the new taxi appears.
+     */
+    public void replaceDestroyedTaxi(Random random) {
+        if (isTaxiDestroyed) {
+            taxi = Taxi.makeNewTaxi(WORLD, GAME_PROPS, taxi, DRIVER, getInTripPassenger(), random);
+            isTaxiDestroyed = false;
+        }
+    }
+
+    /**
+     * Gets the entity that collects tokens for the player: the taxi, or the driver when outside the taxi.
+     *
+     * @return The id of the collecting entity.
+     */
+    public int getTokenCollector() {
+        return taxi.getHasDriver() ? taxi.getEntity() : DRIVER.getEntity();
+    }
+
+    /**
+     * Starts the timer of a token the player has collected.
+     *
+     * @param kind The kind of the token.
+     */
+    public void collectToken(int kind) {
+        if (kind == EntityKind.COIN) {
+            coinTimer = MAX_COIN_TIME;
+        }
+        else {
+            invincibleTimer = MAX_INVINCIBLE_TIME;
+        }
+    }
+
+    /**
+     * Applies the coin and invincible power while their timers run, counting the timers down.
+     */
+    public void applyTokenEffects() {
+        if (coinTimer > 0) {
+            if (inTripPassengerId != Passenger.NO_PASSENGER){
+                // Apply coin effect to the passenger
+                PASSENGERS[inTripPassengerId].useCoin();
+            }
+            coinTimer -= 1;
+        }
+
+        if (invincibleTimer > 0){
+            // Apply invincible effect to taxi and driver
+            if (taxi.getHasDriver()){
+                taxi.setIsInvincible(true);
+            }
+            DRIVER.setIsInvincible(true);
+            invincibleTimer -= 1;
+        }
+        else {
+            taxi.setIsInvincible(false);
+            DRIVER.setIsInvincible(false);
+        }
+    }
+
+    /**
+     * Lets the driver and trip passengers be hit, but only while they are outside the taxi.
+     */
+    public void prepareCollisions() {
+        DRIVER.setCanCollide(!taxi.getHasDriver());
+        if (inTripPassengerId != Passenger.NO_PASSENGER){
+            PASSENGERS[inTripPassengerId].setCanCollide(!taxi.getHasDriver());
+        }
+        if (lastTripPassengerId != Passenger.NO_PASSENGER){
+            PASSENGERS[lastTripPassengerId].setCanCollide(!taxi.getHasDriver());
+        }
+    }
+
+    /**
+     * Looks for a new trip, or carries on with the current one.
+     *
+     * @param input The player's keyboard input.
+     * @param renderQueue The queue the end flags are drawn into.
+     */
+    public void updateTrip(InputSource input, RenderQueue renderQueue) {
+        if (!inTrip){
+            findNewTrip(input, renderQueue);
+        }
+        else {
+            commenceTrip(input, renderQueue);
+        }
+    }
+
+    /**
+     * Checks whether the player has reached the target score.
+     *
+     * @return true if the target is reached, false otherwise.
+     */
+    public boolean hasReachedTarget() {
+        return currentScore >= TARGET;
+    }
+
+    /**
+     * Checks whether the player is out of the game: their taxi has left the screen, or their driver or
+     * passenger was destroyed and the frames until the loss have run out. Called once per frame.
+     *
+     * @return true if the player is out, false otherwise.
+     */
+    public boolean isOut() {
+        // If driver or passenger has no health, count down the frames until lost
+        if (isCharacterDestroyed){
+            remainingLostFrames -= 1;
+        }
+        return taxi.getLocation().getY() >= WINDOW_HEIGHT || taxi.getLocation().getY() <= 0 ||
+                remainingLostFrames == 0;
+    }
+
+    // Check whether an entity is a passenger of the player's current or last trip
+    private boolean isTripPassenger(int entity) {
+        int passengerId = PASSENGER_IDS.get(entity, Passenger.NO_PASSENGER);
+        return passengerId != Passenger.NO_PASSENGER
+                && (passengerId == inTripPassengerId || passengerId == lastTripPassengerId);
+    }
+
+    // Handle situation where there is no passenger currently in a trip.
+    private void findNewTrip(InputSource input, RenderQueue renderQueue) {
+        handleLastTripCompletion(renderQueue);
+        if (taxi.getHasDriver()) {
+            Passenger waitingPassenger = taxi.findNearPassenger(input, PASSENGERS, lastTripPassengerId);
+            if (waitingPassenger != null) {
+                // Found a near passenger waiting to be picked up
+                if (waitingPassenger.moveTowardLocation(taxi.getLocation())) {
+                    // Passenger has moved to the taxi, trip commences
+                    inTripPassengerId = waitingPassenger.getId();
+                    waitingPassenger.setIsTaken(true);
+                    inTrip = true;
+                    EVENT_BUS.publish(GameEventType.TRIP_STARTED, waitingPassenger.getEntity(),
+                            waitingPassenger.getEarnings());
+                }
+            }
+        }
+    }
+
+    // Handle situations where a passenger is currently in a trip.
+    private void commenceTrip(InputSource input, RenderQueue renderQueue) {
+        handleLastTripCompletion(renderQueue);
+        Passenger inTripPassenger = PASSENGERS[inTripPassengerId];
+        // Update the in-trip passenger location and show their end flag
+        if (taxi.getHasDriver()) {
+            inTripPassenger.setLocationInTaxi(input, X_SPEED);
+        }
+        inTripPassenger.getEndFlag().showEndFlag(renderQueue);
+        // Check if the trip has completed
+        handleInTripCompletion(input);
+    }
+
+    // Handle the completion of a trip
+    private void handleInTripCompletion(InputSource input) {
+        if (taxi.getHasDriver() && input.isUp(Keys.UP) && input.isUp(Keys.RIGHT) && input.isUp(Keys.LEFT)){
+            // The taxi has fully stopped
+            Passenger inTripPassenger = PASSENGERS[inTripPassengerId];
+            if (inTripPassenger.getLocation().distance(inTripPassenger.getEndFlag().getLocation()) <=
+                    inTripPassenger.getEndFlag().getRadius() ||
+                    inTripPassenger.getLocation().getY() <= inTripPassenger.getEndFlag().getLocation().getY()){
+                // The locations are satisfied
+                penalty = inTripPassenger.calculatePenalty(); // Calculate penalty
+                currentScore += Double.max(0, inTripPassenger.getEarnings() - penalty); // Update total score
+                EVENT_BUS.publish(GameEventType.TRIP_COMPLETED, inTripPassenger.getEntity(),
+                        Double.max(0, inTripPassenger.getEarnings() - penalty));
+                if (lastTripPassengerId != Passenger.NO_PASSENGER){
+                    PASSENGERS[lastTripPassengerId].setCanCollide(false); // No longer in a trip
+                    PASSENGERS[lastTripPassengerId].setIsTaken(false);
+                }
+                lastTripPassengerId = inTripPassengerId;
+                inTripPassengerId = Passenger.NO_PASSENGER;
+
+                inTrip = false; // Start looking for new trip
+                lastTripCompleted = false; // To handle the process of passenger walking to their end flag
+            }
+        }
+    }
+
+    // Handle the process where the passenger leaving taxi and walk to their end flag
+    private void handleLastTripCompletion(RenderQueue renderQueue) {
+        if (!lastTripCompleted) {
+            // The passenger from last trip has not moved to the end flag
+            Passenger lastTripPassenger = PASSENGERS[lastTripPassengerId];
+            lastTripPassenger.getEndFlag().showEndFlag(renderQueue);
+            if (lastTripPassenger.moveTowardLocation(lastTripPassenger.getEndFlag().getLocation())){
+                // The passenger has moved to the end flag
+                lastTripCompleted = true;
+            }
+        }
+    }
+}
@@ -0,0 +1,19 @@
+import jdk.jfr.*;
+
+/**
+ * A Java Flight Recorder event emitted when a damaged taxi is replaced by a new one.
+ */
+@Name("shadowtaxi.TaxiReplaced")
+@Label("Taxi Replaced")
+@Category({"Shadow Taxi", "Gameplay"})
+@Description("A damaged taxi was abandoned and a new taxi was spawned")
+public class TaxiReplacedEvent extends Event {
+    @Label("Damaged Taxis")
+    int damagedTaxiCount;
+
+    @Label("Passenger Ejected")
+    boolean passengerEjected;
+
+    @Label("Active Cars")
+    int carCount;
+}
@@ -0,0 +1,59 @@
+/**
+ * A render backend that submits every draw command to two other backends, such as the screen and a recording.
+ */
+public class TeeRenderBackend implements RenderBackend {
+    private final RenderBackend FIRST;
+    private final RenderBackend SECOND;
+
+    /**
+     * Constructs a new backend submitting to two others.
+     *
+     * @param first The backend drawn to first, which also measures text.
+     * @param second The backend drawn to second.
+     */
+    public TeeRenderBackend(RenderBackend first, RenderBackend second) {
+        FIRST = first;
+        SECOND = second;
+    }
+
+    /**
+     * Draws a batch of sprites sharing the same texture on both backends.
+     *
+     * @param texture The id of the texture to be drawn.
+     * @param xs The X-coordinates of the sprites' centres.
+     * @param ys The Y-coordinates of the sprites' centres.
+     * @param offset The index of the first sprite in the batch.
+     * @param count The number of sprites in the batch.
+     */
+    @Override
+    public void drawImages(int texture, double[] xs, double[] ys, int offset, int count) {
+        FIRST.drawImages(texture, xs, ys, offset, count);
+        SECOND.drawImages(texture, xs, ys, offset, count);
+    }
+
+    /**
+     * Draws a string on both backends.
+     *
+     * @param font The id of the font to be used.
+     * @param text The text to be drawn.
+     * @param x The X-coordinate of the text.
+     * @param y The Y-coordinate of the text.
+     */
+    @Override
+    public void drawText(int font, String text, double x, double y) {
+        FIRST.drawText(font, text, x, y);
+        SECOND.drawText(font, text, x, y);
+    }
+
+    /**
+     * Gets the width of a string as measured by the first backend.
+     *
+     * @param font The id of the font.
+     * @param text The text to be measured.
+     * @return The width of the string in pixels.
+     */
+    @Override
+    public double getTextWidth(int font, String text) {
+        return FIRST.getTextWidth(font, text);
+    }
+}
@@ -0,0 +1,74 @@
+/**
+ * Marks the coins and invincible powers within reach of the entity collecting them, which is the taxi while
+ * the driver is in it and the driver otherwise.
+ */
+public class TokenPickupSystem implements GameSystem {
+    private int collector;
+
+    /**
+     * Sets the entity collecting tokens this frame.
+     *
+     * @param collector The id of the collecting entity.
+     */
+    public void setCollector(int collector) {
+        this.collector = collector;
+    }
+
+    /**
+     * Gets the state the system reads.
+     *
+     * @return The position and radius of the entities.
+     */
+    @Override
+    public int getReads() {
+        return World.POSITION | World.COLLIDER;
+    }
+
+    /**
+     * Gets the state the system writes.
+     *
+     * @return The flags of the tokens.
+     */
+    @Override
+    public int getWrites() {
+        return FLAGS;
+    }
+
+    /**
+     * Gets whether the system can be split into chunks.
+     *
+     * @return true, as each token is checked independently.
+     */
+    @Override
+    public boolean isParallel() {
+        return true;
+    }
+
+    /**
+     * Gets the number of items the system updates.
+     *
+     * @param world The world being updated.
+     * @return The number of entity slots in the world.
+     */
+    @Override
+    public int size(World world) {
+        return world.size();
+    }
+
+    /**
+     * Flags the tokens in the range that the collector has reached as hit.
+     *
+     * @param world The world being updated.
+     * @param from The first entity id.
+     * @param to One past the last entity id.
+     */
+    @Override
+    public void update(World world, int from, int to) {
+        for (int token = from; token < to; token++) {
+            if (world.has(token, World.COLLIDER) && world.getGroup(token) == World.GROUP_TOKEN &&
+                    world.distance(collector, token) <= world.getRadius(collector) + world.getRadius(token)) {
+                world.setFlag(token, World.FLAG_HAS_HIT, true);
+            }
+        }
+    }
+}
@@ -0,0 +1,308 @@
+import java.util.Properties;
+
+/**
+ * Keeps the cars of each road lane in a deque sorted from the top of the road to the bottom.
+ * Cars never change lane and lanes are further apart than two cars are wide, so cars can only touch
+ * their neighbours in the same lane. This lets car collisions and spawn checks look at a few neighbours
+ * instead of every other car.
+ */
+public class TrafficLanes {
+    private final double[] LANE_XS;
+    private final Lane[] LANES;
+    private double maxRadius;
+
+    /**
+     * Constructs new empty lanes at the lane centres given in the game properties.
+     *
+     * @param gameProps The property file containing configuration.
+     */
+    public TrafficLanes(Properties gameProps) {
+        int count = 0;
+        while (gameProps.getProperty(String.format("roadLaneCenter%d", count + 1)) != null) {
+            count++;
+        }
+        LANE_XS = new double[count];
+        LANES = new Lane[count];
+        for (int lane = 0; lane < count; lane++) {
+            LANE_XS[lane] = Double.parseDouble(gameProps.getProperty(String.format("roadLaneCenter%d", lane + 1)));
+            LANES[lane] = new Lane();
+        }
+        maxRadius = 0;
+    }
+
+    /**
+     * Gets the number of lanes on the road.
+     *
+     * @return The number of lanes.
+     */
+    public int getLaneCount() {
+        return LANES.length;
+    }
+
+    /**
+     * Gets the X-coordinate of the centre of a lane.
+     *
+     * @param lane The index of the lane.
+     * @return The X-coordinate of the lane centre.
+     */
+    public double getLaneX(int lane) {
+        return LANE_XS[lane];
+    }
+
+    /**
+     * Gets the number of cars in a lane.
+     *
+     * @param lane The index of the lane.
+     * @return The number of cars in the lane.
+     */
+    public int getCarCount(int lane) {
+        return LANES[lane].count;
+    }
+
+    /**
+     * Counts the cars of a lane between two Y-coordinates, such as the cars on screen.
+     * The lane must have been sorted since the cars last moved.
+     *
+     * @param world The world containing the cars.
+     * @param lane The index of the lane.
+     * @param top The smallest Y-coordinate counted.
+     * @param bottom The Y-coordinate below which cars are counted.
+     * @return The number of cars between the two Y-coordinates.
+     */
+    public int countCarsBetween(World world, int lane, double top, double bottom) {
+        return LANES[lane].findIndex(world, bottom) - LANES[lane].findIndex(world, top);
+    }
+
+    /**
+     * Adds a new car to the lane nearest to it, keeping the lane sorted.
+     *
+     * @param world The world containing the car.
+     * @param car The id of the car.
+     */
+    public void add(World world, int car) {
+        Lane lane = LANES[findLane(world.getX(car))];
+        maxRadius = Math.max(maxRadius, world.getRadius(car));
+
+        // New cars appear above or below every other car, so they are pushed at the nearer end
+        if (lane.count == 0 || world.getY(car) <= world.getY(lane.get(0))) {
+            lane.addFirst(car);
+            lane.sinkFirst(world);
+        }
+        else {
+            lane.addLast(car);
+            lane.riseLast(world);
+        }
+    }
+
+    /**
+     * Removes a car that is about to be destroyed from its lane.
+     *
+     * @param world The world containing the car.
+     * @param car The id of the car.
+     */
+    public void remove(World world, int car) {
+        LANES[findLane(world.getX(car))].remove(car);
+    }
+
+    /**
+     * Checks whether a car of the given radius can appear at a location without touching another car.
+     *
+     * @param world The world containing the cars.
+     * @param lane The index of the lane.
+     * @param y The Y-coordinate of the new car.
+     * @param radius The radius of the new car.
+     * @return true if no car in the lane would be touched, false otherwise.
+     */
+    public boolean isClear(World world, int lane, double y, double radius) {
+        Lane cars = LANES[lane];
+        int index = cars.findIndex(world, y);
+        if (index > 0 && y - world.getY(cars.get(index - 1)) <= radius + world.getRadius(cars.get(index - 1))) {
+            return false;
+        }
+        return index == cars.count || world.getY(cars.get(index)) - y > radius + world.getRadius(cars.get(index));
+    }
+
+    /**
+     * Sorts every lane again after the cars have moved. Cars only overtake each other a few at a time,
+     * so the lanes are nearly sorted and this takes about linear time.
+     *
+     * @param world The world containing the cars.
+     */
+    public void sort(World world) {
+        for (Lane lane : LANES) {
+            lane.sort(world);
+        }
+    }
+
+    /**
+     * Passes every pair of touching cars in the same lane to the consumer, from the top of each lane down.
+     * The lanes must have been sorted since the cars last moved.
+     *
+     * @param world The world containing the cars.
+     * @param consumer The consumer receiving the first and second car of each pair.
+     */
+    public void forEachTouchingPair(World world, PairConsumer consumer) {
+        for (Lane lane : LANES) {
+            for (int i = 0; i < lane.count; i++) {
+                int car = lane.get(i);
+                double y = world.getY(car);
+                double radius = world.getRadius(car);
+                // Later cars are further down, so stop at the first one too far to touch any car
+                for (int j = i + 1; j < lane.count; j++) {
+                    int other = lane.get(j);
+                    double dy = world.getY(other) - y;
+                    if (dy > radius + maxRadius) {
+                        break;
+                    }
+                    if (dy <= radius + world.getRadius(other)) {
+                        consumer.accept(car, other);
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * A consumer of pairs of entity ids.
+     */
+    public interface PairConsumer {
+        /**
+         * Receives a pair of entities.
+         *
+         * @param entity The first entity.
+         * @param other The second entity.
+         */
+        void accept(int entity, int other);
+    }
+
+    // Find the lane whose centre is nearest to an X-coordinate
+    private int findLane(double x) {
+        int nearest = 0;
+        for (int lane = 1; lane < LANE_XS.length; lane++) {
+            if (Math.abs(LANE_XS[lane] - x) < Math.abs(LANE_XS[nearest] - x)) {
+                nearest = lane;
+            }
+        }
+        return nearest;
+    }
+
+    // A ring buffer of car ids that can grow at both ends, sorted by Y-coordinate
+    private static class Lane {
+        private int[] cars = new int[16];
+        private int head;
+        private int count;
+
+        private int get(int index) {
+            return cars[(head + index) & (cars.length - 1)];
+        }
+
+        private void set(int index, int car) {
+            cars[(head + index) & (cars.length - 1)] = car;
+        }
+
+        private void addFirst(int car) {
+            grow();
+            head = (head - 1) & (cars.length - 1);
+            cars[head] = car;
+            count++;
+        }
+
+        private void addLast(int car) {
+            grow();
+            cars[(head + count) & (cars.length - 1)] = car;
+            count++;
+        }
+
+        private void remove(int car) {
+            // Cars leave off the top or bottom of the screen, which are the ends of a sorted lane
+            if (count > 0 && get(0) == car) {
+                head = (head + 1) & (cars.length - 1);
+                count--;
+                return;
+            }
+            if (count > 0 && get(count - 1) == car) {
+                count--;
+                return;
+            }
+            for (int i = 1; i < count - 1; i++) {
+                if (get(i) == car) {
+                    // Close the gap from the nearer end
+                    if (i < count / 2) {
+                        for (int j = i; j > 0; j--) {
+                            set(j, get(j - 1));
+                        }
+                        head = (head + 1) & (cars.length - 1);
+                    }
+                    else {
+                        for (int j = i; j < count - 1; j++) {
+                            set(j, get(j + 1));
+                        }
+                    }
+                    count--;
+                    return;
+                }
+            }
+        }
+
+        // Find the index of the first car at or below a Y-coordinate
+        private int findIndex(World world, double y) {
+            int low = 0;
+            int high = count;
+            while (low < high) {
+                int middle = (low + high) >>> 1;
+                if (world.getY(get(middle)) < y) {
+                    low = middle + 1;
+                }
+                else {
+                    high = middle;
+                }
+            }
+            return low;
+        }
+
+        // Move the first car down until the lane is sorted again
+        private void sinkFirst(World world) {
+            for (int i = 0; i < count - 1 && world.getY(get(i)) > world.getY(get(i + 1)); i++) {
+                swap(i, i + 1);
+            }
+        }
+
+        // Move the last car up until the lane is sorted again
+        private void riseLast(World world) {
+            for (int i = count - 1; i > 0 && world.getY(get(i)) < world.getY(get(i - 1)); i--) {
+                swap(i, i - 1);
+            }
+        }
+
+        // Insertion sort, which is fast on nearly sorted lanes
+        private void sort(World world) {
+            for (int i = 1; i < count; i++) {
+                int car = get(i);
+                double y = world.getY(car);
+                int j = i - 1;
+                while (j >= 0 && world.getY(get(j)) > y) {
+                    set(j + 1, get(j));
+                    j--;
+                }
+                set(j + 1, car);
+            }
+        }
+
+        private void swap(int i, int j) {
+            int car = get(i);
+            set(i, get(j));
+            set(j, car);
+        }
+
+        private void grow() {
+            if (count == cars.length) {
+                int[] grown = new int[cars.length * 2];
+                for (int i = 0; i < count; i++) {
+                    grown[i] = get(i);
+                }
+                cars = grown;
+                head = 0;
+            }
+        }
+    }
+}
@@ -0,0 +1,264 @@
+import java.util.Arrays;
+import java.util.Properties;
+
+/**
+ * Recommends the passenger a taxi should pick up next to earn the most per frame. It searches the orders in which
+ * the nearest passengers ahead could be carried, a few trips deep, estimating for each trip the frames to reach the
+ * passenger, have them walk over and drive them to their flag, and the fee paid at the flag: the priority they
+ * will have in the weather forecast for that frame, and the penalty expected when the flag is too far across the
+ * road to reach in time. While a trip is ongoing, the search starts from its flag.
+ * The plan is kept between frames and only searched again every few frames, or as soon as its next passenger is
+ * taken or left behind, so planning costs a few microseconds a frame.
+ */
+public class TripPlanner {
+    private static final int LOOKAHEAD_TRIPS = 3; // How many trips deep an order is searched
+    private static final int CANDIDATES = 8; // How many of the nearest passengers ahead are considered
+    private static final int REPLAN_FRAMES = 10;
+
+    private final double X_SPEED;
+    private final double Y_SPEED;
+    private final double WALK_SPEED;
+    private final double TAXI_DETECT_RADIUS;
+    private final double WINDOW_HEIGHT;
+    private final double RATE_PER_Y;
+    private final double PENALTY_PER_Y;
+    private final double[] PRIORITY_RATES;
+    private final int MAX_FRAMES;
+    private final int[] RAIN_STARTS;
+    private final int[] RAIN_ENDS;
+
+    // The state of the search, kept between searches so planning allocates nothing
+    private final Passenger[] candidates = new Passenger[CANDIDATES];
+    private int candidateCount;
+    private int startFrame;
+    private double bestRate;
+    private int bestFirst;
+    private double bestFirstEarnings;
+
+    private Passenger[] order = new Passenger[0]; // The passengers from the nearest, as the road scrolls them in
+    private final IntSet DELIVERED = new IntSet(0); // The ids of the passengers carried so far
+    private int firstAhead; // The passengers before this one have left the bottom of the screen
+    private int lastTripPassengerId = Passenger.NO_PASSENGER;
+    private boolean wasInTrip;
+    private int framesSincePlan;
+
+    private Passenger nextPassenger;
+    private double nextEarnings;
+    private double earningsPerFrame;
+
+    /**
+     * Constructs a new planner with no plan.
+     *
+     * @param gameProps The property file containing configuration.
+     * @param weather A 2D array containing the weather of the game.
+     */
+    public TripPlanner(Properties gameProps, String[][] weather) {
+        X_SPEED = Double.parseDouble(gameProps.getProperty("gameObjects.taxi.speedX"));
+        Y_SPEED = Double.parseDouble(gameProps.getProperty("gameObjects.taxi.speedY"));
+        WALK_SPEED = Math.min(Double.parseDouble(gameProps.getProperty("gameObjects.passenger.walkSpeedX")),
+                Double.parseDouble(gameProps.getProperty("gameObjects.passenger.walkSpeedY")));
+        TAXI_DETECT_RADIUS = Double.parseDouble(gameProps.getProperty("gameObjects.passenger.taxiDetectRadius"));
+        WINDOW_HEIGHT = Double.parseDouble(gameProps.getProperty("window.height"));
+        RATE_PER_Y = Double.parseDouble(gameProps.getProperty("trip.rate.perY"));
+        PENALTY_PER_Y = Double.parseDouble(gameProps.getProperty("trip.penalty.perY"));
+        // As many priorities as the configuration gives rates for, the same as the passengers read
+        double[] priorityRates = new double[1]; // Priorities start from 1
+        for (int priority = 1; gameProps.getProperty("trip.rate.priority" + priority) != null; priority++) {
+            priorityRates = Arrays.copyOf(priorityRates, priority + 1);
+            priorityRates[priority] = Double.parseDouble(gameProps.getProperty("trip.rate.priority" + priority));
+        }
+        PRIORITY_RATES = priorityRates;
+        MAX_FRAMES = Integer.parseInt(gameProps.getProperty("gamePlay.maxFrames"));
+
+        // Keep only the rainy spells of the weather file, which is all the forecast needs
+        int spells = 0;
+        for (String[] line : weather) {
+            spells += line[0].equals("RAINING") ? 1 : 0;
+        }
+        RAIN_STARTS = new int[spells];
+        RAIN_ENDS = new int[spells];
+        spells = 0;
+        for (String[] line : weather) {
+            if (line[0].equals("RAINING")) {
+                RAIN_STARTS[spells] = Integer.parseInt(line[1]);
+                RAIN_ENDS[spells++] = Integer.parseInt(line[2]);
+            }
+        }
+    }
+
+    /**
+     * Updates the plan of a player for the next frame, searching again if the plan is out of date.
+     * Must be called on the thread simulating the road, before the frame is simulated.
+     *
+     * @param road The road being simulated.
+     * @param player The index of the player the plan is for.
+     */
+    public void update(RoadSimulation road, int player) {
+        if (road.getIsOut(player)) {
+            nextPassenger = null;
+            return;
+        }
+        TaxiPlayer taxiPlayer = road.getPlayer(player);
+        if (order.length != road.getPassengerCount()) {
+            sortPassengers(road);
+        }
+        markDelivered(taxiPlayer);
+        while (firstAhead < order.length
+                && order[firstAhead].getLocation().getY() > WINDOW_HEIGHT + TAXI_DETECT_RADIUS) {
+            firstAhead++;
+        }
+
+        framesSincePlan++;
+        if (framesSincePlan >= REPLAN_FRAMES || taxiPlayer.getInTrip() != wasInTrip || !isWaiting(nextPassenger,
+                taxiPlayer, taxiPlayer.getTaxi().getLocation().getY())) {
+            plan(road, taxiPlayer);
+            framesSincePlan = 0;
+            wasInTrip = taxiPlayer.getInTrip();
+        }
+    }
+
+    /**
+     * Gets the passenger the player should pick up next.
+     *
+     * @return The recommended passenger, or null if no passenger ahead can be carried in time.
+     */
+    public Passenger getNextPassenger() {
+        return nextPassenger;
+    }
+
+    /**
+     * Gets the fee the recommended passenger is expected to pay.
+     *
+     * @return The expected fee of the next trip.
+     */
+    public double getNextEarnings() {
+        return nextEarnings;
+    }
+
+    /**
+     * Gets the earnings per frame of the best order found.
+     *
+     * @return The expected earnings per frame of the plan.
+     */
+    public double getEarningsPerFrame() {
+        return earningsPerFrame;
+    }
+
+    // Search the orders of the nearest passengers ahead for the most earned per frame, keeping its first passenger
+    private void plan(RoadSimulation road, TaxiPlayer taxiPlayer) {
+        Taxi taxi = taxiPlayer.getTaxi();
+        double x = taxi.getLocation().getX();
+        double y = taxi.getLocation().getY();
+        double frames = 0;
+        Passenger inTripPassenger = taxiPlayer.getInTripPassenger();
+        if (inTripPassenger != null) {
+            // The next trip starts where this one ends
+            Location flag = inTripPassenger.getEndFlag().getLocation();
+            frames = Math.max(0, y - flag.getY()) / Y_SPEED;
+            x = flag.getX();
+            y = Math.min(y, flag.getY());
+        }
+        else if (!taxi.getHasDriver()) {
+            frames = taxiPlayer.getDriver().getLocation().distance(taxi.getLocation()) / WALK_SPEED;
+        }
+
+        candidateCount = 0;
+        for (int i = firstAhead; i < order.length && candidateCount < CANDIDATES; i++) {
+            if (!DELIVERED.contains(order[i].getId()) && isWaiting(order[i], taxiPlayer, y)) {
+                candidates[candidateCount++] = order[i];
+            }
+        }
+        startFrame = road.getFramesPlayed();
+        bestRate = 0;
+        bestFirst = -1;
+        search(0, 0, x, y, frames, 0, -1, 0);
+
+        nextPassenger = bestFirst >= 0 ? candidates[bestFirst] : null;
+        nextEarnings = bestFirst >= 0 ? bestFirstEarnings : 0;
+        earningsPerFrame = bestRate;
+    }
+
+    // Try every passenger not yet in the order as its next trip, up to the lookahead, keeping the best rate found
+    private void search(int depth, int used, double x, double y, double frames, double earnings, int first,
+                        double firstEarnings) {
+        boolean isLeaf = true;
+        if (depth < LOOKAHEAD_TRIPS) {
+            for (int i = 0; i < candidateCount; i++) {
+                Passenger passenger = candidates[i];
+                double passengerX = passenger.getLocation().getX();
+                double passengerY = passenger.getLocation().getY();
+                if ((used & 1 << i) != 0 || passengerY > y + TAXI_DETECT_RADIUS / 2) {
+                    continue; // Already in the order, or left behind by the trips before
+                }
+                // Drive up and across to the passenger, then wait for them to walk over and drive them to the flag
+                double pickupFrames = Math.max(Math.max(0, y - passengerY - TAXI_DETECT_RADIUS / 2) / Y_SPEED,
+                        Math.max(0, Math.abs(x - passengerX) - TAXI_DETECT_RADIUS / 2) / X_SPEED)
+                        + TAXI_DETECT_RADIUS / 2 / WALK_SPEED;
+                EndFlag flag = passenger.getEndFlag();
+                double tripFrames = passenger.getYDistance() / Y_SPEED;
+                double endFrames = frames + pickupFrames + tripFrames;
+                if (startFrame + endFrames > MAX_FRAMES) {
+                    continue; // The game would end before the fee is paid
+                }
+                double fee = PRIORITY_RATES[passenger.getPriority(isRaining(startFrame + (int) endFrames))]
+                        + passenger.getYDistance() * RATE_PER_Y;
+                if (Math.abs(flag.getLocation().getX() - passengerX) - flag.getRadius() > tripFrames * X_SPEED) {
+                    // The flag cannot be reached across the road in time, so the passenger passes it first
+                    fee -= PENALTY_PER_Y * Y_SPEED;
+                }
+                isLeaf = false;
+                search(depth + 1, used | 1 << i, flag.getLocation().getX(), passengerY - passenger.getYDistance(),
+                        endFrames, earnings + fee, first >= 0 ? first : i, first >= 0 ? firstEarnings : fee);
+            }
+        }
+        if (isLeaf && first >= 0 && earnings / frames > bestRate) {
+            bestRate = earnings / frames;
+            bestFirst = first;
+            bestFirstEarnings = firstEarnings;
+        }
+    }
+
+    // Check whether a passenger is waiting ahead of a point on the road for the player to pick them up
+    private boolean isWaiting(Passenger passenger, TaxiPlayer taxiPlayer, double y) {
+        return passenger != null && !passenger.getIsTaken()
+                && passenger.getId() != taxiPlayer.getLastTripPassengerId()
+                && passenger.getLocation().getY() <= y + TAXI_DETECT_RADIUS / 2;
+    }
+
+    // Check whether the weather file forecasts rain at a frame
+    private boolean isRaining(int frame) {
+        for (int i = 0; i < RAIN_STARTS.length; i++) {
+            if (frame >= RAIN_STARTS[i] && frame < RAIN_ENDS[i]) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    // Order the passengers from the nearest, which never changes as they all scroll down the road together
+    private void sortPassengers(RoadSimulation road) {
+        order = new Passenger[road.getPassengerCount()];
+        DELIVERED.clear();
+        for (int i = 0; i < order.length; i++) {
+            Passenger passenger = road.getPassenger(i);
+            int j = i;
+            while (j > 0 && order[j - 1].getLocation().getY() < passenger.getLocation().getY()) {
+                order[j] = order[j - 1];
+                j--;
+            }
+            order[j] = passenger;
+        }
+        firstAhead = 0;
+    }
+
+    // Remember each passenger the player carries once their trip completes, as they never pay again
+    private void markDelivered(TaxiPlayer taxiPlayer) {
+        if (taxiPlayer.getLastTripPassengerId() == lastTripPassengerId) {
+            return;
+        }
+        lastTripPassengerId = taxiPlayer.getLastTripPassengerId();
+        if (lastTripPassengerId != Passenger.NO_PASSENGER) {
+            DELIVERED.add(lastTripPassengerId);
+        }
+    }
+}
@@ -0,0 +1,70 @@
+import java.util.Properties;
+
+/**
+ * Represents the visible area of the game window.
+ * Entities outside the window, allowing a margin for their sprites, are culled and not drawn.
+ */
+public class Viewport {
+    private static final double SPRITE_MARGIN = 64; // Half the size of the largest entity sprite
+
+    private final double WIDTH;
+    private final double HEIGHT;
+    private int drawnCount;
+    private int culledCount;
+
+    /**
+     * Constructs a viewport covering the game window.
+     *
+     * @param gameProps The property file containing configuration.
+     */
+    public Viewport(Properties gameProps) {
+        WIDTH = Double.parseDouble(gameProps.getProperty("window.width"));
+        HEIGHT = Double.parseDouble(gameProps.getProperty("window.height"));
+        drawnCount = 0;
+        culledCount = 0;
+    }
+
+    /**
+     * Checks whether an entity is visible in the window and counts it as drawn or culled.
+     *
+     * @param x The X-coordinate of the entity.
+     * @param y The Y-coordinate of the entity.
+     * @param radius The distance from the entity's centre to the furthest point it draws at.
+     * @return true if any part of the entity may be on screen, false otherwise.
+     */
+    public boolean isVisible(double x, double y, double radius) {
+        double extent = radius + SPRITE_MARGIN;
+        if (x + extent < 0 || x - extent > WIDTH || y + extent < 0 || y - extent > HEIGHT) {
+            culledCount++;
+            return false;
+        }
+        drawnCount++;
+        return true;
+    }
+
+    /**
+     * Gets the number of entities found visible since the counters were last reset.
+     *
+     * @return The number of drawn entities.
+     */
+    public int getDrawnCount() {
+        return drawnCount;
+    }
+
+    /**
+     * Gets the number of entities culled since the counters were last reset.
+     *
+     * @return The number of culled entities.
+     */
+    public int getCulledCount() {
+        return culledCount;
+    }
+
+    /**
+     * Resets the drawn and culled counters, called once per frame.
+     */
+    public void resetCounters() {
+        drawnCount = 0;
+        culledCount = 0;
+    }
+}
@@ -0,0 +1,945 @@
+import java.util.Arrays;
+
+/**
+ * Stores every entity of a game as a slot in dense component arrays.
+ * An entity is an int id; which components it has is recorded as a bit mask, and systems iterate the arrays
+ * directly instead of calling methods on entity objects. Ids of destroyed entities are reused for new entities,
+ * but only once the frame they were destroyed in is over, so an id still held by an event or a system that frame
+ * never refers to a new entity.
+ */
+public class World {
+    /**
+     * The position component: the X and Y coordinates of the entity.
+     */
+    public static final int POSITION = 1;
+
+    /**
+     * The velocity component: the entity moves up the screen on its own at its vertical speed.
+     */
+    public static final int VELOCITY = 1 << 1;
+
+    /**
+     * The collider component: the entity takes part in collision detection.
+     */
+    public static final int COLLIDER = 1 << 2;
+
+    /**
+     * The health component: the entity can take damage.
+     */
+    public static final int HEALTH = 1 << 3;
+
+    /**
+     * The timeout component: the entity stops taking damage for a while after a collision.
+     */
+    public static final int TIMEOUT = 1 << 4;
+
+    /**
+     * The sprite component: the entity is drawn by the sprite system.
+     */
+    public static final int SPRITE = 1 << 5;
+
+    /**
+     * The lifetime component: the entity is destroyed after a number of frames.
+     */
+    public static final int LIFETIME = 1 << 6;
+
+    /**
+     * The scrolling component: the entity moves down with the road when the taxi drives forward.
+     */
+    public static final int SCROLLING = 1 << 7;
+
+    /**
+     * The emitter component: the entity shoots a fireball when its countdown runs out.
+     */
+    public static final int EMITTER = 1 << 8;
+
+    /**
+     * The collider group of cars.
+     */
+    public static final int GROUP_CAR = 1;
+
+    /**
+     * The collider group of fireballs.
+     */
+    public static final int GROUP_FIREBALL = 1 << 1;
+
+    /**
+     * The collider group of the taxi.
+     */
+    public static final int GROUP_TAXI = 1 << 2;
+
+    /**
+     * The collider group of the driver and passengers.
+     */
+    public static final int GROUP_CHARACTER = 1 << 3;
+
+    /**
+     * The collider group of coins and invincible powers.
+     */
+    public static final int GROUP_TOKEN = 1 << 4;
+
+    /**
+     * The entity is destroyed once it has no health left and its collision animation has finished.
+     */
+    public static final int FLAG_DESTROY_WHEN_DEAD = 1;
+
+    /**
+     * The entity is destroyed after it hits another entity.
+     */
+    public static final int FLAG_DESTROY_ON_HIT = 1 << 1;
+
+    /**
+     * The entity is destroyed once it moves below the window.
+     */
+    public static final int FLAG_DESTROY_OFF_SCREEN = 1 << 2;
+
+    /**
+     * The entity also takes damage from an entity that was hit in the same frame,
+     * and otherwise stands still for a timeout instead.
+     */
+    public static final int FLAG_MUTUAL_DAMAGE = 1 << 3;
+
+    /**
+     * The entity picks a new random speed whenever it collides outside a timeout.
+     */
+    public static final int FLAG_NEW_SPEED_ON_HIT = 1 << 4;
+
+    /**
+     * The entity is pushed out horizontally as well as vertically during a collision.
+     */
+    public static final int FLAG_PUSH_OUT_X = 1 << 5;
+
+    /**
+     * The entity does not show its hit effect when hit by a character.
+     */
+    public static final int FLAG_NO_EFFECT_FROM_CHARACTER = 1 << 6;
+
+    /**
+     * The entity takes no damage.
+     */
+    public static final int FLAG_INVINCIBLE = 1 << 7;
+
+    /**
+     * The collider of the entity is ignored by collision detection.
+     */
+    public static final int FLAG_INACTIVE = 1 << 8;
+
+    /**
+     * The entity has hit another entity this frame.
+     */
+    public static final int FLAG_HAS_HIT = 1 << 9;
+
+    /**
+     * The value of an effect meaning no effect is shown.
+     */
+    public static final int NO_EFFECT = -1;
+
+    private static final int INITIAL_CAPACITY = 64;
+
+    private int capacity;
+    private int size; // One past the highest id ever used
+    private final IntArray FREE_IDS;
+    private final IntArray DESTROYED_IDS; // Freed at the end of the frame they were destroyed in
+    private final int[] KIND_COUNTS;
+
+    private int[] mask;
+    private int[] kind;
+    private int[] flags;
+
+    // Position
+    private double[] x;
+    private double[] y;
+    private double[] previousX; // The position at the last collision pass, which collisions are swept from
+    private double[] previousY;
+
+    // Velocity
+    private double[] speedY;
+    private int[] minSpeedY;
+    private int[] maxSpeedY;
+
+    // Collider
+    private int[] group;
+    private int[] hitBy;
+    private double[] radius;
+    private double[] damage;
+    private double[] pushOut;
+    private int[] hitEffect;
+    private int[] deathEffect;
+    private int[] collisionFrames;
+    private double[] contactX;
+    private double[] contactY;
+    private double[] contactDamage;
+
+    // Health
+    private double[] health;
+    private HealthTree[] healthTree;
+    private int[] healthTreeIndex;
+
+    // Timeout
+    private int[] timeoutFrames;
+    private int[] standingFrames;
+
+    // Sprite
+    private int[] texture;
+    private int[] layer;
+
+    // Lifetime
+    private int[] ttl;
+
+    // Emitter
+    private int[] emitFrames;
+
+    private final IntArray QUERY_RESULT;
+
+    /**
+     * Constructs a new empty world.
+     */
+    public World() {
+        KIND_COUNTS = new int[EntityKind.TOTAL_KINDS];
+        FREE_IDS = new IntArray(INITIAL_CAPACITY);
+        DESTROYED_IDS = new IntArray(INITIAL_CAPACITY);
+        QUERY_RESULT = new IntArray(INITIAL_CAPACITY);
+        allocate(INITIAL_CAPACITY);
+    }
+
+    /**
+     * Creates a new entity with only a position.
+     *
+     * @param kind The kind of the entity.
+     * @param x The X-coordinate of the entity.
+     * @param y The Y-coordinate of the entity.
+     * @return The id of the new entity.
+     */
+    public int create(int kind, double x, double y) {
+        int entity;
+        if (!FREE_IDS.isEmpty()) {
+            entity = FREE_IDS.pop();
+        }
+        else {
+            if (size == capacity) {
+                allocate(capacity * 2);
+            }
+            entity = size++;
+        }
+        clear(entity);
+        this.mask[entity] = POSITION;
+        this.kind[entity] = kind;
+        this.x[entity] = x;
+        this.y[entity] = y;
+        this.previousX[entity] = x;
+        this.previousY[entity] = y;
+        KIND_COUNTS[kind]++;
+        return entity;
+    }
+
+    /**
+     * Destroys an entity. Its id is freed for reuse at the end of the frame.
+     *
+     * @param entity The id of the entity.
+     */
+    public void destroy(int entity) {
+        if (mask[entity] == 0) {
+            return;
+        }
+        KIND_COUNTS[kind[entity]]--;
+        mask[entity] = 0;
+        healthTree[entity] = null;
+        DESTROYED_IDS.add(entity);
+    }
+
+    /**
+     * Frees the ids of the entities destroyed this frame for new entities. Called once at the end of every frame.
+     */
+    public void releaseDestroyed() {
+        FREE_IDS.addAll(DESTROYED_IDS);
+        DESTROYED_IDS.clear();
+    }
+
+    /**
+     * Destroys every entity and frees every id, keeping the component arrays so a new game can reuse them
+     * without growing them again.
+     */
+    public void reset() {
+        for (int entity = 0; entity < size; entity++) {
+            mask[entity] = 0;
+            healthTree[entity] = null;
+        }
+        Arrays.fill(KIND_COUNTS, 0);
+        FREE_IDS.clear();
+        DESTROYED_IDS.clear();
+        QUERY_RESULT.clear();
+        size = 0;
+    }
+
+    /**
+     * Gets one past the highest entity id in use, so systems can iterate every id below it.
+     *
+     * @return The number of entity slots.
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Gets the number of living entities of a kind.
+     *
+     * @param kind The kind of entity.
+     * @return The number of entities of the kind.
+     */
+    public int countKind(int kind) {
+        return KIND_COUNTS[kind];
+    }
+
+    /**
+     * Gets whether an entity has all the given components. Destroyed entities have no components.
+     *
+     * @param entity The id of the entity.
+     * @param components The bit mask of components.
+     * @return true if the entity has every component, false otherwise.
+     */
+    public boolean has(int entity, int components) {
+        return (mask[entity] & components) == components && mask[entity] != 0;
+    }
+
+    /**
+     * Adds components to an entity.
+     *
+     * @param entity The id of the entity.
+     * @param components The bit mask of components to add.
+     */
+    public void addComponents(int entity, int components) {
+        mask[entity] |= components;
+    }
+
+    /**
+     * Removes components from an entity.
+     *
+     * @param entity The id of the entity.
+     * @param components The bit mask of components to remove.
+     */
+    public void removeComponents(int entity, int components) {
+        mask[entity] &= ~components | POSITION;
+    }
+
+    /**
+     * Gets the kind of an entity.
+     *
+     * @param entity The id of the entity.
+     * @return The kind of the entity.
+     */
+    public int getKind(int entity) {
+        return kind[entity];
+    }
+
+    /**
+     * Changes the kind of an entity.
+     *
+     * @param entity The id of the entity.
+     * @param kind The new kind of the entity.
+     */
+    public void setKind(int entity, int kind) {
+        KIND_COUNTS[this.kind[entity]]--;
+        KIND_COUNTS[kind]++;
+        this.kind[entity] = kind;
+    }
+
+    /**
+     * Gets whether an entity has a flag set.
+     *
+     * @param entity The id of the entity.
+     * @param flag The flag to check.
+     * @return true if the flag is set, false otherwise.
+     */
+    public boolean hasFlag(int entity, int flag) {
+        return (flags[entity] & flag) != 0;
+    }
+
+    /**
+     * Sets or clears flags of an entity.
+     *
+     * @param entity The id of the entity.
+     * @param flag The flags to change.
+     * @param isSet true to set the flags, false to clear them.
+     */
+    public void setFlag(int entity, int flag, boolean isSet) {
+        if (isSet) {
+            flags[entity] |= flag;
+        }
+        else {
+            flags[entity] &= ~flag;
+        }
+    }
+
+    /**
+     * Gets the X-coordinate of an entity.
+     *
+     * @param entity The id of the entity.
+     * @return The X-coordinate.
+     */
+    public double getX(int entity) {
+        return x[entity];
+    }
+
+    /**
+     * Gets the Y-coordinate of an entity.
+     *
+     * @param entity The id of the entity.
+     * @return The Y-coordinate.
+     */
+    public double getY(int entity) {
+        return y[entity];
+    }
+
+    /**
+     * Sets the X-coordinate of an entity.
+     *
+     * @param entity The id of the entity.
+     * @param x The new X-coordinate.
+     */
+    public void setX(int entity, double x) {
+        this.x[entity] = x;
+    }
+
+    /**
+     * Sets the Y-coordinate of an entity.
+     *
+     * @param entity The id of the entity.
+     * @param y The new Y-coordinate.
+     */
+    public void setY(int entity, double y) {
+        this.y[entity] = y;
+    }
+
+    /**
+     * Gets the X-coordinate an entity had when its position was last saved.
+     *
+     * @param entity The id of the entity.
+     * @return The previous X-coordinate.
+     */
+    public double getPreviousX(int entity) {
+        return previousX[entity];
+    }
+
+    /**
+     * Gets the Y-coordinate an entity had when its position was last saved.
+     *
+     * @param entity The id of the entity.
+     * @return The previous Y-coordinate.
+     */
+    public double getPreviousY(int entity) {
+        return previousY[entity];
+    }
+
+    /**
+     * Saves the position of an entity, so the path it moves along until the next save can be found.
+     *
+     * @param entity The id of the entity.
+     */
+    public void savePosition(int entity) {
+        previousX[entity] = x[entity];
+        previousY[entity] = y[entity];
+    }
+
+    /**
+     * Calculates the Euclidean distance between two entities.
+     *
+     * @param entity The id of the first entity.
+     * @param other The id of the second entity.
+     * @return The distance between the entities.
+     */
+    public double distance(int entity, int other) {
+        double dx = x[other] - x[entity];
+        double dy = y[other] - y[entity];
+        return Math.sqrt(dx * dx + dy * dy);
+    }
+
+    /**
+     * Gives an entity a velocity component.
+     *
+     * @param entity The id of the entity.
+     * @param speedY The number of pixels the entity moves up per frame.
+     * @param minSpeedY The minimum speed picked when the entity gets a new speed.
+     * @param maxSpeedY The maximum speed picked when the entity gets a new speed.
+     */
+    public void setVelocity(int entity, double speedY, int minSpeedY, int maxSpeedY) {
+        mask[entity] |= VELOCITY;
+        this.speedY[entity] = speedY;
+        this.minSpeedY[entity] = minSpeedY;
+        this.maxSpeedY[entity] = maxSpeedY;
+    }
+
+    /**
+     * Gets the vertical speed of an entity.
+     *
+     * @param entity The id of the entity.
+     * @return The number of pixels the entity moves up per frame.
+     */
+    public double getSpeedY(int entity) {
+        return speedY[entity];
+    }
+
+    /**
+     * Sets the vertical speed of an entity.
+     *
+     * @param entity The id of the entity.
+     * @param speedY The number of pixels the entity moves up per frame.
+     */
+    public void setSpeedY(int entity, double speedY) {
+        this.speedY[entity] = speedY;
+    }
+
+    /**
+     * Gets the minimum speed picked when an entity gets a new speed.
+     *
+     * @param entity The id of the entity.
+     * @return The minimum speed.
+     */
+    public int getMinSpeedY(int entity) {
+        return minSpeedY[entity];
+    }
+
+    /**
+     * Gets the maximum speed picked when an entity gets a new speed.
+     *
+     * @param entity The id of the entity.
+     * @return The maximum speed.
+     */
+    public int getMaxSpeedY(int entity) {
+        return maxSpeedY[entity];
+    }
+
+    /**
+     * Gives an entity a collider component.
+     *
+     * @param entity The id of the entity.
+     * @param group The collider group the entity belongs to.
+     * @param hitBy The bit mask of collider groups that damage the entity.
+     * @param radius The collision radius of the entity.
+     * @param damage The damage the entity inflicts on others.
+     * @param pushOut The number of pixels the entity is pushed out per frame during a collision.
+     */
+    public void setCollider(int entity, int group, int hitBy, double radius, double damage, double pushOut) {
+        mask[entity] |= COLLIDER;
+        this.group[entity] = group;
+        this.hitBy[entity] = hitBy;
+        this.radius[entity] = radius;
+        this.damage[entity] = damage;
+        this.pushOut[entity] = pushOut;
+    }
+
+    /**
+     * Sets the effects shown when an entity takes damage.
+     *
+     * @param entity The id of the entity.
+     * @param hitEffect The kind of effect shown when the entity survives a hit, or NO_EFFECT.
+     * @param deathEffect The kind of effect shown when the entity has no health left, or NO_EFFECT.
+     */
+    public void setEffects(int entity, int hitEffect, int deathEffect) {
+        this.hitEffect[entity] = hitEffect;
+        this.deathEffect[entity] = deathEffect;
+    }
+
+    /**
+     * Gets the collider group of an entity.
+     *
+     * @param entity The id of the entity.
+     * @return The collider group.
+     */
+    public int getGroup(int entity) {
+        return group[entity];
+    }
+
+    /**
+     * Gets the bit mask of collider groups that damage an entity.
+     *
+     * @param entity The id of the entity.
+     * @return The collider groups that damage the entity.
+     */
+    public int getHitBy(int entity) {
+        return hitBy[entity];
+    }
+
+    /**
+     * Gets the radius of an entity.
+     *
+     * @param entity The id of the entity.
+     * @return The radius of the entity.
+     */
+    public double getRadius(int entity) {
+        return radius[entity];
+    }
+
+    /**
+     * Gets the damage an entity inflicts on others.
+     *
+     * @param entity The id of the entity.
+     * @return The damage of the entity.
+     */
+    public double getDamage(int entity) {
+        return damage[entity];
+    }
+
+    /**
+     * Gets the number of pixels an entity is pushed out per frame during a collision.
+     *
+     * @param entity The id of the entity.
+     * @return The push-out distance.
+     */
+    public double getPushOut(int entity) {
+        return pushOut[entity];
+    }
+
+    /**
+     * Gets the kind of effect shown when an entity survives a hit.
+     *
+     * @param entity The id of the entity.
+     * @return The kind of effect, or NO_EFFECT.
+     */
+    public int getHitEffect(int entity) {
+        return hitEffect[entity];
+    }
+
+    /**
+     * Gets the kind of effect shown when an entity has no health left.
+     *
+     * @param entity The id of the entity.
+     * @return The kind of effect, or NO_EFFECT.
+     */
+    public int getDeathEffect(int entity) {
+        return deathEffect[entity];
+    }
+
+    /**
+     * Gets the number of collision animation frames left for an entity.
+     *
+     * @param entity The id of the entity.
+     * @return The number of collision frames.
+     */
+    public int getCollisionFrames(int entity) {
+        return collisionFrames[entity];
+    }
+
+    /**
+     * Sets the number of collision animation frames left for an entity.
+     *
+     * @param entity The id of the entity.
+     * @param frames The number of collision frames.
+     */
+    public void setCollisionFrames(int entity, int frames) {
+        collisionFrames[entity] = frames;
+    }
+
+    /**
+     * Records the entity another entity started colliding with, so it can be pushed away from it.
+     *
+     * @param entity The id of the entity.
+     * @param other The id of the entity it collided with.
+     */
+    public void setContact(int entity, int other) {
+        contactX[entity] = x[other];
+        contactY[entity] = y[other];
+        contactDamage[entity] = damage[other];
+    }
+
+    /**
+     * Gets the X-coordinate of the entity an entity last started colliding with.
+     *
+     * @param entity The id of the entity.
+     * @return The X-coordinate of the contact.
+     */
+    public double getContactX(int entity) {
+        return contactX[entity];
+    }
+
+    /**
+     * Gets the Y-coordinate of the entity an entity last started colliding with.
+     *
+     * @param entity The id of the entity.
+     * @return The Y-coordinate of the contact.
+     */
+    public double getContactY(int entity) {
+        return contactY[entity];
+    }
+
+    /**
+     * Gets the damage of the entity an entity last started colliding with.
+     *
+     * @param entity The id of the entity.
+     * @return The damage of the contact.
+     */
+    public double getContactDamage(int entity) {
+        return contactDamage[entity];
+    }
+
+    /**
+     * Gets the health of an entity.
+     *
+     * @param entity The id of the entity.
+     * @return The health of the entity.
+     */
+    public double getHealth(int entity) {
+        return health[entity];
+    }
+
+    /**
+     * Sets the health of an entity, giving it a health component if it has none.
+     * If the entity's health is tracked by a health tree, the tree is updated too.
+     *
+     * @param entity The id of the entity.
+     * @param health The new health of the entity.
+     */
+    public void setHealth(int entity, double health) {
+        mask[entity] |= HEALTH;
+        this.health[entity] = health;
+        if (healthTree[entity] != null) {
+            healthTree[entity].set(healthTreeIndex[entity], health);
+        }
+    }
+
+    /**
+     * Tracks the health of an entity in a health tree, so the minimum health of a group can be read cheaply.
+     *
+     * @param entity The id of the entity.
+     * @param tree The health tree of the group.
+     * @param index The index of the entity in the tree.
+     */
+    public void trackHealth(int entity, HealthTree tree, int index) {
+        healthTree[entity] = tree;
+        healthTreeIndex[entity] = index;
+        tree.set(index, health[entity]);
+    }
+
+    /**
+     * Gets the number of timeout frames left for an entity.
+     *
+     * @param entity The id of the entity.
+     * @return The number of timeout frames.
+     */
+    public int getTimeoutFrames(int entity) {
+        return timeoutFrames[entity];
+    }
+
+    /**
+     * Sets the number of timeout frames left for an entity.
+     *
+     * @param entity The id of the entity.
+     * @param frames The number of timeout frames.
+     */
+    public void setTimeoutFrames(int entity, int frames) {
+        timeoutFrames[entity] = frames;
+    }
+
+    /**
+     * Gets the number of frames an entity has left to stand still.
+     *
+     * @param entity The id of the entity.
+     * @return The number of standing frames.
+     */
+    public int getStandingFrames(int entity) {
+        return standingFrames[entity];
+    }
+
+    /**
+     * Sets the number of frames an entity has left to stand still.
+     *
+     * @param entity The id of the entity.
+     * @param frames The number of standing frames.
+     */
+    public void setStandingFrames(int entity, int frames) {
+        standingFrames[entity] = frames;
+    }
+
+    /**
+     * Gives an entity a sprite component.
+     *
+     * @param entity The id of the entity.
+     * @param texture The id of the image of the entity.
+     * @param layer The render layer the entity is drawn in.
+     */
+    public void setSprite(int entity, int texture, int layer) {
+        mask[entity] |= SPRITE;
+        this.texture[entity] = texture;
+        this.layer[entity] = layer;
+    }
+
+    /**
+     * Gets the id of the image of an entity.
+     *
+     * @param entity The id of the entity.
+     * @return The image id.
+     */
+    public int getTexture(int entity) {
+        return texture[entity];
+    }
+
+    /**
+     * Gets the render layer an entity is drawn in.
+     *
+     * @param entity The id of the entity.
+     * @return The render layer.
+     */
+    public int getLayer(int entity) {
+        return layer[entity];
+    }
+
+    /**
+     * Gives an entity a lifetime component.
+     *
+     * @param entity The id of the entity.
+     * @param ttl The number of frames the entity lives for.
+     */
+    public void setLifetime(int entity, int ttl) {
+        mask[entity] |= LIFETIME;
+        this.ttl[entity] = ttl;
+    }
+
+    /**
+     * Gets the number of frames an entity has left to live.
+     *
+     * @param entity The id of the entity.
+     * @return The number of frames left.
+     */
+    public int getTtl(int entity) {
+        return ttl[entity];
+    }
+
+    /**
+     * Sets the number of frames an entity has left to live.
+     *
+     * @param entity The id of the entity.
+     * @param ttl The number of frames left.
+     */
+    public void setTtl(int entity, int ttl) {
+        this.ttl[entity] = ttl;
+    }
+
+    /**
+     * Gives an entity an emitter component.
+     *
+     * @param entity The id of the entity.
+     * @param frames The number of frames until the entity shoots.
+     */
+    public void setEmitter(int entity, int frames) {
+        mask[entity] |= EMITTER;
+        emitFrames[entity] = frames;
+    }
+
+    /**
+     * Gets the number of frames until an entity shoots.
+     *
+     * @param entity The id of the entity.
+     * @return The number of frames left.
+     */
+    public int getEmitFrames(int entity) {
+        return emitFrames[entity];
+    }
+
+    /**
+     * Sets the number of frames until an entity shoots.
+     *
+     * @param entity The id of the entity.
+     * @param frames The number of frames left.
+     */
+    public void setEmitFrames(int entity, int frames) {
+        emitFrames[entity] = frames;
+    }
+
+    /**
+     * Finds every entity with all the given components and none of the excluded flags.
+     * The ids are kept until the next query and read with getQueryResult.
+     *
+     * @param components The bit mask of components the entities must have.
+     * @param excludedFlags The flags the entities must not have.
+     * @return The number of entities found.
+     */
+    public int query(int components, int excludedFlags) {
+        QUERY_RESULT.clear();
+        for (int entity = 0; entity < size; entity++) {
+            if (has(entity, components) && (flags[entity] & excludedFlags) == 0) {
+                QUERY_RESULT.add(entity);
+            }
+        }
+        return QUERY_RESULT.size();
+    }
+
+    /**
+     * Gets an entity found by the last query.
+     *
+     * @param index The index of the result, below the number of entities found.
+     * @return The id of the entity.
+     */
+    public int getQueryResult(int index) {
+        return QUERY_RESULT.get(index);
+    }
+
+    // Reset every component of a reused id to its default value
+    private void clear(int entity) {
+        flags[entity] = 0;
+        speedY[entity] = 0;
+        minSpeedY[entity] = 0;
+        maxSpeedY[entity] = 0;
+        group[entity] = 0;
+        hitBy[entity] = 0;
+        radius[entity] = 0;
+        damage[entity] = 0;
+        pushOut[entity] = 0;
+        hitEffect[entity] = NO_EFFECT;
+        deathEffect[entity] = NO_EFFECT;
+        collisionFrames[entity] = 0;
+        contactX[entity] = 0;
+        contactY[entity] = 0;
+        contactDamage[entity] = 0;
+        health[entity] = 0;
+        healthTree[entity] = null;
+        healthTreeIndex[entity] = 0;
+        timeoutFrames[entity] = 0;
+        standingFrames[entity] = 0;
+        texture[entity] = 0;
+        layer[entity] = 0;
+        ttl[entity] = 0;
+        emitFrames[entity] = 0;
+    }
+
+    // Grow every component array to the new capacity, keeping existing entities
+    private void allocate(int newCapacity) {
+        capacity = newCapacity;
+        mask = grow(mask);
+        kind = grow(kind);
+        flags = grow(flags);
+        x = grow(x);
+        y = grow(y);
+        previousX = grow(previousX);
+        previousY = grow(previousY);
+        speedY = grow(speedY);
+        minSpeedY = grow(minSpeedY);
+        maxSpeedY = grow(maxSpeedY);
+        group = grow(group);
+        hitBy = grow(hitBy);
+        radius = grow(radius);
+        damage = grow(damage);
+        pushOut = grow(pushOut);
+        hitEffect = grow(hitEffect);
+        deathEffect = grow(deathEffect);
+        collisionFrames = grow(collisionFrames);
+        contactX = grow(contactX);
+        contactY = grow(contactY);
+        contactDamage = grow(contactDamage);
+        health = grow(health);
+        healthTree = healthTree == null ? new HealthTree[capacity] : Arrays.copyOf(healthTree, capacity);
+        healthTreeIndex = grow(healthTreeIndex);
+        timeoutFrames = grow(timeoutFrames);
+        standingFrames = grow(standingFrames);
+        texture = grow(texture);
+        layer = grow(layer);
+        ttl = grow(ttl);
+        emitFrames = grow(emitFrames);
+    }
+
+    private int[] grow(int[] array) {
+        return array == null ? new int[capacity] : Arrays.copyOf(array, capacity);
+    }
+
+    private double[] grow(double[] array) {
+        return array == null ? new double[capacity] : Arrays.copyOf(array, capacity);
+    }
+}